@@ -0,0 +1,124 @@
+package com.xxl.tool.benchmark.cache;
+
+import com.xxl.tool.cache.CacheTool;
+import com.xxl.tool.cache.CacheType;
+import com.xxl.tool.cache.iface.Cache;
+import com.xxl.tool.cache.simulator.Trace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache Benchmark（JMH）
+ *
+ * 1、覆盖 LRU、LFU、FIFO、UNLIMITED 缓存的 get、put、混合读写（读 75% / 写 25%）吞吐量及延迟分布；
+ * 2、访问 key 服从 Zipf 分布（预生成，避免基准测试中生成 key 的开销），命中率由 key 空间与容量之比（keySpaceRatio）控制：
+ *      - 1：key 空间与容量一致，预热后近似全部命中；
+ *      - 4、16：key 空间大于容量，命中率依次下降，淘汰开销依次上升；
+ * 3、线程数通过 JMH 参数指定，如：java -jar target/benchmarks.jar CacheBenchmark -t 1、-t 4、-t 16，用于对比 ReentrantCache key 锁分段在并发下的扩展性；
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheBenchmark {
+
+    /**
+     * 预生成 key 数量（2 的幂）
+     */
+    private static final int KEY_COUNT = 1 << 16;
+    private static final int KEY_MASK = KEY_COUNT - 1;
+
+    @Param({"LRU", "LFU", "FIFO", "UNLIMITED"})
+    private CacheType cacheType;
+
+    @Param({"10000"})
+    private int capacity;
+
+    @Param({"1", "4", "16"})
+    private int keySpaceRatio;
+
+    @Param({"0.9"})
+    private double zipfExponent;
+
+    private Cache<String, String> cache;
+    private CacheTool<String, String> cacheTool;
+    private String[] keys;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        cacheTool = new CacheTool<String, String>().cache(cacheType);
+        if (cacheType != CacheType.UNLIMITED) {
+            cacheTool.capacity(capacity);
+        }
+        cache = cacheTool.build();
+
+        // keys (zipf)
+        keys = Trace.zipf(KEY_COUNT, capacity * keySpaceRatio, zipfExponent, 1L).keys();
+
+        // prefill
+        for (String key : keys) {
+            cache.put(key, key);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cacheTool.stop();
+        cache.clear();
+    }
+
+    /**
+     * 线程状态：各线程从随机位置开始顺序读取 key，避免线程间访问顺序完全一致
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private int index = ThreadLocalRandom.current().nextInt(KEY_COUNT);
+
+        private int next() {
+            return (index++) & KEY_MASK;
+        }
+    }
+
+    @Benchmark
+    public String get(ThreadState threadState) {
+        return cache.get(keys[threadState.next()]);
+    }
+
+    @Benchmark
+    public void put(ThreadState threadState) {
+        String key = keys[threadState.next()];
+        cache.put(key, key);
+    }
+
+    @Benchmark
+    public String mixed(ThreadState threadState) {
+        int index = threadState.next();
+        String key = keys[index];
+        if ((index & 3) == 0) {
+            cache.put(key, key);
+            return key;
+        }
+        String value = cache.get(key);
+        if (value == null) {
+            cache.put(key, key);
+        }
+        return value;
+    }
+
+}
@@ -3,10 +3,21 @@ package com.xxl.tool.cache;
 import com.xxl.tool.cache.iface.Cache;
 import com.xxl.tool.cache.iface.CacheListener;
 import com.xxl.tool.cache.iface.CacheLoader;
+import com.xxl.tool.cache.iface.Ticker;
+import com.xxl.tool.cache.iface.Weigher;
 import com.xxl.tool.cache.impl.*;
+import com.xxl.tool.cache.invalidation.InvalidationBus;
+import com.xxl.tool.cache.support.DiskStore;
+import com.xxl.tool.serializer.Serializer;
+import com.xxl.tool.serializer.SerializerEnum;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -75,6 +86,27 @@ public class CacheTool<K, V> {
                 .capacity(capacity);
     }
 
+    /**
+     * Concurrent LRU cache
+     *
+     * @return CacheTool
+     */
+    public static <K, V> CacheTool<K, V> newConcurrentLRUCache() {
+        return newConcurrentLRUCache(1000);
+    }
+
+    /**
+     * Concurrent LRU cache
+     *
+     * @param capacity	capacity of cache
+     * @return CacheTool
+     */
+    public static <K, V> CacheTool<K, V> newConcurrentLRUCache(int capacity) {
+        return new CacheTool<K, V>()
+                .cache(CacheType.CONCURRENT_LRU)
+                .capacity(capacity);
+    }
+
     /**
      * LFU cache
      *
@@ -96,6 +128,72 @@ public class CacheTool<K, V> {
                 .capacity(capacity);
     }
 
+    /**
+     * W-TinyLFU cache
+     *
+     * @return CacheTool
+     */
+    public static <K, V> CacheTool<K, V> newTinyLFUCache() {
+        return newTinyLFUCache(1000);
+    }
+
+    /**
+     * W-TinyLFU cache
+     *
+     * @param capacity	capacity of cache
+     * @return CacheTool
+     */
+    public static <K, V> CacheTool<K, V> newTinyLFUCache(int capacity) {
+        return new CacheTool<K, V>()
+                .cache(CacheType.TINYLFU)
+                .capacity(capacity);
+    }
+
+    /**
+     * Off-Heap cache
+     *
+     * @return CacheTool
+     */
+    public static <K, V> CacheTool<K, V> newOffHeapCache() {
+        return newOffHeapCache(64 * 1024 * 1024L);
+    }
+
+    /**
+     * Off-Heap cache
+     *
+     * @param maxMemory	max off-heap memory of cache, for byte
+     * @return CacheTool
+     */
+    public static <K, V> CacheTool<K, V> newOffHeapCache(long maxMemory) {
+        return new CacheTool<K, V>()
+                .cache(CacheType.OFFHEAP)
+                .maximumWeight(maxMemory);
+    }
+
+    /**
+     * Long-Key cache (LRU), primitive long key without boxing on lookup
+     *
+     * @param capacity	capacity of cache
+     * @return CacheTool
+     */
+    public static <V> CacheTool<Long, V> newLongKeyCache(int capacity) {
+        return newLongKeyCache(CacheType.LRU, capacity);
+    }
+
+    /**
+     * Long-Key cache, primitive long key without boxing on lookup
+     *
+     * @param cacheType	eviction policy, support LRU、LFU、FIFO
+     * @param capacity	capacity of cache
+     * @return CacheTool
+     */
+    public static <V> CacheTool<Long, V> newLongKeyCache(CacheType cacheType, int capacity) {
+        return new CacheTool<Long, V>()
+                .cache(cacheType)
+                .capacity(capacity)
+                .longKey();
+    }
+
     /**
      * 无容量限制
      *
@@ -136,11 +234,36 @@ public class CacheTool<K, V> {
      */
     protected int capacity = 0;
 
+    /**
+     * 最大总权重，{@code 0} 表示不限制；设置后按总权重淘汰，capacity 仅作为初始容量（预估缓存数量）
+     */
+    protected long maximumWeight = 0;
+
+    /**
+     * 权重计算器
+     */
+    protected Weigher<K, V> weigher;
+
     /**
      * 缓存类型
      */
     protected CacheType cacheType;
 
+    /**
+     * 是否使用原生 long 键缓存（LongKeyCache），仅支持 LRU、LFU、FIFO
+     */
+    protected boolean longKey = false;
+
+    /**
+     * 分段数量（2 的幂），{@code 1} 表示不分段
+     */
+    protected int segmentCount = 1;
+
+    /**
+     * 序列化组件，用于 堆外内存缓存、磁盘溢出层、缓存快照
+     */
+    protected Serializer serializer = SerializerEnum.JAVA.getSerializer();
+
     /**
      * 缓存对象创建组件
      */
@@ -151,15 +274,75 @@ public class CacheTool<K, V> {
      */
     protected CacheListener<K, V> listener;
 
+    /**
+     * 跨节点失效总线，{@code null} 表示不启用
+     */
+    protected InvalidationBus invalidationBus;
+
+    /**
+     * 跨节点失效总线 缓存名
+     */
+    protected String invalidationName;
+
+    /**
+     * 写入后刷新时长，{@code 0} 表示不刷新，单位毫秒；到期后访问仍返回旧值，同时在后台异步重新加载
+     */
+    protected long refreshAfterWrite = 0;
+
+    /**
+     * stale-while-revalidate 时长，{@code 0} 表示不启用，单位毫秒
+     */
+    protected long staleWhileRevalidate = 0;
+
+    /**
+     * stale-if-error 时长，{@code 0} 表示不启用，单位毫秒
+     */
+    protected long staleIfError = 0;
+
+    /**
+     * 负缓存有效期，{@code 0} 表示不启用，单位毫秒
+     */
+    protected long negativeTtl = 0;
+
+    /**
+     * 是否开启统计（加载、淘汰、过期）
+     */
+    protected boolean recordStats = false;
+
+    /**
+     * 预热快照文件，{@code null} 表示不预热
+     */
+    protected Path warmPath;
+
+    /**
+     * 磁盘溢出层 数据目录，{@code null} 表示不启用
+     */
+    protected Path overflowDir;
+
+    /**
+     * 磁盘溢出层 最大磁盘占用，单位：字节
+     */
+    protected long overflowMaxSize = 1024 * 1024 * 1024L;
+
+    /**
+     * 异步加载/刷新线程池，{@code null} 表示使用默认线程池
+     */
+    protected Executor executor;
+
+    /**
+     * 缓存时钟，默认为系统时钟；粗粒度时钟（Ticker.cached()，后台线程刷新，访问路径不读取系统时间）需显式开启
+     */
+    protected Ticker ticker = Ticker.system();
+
     /**
      * 定时清理延时，{@code 0} 表示不启用，单位：毫秒
      */
     protected long pruneInterval = 0;
 
     /**
-     * 定时清理任务
+     * 定时清理任务（分段缓存按分段错开调度，每个分段一个任务）
      */
-    protected ScheduledFuture<?> pruneJobFuture;
+    protected final List<ScheduledFuture<?>> pruneJobFutures = new ArrayList<>();
 
     /**
      * 缓存实现实例
@@ -192,6 +375,22 @@ public class CacheTool<K, V> {
         return this;
     }
 
+    /**
+     * 设置 最大总权重（如最大字节数），需配合 weigher 使用；堆外内存缓存为 最大堆外内存（字节）
+     */
+    public CacheTool<K, V> maximumWeight(long maximumWeight) {
+        this.maximumWeight = maximumWeight;
+        return this;
+    }
+
+    /**
+     * 设置 权重计算器
+     */
+    public CacheTool<K, V> weigher(Weigher<K, V> weigher) {
+        this.weigher = weigher;
+        return this;
+    }
+
     /**
      * 设置 缓存类型
      */
@@ -200,6 +399,14 @@ public class CacheTool<K, V> {
         return this;
     }
 
+    /**
+     * 设置 序列化组件（堆外内存缓存、磁盘溢出层、缓存快照）
+     */
+    public CacheTool<K, V> serializer(Serializer serializer) {
+        this.serializer = serializer;
+        return this;
+    }
+
     /**
      * 设置 缓存对象创建组件
      */
@@ -216,6 +423,122 @@ public class CacheTool<K, V> {
         return this;
     }
 
+    /**
+     * 设置 写入后刷新时长, 单位：毫秒
+     */
+    public CacheTool<K, V> refreshAfterWrite(long refreshAfterWrite) {
+        this.refreshAfterWrite = refreshAfterWrite;
+        return this;
+    }
+
+    /**
+     * 设置 stale-while-revalidate 时长, 单位：毫秒；对象过期后的该时长内，访问仍返回旧值，同时在后台异步重新加载（需设置 loader）
+     */
+    public CacheTool<K, V> staleWhileRevalidate(long staleWhileRevalidate) {
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        return this;
+    }
+
+    /**
+     * 设置 stale-if-error 时长, 单位：毫秒；对象过期后的该时长内，访问时重新加载，加载失败时返回旧值
+     */
+    public CacheTool<K, V> staleIfError(long staleIfError) {
+        this.staleIfError = staleIfError;
+        return this;
+    }
+
+    /**
+     * 设置 负缓存有效期, 单位：毫秒；加载结果为 null 时缓存 “空值” 占位对象，有效期内访问直接返回 null，避免不存在的 key 反复穿透加载
+     */
+    public CacheTool<K, V> negativeTtl(long negativeTtl) {
+        this.negativeTtl = negativeTtl;
+        return this;
+    }
+
+    /**
+     * 设置 异步加载/刷新线程池
+     */
+    public CacheTool<K, V> executor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * 开启统计：记录 加载成功/失败次数、加载耗时分位数、淘汰次数/权重、过期次数，通过 cache.stats() 获取
+     */
+    public CacheTool<K, V> recordStats() {
+        this.recordStats = true;
+        return this;
+    }
+
+    /**
+     * 设置 预热快照文件：构建缓存时从快照文件恢复缓存对象（快照文件通过 cache.snapshotTo 生成，文件不存在时忽略；不支持 NONE、OFFHEAP 缓存）
+     */
+    public CacheTool<K, V> warmFrom(Path path) {
+        this.warmPath = path;
+        return this;
+    }
+
+    /**
+     * 设置 磁盘溢出层（最大磁盘占用 1GB）：容量淘汰的对象写入磁盘层，未命中时优先从磁盘层加载
+     */
+    public CacheTool<K, V> overflowToDisk(Path dir) {
+        this.overflowDir = dir;
+        return this;
+    }
+
+    /**
+     * 设置 磁盘溢出层
+     *
+     * @param dir         数据目录
+     * @param maxDiskSize 最大磁盘占用，单位：字节
+     */
+    public CacheTool<K, V> overflowToDisk(Path dir, long maxDiskSize) {
+        this.overflowDir = dir;
+        this.overflowMaxSize = maxDiskSize;
+        return this;
+    }
+
+    /**
+     * 使用原生 long 键缓存：键存储于 long[] 开放寻址哈希表，查询不装箱、不创建 CacheKey（仅支持 LRU、LFU、FIFO）；
+     * 不支持 权重、磁盘溢出层、负缓存、刷新、stale、统计、失效总线、预热，设置时 build 报错
+     */
+    public CacheTool<K, V> longKey() {
+        this.longKey = true;
+        return this;
+    }
+
+    /**
+     * 设置 跨节点失效总线：本节点显式写入/删除时，通知其他节点删除同名缓存中的 key
+     *
+     * @param invalidationBus 失效总线
+     * @param cacheName       缓存名，各节点同一缓存需使用相同名称
+     */
+    public CacheTool<K, V> invalidationBus(InvalidationBus invalidationBus, String cacheName) {
+        this.invalidationBus = invalidationBus;
+        this.invalidationName = cacheName;
+        return this;
+    }
+
+    /**
+     * 设置 分段数量：key 按哈希分配到多个独立分段（独立 数据存储、key 锁、淘汰顺序、定时清理），容量按分段均分；分段数量向上取整为 2 的幂
+     */
+    public CacheTool<K, V> segments(int segmentCount) {
+        if (segmentCount <= 0) {
+            throw new IllegalArgumentException("segmentCount must large than 0");
+        }
+        this.segmentCount = segmentCount;
+        return this;
+    }
+
+    /**
+     * 设置 缓存时钟：如 Ticker.system() 系统时钟、Ticker.cached() 粗粒度时钟、ManualTicker 手动时钟（测试）
+     */
+    public CacheTool<K, V> ticker(Ticker ticker) {
+        this.ticker = ticker;
+        return this;
+    }
+
     /**
      * 设置 定时清理延时, 单位：毫秒
      */
@@ -227,19 +550,181 @@ public class CacheTool<K, V> {
     /**
      * build cache
      */
+    @SuppressWarnings("unchecked")
     public <K, V> Cache<K, V> build() {
 
+        // 按权重限制时，capacity 仅作为初始容量
+        if (maximumWeight > 0 && capacity <= 0) {
+            capacity = 1000;
+        }
+
         // build cache
+        if (longKey) {
+            cache = buildLongKey();
+        } else if (segmentCount > 1) {
+            cache = buildSegmented();
+        } else {
+            validCacheType();
+            cache = newCache(capacity);
+        }
+
+        // set ticker（先于写入数据）
+        if (ticker != null) {
+            cache.setTicker(ticker);
+        }
+        // set listener
+        if (listener != null) {
+            cache.setListener(listener);
+        }
+        // set loader
+        if (loader != null) {
+            cache.setLoader(loader);
+        }
+        // set weight（无限容量缓存不限制权重，仅统计）
+        if (weigher != null) {
+            cache.setWeigher(weigher);
+        }
+        if (maximumWeight > 0 && cacheType != CacheType.UNLIMITED) {
+            cache.setMaximumWeight(maximumWeight);
+        }
+        // set serializer
+        cache.setSerializer(serializer);
+        // set stats
+        if (recordStats) {
+            cache.setRecordStats(true);
+        }
+        // set overflow（磁盘层压缩随定时清理执行，主动开启 “定时清理”）
+        if (overflowDir != null) {
+            int segmentSize = (int) Math.min(64 * 1024 * 1024L, Math.max(1, overflowMaxSize / 4));
+            if (cache instanceof SegmentedCache) {
+                // 分段缓存：每个分段独立磁盘目录，磁盘占用上限按分段均分
+                SegmentedCache<K, V> segmentedCache = (SegmentedCache<K, V>) cache;
+                long segmentMaxSize = Math.max(1, overflowMaxSize / segmentedCache.segmentCount());
+                int segmentFileSize = (int) Math.min(segmentSize, Math.max(1, segmentMaxSize / 4));
+                for (int i = 0; i < segmentedCache.segmentCount(); i++) {
+                    segmentedCache.segment(i).setDiskStore(new DiskStore<>(overflowDir.resolve("segment-" + i), segmentFileSize, segmentMaxSize, serializer));
+                }
+            } else {
+                cache.setDiskStore(new DiskStore<>(overflowDir, segmentSize, overflowMaxSize, serializer));
+            }
+            if (pruneInterval <= 0) {
+                pruneInterval = 5 * 1000L;
+            }
+        }
+        // set stale
+        if (staleWhileRevalidate > 0) {
+            cache.setStaleWhileRevalidate(staleWhileRevalidate);
+        }
+        if (staleIfError > 0) {
+            cache.setStaleIfError(staleIfError);
+        }
+        // set negative
+        if (negativeTtl > 0) {
+            cache.setNegativeTtl(negativeTtl);
+        }
+        // set refresh
+        if (refreshAfterWrite > 0) {
+            cache.setRefreshAfterWrite(refreshAfterWrite);
+        }
+        // set executor
+        if (executor != null) {
+            cache.setExecutor(executor);
+        }
+
+        // set invalidation（挂载失效总线，原有监听器作为下游）
+        if (invalidationBus != null) {
+            invalidationBus.attach(invalidationName, cache, listener);
+        }
+
+        // warm（预热失败不影响缓存使用）
+        if (warmPath != null && Files.exists(warmPath)) {
+            try {
+                long start = System.currentTimeMillis();
+                int count = cache.warmFrom(warmPath);
+                logger.info("cache warm from snapshot success, path:{}, count:{}, cost:{}ms", warmPath, count, System.currentTimeMillis() - start);
+            } catch (Exception e) {
+                logger.error("cache warm from snapshot error, path:{}", warmPath, e);
+            }
+        }
+
+        // prune cycle
+        if (pruneInterval > 0) {
+            if (cache instanceof SegmentedCache) {
+                // 分段缓存：各分段独立清理，按分段错开执行，单次清理仅占用一个分段
+                SegmentedCache<K, V> segmentedCache = (SegmentedCache<K, V>) cache;
+                int count = segmentedCache.segmentCount();
+                for (int i = 0; i < count; i++) {
+                    Cache<K, V> segment = segmentedCache.segment(i);
+                    pruneJobFutures.add(schedule(() -> {
+                        try {
+                            segment.prune();
+                        } catch (Exception e) {
+                            logger.error("prune cache segment error", e);
+                        }
+                    }, pruneInterval * (i + 1) / count, pruneInterval));
+                }
+            } else {
+                pruneJobFutures.add(schedule(() -> {
+                    try {
+                        cache.prune();
+                    } catch (Exception e) {
+                        logger.error("prune cache error", e);
+                    }
+                }, pruneInterval, pruneInterval));
+            }
+        }
+
+        return (Cache<K, V>) cache;
+    }
+
+    /**
+     * valid：NONE、OFFHEAP 缓存不支持的配置直接报错，避免静默忽略（如磁盘溢出层仍会创建并清理目录）
+     */
+    private void validCacheType() {
+        if (cacheType != CacheType.NONE && cacheType != CacheType.OFFHEAP) {
+            return;
+        }
+        // OFFHEAP 以 maximumWeight 作为最大堆外内存，按序列化后字节数计算，不支持自定义权重
+        if ((cacheType == CacheType.NONE && maximumWeight > 0) || weigher != null) {
+            throw new IllegalArgumentException("cacheType:" + cacheType + " not support maximumWeight/weigher");
+        }
+        if (overflowDir != null) {
+            throw new IllegalArgumentException("cacheType:" + cacheType + " not support overflowToDisk");
+        }
+        if (negativeTtl > 0 || staleWhileRevalidate > 0 || staleIfError > 0 || refreshAfterWrite > 0) {
+            throw new IllegalArgumentException("cacheType:" + cacheType + " not support negativeTtl/staleWhileRevalidate/staleIfError/refreshAfterWrite");
+        }
+        if (recordStats) {
+            throw new IllegalArgumentException("cacheType:" + cacheType + " not support recordStats");
+        }
+        // 快照仅支持堆内缓存（ReentrantCache 及其分段）
+        if (warmPath != null) {
+            throw new IllegalArgumentException("cacheType:" + cacheType + " not support warmFrom");
+        }
+    }
+
+    /**
+     * new cache instance（单个缓存实例，或单个分段）
+     */
+    private Cache<K, V> newCache(int capacity) {
+        Cache<K, V> newCache;
         if (cacheType == CacheType.NONE) {
-            cache = new NoCache<>();
+            newCache = new NoCache<>();
         } else if (cacheType == CacheType.FIFO) {
-            cache = new FIFOCache<>(capacity, timeout, expireType);
+            newCache = new FIFOCache<>(capacity, timeout, expireType);
         } else if (cacheType == CacheType.LFU) {
-            cache = new LFUCache<>(capacity, timeout, expireType);
+            newCache = new LFUCache<>(capacity, timeout, expireType);
         } else if (cacheType == CacheType.LRU) {
-            cache = new LRUCache<>(capacity, timeout, expireType);
+            newCache = new LRUCache<>(capacity, timeout, expireType);
+        } else if (cacheType == CacheType.CONCURRENT_LRU) {
+            newCache = new ConcurrentLRUCache<>(capacity, timeout, expireType);
+        } else if (cacheType == CacheType.TINYLFU) {
+            newCache = new TinyLFUCache<>(capacity, timeout, expireType);
+        } else if (cacheType == CacheType.OFFHEAP) {
+            // 堆外内存缓存，maximumWeight 为最大堆外内存（字节）
+            newCache = new OffHeapCache<>(maximumWeight > 0 ? maximumWeight : 64 * 1024 * 1024L, timeout, expireType, serializer);
         } else if (cacheType == CacheType.UNLIMITED) {
-            cache = new UnlimitedCache<>(timeout, expireType);
+            newCache = new UnlimitedCache<>(timeout, expireType);
             // 由于无容量限制，主动开启 “定时清理”
             if (pruneInterval <=0) {
                 pruneInterval = 5 * 1000L;
@@ -248,37 +733,92 @@ public class CacheTool<K, V> {
             // default lfu
             throw new RuntimeException("cacheType invalid.");
         }
+        return newCache;
+    }
 
-        // set listener
-        if (listener != null) {
-            cache.setListener(listener);
+    /**
+     * build segmented cache：容量按分段均分，磁盘溢出层按分段拆分为独立目录
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Cache<K, V> buildSegmented() {
+        if (cacheType == CacheType.NONE || cacheType == CacheType.OFFHEAP) {
+            throw new IllegalArgumentException("segmented cache not support cacheType:" + cacheType);
         }
-        // set loader
-        if (loader != null) {
-            cache.setLoader(loader);
+
+        // 分段数量：向上取整为 2 的幂
+        int count = Integer.highestOneBit(Math.min(segmentCount, 1 << 16) - 1) << 1;
+        int segmentCapacity = capacity > 0 ? (capacity + count - 1) / count : 0;
+
+        ReentrantCache<K, V>[] segments = new ReentrantCache[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = (ReentrantCache<K, V>) newCache(segmentCapacity);
         }
+        return new SegmentedCache<>(segments);
+    }
 
-        // prune cycle
-        if (pruneInterval > 0) {
-            pruneJobFuture = schedule(() -> {
-                try {
-                    cache.prune();
-                } catch (Exception e) {
-                    logger.error("prune cache error", e);
-                }
-            }, pruneInterval);
+    /**
+     * build long-key cache，返回原生 long 键 API（get(long)、put(long, V) 等）
+     */
+    @SuppressWarnings("unchecked")
+    public LongKeyCache<V> buildLongKeyCache() {
+        if (!longKey) {
+            throw new IllegalArgumentException("longKey not enabled, use CacheTool.newLongKeyCache");
         }
+        return (LongKeyCache<V>) (Cache<?, ?>) build();
+    }
 
-        return (Cache<K, V>) cache;
+    /**
+     * build long-key cache：仅支持 容量、过期、加载器、监听器、时钟、定时清理；分段数量作为 stripe 数量，未设置时按容量默认分段
+     */
+    @SuppressWarnings("unchecked")
+    private Cache<K, V> buildLongKey() {
+        // valid：不支持的配置直接报错，避免静默忽略
+        if (maximumWeight > 0 || weigher != null) {
+            throw new IllegalArgumentException("longKey cache not support maximumWeight/weigher");
+        }
+        if (overflowDir != null) {
+            throw new IllegalArgumentException("longKey cache not support overflowToDisk");
+        }
+        if (negativeTtl > 0 || staleWhileRevalidate > 0 || staleIfError > 0 || refreshAfterWrite > 0) {
+            throw new IllegalArgumentException("longKey cache not support negativeTtl/staleWhileRevalidate/staleIfError/refreshAfterWrite");
+        }
+        if (recordStats) {
+            throw new IllegalArgumentException("longKey cache not support recordStats");
+        }
+        if (invalidationBus != null) {
+            throw new IllegalArgumentException("longKey cache not support invalidationBus");
+        }
+        if (warmPath != null) {
+            throw new IllegalArgumentException("longKey cache not support warmFrom");
+        }
+
+        LongKeyCache<V> longKeyCache;
+        if (cacheType == CacheType.LRU) {
+            longKeyCache = segmentCount > 1
+                    ? new LongKeyLRUCache<>(capacity, timeout, expireType, segmentCount)
+                    : new LongKeyLRUCache<>(capacity, timeout, expireType);
+        } else if (cacheType == CacheType.LFU) {
+            longKeyCache = segmentCount > 1
+                    ? new LongKeyLFUCache<>(capacity, timeout, expireType, segmentCount)
+                    : new LongKeyLFUCache<>(capacity, timeout, expireType);
+        } else if (cacheType == CacheType.FIFO) {
+            longKeyCache = segmentCount > 1
+                    ? new LongKeyFIFOCache<>(capacity, timeout, expireType, segmentCount)
+                    : new LongKeyFIFOCache<>(capacity, timeout, expireType);
+        } else {
+            throw new IllegalArgumentException("longKey cache only support LRU、LFU、FIFO, cacheType:" + cacheType);
+        }
+        return (Cache<K, V>) (Cache<?, ?>) longKeyCache;
     }
 
     /**
      * stop
      */
     public void stop() {
-        if (pruneJobFuture != null) {
+        for (ScheduledFuture<?> pruneJobFuture : pruneJobFutures) {
             pruneJobFuture.cancel(true);
         }
+        pruneJobFutures.clear();
     }
 
 
@@ -298,8 +838,8 @@ public class CacheTool<K, V> {
     /**
      * schedule task
      */
-    private ScheduledFuture<?> schedule(Runnable task, long delay) {
-        return pruneTimer.scheduleAtFixedRate(task, delay, delay, TimeUnit.MILLISECONDS);
+    private ScheduledFuture<?> schedule(Runnable task, long initialDelay, long delay) {
+        return pruneTimer.scheduleAtFixedRate(task, initialDelay, delay, TimeUnit.MILLISECONDS);
     }
 
 }
\ No newline at end of file
@@ -25,6 +25,21 @@ public enum CacheType {
 	 */
     LRU,
 
+	/**
+	 * Concurrent Least Recently Used (buffered access reordering)
+	 */
+	CONCURRENT_LRU,
+
+	/**
+	 * Window TinyLFU (frequency-based admission)
+	 */
+	TINYLFU,
+
+	/**
+	 * Off-Heap (serialized values in direct memory)
+	 */
+	OFFHEAP,
+
 	/**
 	 * Unlimited Size
 	 */
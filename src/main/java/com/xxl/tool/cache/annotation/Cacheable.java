@@ -0,0 +1,28 @@
+package com.xxl.tool.cache.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * cacheable method（远程代理接口方法结果缓存，如 HttpClient、JsonRpcClient 代理）
+ *
+ * 1、按 “方法 + 参数” 缓存返回值，重复调用直接返回缓存结果，不再发起远程调用；
+ * 2、同一 “方法 + 参数” 并发未命中时，仅发起一次远程调用，其余调用共享结果；
+ * 3、返回值为 {@code null}、调用异常时不缓存；void 方法忽略此注解；
+ * 4、仅适用于幂等的查询方法，参数需正确实现 equals、hashCode（数组参数按内容比较）；
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Cacheable {
+
+    /**
+     * cache ttl (expire after write), milliseconds; 0 means never expire
+     */
+    long ttl() default 60 * 1000;
+
+    /**
+     * cache capacity (LRU)
+     */
+    int capacity() default 1000;
+
+}
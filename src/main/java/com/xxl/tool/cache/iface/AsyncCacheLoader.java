@@ -0,0 +1,39 @@
+package com.xxl.tool.cache.iface;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Async Cache Loader
+ *
+ * 1、异步加载缓存对象，加载过程不占用调用线程及 key 锁；
+ * 2、同时支持同步加载：同步场景下在调用线程中执行，并等待加载结果；
+ *
+ * @param <K>
+ * @param <V>
+ */
+public abstract class AsyncCacheLoader<K, V> extends CacheLoader<K, V> {
+
+    /**
+     * async load cache
+     *
+     * @param key       键
+     * @param executor  缓存配置的异步加载线程池，可选使用
+     * @return 值对象 Future
+     */
+    public abstract CompletableFuture<V> asyncLoad(K key, Executor executor) throws Exception;
+
+    /**
+     * load cache (sync)
+     */
+    @Override
+    public V load(K key) throws Exception {
+        try {
+            return asyncLoad(key, Runnable::run).get();
+        } catch (ExecutionException e) {
+            throw (e.getCause() instanceof Exception) ? (Exception) e.getCause() : e;
+        }
+    }
+
+}
@@ -1,7 +1,16 @@
 package com.xxl.tool.cache.iface;
 
+import com.xxl.tool.cache.model.CacheStats;
+import com.xxl.tool.cache.support.DiskStore;
+import com.xxl.tool.serializer.Serializer;
+
 import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Cache Interface
@@ -21,6 +30,17 @@ public interface Cache<K, V> extends Serializable {
      */
     void put(K key, V object);
 
+    /**
+     * 批量设置缓存对象
+     *
+     * @param map 键值对
+     */
+    default void putAll(Map<? extends K, ? extends V> map) {
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
     // ---------------------- get ----------------------
 
     /**
@@ -58,6 +78,44 @@ public interface Cache<K, V> extends Serializable {
      */
     V get(K key, CacheLoader<K, V> cacheLoader);
 
+    /**
+     * 批量获取缓存对象
+     * <p>
+     * 1、缓存对象不存在 或 已过期：使用 cacheLoader.loadAll 对全部未命中 key 批量加载一次，并写入缓存；
+     * 2、返回结果按入参顺序排列，仅包含值不为 {@code null} 的键值对；
+     *
+     * @param keys 键
+     * @return 键值对
+     */
+    default Map<K, V> getAll(Collection<? extends K> keys) {
+        Map<K, V> result = new LinkedHashMap<>();
+        for (K key : keys) {
+            V value = get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 异步获取缓存对象
+     * <p>
+     * 1、缓存对象存在：返回已完成的 Future；
+     * 2、缓存对象不存在 或 已过期：使用 cacheLoader 在异步线程池中加载，加载完成后写入缓存；同一 key 并发加载时仅执行一次；
+     * 3、加载过程不占用调用线程及 key 锁；
+     *
+     * @param key 键
+     * @return 值对象 Future
+     */
+    default CompletableFuture<V> getAsync(K key) {
+        try {
+            return CompletableFuture.completedFuture(get(key));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     // ---------------------- query ----------------------
 
     /**
@@ -82,6 +140,15 @@ public interface Cache<K, V> extends Serializable {
      */
     int size();
 
+    /**
+     * 缓存对象总权重；未设置权重计算器时，每个对象权重为 1
+     * <p>
+     * 1、包含过期数据
+     */
+    default long weight() {
+        return size();
+    }
+
     /**
      * 缓存是否已满，仅用于有空间限制的缓存对象
      * <p>
@@ -127,6 +194,22 @@ public interface Cache<K, V> extends Serializable {
      */
     long missCount();
 
+    /**
+     * 缓存统计快照：命中/未命中 始终统计；加载、淘汰、过期 相关统计需开启 recordStats
+     *
+     * @return 统计快照
+     */
+    default CacheStats stats() {
+        return new CacheStats(hitCount(), missCount());
+    }
+
+    /**
+     * 设置 是否开启统计（加载、淘汰、过期），未开启时无统计开销
+     */
+    default Cache<K, V> setRecordStats(boolean recordStats) {
+        return this;
+    }
+
     // ---------------------- info ----------------------
 
     /**
@@ -157,4 +240,106 @@ public interface Cache<K, V> extends Serializable {
         return this;
     }
 
+    // ---------------------- weight ----------------------
+
+    /**
+     * 设置 最大总权重，{@code 0} 表示不限制；设置后按总权重（而非对象数量）淘汰缓存对象
+     */
+    default Cache<K, V> setMaximumWeight(long maximumWeight) {
+        return this;
+    }
+
+    /**
+     * 设置 权重计算器
+     */
+    default Cache<K, V> setWeigher(Weigher<K, V> weigher) {
+        return this;
+    }
+
+    // ---------------------- snapshot ----------------------
+
+    /**
+     * 缓存快照：将有效缓存对象（含剩余有效期、访问元数据）按淘汰顺序写入文件
+     *
+     * @param path 快照文件
+     * @return 写入数量
+     */
+    default int snapshotTo(Path path) {
+        throw new UnsupportedOperationException("cache snapshot not supported.");
+    }
+
+    /**
+     * 缓存预热：从快照文件恢复缓存对象（跳过已过期对象），恢复后淘汰顺序与快照时一致
+     *
+     * @param path 快照文件
+     * @return 恢复数量
+     */
+    default int warmFrom(Path path) {
+        throw new UnsupportedOperationException("cache snapshot not supported.");
+    }
+
+    /**
+     * 设置 序列化组件（快照、磁盘溢出层）
+     */
+    default Cache<K, V> setSerializer(Serializer serializer) {
+        return this;
+    }
+
+    // ---------------------- overflow ----------------------
+
+    /**
+     * 设置 磁盘溢出层：容量淘汰的对象写入磁盘层，未命中时优先从磁盘层加载
+     */
+    default Cache<K, V> setDiskStore(DiskStore<K, V> diskStore) {
+        return this;
+    }
+
+    // ---------------------- negative ----------------------
+
+    /**
+     * 设置 负缓存有效期，单位毫秒；加载结果为 {@code null} 时写入负缓存对象，有效期内访问直接返回 {@code null}，不再加载
+     */
+    default Cache<K, V> setNegativeTtl(long negativeTtl) {
+        return this;
+    }
+
+    // ---------------------- refresh ----------------------
+
+    /**
+     * 设置 写入后刷新时长，单位毫秒；到期后访问仍返回旧值，同时在后台异步重新加载
+     */
+    default Cache<K, V> setRefreshAfterWrite(long refreshAfterWrite) {
+        return this;
+    }
+
+    /**
+     * 设置 stale-while-revalidate 时长，单位毫秒；对象过期后的该时长内，访问仍返回旧值，同时在后台异步重新加载
+     */
+    default Cache<K, V> setStaleWhileRevalidate(long staleWhileRevalidate) {
+        return this;
+    }
+
+    /**
+     * 设置 stale-if-error 时长，单位毫秒；对象过期后的该时长内，访问时重新加载，加载失败时返回旧值
+     */
+    default Cache<K, V> setStaleIfError(long staleIfError) {
+        return this;
+    }
+
+    /**
+     * 设置 异步加载/刷新线程池
+     */
+    default Cache<K, V> setExecutor(Executor executor) {
+        return this;
+    }
+
+    // ---------------------- ticker ----------------------
+
+    /**
+     * 设置 缓存时钟（创建时间、访问时间、过期判断），需在写入数据前设置
+     */
+    default Cache<K, V> setTicker(Ticker ticker) {
+        return this;
+    }
+
 }
\ No newline at end of file
@@ -13,4 +13,12 @@ public abstract class CacheListener<K, V> {
      */
     public abstract void onRemove(K key, V value) throws Exception;
 
+    /**
+     * on write：显式写入（put、putAll）或显式删除（remove，value 为 {@code null}），不包括 加载、淘汰、过期；
+     * 用于向其他节点传播失效（如 InvalidationBus）
+     */
+    public void onWrite(K key, V value) throws Exception {
+        // default do nothing
+    }
+
 }
\ No newline at end of file
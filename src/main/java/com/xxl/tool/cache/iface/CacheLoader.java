@@ -1,5 +1,9 @@
 package com.xxl.tool.cache.iface;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Cache Loader
  *
@@ -13,4 +17,25 @@ public abstract class CacheLoader<K, V> {
      */
     public abstract V load(K key) throws Exception;
 
+    /**
+     * load cache (batch)
+     * <p>
+     * 1、批量加载缓存未命中的 key，缓存 getAll 时对全部未命中 key 仅调用一次；
+     * 2、默认逐个调用 load；下游支持批量查询（如 multi-get）时，建议覆盖此方法；
+     * 3、返回结果中不存在 或 值为 {@code null} 的 key，不写入缓存；
+     *
+     * @param keys 未命中的键
+     * @return 键值对
+     */
+    public Map<K, V> loadAll(Set<K> keys) throws Exception {
+        Map<K, V> result = new HashMap<>();
+        for (K key : keys) {
+            V value = load(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.xxl.tool.cache.iface;
+
+import com.xxl.tool.cache.support.CachedTicker;
+
+/**
+ * Cache Ticker（缓存时钟）
+ *
+ * 1、缓存对象的 创建时间、访问时间、过期判断、过期清理 统一从 Ticker 读取当前时间，单位毫秒；
+ * 2、内置实现：
+ *      - system：直接读取 System.currentTimeMillis()，精确，每次读取均为系统调用；
+ *      - cached：粗粒度时钟，由后台线程定时刷新，读取仅为一次 volatile 读，适用于高频访问路径；
+ *      - ManualTicker：手动推进时间，用于测试，使过期逻辑可确定性验证；
+ */
+public abstract class Ticker {
+
+    /**
+     * 读取当前时间
+     *
+     * @return 当前时间，单位毫秒
+     */
+    public abstract long read();
+
+    // ---------------------- default ----------------------
+
+    private static final Ticker SYSTEM_TICKER = new Ticker() {
+        @Override
+        public long read() {
+            return System.currentTimeMillis();
+        }
+    };
+
+    /**
+     * 系统时钟
+     */
+    public static Ticker system() {
+        return SYSTEM_TICKER;
+    }
+
+    /**
+     * 粗粒度时钟（全局共享，精度 1ms）
+     */
+    public static Ticker cached() {
+        return CachedTicker.getInstance();
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.xxl.tool.cache.iface;
+
+/**
+ * Cache Weigher
+ *
+ * 1、计算缓存对象权重（如对象占用字节数），用于按总权重限制缓存容量；
+ * 2、权重在写入时计算一次，不可为负数；
+ *
+ * @param <K>
+ * @param <V>
+ */
+public abstract class Weigher<K, V> {
+
+    /**
+     * weigh cache
+     *
+     * @param key   键
+     * @param value 值
+     * @return 权重
+     */
+    public abstract int weigh(K key, V value);
+
+}
@@ -0,0 +1,324 @@
+package com.xxl.tool.cache.impl;
+
+import com.xxl.tool.cache.model.CacheKey;
+import com.xxl.tool.cache.model.CacheObject;
+import com.xxl.tool.cache.support.ReadBuffer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent LRU (least recently used) 高并发最近最久未使用缓存
+ *
+ * 1、数据存储于 ConcurrentHashMap，读操作无锁；
+ * 2、访问顺序不在读操作中直接调整，而是记录到 “读缓冲区”（按线程分段的无锁环形缓冲，满时丢弃记录，LRU 顺序仅为近似）；
+ *    写操作记录到 “写缓冲区”（无锁队列，不丢弃）；缓冲区由获取到淘汰锁（tryLock）的线程批量回放，更新访问顺序并淘汰超出容量的对象；
+ * 3、清理后缓存仍存满时，最久未被使用的对象将被移除；
+ * 4、优劣势：
+ *      - 优势：读操作不竞争同一把锁，可随 CPU 核数线性扩展；
+ *      - 劣势：访问顺序为近似 LRU，并发写入时缓存数量可能短暂超出容量；
+ */
+public class ConcurrentLRUCache<K, V> extends ReentrantCache<K, V> {
+    private static final long serialVersionUID = 42L;
+
+    /**
+     * 读缓冲区（按线程分段）
+     */
+    private final ReadBuffer<K> readBuffer = new ReadBuffer<>();
+
+    /**
+     * 写缓冲区：待回放的写入/删除 key
+     */
+    private final ConcurrentLinkedQueue<CacheKey<K>> writeBuffer = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 淘汰锁：回放缓冲区、维护访问顺序、淘汰对象
+     */
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    /**
+     * 访问顺序节点，受 evictionLock 保护
+     */
+    private final Map<CacheKey<K>, Node<K, V>> nodes = new HashMap<>();
+
+    /**
+     * 访问顺序链表：头部最久未访问，尾部最近访问
+     */
+    private Node<K, V> head;
+    private Node<K, V> tail;
+
+    public ConcurrentLRUCache(int capacity, long timeout, boolean expireType) {
+        // valid
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must large than 0");
+        }
+        if (Integer.MAX_VALUE == capacity) {
+            capacity -= 1;
+        }
+
+        // init
+        this.capacity = capacity;
+        this.timeout = timeout;
+        this.expireType = expireType;
+
+        /**
+         * 1、capacity + 1 (初始容量)：预先分配足够的空间，减少后续扩容操作；
+         * 2、1.0f (负载因子)：设置负载因子，1.0f 表示当哈希表完全填满时才会扩容；（存在主动清理，理论上永远不会填满，避免扩容）
+         */
+        this.cacheMap = new ConcurrentHashMap<>(capacity + 1, 1.0f);
+    }
+
+    // ---------------------------------------------------------------- buffer
+
+    /**
+     * 访问顺序节点
+     */
+    private static class Node<K, V> {
+        private final CacheKey<K> key;
+        private CacheObject<K, V> value;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        private Node(CacheKey<K> key, CacheObject<K, V> value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * 写入：记录到写缓冲区，并尝试回放
+     */
+    @Override
+    protected void onPut(CacheKey<K> cacheKey, CacheObject<K, V> cacheObject) {
+        writeBuffer.add(cacheKey);
+        tryDrain();
+    }
+
+    /**
+     * 访问：命中时记录到读缓冲区，缓冲区满时尝试回放
+     */
+    @Override
+    protected void onAccess(K key, CacheObject<K, V> cacheObject) {
+        if (cacheObject == null) {
+            return;
+        }
+        if (readBuffer.offer(key)) {
+            tryDrain();
+        }
+    }
+
+    @Override
+    protected CacheObject<K, V> removeWithoutLock(K key) {
+        CacheKey<K> cacheKey = CacheKey.of(key);
+        CacheObject<K, V> removed = cacheMap.remove(cacheKey);
+        if (removed != null) {
+            writeBuffer.add(cacheKey);
+            tryDrain();
+        }
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        evictionLock.lock();
+        try {
+            cacheMap.clear();
+            nodes.clear();
+            head = null;
+            tail = null;
+            writeBuffer.clear();
+            onClear();
+            readBuffer.drainTo(new ArrayList<>());
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * 快照顺序：回放缓冲区后，按访问顺序（最久未访问在前）
+     */
+    @Override
+    protected List<CacheObject<K, V>> snapshotEntries() {
+        List<CacheObject<K, V>> entries = new ArrayList<>();
+        List<CacheObject<K, V>> evicted;
+        evictionLock.lock();
+        try {
+            evicted = drain();
+            for (Node<K, V> node = head; node != null; node = node.next) {
+                CacheObject<K, V> cacheObject = cacheMap.get(node.key);
+                if (cacheObject != null) {
+                    entries.add(cacheObject);
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+        for (CacheObject<K, V> cacheObject : evicted) {
+            // listener (evict)
+            onEvict(cacheObject);
+        }
+        return entries;
+    }
+
+    /**
+     * 尝试回放缓冲区；淘汰锁被占用时直接返回，由持有锁的线程完成回放
+     */
+    private void tryDrain() {
+        do {
+            if (!evictionLock.tryLock()) {
+                return;
+            }
+            List<CacheObject<K, V>> evicted;
+            try {
+                evicted = drain();
+            } finally {
+                evictionLock.unlock();
+            }
+            // listener (evict)
+            for (CacheObject<K, V> cacheObject : evicted) {
+                onEvict(cacheObject);
+            }
+            // 释放锁后仍有写入记录（其他线程 tryLock 失败），继续回放，避免写入记录滞留
+        } while (!writeBuffer.isEmpty());
+    }
+
+    /**
+     * 回放缓冲区，并淘汰超出容量的对象，需持有 evictionLock
+     *
+     * @return 被淘汰的对象
+     */
+    private List<CacheObject<K, V>> drain() {
+        // write buffer: 以缓存当前状态为准，同步访问顺序
+        CacheKey<K> cacheKey;
+        while ((cacheKey = writeBuffer.poll()) != null) {
+            CacheObject<K, V> current = cacheMap.get(cacheKey);
+            Node<K, V> node = nodes.get(cacheKey);
+            if (current == null) {
+                if (node != null) {
+                    nodes.remove(cacheKey);
+                    unlink(node);
+                }
+            } else if (node == null) {
+                node = new Node<>(cacheKey, current);
+                nodes.put(cacheKey, node);
+                linkLast(node);
+            } else {
+                node.value = current;
+                moveToLast(node);
+            }
+        }
+
+        // read buffer: 调整访问顺序
+        List<K> accessed = new ArrayList<>();
+        readBuffer.drainTo(accessed);
+        for (K key : accessed) {
+            Node<K, V> node = nodes.get(CacheKey.of(key));
+            if (node != null) {
+                moveToLast(node);
+            }
+        }
+
+        // evict: 淘汰最久未访问对象，直至不超出容量（或最大总权重）
+        List<CacheObject<K, V>> evicted = new ArrayList<>();
+        long evictedWeight = 0;     // 被淘汰对象的权重在 onRemove 时扣除，淘汰过程中需预先扣除
+        int attempts = nodes.size();
+        while (head != null && attempts-- > 0) {
+            boolean overflow = maximumWeight > 0
+                    ? totalWeight.get() - evictedWeight > maximumWeight
+                    : cacheMap.size() > capacity;
+            if (!overflow) {
+                break;
+            }
+
+            Node<K, V> victim = head;
+            if (cacheMap.remove(victim.key, victim.value)) {
+                nodes.remove(victim.key);
+                unlink(victim);
+                evicted.add(victim.value);
+                evictedWeight += victim.value.getWeight();
+                continue;
+            }
+
+            // 对象已被并发替换或删除
+            CacheObject<K, V> current = cacheMap.get(victim.key);
+            if (current == null) {
+                nodes.remove(victim.key);
+                unlink(victim);
+            } else {
+                victim.value = current;
+                moveToLast(victim);
+            }
+        }
+        return evicted;
+    }
+
+    private void linkLast(Node<K, V> node) {
+        node.prev = tail;
+        node.next = null;
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.next = node;
+        }
+        tail = node;
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    private void moveToLast(Node<K, V> node) {
+        if (node != tail) {
+            unlink(node);
+            linkLast(node);
+        }
+    }
+
+    // ---------------------------------------------------------------- prune
+
+    /**
+     * 1、清理已到期对象
+     * 2、回放缓冲区，清理后缓存仍超出容量时，最久未被使用的对象将被移除
+     */
+    @Override
+    protected int doPrune() {
+
+        // doPrune
+        int count = 0;
+
+        // 清理已到期对象（过期时间轮，仅触达已到期对象）
+        count += pruneExpired();
+
+        // 回放缓冲区 + 淘汰
+        List<CacheObject<K, V>> evicted;
+        evictionLock.lock();
+        try {
+            evicted = drain();
+        } finally {
+            evictionLock.unlock();
+        }
+        for (CacheObject<K, V> cacheObject : evicted) {
+            // listener (evict)
+            onEvict(cacheObject);
+            count++;
+        }
+        return count;
+    }
+
+}
@@ -8,7 +8,7 @@ import java.util.LinkedHashMap;
 /**
  * FIFO(first in first out) 先进先出缓存
  *
- * 1、元素持续添加直到存满，触发 清理全部过期对象；
+ * 1、元素持续添加直到存满，触发 清理已到期对象；
  * 2、清理后依然存满，则删除最早加入的缓存对象；
  * 3、优劣势：
  *      - 优势：实现简单；
@@ -40,7 +40,7 @@ public class FIFOCache<K, V> extends ReentrantCache<K, V> {
     }
 
     /**
-     * 1、清理全部过期对象
+     * 1、清理已到期对象
      * 2、如清理后依然存满，则删除最早加入的缓存对象；
      */
     @Override
@@ -48,33 +48,22 @@ public class FIFOCache<K, V> extends ReentrantCache<K, V> {
 
         // doPrune
         int count = 0;
-        CacheObject<K, V> first = null;
 
-        // 清理全部过期对象 + 找出链表头部元素（先入元素）
-        final Iterator<CacheObject<K, V>> values = super.cacheMap.values().iterator();
-        while (values.hasNext()) {
-            CacheObject<K, V> cacheObject = values.next();
-            if (cacheObject.isExpired()) {
+        // 清理已到期对象（过期时间轮，仅触达已到期对象）
+        count += pruneExpired();
+
+        // 清理结束后依旧是满的，则删除头部元素（先入元素）
+        if (isFull()) {
+            Iterator<CacheObject<K, V>> values = super.cacheMap.values().iterator();
+            CacheObject<K, V> first = values.hasNext() ? values.next() : null;
+            if (null != first) {
                 // do remove
-                values.remove();
-                // listener
-                onRemove(cacheObject);
+                removeWithoutLock(first.getKey());
+                // listener (evict)
+                onEvict(first);
                 count++;
-                continue;
-            }
-            if (first == null) {
-                first = cacheObject;
             }
         }
-
-        // 清理结束后依旧是满的，则删除头部元素
-        if (isFull() && null != first) {
-            // do remove
-            removeWithoutLock(first.getKey());
-            // listener
-            onRemove(first);
-            count++;
-        }
         return count;
     }
 
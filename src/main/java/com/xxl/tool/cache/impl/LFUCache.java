@@ -1,18 +1,28 @@
 package com.xxl.tool.cache.impl;
 
+import com.xxl.tool.cache.model.CacheKey;
 import com.xxl.tool.cache.model.CacheObject;
+import com.xxl.tool.cache.support.ReadBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * LFU(least frequently used) 最少使用率缓存
  *
- * 1、元素持续添加直到存满，触发 清理全部过期对象；
- * 2、清理后缓存仍存满时，清除最少访问（访问计数最小）的对象；并将其他对象的访问数减去这个最小访问数，以便新对象进入后可以公平计数。
- * 3、优劣势：
+ * 1、元素持续添加直到存满，触发 清理已到期对象；
+ * 2、清理后缓存仍存满时，清除最少访问（访问计数最小）的对象；访问计数相同时，清除其中最早进入该计数的对象；
+ * 3、实现：按访问计数组织 “频率桶” 双向链表（链表头部为最小计数），访问时对象移入下一个频率桶，淘汰时取头部桶对象，均为 O(1)；
+ * 4、老化：新对象以 “最近一次淘汰对象的访问计数” 为初始计数（等价于将其他对象的访问数减去最小访问数），无需遍历全部对象，保证新对象进入后可以公平计数；
+ * 5、读操作不竞争策略锁：命中记录写入 “读缓冲区”（按线程分段的无锁环形缓冲，满时丢弃），由获取到策略锁（tryLock）的线程批量回放计数；
+ * 6、优劣势：
  *      - 优势，热点数据可以常驻内存；
  *      - 劣势，复杂度较高；
  */
@@ -20,6 +30,31 @@ public class LFUCache<K, V> extends ReentrantCache<K, V> {
 	private static final Logger logger = LoggerFactory.getLogger(LFUCache.class);
     private static final long serialVersionUID = 42L;
 
+    /**
+     * 对象所在频率桶
+     */
+    private final Map<CacheKey<K>, FrequencyNode<K>> keyNodes;
+
+    /**
+     * 频率桶链表头部（访问计数最小）
+     */
+    private FrequencyNode<K> head;
+
+    /**
+     * 老化基线：最近一次淘汰对象的访问计数
+     */
+    private long agingBase = 0;
+
+    /**
+     * 淘汰策略锁，保护 频率桶 的一致性
+     */
+    private final ReentrantLock policyLock = new ReentrantLock();
+
+    /**
+     * 读缓冲区（按线程分段）：待回放的命中记录
+     */
+    private final ReadBuffer<K> readBuffer = new ReadBuffer<>();
+
     public LFUCache(int capacity, long timeout, boolean expireType) {
         // valid
         if (capacity <= 0) {
@@ -33,6 +68,7 @@ public class LFUCache<K, V> extends ReentrantCache<K, V> {
         this.capacity = capacity;
         this.timeout = timeout;
         this.expireType = expireType;
+        this.keyNodes = new HashMap<>();
 
         /**
          * 1、capacity + 1 (初始容量)：预先分配足够的空间，减少后续扩容操作；
@@ -41,56 +77,291 @@ public class LFUCache<K, V> extends ReentrantCache<K, V> {
         cacheMap = new ConcurrentHashMap<>(capacity + 1, 1.0f);
     }
 
+    // ---------------------------------------------------------------- frequency
+
+    /**
+     * 频率桶：相同访问计数的对象集合，按进入顺序排列
+     */
+    private static class FrequencyNode<K> {
+        private final long frequency;
+        private final LinkedHashSet<CacheKey<K>> keys = new LinkedHashSet<>();
+        private FrequencyNode<K> prev;
+        private FrequencyNode<K> next;
+
+        private FrequencyNode(long frequency) {
+            this.frequency = frequency;
+        }
+    }
+
+    /**
+     * 写入：新对象以老化基线进入频率桶，已存在对象视为一次访问
+     */
+    @Override
+    protected void onPut(CacheKey<K> cacheKey, CacheObject<K, V> cacheObject) {
+        policyLock.lock();
+        try {
+            drainReadBuffer();
+
+            // 对象已被并发淘汰，忽略
+            if (!cacheMap.containsKey(cacheKey)) {
+                return;
+            }
+            if (keyNodes.containsKey(cacheKey)) {
+                increment(cacheKey);
+                return;
+            }
+
+            // 老化基线不大于任何已有对象计数，因此只会落在头部桶或新建头部桶
+            FrequencyNode<K> node = head;
+            if (node == null || node.frequency != agingBase) {
+                node = new FrequencyNode<>(agingBase);
+                linkAfter(null, node);
+            }
+            node.keys.add(cacheKey);
+            keyNodes.put(cacheKey, node);
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * 恢复（快照预热）：对象按快照中的访问次数移入对应频率桶（onPut 已按老化基线写入，仅向高频移动）
+     */
+    @Override
+    protected void onRestore(CacheKey<K> cacheKey, CacheObject<K, V> cacheObject) {
+        long frequency = cacheObject.getAccessCount().get();
+        policyLock.lock();
+        try {
+            FrequencyNode<K> node = keyNodes.get(cacheKey);
+            if (node == null || frequency <= node.frequency) {
+                return;
+            }
+
+            // 目标频率桶：频率桶按计数升序排列，向后查找插入位置
+            FrequencyNode<K> prev = node;
+            while (prev.next != null && prev.next.frequency <= frequency) {
+                prev = prev.next;
+            }
+            FrequencyNode<K> target = prev;
+            if (target.frequency != frequency) {
+                target = new FrequencyNode<>(frequency);
+                linkAfter(prev, target);
+            }
+            target.keys.add(cacheKey);
+            keyNodes.put(cacheKey, target);
+
+            // 移出原频率桶
+            node.keys.remove(cacheKey);
+            if (node.keys.isEmpty()) {
+                unlink(node);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * 访问：命中记录写入读缓冲区，缓冲区满时尝试回放（访问计数 +1）
+     */
+    @Override
+    protected void onAccess(K key, CacheObject<K, V> cacheObject) {
+        if (key == null || cacheObject == null) {
+            return;
+        }
+        if (readBuffer.offer(key)) {
+            tryDrain();
+        }
+    }
+
+    /**
+     * 尝试回放读缓冲区；策略锁被占用时直接返回，由持有锁的线程完成回放
+     */
+    private void tryDrain() {
+        if (!policyLock.tryLock()) {
+            return;
+        }
+        try {
+            drainReadBuffer();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * 回放读缓冲区：命中对象移入下一个频率桶，需持有 policyLock
+     */
+    private void drainReadBuffer() {
+        List<K> accessed = new ArrayList<>();
+        readBuffer.drainTo(accessed);
+        for (K key : accessed) {
+            increment(CacheKey.of(key));
+        }
+    }
+
+    /**
+     * 对象移入下一个频率桶
+     */
+    private void increment(CacheKey<K> cacheKey) {
+        FrequencyNode<K> node = keyNodes.get(cacheKey);
+        if (node == null) {
+            return;
+        }
+
+        // 下一个频率桶
+        FrequencyNode<K> next = node.next;
+        if (next == null || next.frequency != node.frequency + 1) {
+            next = new FrequencyNode<>(node.frequency + 1);
+            linkAfter(node, next);
+        }
+        next.keys.add(cacheKey);
+        keyNodes.put(cacheKey, next);
+
+        // 移出原频率桶
+        node.keys.remove(cacheKey);
+        if (node.keys.isEmpty()) {
+            unlink(node);
+        }
+    }
+
+    /**
+     * 从频率桶中移除
+     */
+    private void unlinkKey(CacheKey<K> cacheKey) {
+        FrequencyNode<K> node = keyNodes.remove(cacheKey);
+        if (node != null) {
+            node.keys.remove(cacheKey);
+            if (node.keys.isEmpty()) {
+                unlink(node);
+            }
+        }
+    }
+
+    /**
+     * 频率桶插入链表，prev 为 {@code null} 时插入头部
+     */
+    private void linkAfter(FrequencyNode<K> prev, FrequencyNode<K> node) {
+        FrequencyNode<K> next = (prev == null) ? head : prev.next;
+        node.prev = prev;
+        node.next = next;
+        if (next != null) {
+            next.prev = node;
+        }
+        if (prev == null) {
+            head = node;
+        } else {
+            prev.next = node;
+        }
+    }
+
+    /**
+     * 频率桶移出链表
+     */
+    private void unlink(FrequencyNode<K> node) {
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    @Override
+    protected CacheObject<K, V> removeWithoutLock(K key) {
+        CacheKey<K> cacheKey = CacheKey.of(key);
+        policyLock.lock();
+        try {
+            unlinkKey(cacheKey);
+            return cacheMap.remove(cacheKey);
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * 快照顺序：按频率桶由低到高，同一频率桶按进入顺序
+     */
+    @Override
+    protected List<CacheObject<K, V>> snapshotEntries() {
+        List<CacheObject<K, V>> entries = new ArrayList<>();
+        policyLock.lock();
+        try {
+            drainReadBuffer();
+            for (FrequencyNode<K> node = head; node != null; node = node.next) {
+                for (CacheKey<K> cacheKey : node.keys) {
+                    CacheObject<K, V> cacheObject = cacheMap.get(cacheKey);
+                    if (cacheObject != null) {
+                        entries.add(cacheObject);
+                    }
+                }
+            }
+        } finally {
+            policyLock.unlock();
+        }
+        return entries;
+    }
+
+    @Override
+    public void clear() {
+        // cacheMap 为 ConcurrentHashMap，仅需 policyLock 保证策略一致（避免与 prune 的 key 锁交叉加锁）
+        policyLock.lock();
+        try {
+            cacheMap.clear();
+            keyNodes.clear();
+            head = null;
+            agingBase = 0;
+            readBuffer.drainTo(new ArrayList<>());
+            onClear();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
     // ---------------------------------------------------------------- prune
 
     /**
-     * 1、清理全部过期对象
-     * 2、清理后缓存仍存满时，清除最少访问（访问计数最小）的对象；并将其他对象的访问数减去这个最小访问数，以便新对象进入后可以公平计数。
+     * 1、清理已到期对象
+     * 2、清理后缓存仍存满时，清除头部频率桶中最早进入的对象（访问计数最小），并以其访问计数作为老化基线
      */
     @Override
     protected int doPrune() {
 
         // doPrune
         int count = 0;
-        CacheObject<K, V> leastVisitedCacheObject = null;
-
-        // 清理全部过期对象 + 找出访问最少的对象
-        Iterator<CacheObject<K, V>> values = super.cacheMap.values().iterator();
-        while (values.hasNext()) {
-            CacheObject<K, V> cacheObject = values.next();
-            if (cacheObject.isExpired()) {
-                // do remove
-                values.remove();
-                // remove-listener
-                onRemove(cacheObject);
-                count++;
-                continue;
-            }
 
-            // 找出访问最少的对象
-            if (leastVisitedCacheObject == null || cacheObject.getAccessCount().get() < leastVisitedCacheObject.getAccessCount().get()) {
-                leastVisitedCacheObject = cacheObject;
-            }
-        }
+        // 清理已到期对象（过期时间轮，仅触达已到期对象）
+        count += pruneExpired();
 
         // 清理结束后依旧是满的，则删除 访问最少的对象
-        // 将其他对象的访问数减去这个最小访问数，以便新对象进入后可以公平计数。
-        if (isFull() && leastVisitedCacheObject != null) {
-            // do remove
-            removeWithoutLock(leastVisitedCacheObject.getKey());
-            // listener
-            onRemove(leastVisitedCacheObject);
-            count++;
-
-            // 将其他对象的访问数减去这个最小访问数，以便新对象进入后可以公平计数。
-            long minAccessCount = leastVisitedCacheObject.getAccessCount().get();
-            values = super.cacheMap.values().iterator();
-            while (values.hasNext()) {
-                CacheObject<K, V> cacheObject = values.next();
-                cacheObject.getAccessCount().addAndGet(-minAccessCount);
+        if (isFull()) {
+            CacheObject<K, V> evicted = null;
+            policyLock.lock();
+            try {
+                drainReadBuffer();
+                while (evicted == null && head != null) {
+                    FrequencyNode<K> node = head;
+                    CacheKey<K> victim = node.keys.iterator().next();
+
+                    // 新对象以此计数进入，以便公平计数
+                    agingBase = node.frequency;
+
+                    // do remove；策略中残留的对象（已被并发删除）直接跳过
+                    unlinkKey(victim);
+                    evicted = cacheMap.remove(victim);
+                }
+            } finally {
+                policyLock.unlock();
+            }
+            if (evicted != null) {
+                // listener (evict)
+                onEvict(evicted);
+                count++;
             }
         }
 
         return count;
     }
-}
\ No newline at end of file
+}
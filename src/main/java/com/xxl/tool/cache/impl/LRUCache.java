@@ -12,7 +12,7 @@ import java.util.Map;
 /**
  * LRU (least recently used)最近最久未使用缓存
  *
- * 1、元素持续添加直到存满，触发 清理全部过期对象；
+ * 1、元素持续添加直到存满，触发 清理已到期对象；
  * 2、清理后缓存仍存满时，最久未被使用的对象将被移除；
  * （此缓存基于LinkedHashMap，因此当被缓存的对象每被访问一次，这个对象的key就到链表头部）
  * 3、优劣势：
@@ -44,20 +44,13 @@ public class LRUCache<K, V> extends ReentrantCache<K, V> {
          * 2、1.0f (负载因子)：设置负载因子，1.0f 表示当哈希表完全填满时才会扩容；（存在主动清理，理论上永远不会填满，避免扩容）
          * 3、false (访问顺序)：false：按插入顺序排序；true：按访问顺序排序。
          */
-        int finalCapacity = capacity;
-        cacheMap = new LinkedHashMap<>(finalCapacity + 1, 1.0f, true) {
+        cacheMap = new LinkedHashMap<>(capacity + 1, 1.0f, true) {
             @Override
             public boolean removeEldestEntry(Map.Entry<CacheKey<K>, CacheObject<K, V>> eldest) {
-                // 当链表元素大于容量时，移除最老（最久未被使用）的元素
-                if (size() > finalCapacity) {
-                    if (null != listener) {
-                        // remove-listener
-                        try {
-                            listener.onRemove(eldest.getValue().getKey(), eldest.getValue().getValue());
-                        } catch (Exception e) {
-                            logger.error("cache listener onRemove error, cacheObject:{}", eldest, e);
-                        }
-                    }
+                // 当链表元素大于容量（或超出最大总权重）时，移除最老（最久未被使用）的元素
+                if (isOverflow()) {
+                    // remove-listener (evict)
+                    onEvict(eldest.getValue());
                     return true;
                 }
                 return false;
@@ -69,26 +62,23 @@ public class LRUCache<K, V> extends ReentrantCache<K, V> {
     // ---------------------------------------------------------------- prune
 
     /**
-     * 只 清理全部过期对象，LRU的实现会交给{@code LinkedHashMap}
+     * 1、清理已到期对象，LRU的实现会交给{@code LinkedHashMap}
+     * 2、按权重限制时，清理后仍超出最大总权重，则移除最久未被使用的对象（单次写入可能需要淘汰多个对象）
      */
     @Override
     protected int doPrune() {
-        /*if (!isPruneExpiredActive()) {
-            return 0;
-        }*/
+        // 清理已到期对象（过期时间轮，仅触达已到期对象）
+        int count = pruneExpired();
 
-        // doPrune
-        int count = 0;
-        Iterator<CacheObject<K, V>> values = super.cacheMap.values().iterator();
-
-        // 清理全部过期对象
-        while (values.hasNext()) {
-            CacheObject<K, V> cacheObject = values.next();
-            if (cacheObject.isExpired()) {
+        // 超出最大总权重，删除头部元素（最久未被使用）
+        if (maximumWeight > 0 && isOverflow()) {
+            Iterator<CacheObject<K, V>> values = cacheMap.values().iterator();
+            CacheObject<K, V> eldest = values.hasNext() ? values.next() : null;
+            if (null != eldest) {
                 // do remove
-                values.remove();
-                // remove-listener
-                onRemove(cacheObject);
+                removeWithoutLock(eldest.getKey());
+                // listener (evict)
+                onEvict(eldest);
                 count++;
             }
         }
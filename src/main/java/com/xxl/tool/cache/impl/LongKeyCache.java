@@ -0,0 +1,877 @@
+package com.xxl.tool.cache.impl;
+
+import com.xxl.tool.cache.iface.Cache;
+import com.xxl.tool.cache.iface.CacheListener;
+import com.xxl.tool.cache.iface.CacheLoader;
+import com.xxl.tool.cache.iface.Ticker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Long Key Cache（原生 long 键缓存）
+ *
+ * 1、键为原生 long（如数字 ID），索引为开放寻址（线性探测）哈希表，键存储于 long[]，查询不装箱、不创建 CacheKey，无对象分配；
+ * 2、缓存对象按 “槽位” 存储于定长数组（键、值、创建时间、访问时间、淘汰顺序链表），容量在构造时一次分配，写入、淘汰不产生额外对象；
+ * 3、淘汰策略由子类实现：LongKeyLRUCache、LongKeyLFUCache、LongKeyFIFOCache；
+ * 4、过期对象在访问时清理，或由定时清理（prune）批量清理；
+ * 5、锁分段（stripe）：键按哈希分配到多个 stripe，每个 stripe 独立持有 锁、哈希表区间、槽位区间 与 淘汰顺序，不同 stripe 的读写互不阻塞；
+ *      容量按 stripe 均分，淘汰在 stripe 内进行（近似全局淘汰策略）；默认每个 stripe 容量不小于 1024，最多 16 个 stripe，小容量缓存不分段；
+ * 6、优劣势：
+ *      - 优势：查询路径无对象分配，数组存储紧凑，GC 压力低；
+ *      - 劣势：仅支持 long 键；同一 stripe 内的索引与淘汰顺序由同一把锁保护；
+ *
+ * @param <V> 值类型
+ */
+public abstract class LongKeyCache<V> implements Cache<Long, V> {
+    private static final Logger logger = LoggerFactory.getLogger(LongKeyCache.class);
+    private static final long serialVersionUID = 42L;
+
+    /**
+     * 空槽位
+     */
+    protected static final int NIL = -1;
+
+    /**
+     * 最大容量（哈希表长度不超过 2^30）
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 29;
+
+    /**
+     * 默认 stripe 数量上限、单个 stripe 最小容量
+     */
+    private static final int DEFAULT_MAX_STRIPES = 16;
+    private static final int DEFAULT_MIN_STRIPE_CAPACITY = 1024;
+
+    /**
+     * 最大 stripe 数量
+     */
+    private static final int MAXIMUM_STRIPES = 1 << 16;
+
+    // ---------------------- field ----------------------
+
+    /**
+     * 缓存容量
+     */
+    protected final int capacity;
+
+    /**
+     * 缓存有效期，{@code 0} 表示无限制，单位毫秒
+     */
+    protected final long timeout;
+
+    /**
+     * 缓存过期方式：
+     *      - true: expireAfterWrite , 从缓存写入开始计算，有效期到期则被清除
+     *      - false: expireAfterAccess, 从缓存最后一次访问开始计算，有效期到期则被清除
+     */
+    protected final boolean expireType;
+
+    /**
+     * 哈希表：键，与 tableSlots 一一对应；按 stripe 划分为等长区间
+     */
+    private final long[] tableKeys;
+
+    /**
+     * 哈希表：槽位 + 1，{@code 0} 表示空
+     */
+    private final int[] tableSlots;
+
+    /**
+     * 哈希表掩码（单个 stripe 区间内）
+     */
+    private final int tableMask;
+
+    /**
+     * stripe 选择位数（stripe 数量为 2 的幂）
+     */
+    private final int stripeBits;
+
+    /**
+     * stripe
+     */
+    private final Stripe[] stripes;
+
+    /**
+     * 槽位：键
+     */
+    protected final long[] keys;
+
+    /**
+     * 槽位：值
+     */
+    protected final Object[] values;
+
+    /**
+     * 槽位：创建时间
+     */
+    protected final long[] createTimes;
+
+    /**
+     * 槽位：上次访问时间
+     */
+    protected final long[] lastAccesses;
+
+    /**
+     * 槽位：淘汰顺序链表（前驱、后继），由子类维护；空闲槽位以 next 组成空闲链表
+     */
+    protected final int[] prev;
+    protected final int[] next;
+
+    /**
+     * 缓存时钟
+     */
+    private volatile Ticker ticker = Ticker.system();
+
+    /**
+     * 缓存命中计数
+     */
+    private final LongAdder hitCount = new LongAdder();
+    /**
+     * 缓存未命中计数
+     */
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * 缓存监听
+     */
+    private CacheListener<Long, V> listener;
+
+    /**
+     * 缓存加载器
+     */
+    private CacheLoader<Long, V> loader;
+
+    protected LongKeyCache(int capacity, long timeout, boolean expireType) {
+        this(capacity, timeout, expireType, defaultStripeCount(capacity));
+    }
+
+    /**
+     * @param stripeCount stripe 数量，向上取整为 2 的幂，不大于 capacity
+     */
+    protected LongKeyCache(int capacity, long timeout, boolean expireType, int stripeCount) {
+        // valid
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must large than 0");
+        }
+        if (capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("capacity must not large than " + MAXIMUM_CAPACITY);
+        }
+        if (stripeCount <= 0 || stripeCount > Math.min(capacity, MAXIMUM_STRIPES)) {
+            throw new IllegalArgumentException("stripeCount must large than 0, and not large than capacity or " + MAXIMUM_STRIPES);
+        }
+
+        // init
+        this.capacity = capacity;
+        this.timeout = timeout;
+        this.expireType = expireType;
+
+        // stripe：数量向上取整为 2 的幂（不超过 capacity），容量均分
+        int count = Integer.highestOneBit(stripeCount * 2 - 1);
+        if (count > capacity) {
+            count >>= 1;
+        }
+        this.stripeBits = Integer.numberOfTrailingZeros(count);
+        int stripeCapacity = (capacity + count - 1) / count;
+
+        /**
+         * 哈希表：每个 stripe 区间长度为不小于 2 * stripeCapacity 的 2 的幂，负载因子不超过 0.5，线性探测长度短
+         */
+        int tableSize = Integer.highestOneBit(Math.max(2, stripeCapacity * 2 - 1)) << 1;
+        this.tableKeys = new long[tableSize * count];
+        this.tableSlots = new int[tableSize * count];
+        this.tableMask = tableSize - 1;
+
+        this.stripes = new Stripe[count];
+        int slotBase = 0;
+        for (int i = 0; i < count; i++) {
+            int stripeSize = capacity / count + (i < capacity % count ? 1 : 0);
+            stripes[i] = new Stripe(i, slotBase, stripeSize, tableSize * i);
+            slotBase += stripeSize;
+        }
+
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.createTimes = new long[capacity];
+        this.lastAccesses = new long[capacity];
+        this.prev = new int[capacity];
+        this.next = new int[capacity];
+    }
+
+    /**
+     * 默认 stripe 数量：单个 stripe 容量不小于 1024，最多 16 个
+     */
+    protected static int defaultStripeCount(int capacity) {
+        int count = 1;
+        while (count < DEFAULT_MAX_STRIPES && capacity / (count << 1) >= DEFAULT_MIN_STRIPE_CAPACITY) {
+            count <<= 1;
+        }
+        return count;
+    }
+
+    /**
+     * Stripe：独立的 锁、哈希表区间、槽位区间 与 淘汰顺序
+     */
+    private static final class Stripe {
+        private final int index;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * 槽位区间：[slotBase, slotBase + capacity)
+         */
+        private final int slotBase;
+        private final int capacity;
+
+        /**
+         * 哈希表区间起始位置
+         */
+        private final int tableBase;
+
+        /**
+         * 空闲槽位链表头
+         */
+        private int freeHead = NIL;
+
+        /**
+         * 已使用过的槽位数量（此后的槽位从未分配）
+         */
+        private int carved;
+
+        /**
+         * 缓存对象数量
+         */
+        private int size;
+
+        /**
+         * 淘汰顺序链表（LRU、FIFO 使用）：头部最先淘汰，尾部最后淘汰
+         */
+        private int orderHead = NIL;
+        private int orderTail = NIL;
+
+        private Stripe(int index, int slotBase, int capacity, int tableBase) {
+            this.index = index;
+            this.slotBase = slotBase;
+            this.capacity = capacity;
+            this.tableBase = tableBase;
+        }
+    }
+
+    /**
+     * @return stripe 数量
+     */
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * @return stripe 槽位区间起始位置，子类按 stripe 划分自身的数组区间
+     */
+    protected int stripeSlotBase(int stripe) {
+        return stripes[stripe].slotBase;
+    }
+
+    // ---------------------- policy ----------------------
+
+    /**
+     * 写入新对象，需持有 stripe 锁
+     */
+    protected abstract void onInsert(int stripe, int slot);
+
+    /**
+     * 访问（或覆盖写入）已有对象，需持有 stripe 锁
+     */
+    protected abstract void onAccess(int stripe, int slot);
+
+    /**
+     * 移除对象（删除、过期、淘汰），需持有 stripe 锁
+     */
+    protected abstract void onRemove(int stripe, int slot);
+
+    /**
+     * 选择 stripe 内的淘汰对象，需持有 stripe 锁
+     *
+     * @return 淘汰槽位，无对象时返回 {@link #NIL}
+     */
+    protected abstract int victim(int stripe);
+
+    /**
+     * 清空 stripe 淘汰顺序，需持有 stripe 锁
+     */
+    protected abstract void onClear(int stripe);
+
+    // ---------------------- put ----------------------
+
+    /**
+     * 设置缓存对象
+     *
+     * @param key    键
+     * @param object 值对象
+     */
+    public void put(long key, V object) {
+        long now = ticker.read();
+        int evicted = NIL;
+        long evictedKey = 0;
+        Object evictedValue = null;
+
+        long hash = hash(key);
+        Stripe stripe = stripeOf(hash);
+        stripe.lock.lock();
+        try {
+            int slot = find(stripe, hash, key);
+            if (slot != NIL) {
+                // 覆盖写入，视为一次访问
+                values[slot] = object;
+                createTimes[slot] = now;
+                lastAccesses[slot] = now;
+                onAccess(stripe.index, slot);
+                return;
+            }
+
+            // stripe 存满时淘汰
+            if (stripe.size >= stripe.capacity) {
+                evicted = victim(stripe.index);
+                if (evicted != NIL) {
+                    evictedKey = keys[evicted];
+                    evictedValue = values[evicted];
+                    removeSlot(stripe, evicted);
+                }
+            }
+
+            // insert
+            slot = allocateSlot(stripe);
+            keys[slot] = key;
+            values[slot] = object;
+            createTimes[slot] = now;
+            lastAccesses[slot] = now;
+            insertIndex(stripe, hash, key, slot);
+            stripe.size++;
+            onInsert(stripe.index, slot);
+        } finally {
+            stripe.lock.unlock();
+            if (evicted != NIL) {
+                notifyRemove(evictedKey, evictedValue);
+            }
+        }
+    }
+
+    @Override
+    public void put(Long key, V object) {
+        if (key == null) {
+            return;
+        }
+        put(key.longValue(), object);
+    }
+
+    // ---------------------- get ----------------------
+
+    /**
+     * 获取缓存对象，未命中时使用默认 cacheLoader 加载
+     *
+     * @param key 键
+     * @return 值对象
+     */
+    public V get(long key) {
+        return get(key, this.loader);
+    }
+
+    /**
+     * 获取缓存对象，不加载
+     *
+     * @param key 键
+     * @return 值对象
+     */
+    public V getIfPresent(long key) {
+        return getOrRemoveExpired(key, true, true);
+    }
+
+    /**
+     * 获取缓存对象，未命中时使用指定的 cacheLoader 加载
+     *
+     * @param key         键
+     * @param cacheLoader 缓存加载器
+     * @return 值对象
+     */
+    public V get(long key, CacheLoader<Long, V> cacheLoader) {
+        // get
+        V v = getOrRemoveExpired(key, true, true);
+
+        // cacheLoader
+        if (null == v && null != cacheLoader) {
+            try {
+                v = cacheLoader.load(key);
+                put(key, v);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return v;
+    }
+
+    @Override
+    public V get(Long key) {
+        return key != null ? get(key.longValue()) : null;
+    }
+
+    @Override
+    public V getIfPresent(Long key) {
+        return key != null ? getIfPresent(key.longValue()) : null;
+    }
+
+    @Override
+    public V get(Long key, CacheLoader<Long, V> cacheLoader) {
+        return key != null ? get(key.longValue(), cacheLoader) : null;
+    }
+
+    /**
+     * 获取缓存对象：缓存对象不存在 或 已过期，返回 {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    private V getOrRemoveExpired(long key, boolean isUpdateLastAccess, boolean isUpdateCount) {
+        long now = ticker.read();
+        V value = null;
+        boolean hit = false;
+        boolean expired = false;
+        Object expiredValue = null;
+
+        long hash = hash(key);
+        Stripe stripe = stripeOf(hash);
+        stripe.lock.lock();
+        try {
+            int slot = find(stripe, hash, key);
+            if (slot != NIL) {
+                if (isExpired(slot, now)) {
+                    // remove expired
+                    expired = true;
+                    expiredValue = values[slot];
+                    removeSlot(stripe, slot);
+                } else {
+                    hit = true;
+                    value = (V) values[slot];
+                    if (isUpdateLastAccess) {
+                        lastAccesses[slot] = now;
+                    }
+                    if (isUpdateCount) {
+                        onAccess(stripe.index, slot);
+                    }
+                }
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        // listener
+        if (expired) {
+            notifyRemove(key, expiredValue);
+        }
+
+        // count
+        if (isUpdateCount) {
+            if (hit) {
+                hitCount.increment();
+            } else {
+                missCount.increment();
+            }
+        }
+        return value;
+    }
+
+    // ---------------------- query ----------------------
+
+    /**
+     * 是否包含缓存对象（未过期）
+     */
+    public boolean containsKey(long key) {
+        long now = ticker.read();
+        long hash = hash(key);
+        Stripe stripe = stripeOf(hash);
+        stripe.lock.lock();
+        try {
+            int slot = find(stripe, hash, key);
+            return slot != NIL && !isExpired(slot, now);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(Long key) {
+        return key != null && containsKey(key.longValue());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<Long, V> asMap() {
+        long now = ticker.read();
+        Map<Long, V> result = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                for (int i = stripe.tableBase; i <= stripe.tableBase + tableMask; i++) {
+                    int slot = tableSlots[i] - 1;
+                    if (slot != NIL && !isExpired(slot, now)) {
+                        result.put(keys[slot], (V) values[slot]);
+                    }
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isFull() {
+        return size() >= capacity;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // ---------------------- delete ----------------------
+
+    /**
+     * 删除缓存对象
+     *
+     * @param key 键
+     */
+    public void remove(long key) {
+        boolean removed = false;
+        Object removedValue = null;
+        long hash = hash(key);
+        Stripe stripe = stripeOf(hash);
+        stripe.lock.lock();
+        try {
+            int slot = find(stripe, hash, key);
+            if (slot != NIL) {
+                removed = true;
+                removedValue = values[slot];
+                removeSlot(stripe, slot);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        // listener
+        if (removed) {
+            notifyRemove(key, removedValue);
+        }
+    }
+
+    @Override
+    public void remove(Long key) {
+        if (key != null) {
+            remove(key.longValue());
+        }
+    }
+
+    /**
+     * 清理已过期对象（遍历全部对象，逐个 stripe 加锁）
+     *
+     * @return 清理数据量
+     */
+    @Override
+    public int prune() {
+        if (timeout <= 0) {
+            return 0;
+        }
+
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            long now = ticker.read();
+            int count = 0;
+            long[] expiredKeys;
+            Object[] expiredValues;
+            stripe.lock.lock();
+            try {
+                // 先收集再删除：删除会移动哈希表中的后续元素
+                int[] expiredSlots = new int[stripe.size];
+                for (int i = stripe.tableBase; i <= stripe.tableBase + tableMask; i++) {
+                    int slot = tableSlots[i] - 1;
+                    if (slot != NIL && isExpired(slot, now)) {
+                        expiredSlots[count++] = slot;
+                    }
+                }
+
+                expiredKeys = new long[count];
+                expiredValues = new Object[count];
+                for (int i = 0; i < count; i++) {
+                    int slot = expiredSlots[i];
+                    expiredKeys[i] = keys[slot];
+                    expiredValues[i] = values[slot];
+                    removeSlot(stripe, slot);
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+
+            // listener
+            for (int i = 0; i < count; i++) {
+                notifyRemove(expiredKeys[i], expiredValues[i]);
+            }
+            total += count;
+        }
+        return total;
+    }
+
+    @Override
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                Arrays.fill(tableSlots, stripe.tableBase, stripe.tableBase + tableMask + 1, 0);
+                Arrays.fill(values, stripe.slotBase, stripe.slotBase + stripe.capacity, null);
+                stripe.freeHead = NIL;
+                stripe.carved = 0;
+                stripe.size = 0;
+                stripe.orderHead = NIL;
+                stripe.orderTail = NIL;
+                onClear(stripe.index);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    // ---------------------- monitor ----------------------
+
+    @Override
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    @Override
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    // ---------------------- info ----------------------
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public long timeout() {
+        return timeout;
+    }
+
+    // ---------------------- listener ----------------------
+
+    @Override
+    public LongKeyCache<V> setListener(CacheListener<Long, V> listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    @Override
+    public LongKeyCache<V> setLoader(CacheLoader<Long, V> loader) {
+        this.loader = loader;
+        return this;
+    }
+
+    @Override
+    public LongKeyCache<V> setTicker(Ticker ticker) {
+        if (ticker == null) {
+            throw new IllegalArgumentException("ticker can not be null");
+        }
+        this.ticker = ticker;
+        return this;
+    }
+
+    /**
+     * 通知监听器，在锁外执行
+     */
+    @SuppressWarnings("unchecked")
+    private void notifyRemove(long key, Object value) {
+        if (this.listener == null) {
+            return;
+        }
+        try {
+            this.listener.onRemove(key, (V) value);
+        } catch (Exception e) {
+            logger.error("cache listener onRemove error, key:{}", key, e);
+        }
+    }
+
+    // ---------------------- expire ----------------------
+
+    private boolean isExpired(int slot, long now) {
+        return timeout > 0 && (now - (expireType ? createTimes[slot] : lastAccesses[slot])) > timeout;
+    }
+
+    // ---------------------- slot ----------------------
+
+    private int allocateSlot(Stripe stripe) {
+        if (stripe.freeHead != NIL) {
+            int slot = stripe.freeHead;
+            stripe.freeHead = next[slot];
+            return slot;
+        }
+        return stripe.slotBase + stripe.carved++;
+    }
+
+    /**
+     * 移除槽位对象：移出哈希表、淘汰顺序，并归还空闲链表，需持有 stripe 锁
+     */
+    private void removeSlot(Stripe stripe, int slot) {
+        deleteIndex(stripe, keys[slot]);
+        onRemove(stripe.index, slot);
+        values[slot] = null;
+        next[slot] = stripe.freeHead;
+        stripe.freeHead = slot;
+        stripe.size--;
+    }
+
+    // ---------------------- order ----------------------
+
+    /**
+     * 淘汰顺序链表（LRU、FIFO 使用）：头部最先淘汰，尾部最后淘汰
+     */
+    protected int orderHead(int stripe) {
+        return stripes[stripe].orderHead;
+    }
+
+    protected void linkLast(int stripe, int slot) {
+        Stripe s = stripes[stripe];
+        prev[slot] = s.orderTail;
+        next[slot] = NIL;
+        if (s.orderTail == NIL) {
+            s.orderHead = slot;
+        } else {
+            next[s.orderTail] = slot;
+        }
+        s.orderTail = slot;
+    }
+
+    protected void unlink(int stripe, int slot) {
+        Stripe s = stripes[stripe];
+        int p = prev[slot];
+        int n = next[slot];
+        if (p == NIL) {
+            s.orderHead = n;
+        } else {
+            next[p] = n;
+        }
+        if (n == NIL) {
+            s.orderTail = p;
+        } else {
+            prev[n] = p;
+        }
+        prev[slot] = NIL;
+        next[slot] = NIL;
+    }
+
+    protected void moveToLast(int stripe, int slot) {
+        if (slot != stripes[stripe].orderTail) {
+            unlink(stripe, slot);
+            linkLast(stripe, slot);
+        }
+    }
+
+    // ---------------------- index ----------------------
+
+    /**
+     * 哈希：乘法散列（黄金分割常数）；高位选择 stripe，低位（混合高位）为 stripe 区间内位置
+     */
+    private static long hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    private Stripe stripeOf(long hash) {
+        return stripeBits == 0 ? stripes[0] : stripes[(int) (hash >>> (64 - stripeBits))];
+    }
+
+    /**
+     * 查找槽位
+     *
+     * @return 槽位，不存在时返回 {@link #NIL}
+     */
+    private int find(Stripe stripe, long hash, long key) {
+        int index = (int) hash & tableMask;
+        while (true) {
+            int slot = tableSlots[stripe.tableBase + index];
+            if (slot == 0) {
+                return NIL;
+            }
+            if (tableKeys[stripe.tableBase + index] == key) {
+                return slot - 1;
+            }
+            index = (index + 1) & tableMask;
+        }
+    }
+
+    private void insertIndex(Stripe stripe, long hash, long key, int slot) {
+        int index = (int) hash & tableMask;
+        while (tableSlots[stripe.tableBase + index] != 0) {
+            index = (index + 1) & tableMask;
+        }
+        tableKeys[stripe.tableBase + index] = key;
+        tableSlots[stripe.tableBase + index] = slot + 1;
+    }
+
+    /**
+     * 删除索引：后移删除（backward shift），后续探测链上的元素前移填补空位，无需墓碑标记
+     */
+    private void deleteIndex(Stripe stripe, long key) {
+        int base = stripe.tableBase;
+        int gap = (int) hash(key) & tableMask;
+        while (tableSlots[base + gap] != 0 && tableKeys[base + gap] != key) {
+            gap = (gap + 1) & tableMask;
+        }
+        if (tableSlots[base + gap] == 0) {
+            return;
+        }
+
+        int index = gap;
+        while (true) {
+            index = (index + 1) & tableMask;
+            if (tableSlots[base + index] == 0) {
+                break;
+            }
+            // 元素初始位置在 (gap, index] 区间内时保持不动，否则前移至空位
+            int home = (int) hash(tableKeys[base + index]) & tableMask;
+            boolean stay = gap <= index
+                    ? (home > gap && home <= index)
+                    : (home > gap || home <= index);
+            if (!stay) {
+                tableKeys[base + gap] = tableKeys[base + index];
+                tableSlots[base + gap] = tableSlots[base + index];
+                gap = index;
+            }
+        }
+        tableSlots[base + gap] = 0;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" +
+                "size=" + size() +
+                ", capacity=" + capacity +
+                ", stripeCount=" + stripes.length +
+                '}';
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.xxl.tool.cache.impl;
+
+/**
+ * Long Key FIFO (first in first out) 原生 long 键 先进先出缓存
+ *
+ * 1、元素持续添加直到存满，最先写入的对象将被移除；
+ * 2、写入顺序为槽位数组上的双向链表（每个 stripe 一条），访问不调整顺序，覆盖写入不调整顺序；
+ *
+ * @param <V> 值类型
+ */
+public class LongKeyFIFOCache<V> extends LongKeyCache<V> {
+    private static final long serialVersionUID = 42L;
+
+    public LongKeyFIFOCache(int capacity, long timeout, boolean expireType) {
+        super(capacity, timeout, expireType);
+    }
+
+    public LongKeyFIFOCache(int capacity, long timeout, boolean expireType, int stripeCount) {
+        super(capacity, timeout, expireType, stripeCount);
+    }
+
+    @Override
+    protected void onInsert(int stripe, int slot) {
+        linkLast(stripe, slot);
+    }
+
+    @Override
+    protected void onAccess(int stripe, int slot) {
+        // 不调整顺序
+    }
+
+    @Override
+    protected void onRemove(int stripe, int slot) {
+        unlink(stripe, slot);
+    }
+
+    @Override
+    protected int victim(int stripe) {
+        return orderHead(stripe);
+    }
+
+    @Override
+    protected void onClear(int stripe) {
+        // 淘汰顺序随 stripe 清空
+    }
+
+}
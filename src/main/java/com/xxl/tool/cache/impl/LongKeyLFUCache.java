@@ -0,0 +1,246 @@
+package com.xxl.tool.cache.impl;
+
+/**
+ * Long Key LFU (least frequently used) 原生 long 键 最少使用率缓存
+ *
+ * 1、元素持续添加直到存满，清除最少访问（访问计数最小）的对象；访问计数相同时，清除其中最早进入该计数的对象；
+ * 2、实现：与 LFUCache 相同的 “频率桶” 双向链表（链表头部为最小计数），频率桶与桶内链表均存储于定长数组，访问、淘汰均为 O(1) 且无对象分配；
+ * 3、老化：新对象以 “最近一次淘汰对象的访问计数” 为初始计数；
+ * 4、每个 stripe 独立维护频率桶链表与老化基线，频率桶数组按 stripe 划分区间；
+ *
+ * @param <V> 值类型
+ */
+public class LongKeyLFUCache<V> extends LongKeyCache<V> {
+    private static final long serialVersionUID = 42L;
+
+    /**
+     * 槽位：所在频率桶
+     */
+    private final int[] slotBucket;
+
+    /**
+     * 频率桶：访问计数
+     */
+    private final long[] bucketFrequency;
+
+    /**
+     * 频率桶：桶内链表头（最早进入）、链表尾；桶内链表复用槽位 prev/next
+     */
+    private final int[] bucketHead;
+    private final int[] bucketTail;
+
+    /**
+     * 频率桶：桶链表前驱、后继；空闲频率桶以 bucketNext 组成空闲链表
+     */
+    private final int[] bucketPrev;
+    private final int[] bucketNext;
+
+    /**
+     * 频率桶链表（每个 stripe 一个）
+     */
+    private final BucketList[] bucketLists;
+
+    /**
+     * 频率桶链表：stripe 内的 频率桶链表头、空闲频率桶、老化基线
+     */
+    private static final class BucketList {
+        /**
+         * 频率桶区间起始位置
+         */
+        private final int base;
+
+        /**
+         * 频率桶链表头（访问计数最小）
+         */
+        private int head = NIL;
+
+        /**
+         * 空闲频率桶链表头
+         */
+        private int freeBucket = NIL;
+
+        /**
+         * 已使用过的频率桶数量
+         */
+        private int carvedBucket;
+
+        /**
+         * 老化基线：最近一次淘汰对象的访问计数
+         */
+        private long agingBase = 0;
+
+        private BucketList(int base) {
+            this.base = base;
+        }
+    }
+
+    public LongKeyLFUCache(int capacity, long timeout, boolean expireType) {
+        this(capacity, timeout, expireType, defaultStripeCount(capacity));
+    }
+
+    public LongKeyLFUCache(int capacity, long timeout, boolean expireType, int stripeCount) {
+        super(capacity, timeout, expireType, stripeCount);
+
+        // 非空频率桶数量不超过 stripe 内对象数量，访问时先建新桶再释放旧桶，每个 stripe 额外 +1
+        int bucketCount = capacity + stripeCount();
+        this.slotBucket = new int[capacity];
+        this.bucketFrequency = new long[bucketCount];
+        this.bucketHead = new int[bucketCount];
+        this.bucketTail = new int[bucketCount];
+        this.bucketPrev = new int[bucketCount];
+        this.bucketNext = new int[bucketCount];
+        this.bucketLists = new BucketList[stripeCount()];
+        for (int i = 0; i < bucketLists.length; i++) {
+            bucketLists[i] = new BucketList(stripeSlotBase(i) + i);
+        }
+    }
+
+    /**
+     * 写入：新对象以老化基线进入频率桶（老化基线不大于任何已有对象计数，只会落在头部桶或新建头部桶）
+     */
+    @Override
+    protected void onInsert(int stripe, int slot) {
+        BucketList list = bucketLists[stripe];
+        int bucket = list.head;
+        if (bucket == NIL || bucketFrequency[bucket] != list.agingBase) {
+            bucket = allocateBucket(list, list.agingBase);
+            linkBucketAfter(list, NIL, bucket);
+        }
+        append(bucket, slot);
+    }
+
+    /**
+     * 访问：对象移入下一个频率桶
+     */
+    @Override
+    protected void onAccess(int stripe, int slot) {
+        BucketList list = bucketLists[stripe];
+        int bucket = slotBucket[slot];
+        int nextBucket = bucketNext[bucket];
+        if (nextBucket == NIL || bucketFrequency[nextBucket] != bucketFrequency[bucket] + 1) {
+            nextBucket = allocateBucket(list, bucketFrequency[bucket] + 1);
+            linkBucketAfter(list, bucket, nextBucket);
+        }
+        detach(list, slot);
+        append(nextBucket, slot);
+    }
+
+    @Override
+    protected void onRemove(int stripe, int slot) {
+        detach(bucketLists[stripe], slot);
+    }
+
+    /**
+     * 淘汰：头部频率桶中最早进入的对象，并以其访问计数作为老化基线
+     */
+    @Override
+    protected int victim(int stripe) {
+        BucketList list = bucketLists[stripe];
+        if (list.head == NIL) {
+            return NIL;
+        }
+        list.agingBase = bucketFrequency[list.head];
+        return bucketHead[list.head];
+    }
+
+    @Override
+    protected void onClear(int stripe) {
+        BucketList list = bucketLists[stripe];
+        list.head = NIL;
+        list.freeBucket = NIL;
+        list.carvedBucket = 0;
+        list.agingBase = 0;
+    }
+
+    // ---------------------------------------------------------------- bucket
+
+    /**
+     * 对象加入频率桶尾部
+     */
+    private void append(int bucket, int slot) {
+        int tail = bucketTail[bucket];
+        prev[slot] = tail;
+        next[slot] = NIL;
+        if (tail == NIL) {
+            bucketHead[bucket] = slot;
+        } else {
+            next[tail] = slot;
+        }
+        bucketTail[bucket] = slot;
+        slotBucket[slot] = bucket;
+    }
+
+    /**
+     * 对象移出所在频率桶，频率桶为空时释放
+     */
+    private void detach(BucketList list, int slot) {
+        int bucket = slotBucket[slot];
+        int p = prev[slot];
+        int n = next[slot];
+        if (p == NIL) {
+            bucketHead[bucket] = n;
+        } else {
+            next[p] = n;
+        }
+        if (n == NIL) {
+            bucketTail[bucket] = p;
+        } else {
+            prev[n] = p;
+        }
+        prev[slot] = NIL;
+        next[slot] = NIL;
+
+        if (bucketHead[bucket] == NIL) {
+            unlinkBucket(list, bucket);
+            bucketNext[bucket] = list.freeBucket;
+            list.freeBucket = bucket;
+        }
+    }
+
+    private int allocateBucket(BucketList list, long frequency) {
+        int bucket;
+        if (list.freeBucket != NIL) {
+            bucket = list.freeBucket;
+            list.freeBucket = bucketNext[bucket];
+        } else {
+            bucket = list.base + list.carvedBucket++;
+        }
+        bucketFrequency[bucket] = frequency;
+        bucketHead[bucket] = NIL;
+        bucketTail[bucket] = NIL;
+        return bucket;
+    }
+
+    /**
+     * 频率桶插入链表，prevBucket 为 {@link #NIL} 时插入头部
+     */
+    private void linkBucketAfter(BucketList list, int prevBucket, int bucket) {
+        int nextBucket = (prevBucket == NIL) ? list.head : bucketNext[prevBucket];
+        bucketPrev[bucket] = prevBucket;
+        bucketNext[bucket] = nextBucket;
+        if (nextBucket != NIL) {
+            bucketPrev[nextBucket] = bucket;
+        }
+        if (prevBucket == NIL) {
+            list.head = bucket;
+        } else {
+            bucketNext[prevBucket] = bucket;
+        }
+    }
+
+    private void unlinkBucket(BucketList list, int bucket) {
+        int p = bucketPrev[bucket];
+        int n = bucketNext[bucket];
+        if (p == NIL) {
+            list.head = n;
+        } else {
+            bucketNext[p] = n;
+        }
+        if (n != NIL) {
+            bucketPrev[n] = p;
+        }
+        bucketPrev[bucket] = NIL;
+        bucketNext[bucket] = NIL;
+    }
+
+}
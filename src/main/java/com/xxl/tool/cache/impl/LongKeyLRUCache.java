@@ -0,0 +1,47 @@
+package com.xxl.tool.cache.impl;
+
+/**
+ * Long Key LRU (least recently used) 原生 long 键 最近最久未使用缓存
+ *
+ * 1、元素持续添加直到存满，最久未被使用的对象将被移除；
+ * 2、访问顺序为槽位数组上的双向链表（每个 stripe 一条），访问时移至尾部，淘汰时取头部，均为 O(1) 且无对象分配；
+ *
+ * @param <V> 值类型
+ */
+public class LongKeyLRUCache<V> extends LongKeyCache<V> {
+    private static final long serialVersionUID = 42L;
+
+    public LongKeyLRUCache(int capacity, long timeout, boolean expireType) {
+        super(capacity, timeout, expireType);
+    }
+
+    public LongKeyLRUCache(int capacity, long timeout, boolean expireType, int stripeCount) {
+        super(capacity, timeout, expireType, stripeCount);
+    }
+
+    @Override
+    protected void onInsert(int stripe, int slot) {
+        linkLast(stripe, slot);
+    }
+
+    @Override
+    protected void onAccess(int stripe, int slot) {
+        moveToLast(stripe, slot);
+    }
+
+    @Override
+    protected void onRemove(int stripe, int slot) {
+        unlink(stripe, slot);
+    }
+
+    @Override
+    protected int victim(int stripe) {
+        return orderHead(stripe);
+    }
+
+    @Override
+    protected void onClear(int stripe) {
+        // 淘汰顺序随 stripe 清空
+    }
+
+}
@@ -0,0 +1,1034 @@
+package com.xxl.tool.cache.impl;
+
+import com.xxl.tool.cache.iface.Cache;
+import com.xxl.tool.cache.iface.CacheListener;
+import com.xxl.tool.cache.iface.CacheLoader;
+import com.xxl.tool.cache.iface.Ticker;
+import com.xxl.tool.cache.model.CacheKey;
+import com.xxl.tool.cache.support.SlabAllocator;
+import com.xxl.tool.serializer.Serializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+import static com.xxl.tool.cache.support.SlabAllocator.NIL_ADDRESS;
+
+/**
+ * Off-Heap 堆外内存缓存
+ *
+ * 1、缓存值经 Serializer 序列化后存储于堆外内存（Slab 分配的 DirectByteBuffer），堆内仅保留 key 与紧凑索引，大容量缓存不增加 GC 压力；
+ * 2、紧凑索引：开放寻址哈希表（int 数组）+ 按槽位存储的原生数组（堆外地址、长度、时间戳、链表指针），每个缓存对象除 key 外不创建任何堆内对象；
+ * 3、堆外内存按 “大小等级” 分配，存满时按 CLOCK（二次机会）淘汰同一大小等级中最久未被使用的对象；该等级无可淘汰对象时，将其他等级的一个 Slab 整体淘汰后重分配给该等级；
+ * 4、读取不加锁：基于 StampedLock 乐观读查找索引并复制堆外数据，期间发生写入时校验失败，退化为读锁重试；访问标记与访问时间无锁更新；
+ * 5、支持有效期（expireAfterWrite / expireAfterAccess），过期清理基于按入队时间排序的过期队列，仅触达已到期对象；
+ * 6、缓存加载合并：同一 key 并发加载时，仅执行一次 CacheLoader，其他线程等待共享结果；
+ * 7、优劣势：
+ *      - 优势：缓存数据不占用堆内存，GC 停顿不随缓存容量增长；读取无锁，读多写少场景并发性能接近堆内缓存；
+ *      - 劣势：读写需序列化/反序列化，单对象大小不可超出 Slab 大小；写入由同一把写锁串行化，并发写入性能低于堆内缓存；
+ *
+ * @param <K>
+ * @param <V>
+ */
+public class OffHeapCache<K, V> implements Cache<K, V> {
+    private static final Logger logger = LoggerFactory.getLogger(OffHeapCache.class);
+    private static final long serialVersionUID = 42L;
+
+    /**
+     * 默认 Slab 大小：1MB
+     */
+    private static final int DEFAULT_SLAB_SIZE = 1024 * 1024;
+
+    /**
+     * 初始槽位数量
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * 最大槽位数量
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 29;
+
+    /**
+     * 空槽位（链表结束）
+     */
+    private static final int NIL = -1;
+
+    /**
+     * 缓存值为 null 时的读取结果（区别于 “不存在”）
+     */
+    private static final byte[] NULL_DATA = new byte[0];
+
+    /**
+     * 访问时间：读取时无锁写入
+     */
+    private static final VarHandle LAST_ACCESSES = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // ---------------------- field ----------------------
+
+    /**
+     * 缓存有效期，{@code 0} 表示无限制，单位毫秒
+     */
+    private final long timeout;
+
+    /**
+     * 缓存过期方式：
+     *      - true: expireAfterWrite , 从缓存写入开始计算，有效期到期则被清除
+     *      - false: expireAfterAccess, 从缓存最后一次访问开始计算，有效期到期则被清除
+     */
+    private final boolean expireType;
+
+    /**
+     * 序列化组件
+     */
+    private final Serializer serializer;
+
+    /**
+     * 堆外内存分配器
+     */
+    private final transient SlabAllocator allocator;
+
+    /**
+     * 锁：写入持有写锁；读取乐观读，校验失败时持有读锁
+     */
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * 哈希表（开放寻址，线性探测）：存储 槽位 + 1，{@code 0} 表示空
+     */
+    private int[] table;
+
+    /**
+     * 槽位数据：key、key 哈希值、堆外地址（{@link SlabAllocator#NIL_ADDRESS} 表示值为 null）、数据长度、写入时间、最后访问时间、入队时间、访问标记
+     */
+    private Object[] keys;
+    private int[] hashes;
+    private long[] addresses;
+    private int[] lengths;
+    private long[] createTimes;
+    private long[] lastAccesses;
+    private long[] queueTimes;
+    private byte[] referenced;
+
+    /**
+     * 槽位链表：各大小等级 CLOCK 队列（头部最久未访问）；空闲槽位复用 next 指针
+     */
+    private int[] lruPrev;
+    private int[] lruNext;
+    private final int[] classHead;
+    private final int[] classTail;
+
+    /**
+     * 槽位链表：过期队列（按入队时间排序），仅设置有效期时使用
+     */
+    private int[] expirePrev;
+    private int[] expireNext;
+    private int expireHead = NIL;
+    private int expireTail = NIL;
+
+    /**
+     * 空闲槽位链表头、已使用过的槽位数量、缓存对象数量
+     */
+    private int freeSlot = NIL;
+    private int carved;
+    private volatile int size;
+
+    /**
+     * 加载中任务，用于合并同一 key 的并发加载
+     */
+    private final ConcurrentMap<CacheKey<K>, CompletableFuture<V>> loadingMap = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存时钟
+     */
+    private volatile Ticker ticker = Ticker.system();
+
+    /**
+     * 缓存值 总字节数（序列化后）
+     */
+    private volatile long totalBytes;
+
+    /**
+     * 缓存命中计数
+     */
+    private final LongAdder hitCount = new LongAdder();
+    /**
+     * 缓存未命中计数
+     */
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * 缓存监听
+     */
+    private CacheListener<K, V> listener;
+
+    /**
+     * 缓存加载器
+     */
+    private CacheLoader<K, V> loader;
+
+    public OffHeapCache(long maxMemory, long timeout, boolean expireType, Serializer serializer) {
+        // valid
+        if (maxMemory <= 0) {
+            throw new IllegalArgumentException("maxMemory must large than 0");
+        }
+        if (serializer == null) {
+            throw new IllegalArgumentException("serializer can not be null");
+        }
+
+        // init
+        this.timeout = timeout;
+        this.expireType = expireType;
+        this.serializer = serializer;
+        this.allocator = new SlabAllocator(maxMemory, (int) Math.min(DEFAULT_SLAB_SIZE, maxMemory));
+
+        this.classHead = new int[allocator.sizeClassCount()];
+        this.classTail = new int[allocator.sizeClassCount()];
+        Arrays.fill(classHead, NIL);
+        Arrays.fill(classTail, NIL);
+        resize(INITIAL_CAPACITY);
+    }
+
+    /**
+     * 被移除的对象，在锁外反序列化并通知监听器
+     */
+    private static class Removed<K> {
+        private final K key;
+        private final byte[] data;
+
+        private Removed(K key, byte[] data) {
+            this.key = key;
+            this.data = data;
+        }
+    }
+
+    // ---------------------- put ----------------------
+
+    @Override
+    public void put(K key, V object) {
+        // valid
+        if (key == null) {
+            return;
+        }
+
+        // put：值未写入缓存（超出 Slab 大小、堆外内存不足）时不通知写入
+        if (!putValue(key, object)) {
+            return;
+        }
+
+        // listener
+        notifyWrite(key, object);
+    }
+
+    /**
+     * 写入对象，不触发显式写入回调（加载结果写入）
+     *
+     * @return 是否写入成功；值超出 Slab 大小、堆外内存不足时跳过写入，旧对象已移除
+     */
+    private boolean putValue(K key, V object) {
+        // serialize（锁外）
+        byte[] data = object != null ? serializer.serialize(object) : null;
+        int sizeClass = data != null ? allocator.sizeClass(data.length) : -1;
+        if (data != null && sizeClass < 0) {
+            logger.warn("off-heap cache value too large, skip cache. key:{}, length:{}", key, data.length);
+            remove(key);
+            return false;
+        }
+
+        // put
+        int hash = spread(key.hashCode());
+        List<Removed<K>> evicted = new ArrayList<>();
+        long stamp = lock.writeLock();
+        try {
+            // 移除旧对象（释放内存供新值复用；新值未写入时按移除通知）
+            Removed<K> old = null;
+            int oldSlot = find(key, hash);
+            if (oldSlot != NIL) {
+                old = removeSlot(oldSlot, listener != null);
+            }
+
+            // 分配堆外内存，内存不足时淘汰
+            long address = NIL_ADDRESS;
+            if (data != null) {
+                address = allocator.allocate(sizeClass);
+                while (address == NIL_ADDRESS) {
+                    if (!evict(sizeClass, evicted)) {
+                        logger.warn("off-heap cache memory not enough, skip cache. key:{}, length:{}", key, data.length);
+                        if (old != null) {
+                            evicted.add(old);
+                        }
+                        return false;
+                    }
+                    address = allocator.allocate(sizeClass);
+                }
+                allocator.write(address, data);
+                totalBytes += data.length;
+            }
+
+            // index
+            long now = ticker.read();
+            int slot = allocateSlot();
+            keys[slot] = key;
+            hashes[slot] = hash;
+            addresses[slot] = address;
+            lengths[slot] = data != null ? data.length : 0;
+            createTimes[slot] = now;
+            LAST_ACCESSES.setOpaque(lastAccesses, slot, now);
+            referenced[slot] = 0;
+            insertIndex(slot);
+            if (address != NIL_ADDRESS) {
+                linkClassLast(sizeClass, slot);
+            }
+
+            // expire queue
+            if (timeout > 0) {
+                queueTimes[slot] = now;
+                linkExpireLast(slot);
+            }
+            size++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+            notifyRemove(evicted);
+        }
+    }
+
+    // ---------------------- get ----------------------
+
+    @Override
+    public V get(K key) {
+        return get(key, this.loader);
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        return get(key, null);
+    }
+
+    @Override
+    public V get(K key, CacheLoader<K, V> cacheLoader) {
+        // get
+        V v = deserialize(readOrRemoveExpired(key, true));
+
+        // cacheLoader
+        if (null == v && null != cacheLoader && null != key) {
+            v = coalescedLoad(key, cacheLoader);
+        }
+        return v;
+    }
+
+    /**
+     * 合并加载：同一 key 仅由一个线程执行 CacheLoader，其他线程等待共享结果
+     */
+    private V coalescedLoad(K key, CacheLoader<K, V> cacheLoader) {
+        CacheKey<K> cacheKey = CacheKey.of(key);
+
+        // 共享加载中任务
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> loading = loadingMap.putIfAbsent(cacheKey, promise);
+        if (loading != null) {
+            try {
+                return loading.join();
+            } catch (CompletionException e) {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+
+        try {
+            // valid 2：注册任务前，其他线程可能已完成加载
+            V v = deserialize(readOrRemoveExpired(key, false));
+            if (v == null) {
+                // do cacheLoader
+                v = cacheLoader.load(key);
+                putValue(key, v);
+            }
+            promise.complete(v);
+            return v;
+        } catch (Throwable e) {
+            promise.completeExceptionally(e);
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+            throw new RuntimeException(e);
+        } finally {
+            // 先写入缓存，再移除加载中任务，保证后续访问可直接命中
+            loadingMap.remove(cacheKey, promise);
+        }
+    }
+
+    /**
+     * 读取缓存数据：缓存对象不存在 或 已过期，返回 {@code null}；缓存值为 null 时返回 {@link #NULL_DATA}
+     *
+     * @param isAccess 是否记录访问（访问标记、访问时间、命中统计）
+     */
+    private byte[] readOrRemoveExpired(K key, boolean isAccess) {
+        if (key == null) {
+            return null;
+        }
+        int hash = spread(key.hashCode());
+        long now = ticker.read();
+
+        // 乐观读：不加锁查找索引并复制堆外数据；并发写入导致的异常或脏数据，由校验失败丢弃
+        int slot = NIL;
+        byte[] data = null;
+        boolean expired = false;
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                slot = find(key, hash);
+                if (slot != NIL) {
+                    expired = isExpired(slot, now);
+                    data = expired ? null : readData(slot);
+                }
+            } catch (RuntimeException e) {
+                stamp = 0;
+            }
+        }
+        if (stamp == 0 || !lock.validate(stamp)) {
+            // 校验失败：读锁重试
+            stamp = lock.readLock();
+            try {
+                slot = find(key, hash);
+                expired = slot != NIL && isExpired(slot, now);
+                data = slot != NIL && !expired ? readData(slot) : null;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        // remove expired
+        if (expired) {
+            removeExpired(key, hash, now);
+            slot = NIL;
+        }
+
+        // access：无锁更新访问标记与访问时间（槽位被并发复用时仅影响淘汰/过期精度）
+        if (isAccess) {
+            if (slot != NIL) {
+                touch(slot, now);
+                hitCount.increment();
+            } else {
+                missCount.increment();
+            }
+        }
+        return data;
+    }
+
+    private byte[] readData(int slot) {
+        long address = addresses[slot];
+        return address != NIL_ADDRESS ? allocator.read(address, lengths[slot]) : NULL_DATA;
+    }
+
+    private void touch(int slot, long now) {
+        try {
+            referenced[slot] = 1;
+            LAST_ACCESSES.setOpaque(lastAccesses, slot, now);
+        } catch (IndexOutOfBoundsException e) {
+            // 并发扩容/清空，忽略
+        }
+    }
+
+    private void removeExpired(K key, int hash, long now) {
+        Removed<K> removed = null;
+        long stamp = lock.writeLock();
+        try {
+            int slot = find(key, hash);
+            if (slot != NIL && isExpired(slot, now)) {
+                removed = removeSlot(slot, listener != null);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        // listener
+        if (removed != null) {
+            notifyRemove(List.of(removed));
+        }
+    }
+
+    private V deserialize(byte[] data) {
+        return data != null && data != NULL_DATA ? serializer.deserialize(data) : null;
+    }
+
+    // ---------------------- query ----------------------
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            return false;
+        }
+        int hash = spread(key.hashCode());
+        long now = ticker.read();
+
+        boolean contains = false;
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                int slot = find(key, hash);
+                contains = slot != NIL && !isExpired(slot, now);
+            } catch (RuntimeException e) {
+                stamp = 0;
+            }
+        }
+        if (stamp == 0 || !lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                int slot = find(key, hash);
+                contains = slot != NIL && !isExpired(slot, now);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return contains;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<K, V> asMap() {
+        Map<K, byte[]> dataMap = new HashMap<>();
+        long now = ticker.read();
+        long stamp = lock.readLock();
+        try {
+            for (int slot = 0; slot < carved; slot++) {
+                if (keys[slot] != null && !isExpired(slot, now)) {
+                    dataMap.put((K) keys[slot], readData(slot));
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+
+        Map<K, V> result = new HashMap<>();
+        for (Map.Entry<K, byte[]> item : dataMap.entrySet()) {
+            result.put(item.getKey(), deserialize(item.getValue()));
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 缓存值 总字节数（序列化后）
+     */
+    @Override
+    public long weight() {
+        return totalBytes;
+    }
+
+    @Override
+    public boolean isFull() {
+        long stamp = lock.readLock();
+        try {
+            return !allocator.hasFreeSlab();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // ---------------------- delete ----------------------
+
+    @Override
+    public void remove(K key) {
+        if (key == null) {
+            return;
+        }
+        int hash = spread(key.hashCode());
+        Removed<K> removed = null;
+        long stamp = lock.writeLock();
+        try {
+            int slot = find(key, hash);
+            if (slot != NIL) {
+                removed = removeSlot(slot, listener != null);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        // listener
+        if (removed != null) {
+            notifyRemove(List.of(removed));
+        }
+        notifyWrite(key, null);
+    }
+
+    /**
+     * 清理已到期对象（过期队列，仅触达已到期对象）
+     * <p>
+     * 1、自队首依次检查入队时间已超出有效期的对象：已过期则移除；
+     * 2、expireAfterAccess 时，到期前被访问的对象按最近访问时间重新入队；
+     */
+    @Override
+    public int prune() {
+        if (timeout <= 0) {
+            return 0;
+        }
+
+        List<Removed<K>> expired = new ArrayList<>();
+        long now = ticker.read();
+        long stamp = lock.writeLock();
+        try {
+            int slot = expireHead;
+            while (slot != NIL && now > queueTimes[slot] + timeout) {
+                int next = expireNext[slot];
+                if (isExpired(slot, now)) {
+                    expired.add(removeSlot(slot, listener != null));
+                } else {
+                    // 到期前被访问，重新入队
+                    unlinkExpire(slot);
+                    queueTimes[slot] = lastAccess(slot);
+                    linkExpireLast(slot);
+                }
+                slot = next;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        // listener
+        notifyRemove(expired);
+        return expired.size();
+    }
+
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            Arrays.fill(table, 0);
+            Arrays.fill(keys, null);
+            Arrays.fill(classHead, NIL);
+            Arrays.fill(classTail, NIL);
+            expireHead = NIL;
+            expireTail = NIL;
+            freeSlot = NIL;
+            carved = 0;
+            size = 0;
+            allocator.clear();
+            totalBytes = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // ---------------------- evict ----------------------
+
+    /**
+     * 淘汰对象，需持有写锁
+     * <p>
+     * 1、优先淘汰同一大小等级中最久未被使用的对象；
+     * 2、同一大小等级无可淘汰对象时，Slab 重分配：选择占用 Slab 最多的大小等级，仅淘汰其最久未被使用对象所在 Slab 中的对象，
+     *    Slab 释放后转给当前大小等级；单次淘汰数量不超过一个 Slab 的 Chunk 数量；
+     *
+     * @return 是否淘汰成功
+     */
+    private boolean evict(int sizeClass, List<Removed<K>> evicted) {
+        if (evictEldest(sizeClass, evicted)) {
+            return true;
+        }
+
+        // victim class
+        int victimClass = NIL;
+        for (int i = 0; i < classHead.length; i++) {
+            if (classHead[i] != NIL && (victimClass == NIL || allocator.slabCount(i) > allocator.slabCount(victimClass))) {
+                victimClass = i;
+            }
+        }
+        if (victimClass == NIL) {
+            return false;
+        }
+
+        // victim slab：淘汰其中全部对象
+        int victimSlab = allocator.slabIdOf(addresses[classHead[victimClass]]);
+        int slot = classHead[victimClass];
+        while (slot != NIL) {
+            int next = lruNext[slot];
+            if (allocator.slabIdOf(addresses[slot]) == victimSlab) {
+                evicted.add(removeSlot(slot, listener != null));
+            }
+            slot = next;
+        }
+        return true;
+    }
+
+    /**
+     * CLOCK 淘汰：队首对象被访问过时清除访问标记并移至队尾（二次机会），否则淘汰
+     */
+    private boolean evictEldest(int sizeClass, List<Removed<K>> evicted) {
+        int slot;
+        while ((slot = classHead[sizeClass]) != NIL) {
+            if (referenced[slot] == 0) {
+                evicted.add(removeSlot(slot, listener != null));
+                return true;
+            }
+            referenced[slot] = 0;
+            unlinkClass(sizeClass, slot);
+            linkClassLast(sizeClass, slot);
+        }
+        return false;
+    }
+
+    // ---------------------- index ----------------------
+
+    /**
+     * 哈希值扰动
+     */
+    private static int spread(int hashCode) {
+        int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * 查找槽位，可在乐观读中调用（数组引用各自读取，并发扩容时可能越界，由调用方捕获并校验）
+     *
+     * @return 槽位，不存在时返回 {@link #NIL}
+     */
+    private int find(Object key, int hash) {
+        int[] table = this.table;
+        Object[] keys = this.keys;
+        int[] hashes = this.hashes;
+        int mask = table.length - 1;
+        for (int i = hash & mask, probe = 0; probe <= mask; i = (i + 1) & mask, probe++) {
+            int slot = table[i] - 1;
+            if (slot == NIL) {
+                return NIL;
+            }
+            if (hashes[slot] == hash && key.equals(keys[slot])) {
+                return slot;
+            }
+        }
+        return NIL;
+    }
+
+    private void insertIndex(int slot) {
+        int mask = table.length - 1;
+        int i = hashes[slot] & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = slot + 1;
+    }
+
+    /**
+     * 删除索引：后移删除（backward shift），无需墓碑标记
+     */
+    private void deleteIndex(int slot) {
+        int mask = table.length - 1;
+        int i = hashes[slot] & mask;
+        while (table[i] != slot + 1) {
+            i = (i + 1) & mask;
+        }
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (table[j] == 0) {
+                break;
+            }
+            int home = hashes[table[j] - 1] & mask;
+            // home 不在 (i, j] 区间内，可前移至 i
+            if (i <= j ? (home <= i || home > j) : (home <= i && home > j)) {
+                table[i] = table[j];
+                i = j;
+            }
+        }
+        table[i] = 0;
+    }
+
+    /**
+     * 分配槽位，需持有写锁；槽位用尽时扩容
+     */
+    private int allocateSlot() {
+        if (freeSlot != NIL) {
+            int slot = freeSlot;
+            freeSlot = lruNext[slot];
+            return slot;
+        }
+        if (carved == keys.length) {
+            if (keys.length >= MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("off-heap cache index is full, capacity:" + keys.length);
+            }
+            resize(keys.length << 1);
+        }
+        return carved++;
+    }
+
+    /**
+     * 扩容：槽位数组按容量复制，哈希表保持为槽位数量 2 倍（负载因子不超过 0.5）并重建
+     */
+    private void resize(int capacity) {
+        if (keys == null) {
+            keys = new Object[capacity];
+            hashes = new int[capacity];
+            addresses = new long[capacity];
+            lengths = new int[capacity];
+            createTimes = new long[capacity];
+            lastAccesses = new long[capacity];
+            queueTimes = new long[capacity];
+            referenced = new byte[capacity];
+            lruPrev = new int[capacity];
+            lruNext = new int[capacity];
+            expirePrev = new int[capacity];
+            expireNext = new int[capacity];
+        } else {
+            keys = Arrays.copyOf(keys, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+            addresses = Arrays.copyOf(addresses, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            createTimes = Arrays.copyOf(createTimes, capacity);
+            lastAccesses = Arrays.copyOf(lastAccesses, capacity);
+            queueTimes = Arrays.copyOf(queueTimes, capacity);
+            referenced = Arrays.copyOf(referenced, capacity);
+            lruPrev = Arrays.copyOf(lruPrev, capacity);
+            lruNext = Arrays.copyOf(lruNext, capacity);
+            expirePrev = Arrays.copyOf(expirePrev, capacity);
+            expireNext = Arrays.copyOf(expireNext, capacity);
+        }
+
+        table = new int[capacity << 1];
+        for (int slot = 0; slot < carved; slot++) {
+            if (keys[slot] != null) {
+                insertIndex(slot);
+            }
+        }
+    }
+
+    /**
+     * 移除槽位并释放堆外内存，需持有写锁
+     *
+     * @param isReadData 是否读取数据（仅设置监听器时读取）
+     * @return 被移除的对象
+     */
+    @SuppressWarnings("unchecked")
+    private Removed<K> removeSlot(int slot, boolean isReadData) {
+        K key = (K) keys[slot];
+        byte[] data = isReadData && addresses[slot] != NIL_ADDRESS ? readData(slot) : null;
+
+        deleteIndex(slot);
+        long address = addresses[slot];
+        if (address != NIL_ADDRESS) {
+            unlinkClass(allocator.sizeClassOf(address), slot);
+            allocator.free(address);
+            totalBytes -= lengths[slot];
+        }
+        if (timeout > 0) {
+            unlinkExpire(slot);
+        }
+
+        // 回收槽位
+        keys[slot] = null;
+        addresses[slot] = NIL_ADDRESS;
+        lruNext[slot] = freeSlot;
+        freeSlot = slot;
+        size--;
+        return new Removed<>(key, data);
+    }
+
+    // ---------------------- linked list ----------------------
+
+    private void linkClassLast(int sizeClass, int slot) {
+        int last = classTail[sizeClass];
+        lruPrev[slot] = last;
+        lruNext[slot] = NIL;
+        if (last == NIL) {
+            classHead[sizeClass] = slot;
+        } else {
+            lruNext[last] = slot;
+        }
+        classTail[sizeClass] = slot;
+    }
+
+    private void unlinkClass(int sizeClass, int slot) {
+        int prev = lruPrev[slot];
+        int next = lruNext[slot];
+        if (prev == NIL) {
+            classHead[sizeClass] = next;
+        } else {
+            lruNext[prev] = next;
+        }
+        if (next == NIL) {
+            classTail[sizeClass] = prev;
+        } else {
+            lruPrev[next] = prev;
+        }
+    }
+
+    private void linkExpireLast(int slot) {
+        int last = expireTail;
+        expirePrev[slot] = last;
+        expireNext[slot] = NIL;
+        if (last == NIL) {
+            expireHead = slot;
+        } else {
+            expireNext[last] = slot;
+        }
+        expireTail = slot;
+    }
+
+    private void unlinkExpire(int slot) {
+        int prev = expirePrev[slot];
+        int next = expireNext[slot];
+        if (prev == NIL) {
+            expireHead = next;
+        } else {
+            expireNext[prev] = next;
+        }
+        if (next == NIL) {
+            expireTail = prev;
+        } else {
+            expirePrev[next] = prev;
+        }
+    }
+
+    // ---------------------- listener ----------------------
+
+    /**
+     * 通知监听器（显式写入/删除），在锁外执行
+     */
+    private void notifyWrite(K key, V object) {
+        if (this.listener == null) {
+            return;
+        }
+        try {
+            this.listener.onWrite(key, object);
+        } catch (Exception e) {
+            logger.error("cache listener onWrite error, key:{}", key, e);
+        }
+    }
+
+    /**
+     * 通知监听器，在锁外执行
+     */
+    private void notifyRemove(List<Removed<K>> removedList) {
+        if (this.listener == null || removedList.isEmpty()) {
+            return;
+        }
+        for (Removed<K> removed : removedList) {
+            try {
+                V value = removed.data != null ? serializer.deserialize(removed.data) : null;
+                this.listener.onRemove(removed.key, value);
+            } catch (Exception e) {
+                logger.error("cache listener onRemove error, key:{}", removed.key, e);
+            }
+        }
+    }
+
+    // ---------------------- expire ----------------------
+
+    private long lastAccess(int slot) {
+        return (long) LAST_ACCESSES.getOpaque(lastAccesses, slot);
+    }
+
+    private boolean isExpired(int slot, long now) {
+        return timeout > 0 && now > (expireType ? createTimes[slot] : lastAccess(slot)) + timeout;
+    }
+
+    // ---------------------- monitor ----------------------
+
+    @Override
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    @Override
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return 已申请堆外内存（Slab），单位字节
+     */
+    public long offHeapAllocated() {
+        long stamp = lock.readLock();
+        try {
+            return allocator.allocatedMemory();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return 已使用堆外内存（Chunk，含对齐填充），单位字节
+     */
+    public long offHeapUsed() {
+        long stamp = lock.readLock();
+        try {
+            return allocator.usedMemory();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return 最大堆外内存，单位字节
+     */
+    public long offHeapMax() {
+        return allocator.maxMemory();
+    }
+
+    // ---------------------- info ----------------------
+
+    @Override
+    public int capacity() {
+        return 0;
+    }
+
+    @Override
+    public long timeout() {
+        return timeout;
+    }
+
+    // ---------------------- listener ----------------------
+
+    @Override
+    public OffHeapCache<K, V> setListener(CacheListener<K, V> listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    @Override
+    public OffHeapCache<K, V> setLoader(CacheLoader<K, V> loader) {
+        this.loader = loader;
+        return this;
+    }
+
+    /**
+     * 设置缓存时钟，需在写入数据前设置（已写入对象的时间戳按原时钟记录）
+     */
+    @Override
+    public OffHeapCache<K, V> setTicker(Ticker ticker) {
+        if (ticker == null) {
+            throw new IllegalArgumentException("ticker can not be null");
+        }
+        this.ticker = ticker;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapCache{" +
+                "size=" + size() +
+                ", weight=" + weight() +
+                ", offHeapAllocated=" + offHeapAllocated() +
+                ", offHeapUsed=" + offHeapUsed() +
+                '}';
+    }
+
+}
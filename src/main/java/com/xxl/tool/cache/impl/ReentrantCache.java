@@ -1,16 +1,39 @@
 package com.xxl.tool.cache.impl;
 
+import com.xxl.tool.cache.iface.AsyncCacheLoader;
 import com.xxl.tool.cache.iface.Cache;
 import com.xxl.tool.cache.iface.CacheListener;
 import com.xxl.tool.cache.iface.CacheLoader;
+import com.xxl.tool.cache.iface.Ticker;
+import com.xxl.tool.cache.iface.Weigher;
 import com.xxl.tool.cache.model.CacheKey;
 import com.xxl.tool.cache.model.CacheObject;
+import com.xxl.tool.cache.model.CacheStats;
+import com.xxl.tool.cache.support.CacheSnapshot;
+import com.xxl.tool.cache.support.DiskStore;
+import com.xxl.tool.cache.support.ExpireWheel;
+import com.xxl.tool.cache.support.StatsCounter;
+import com.xxl.tool.serializer.Serializer;
+import com.xxl.tool.serializer.SerializerEnum;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -33,6 +56,21 @@ public abstract class ReentrantCache<K, V> implements Cache<K, V> {
      */
     protected long timeout;
 
+    /**
+     * 最大总权重，{@code 0} 表示不限制；设置后按总权重淘汰，capacity 仅作为初始容量（预估对象数量）
+     */
+    protected long maximumWeight;
+
+    /**
+     * 权重计算器，{@code null} 时每个对象权重为 1
+     */
+    protected Weigher<K, V> weigher;
+
+    /**
+     * 缓存对象总权重
+     */
+    protected final AtomicLong totalWeight = new AtomicLong();
+
     /**
      * 缓存容量, {@code 0} 表示无限制
      */
@@ -60,6 +98,16 @@ public abstract class ReentrantCache<K, V> implements Cache<K, V> {
      */
     protected volatile Map<CacheKey<K>, CacheObject<K, V>> cacheMap;
 
+    /**
+     * 缓存时钟：创建时间、访问时间、过期判断统一从时钟读取
+     */
+    protected Ticker ticker = Ticker.system();
+
+    /**
+     * 过期时间轮，仅设置有效期时使用；清理过期对象时只触达已到期对象
+     */
+    protected final ExpireWheel<CacheObject<K, V>> expireWheel = new ExpireWheel<>(ticker.read());
+
     /**
      * 缓存命中计数
      */
@@ -69,6 +117,11 @@ public abstract class ReentrantCache<K, V> implements Cache<K, V> {
      */
     protected LongAdder missCount = new LongAdder();
 
+    /**
+     * 缓存统计（加载、淘汰、过期），未开启统计时为空实现
+     */
+    protected StatsCounter statsCounter = StatsCounter.DISABLED;
+
     /**
      * 缓存监听
      */
@@ -79,6 +132,46 @@ public abstract class ReentrantCache<K, V> implements Cache<K, V> {
      */
     protected CacheLoader<K, V> loader;
 
+    /**
+     * 写入后刷新时长，{@code 0} 表示不刷新，单位毫秒；到期后访问仍返回旧值，同时在后台异步重新加载
+     */
+    protected long refreshAfterWrite;
+
+    /**
+     * 异步加载/刷新线程池
+     */
+    protected Executor executor = ForkJoinPool.commonPool();
+
+    /**
+     * 磁盘溢出层，{@code null} 表示不启用；堆内淘汰的对象写入磁盘层，堆内未命中时优先从磁盘层加载
+     */
+    protected DiskStore<K, V> diskStore;
+
+    /**
+     * 序列化组件（快照）
+     */
+    protected Serializer serializer = SerializerEnum.JAVA.getSerializer();
+
+    /**
+     * 负缓存有效期，{@code 0} 表示不启用，单位毫秒；加载结果为 {@code null} 时写入负缓存对象，有效期内访问直接返回 {@code null}，不再加载
+     */
+    protected long negativeTtl;
+
+    /**
+     * stale-while-revalidate 时长，{@code 0} 表示不启用，单位毫秒；对象过期后的该时长内，访问仍返回旧值，同时在后台异步重新加载
+     */
+    protected long staleWhileRevalidate;
+
+    /**
+     * stale-if-error 时长，{@code 0} 表示不启用，单位毫秒；对象过期后的该时长内，访问时重新加载，加载失败时返回旧值
+     */
+    protected long staleIfError;
+
+    /**
+     * 加载中任务，同一 key 并发加载（同步、异步）时共享同一个任务
+     */
+    protected final ConcurrentMap<CacheKey<K>, CompletableFuture<V>> loadingMap = new ConcurrentHashMap<>();
+
     // ---------------------- lock ----------------------
 
     /**
@@ -99,26 +192,136 @@ public abstract class ReentrantCache<K, V> implements Cache<K, V> {
         }
 
         // put
+        putWithLock(key, object);
+
+        // write - listener
+        onWrite(key, object);
+    }
+
+    /**
+     * 写入对象（加 key 锁），不触发显式写入回调
+     */
+    private void putWithLock(K key, V object) {
         Lock writeLock = getKeyLock(key);
         writeLock.lock();
         try {
-            CacheKey<K> cacheKey = CacheKey.of(key);
-            CacheObject<K, V> cacheObject = new CacheObject<>(key, object, timeout, expireType);
+            putWithoutLock(key, object);
+        } finally {
+            writeLock.unlock();
+        }
+    }
 
-            // do put
-            if (cacheMap.containsKey(cacheKey)) {
-                cacheMap.put(cacheKey, cacheObject);
-            } else {
-                if (isFull()) {
-                    doPrune();
+    /**
+     * 批量写入：按 key 锁分组，每个 key 锁仅加锁一次
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        putAll(map, true);
+    }
+
+    /**
+     * 批量写入
+     *
+     * @param map         键值对
+     * @param notifyWrite 是否触发显式写入回调（加载结果写入时不触发）
+     */
+    private void putAll(Map<? extends K, ? extends V> map, boolean notifyWrite) {
+        // group by lock
+        Map<Lock, List<Map.Entry<? extends K, ? extends V>>> lockGroups = new LinkedHashMap<>();
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            if (entry.getKey() == null) {
+                continue;
+            }
+            lockGroups.computeIfAbsent(getKeyLock(entry.getKey()), k -> new ArrayList<>()).add(entry);
+        }
+
+        // put
+        for (Map.Entry<Lock, List<Map.Entry<? extends K, ? extends V>>> lockGroup : lockGroups.entrySet()) {
+            Lock writeLock = lockGroup.getKey();
+            writeLock.lock();
+            try {
+                for (Map.Entry<? extends K, ? extends V> entry : lockGroup.getValue()) {
+                    putWithoutLock(entry.getKey(), entry.getValue());
                 }
-                cacheMap.put(cacheKey, cacheObject);
+            } finally {
+                writeLock.unlock();
+            }
+            // write - listener
+            if (notifyWrite) {
+                for (Map.Entry<? extends K, ? extends V> entry : lockGroup.getValue()) {
+                    onWrite(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * 写入对象，需持有 key 锁
+     */
+    private void putWithoutLock(K key, V object) {
+        // 磁盘层旧数据失效（磁盘层无该 key 时不加锁）
+        if (diskStore != null) {
+            diskStore.delete(key);
+        }
+
+        long now = ticker.read();
+        putObjectWithoutLock(new CacheObject<>(key, object, timeout, expireType, weigh(key, object), now, now));
+    }
+
+    /**
+     * 写入缓存对象，需持有 key 锁
+     */
+    private void putObjectWithoutLock(CacheObject<K, V> cacheObject) {
+        CacheKey<K> cacheKey = CacheKey.of(cacheObject.getKey());
+
+        // weight：先计入新对象权重，淘汰判断（如 LinkedHashMap.removeEldestEntry）可感知
+        totalWeight.addAndGet(cacheObject.getWeight());
+
+        // do put
+        CacheObject<K, V> oldCacheObject;
+        if (cacheMap.containsKey(cacheKey)) {
+            oldCacheObject = cacheMap.put(cacheKey, cacheObject);
+        } else {
+            if (isFull()) {
+                doPrune();
+            }
+            oldCacheObject = cacheMap.put(cacheKey, cacheObject);
+        }
+
+        // weight：被替换对象不再计入
+        if (oldCacheObject != null) {
+            totalWeight.addAndGet(-oldCacheObject.getWeight());
+        }
+
+        // expire schedule
+        cancelExpire(oldCacheObject);
+        scheduleExpire(cacheObject);
+
+        // put callback
+        onPut(cacheKey, cacheObject);
+
+        // 按权重限制时，单个对象可能超出剩余权重，持续淘汰直至不超出最大总权重
+        while (maximumWeight > 0 && isOverflow()) {
+            if (doPrune() <= 0) {
+                break;
             }
-        } finally {
-            writeLock.unlock();
         }
     }
 
+    /**
+     * 计算对象权重
+     */
+    private int weigh(K key, V object) {
+        if (weigher == null) {
+            return 1;
+        }
+        int weight = weigher.weigh(key, object);
+        if (weight < 0) {
+            throw new IllegalArgumentException("weight must not be negative");
+        }
+        return weight;
+    }
+
     // ---------------------- get ----------------------
 
 
@@ -135,27 +338,284 @@ public abstract class ReentrantCache<K, V> implements Cache<K, V> {
     @Override
     public V get(K key, CacheLoader<K, V> cacheLoader) {
         // get
-        V v = getOrRemoveExpired(key, true, true);
+        CacheObject<K, V> cacheObject = getObjectOrRemoveExpired(key, true, true);
+
+        // stale：已过期、仍在保留期内的旧对象
+        if (null != cacheObject && cacheObject.isExpired(ticker.read())) {
+            return getStale(key, cacheObject, cacheLoader);
+        }
+
+        // 命中（含负缓存，直接返回 null）
+        if (isPresent(cacheObject) || null == cacheLoader) {
+            return null != cacheObject ? cacheObject.getValue() : null;
+        }
 
         // cacheLoader
-        if (null == v && null != cacheLoader) {
-            Lock writeLock = getKeyLock(key);
-            writeLock.lock();
+        return load(key, cacheLoader);
+    }
+
+    /**
+     * 访问已过期的旧对象
+     * <p>
+     * 1、stale-while-revalidate 期内：返回旧值（后台重新加载已在访问时触发）；
+     * 2、stale-if-error 期内：重新加载，加载失败时返回旧值；
+     *
+     * @param key         键
+     * @param stale       已过期的旧对象
+     * @param cacheLoader 缓存加载器
+     * @return 值对象
+     */
+    private V getStale(K key, CacheObject<K, V> stale, CacheLoader<K, V> cacheLoader) {
+        // stale-while-revalidate
+        if (isWithinStale(stale, ticker.read(), staleWhileRevalidate)) {
+            return stale.getValue();
+        }
+        if (null == cacheLoader) {
+            return null;
+        }
+
+        // stale-if-error
+        try {
+            return load(key, cacheLoader);
+        } catch (RuntimeException e) {
+            if (isWithinStale(stale, ticker.read(), staleIfError)) {
+                logger.warn("cache load error, serve stale value, key:{}", key, e);
+                return stale.getValue();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 加载：异步加载器在 executor 中执行，同步加载器在当前线程执行；均按 key 合并，不占用 key 锁
+     */
+    private V load(K key, CacheLoader<K, V> cacheLoader) {
+        // cacheLoader (async)
+        if (cacheLoader instanceof AsyncCacheLoader) {
             try {
-                // valid 2
-                v = getOrRemoveExpired(key, true, false);
-                if (null == v) {
-                    // do cacheLoader
+                return asyncLoad(key, cacheLoader, true).join();
+            } catch (CompletionException e) {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+
+        // cacheLoader
+        return coalescedLoad(key, cacheLoader);
+    }
+
+    /**
+     * 同步加载
+     * <p>
+     * 1、同一 key 并发未命中时合并为一次加载：首个线程注册加载中任务并在当前线程执行加载，其他线程等待并共享加载结果；
+     * 2、加载过程不占用 key 锁，不阻塞同一锁分段上其他 key 的读写；
+     * 3、加载结果为 {@code null} 且启用负缓存时，写入负缓存对象；
+     *
+     * @param key         键
+     * @param cacheLoader 缓存加载器
+     * @return 值对象
+     */
+    private V coalescedLoad(K key, CacheLoader<K, V> cacheLoader) {
+        CacheKey<K> cacheKey = CacheKey.of(key);
+
+        // 共享加载中任务
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> loading = loadingMap.putIfAbsent(cacheKey, promise);
+        if (loading != null) {
+            try {
+                return loading.join();
+            } catch (CompletionException e) {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+
+        try {
+            // valid 2：注册任务前，其他线程可能已完成加载
+            CacheObject<K, V> cacheObject = getObjectOrRemoveExpired(key, true, false);
+            V v;
+            if (isPresent(cacheObject)) {
+                v = cacheObject.getValue();
+            } else {
+                // do cacheLoader
+                long start = System.nanoTime();
+                try {
                     v = cacheLoader.load(key);
-                    put(key, v);
+                } catch (Exception e) {
+                    statsCounter.recordLoadFailure(System.nanoTime() - start);
+                    throw e;
                 }
+                statsCounter.recordLoadSuccess(System.nanoTime() - start);
+                putLoaded(key, v);
+            }
+            promise.complete(v);
+            return v;
+        } catch (Throwable e) {
+            promise.completeExceptionally(e);
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+            throw new RuntimeException(e);
+        } finally {
+            // 先写入缓存，再移除加载中任务，保证后续访问可直接命中
+            loadingMap.remove(cacheKey, promise);
+        }
+    }
+
+    /**
+     * 写入加载结果：值为 {@code null} 时，启用负缓存则写入负缓存对象，否则不写入
+     */
+    private void putLoaded(K key, V value) {
+        if (null != value) {
+            putWithLock(key, value);
+        } else if (negativeTtl > 0) {
+            putNegative(key);
+        }
+    }
+
+    /**
+     * 写入负缓存对象
+     */
+    private void putNegative(K key) {
+        if (key == null) {
+            return;
+        }
+        Lock writeLock = getKeyLock(key);
+        writeLock.lock();
+        try {
+            // 磁盘层旧数据失效（磁盘层无该 key 时不加锁）
+            if (diskStore != null) {
+                diskStore.delete(key);
+            }
+            putObjectWithoutLock(CacheObject.negative(key, negativeTtl, ticker.read()));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 缓存对象是否有效：未过期，且值不为 {@code null} 或为负缓存对象（无需再加载）
+     */
+    private boolean isPresent(CacheObject<K, V> cacheObject) {
+        return null != cacheObject
+                && (null != cacheObject.getValue() || cacheObject.isNegative())
+                && !cacheObject.isExpired(ticker.read());
+    }
+
+    // ---------------------- stale ----------------------
+
+    /**
+     * 过期后保留时长：stale-while-revalidate 与 stale-if-error 取较大值（负缓存对象不保留）
+     */
+    private long staleRetention(CacheObject<K, V> cacheObject) {
+        return cacheObject.isNegative() ? 0 : Math.max(staleWhileRevalidate, staleIfError);
+    }
+
+    /**
+     * 是否已超出保留期（需删除）
+     */
+    protected boolean isDead(CacheObject<K, V> cacheObject, long now) {
+        return cacheObject.isExpired(now - staleRetention(cacheObject));
+    }
+
+    /**
+     * 已过期对象是否仍在指定时长内
+     */
+    private boolean isWithinStale(CacheObject<K, V> cacheObject, long now, long window) {
+        return window > 0 && !cacheObject.isNegative() && !cacheObject.isExpired(now - window);
+    }
+
+    /**
+     * stale-while-revalidate：访问 stale-while-revalidate 期内的旧对象时，后台异步重新加载
+     */
+    private void revalidateIfNeeded(K key, CacheObject<K, V> cacheObject, long now) {
+        if (null == loader
+                || !isWithinStale(cacheObject, now, staleWhileRevalidate)
+                || loadingMap.containsKey(CacheKey.of(key))) {
+            return;
+        }
+        asyncLoad(key, loader, false).whenComplete((value, e) -> {
+            if (e != null) {
+                logger.warn("cache revalidate error, key:{}", key, e);
+            }
+        });
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) {
+        return getAll(keys, this.loader);
+    }
+
+    /**
+     * 批量获取缓存对象，使用指定的 cacheLoader 批量加载
+     * <p>
+     * 1、命中对象无锁读取（并发Map）；
+     * 2、全部未命中 key 调用一次 cacheLoader.loadAll，加载结果按 key 锁分组批量写入；
+     *
+     * @param keys        键
+     * @param cacheLoader 缓存加载器
+     * @return 键值对，按入参顺序排列，仅包含值不为 {@code null} 的键值对
+     */
+    public Map<K, V> getAll(Collection<? extends K> keys, CacheLoader<K, V> cacheLoader) {
+        // get
+        Map<K, V> result = new LinkedHashMap<>();
+        Set<K> missKeys = new LinkedHashSet<>();
+        Map<K, CacheObject<K, V>> staleObjects = new LinkedHashMap<>();
+        for (K key : keys) {
+            if (key == null || result.containsKey(key)) {
+                continue;
+            }
+            CacheObject<K, V> cacheObject = getObjectOrRemoveExpired(key, true, true);
+            if (isPresent(cacheObject)
+                    || (null != cacheObject && isWithinStale(cacheObject, ticker.read(), staleWhileRevalidate))) {
+                // 负缓存对象值为 null，最终被过滤
+                result.put(key, cacheObject.getValue());
+            } else {
+                missKeys.add(key);
+                result.put(key, null);
+                if (null != cacheObject && cacheObject.isExpired(ticker.read())) {
+                    staleObjects.put(key, cacheObject);
+                }
+            }
+        }
+
+        // cacheLoader
+        if (!missKeys.isEmpty() && null != cacheLoader) {
+            Map<K, V> loaded;
+            long start = System.nanoTime();
+            try {
+                loaded = cacheLoader.loadAll(missKeys);
             } catch (Exception e) {
-                throw new RuntimeException(e);
-            } finally {
-                writeLock.unlock();
+                statsCounter.recordLoadFailure(System.nanoTime() - start);
+
+                // stale-if-error：返回 stale-if-error 期内的旧值
+                long now = ticker.read();
+                staleObjects.values().removeIf(cacheObject -> !isWithinStale(cacheObject, now, staleIfError));
+                if (staleObjects.isEmpty()) {
+                    throw new RuntimeException(e);
+                }
+                logger.warn("cache load error, serve stale value, keys:{}", staleObjects.keySet(), e);
+                for (Map.Entry<K, CacheObject<K, V>> entry : staleObjects.entrySet()) {
+                    result.put(entry.getKey(), entry.getValue().getValue());
+                }
+                result.values().removeIf(v -> v == null);
+                return result;
             }
+            statsCounter.recordLoadSuccess(System.nanoTime() - start);
+            Map<K, V> loadedMap = new LinkedHashMap<>();
+            for (K key : missKeys) {
+                V v = loaded != null ? loaded.get(key) : null;
+                if (null != v) {
+                    loadedMap.put(key, v);
+                    result.put(key, v);
+                } else if (negativeTtl > 0) {
+                    putNegative(key);
+                }
+            }
+            putAll(loadedMap, false);
         }
-        return v;
+
+        // filter miss
+        result.values().removeIf(v -> v == null);
+        return result;
     }
 
     /**
@@ -171,59 +631,279 @@ public abstract class ReentrantCache<K, V> implements Cache<K, V> {
      * @return 值对象：
      */
     private V getOrRemoveExpired(final K key, final boolean isUpdateLastAccess, final boolean isUpdateCount) {
-        CacheObject<K, V> cacheObject;
+        CacheObject<K, V> cacheObject = getObjectOrRemoveExpired(key, isUpdateLastAccess, isUpdateCount);
+        return null != cacheObject && !cacheObject.isExpired(ticker.read()) ? cacheObject.getValue() : null;
+    }
 
-        // lock
-        Lock writeLock = getKeyLock(key);
-        writeLock.lock();
-        try {
-            // get cache
+    /**
+     * 获取缓存对象，逻辑同 {@link #getOrRemoveExpired}，返回缓存对象本身（可区分负缓存对象）；
+     * 已过期、仍在 stale 保留期内的对象不删除，原样返回，由调用方按 stale-while-revalidate / stale-if-error 处理
+     */
+    private CacheObject<K, V> getObjectOrRemoveExpired(final K key, final boolean isUpdateLastAccess, final boolean isUpdateCount) {
+        CacheObject<K, V> cacheObject = null;
+        long now = ticker.read();
+
+        // 并发Map（如 ConcurrentHashMap）：无锁读取，仅清理过期对象时加锁
+        boolean needLock = true;
+        if (this.cacheMap instanceof ConcurrentMap) {
             cacheObject = this.cacheMap.get(CacheKey.of(key));
-            // remove expired cache
-            if (null != cacheObject && cacheObject.isExpired()) {
+            needLock = null != cacheObject && isDead(cacheObject, now);
+        }
 
-                // do remove
-                removeWithoutLock(key);
+        // lock
+        if (needLock) {
+            Lock writeLock = getKeyLock(key);
+            writeLock.lock();
+            try {
+                // get cache
+                cacheObject = this.cacheMap.get(CacheKey.of(key));
+                // remove expired cache（超出 stale 保留期）
+                if (null != cacheObject && isDead(cacheObject, now)) {
+
+                    // do remove
+                    removeWithoutLock(key);
+                    statsCounter.recordExpiration();
 
-                // remove listener
-                onRemove(cacheObject);
+                    // remove listener
+                    onRemove(cacheObject);
 
-                // mark null
-                cacheObject = null;
+                    // mark null
+                    cacheObject = null;
+                }
+            } finally {
+                writeLock.unlock();
             }
-        } finally {
-            writeLock.unlock();
         }
 
-        // count
         if (isUpdateCount) {
-            if (null == cacheObject) {
+            // overflow：堆内未命中，从磁盘层加载并提升至堆内
+            if (null == cacheObject && null != diskStore) {
+                cacheObject = promoteFromDisk(key);
+            }
+
+            // count：stale 对象仅在 stale-while-revalidate 期内（直接返回旧值）计为命中
+            boolean stale = null != cacheObject && cacheObject.isExpired(now);
+            if (null == cacheObject || (stale && !isWithinStale(cacheObject, now, staleWhileRevalidate))) {
                 missCount.increment();
             } else {
                 hitCount.increment();
             }
+
+            // access callback
+            onAccess(key, cacheObject);
+
+            // refresh / revalidate
+            if (stale) {
+                revalidateIfNeeded(key, cacheObject, now);
+            } else if (null != cacheObject) {
+                refreshIfNeeded(key, cacheObject, now);
+            }
         }
 
-        // return
+        // return（stale 对象不更新访问时间，避免 expireAfterAccess 下被 “复活”）
         if (cacheObject == null) {
             return null;
         }
-        return cacheObject.get(isUpdateLastAccess);
+        cacheObject.get(isUpdateLastAccess && !cacheObject.isExpired(now), now);
+        return cacheObject;
+    }
+
+    /**
+     * 从磁盘层读取对象并提升至堆内（保留原有的创建时间、访问时间）；提升可能触发堆内淘汰，被淘汰对象写入磁盘层
+     *
+     * @param key 键
+     * @return 缓存对象，磁盘层不存在或已过期时返回 {@code null}
+     */
+    private CacheObject<K, V> promoteFromDisk(K key) {
+        Lock writeLock = getKeyLock(key);
+        writeLock.lock();
+        try {
+            // valid 2：其他线程可能已提升或写入
+            CacheObject<K, V> cacheObject = this.cacheMap.get(CacheKey.of(key));
+            if (null != cacheObject && !cacheObject.isExpired(ticker.read())) {
+                return cacheObject;
+            }
+
+            // promote
+            cacheObject = diskStore.remove(key);
+            if (null != cacheObject) {
+                putObjectWithoutLock(cacheObject);
+            }
+            return cacheObject;
+        } catch (Exception e) {
+            logger.error("cache promote from disk error, key:{}", key, e);
+            return null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // ---------------------- async ----------------------
+
+    @Override
+    public CompletableFuture<V> getAsync(K key) {
+        return getAsync(key, this.loader);
+    }
+
+    /**
+     * 异步获取缓存对象，使用指定的 cacheLoader 加载
+     *
+     * @param key         键
+     * @param cacheLoader 缓存加载器
+     * @return 值对象 Future
+     */
+    public CompletableFuture<V> getAsync(K key, CacheLoader<K, V> cacheLoader) {
+        // get
+        CacheObject<K, V> cacheObject = getObjectOrRemoveExpired(key, true, true);
+
+        // stale：stale-while-revalidate 期内返回旧值；stale-if-error 期内加载失败时返回旧值
+        if (null != cacheObject && cacheObject.isExpired(ticker.read())) {
+            final CacheObject<K, V> stale = cacheObject;
+            if (isWithinStale(stale, ticker.read(), staleWhileRevalidate)) {
+                return CompletableFuture.completedFuture(stale.getValue());
+            }
+            if (null == cacheLoader) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return asyncLoad(key, cacheLoader, true).handle((value, e) -> {
+                if (e == null) {
+                    return value;
+                }
+                if (isWithinStale(stale, ticker.read(), staleIfError)) {
+                    logger.warn("cache load error, serve stale value, key:{}", key, e);
+                    return stale.getValue();
+                }
+                throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+            });
+        }
+
+        // 命中（含负缓存，直接返回 null）
+        if (isPresent(cacheObject) || null == cacheLoader) {
+            return CompletableFuture.completedFuture(null != cacheObject ? cacheObject.getValue() : null);
+        }
+
+        // cacheLoader
+        return asyncLoad(key, cacheLoader, true);
+    }
+
+    /**
+     * 写入后刷新：对象写入时长超出 refreshAfterWrite 时，后台异步重新加载，当前访问仍返回旧值
+     */
+    private void refreshIfNeeded(K key, CacheObject<K, V> cacheObject, long now) {
+        if (refreshAfterWrite <= 0
+                || null == loader
+                || now - cacheObject.getCreateTime() < refreshAfterWrite
+                || loadingMap.containsKey(CacheKey.of(key))) {
+            return;
+        }
+        asyncLoad(key, loader, false).whenComplete((value, e) -> {
+            if (e != null) {
+                logger.warn("cache refresh error, key:{}", key, e);
+            }
+        });
+    }
+
+    /**
+     * 异步加载
+     * <p>
+     * 1、同一 key 并发加载时共享同一个任务，仅执行一次加载；
+     * 2、加载在 executor 中执行，不占用 key 锁；加载成功后写入缓存，加载失败时保留原有缓存对象；
+     *
+     * @param key          键
+     * @param cacheLoader  缓存加载器
+     * @param recheckCache 是否在加载前重新检查缓存（未命中加载时为 true，刷新时为 false）
+     * @return 值对象 Future
+     */
+    private CompletableFuture<V> asyncLoad(K key, CacheLoader<K, V> cacheLoader, boolean recheckCache) {
+        CacheKey<K> cacheKey = CacheKey.of(key);
+
+        // 共享加载中任务
+        CompletableFuture<V> loading = loadingMap.get(cacheKey);
+        if (loading != null) {
+            return loading;
+        }
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        loading = loadingMap.putIfAbsent(cacheKey, promise);
+        if (loading != null) {
+            return loading;
+        }
+
+        // valid 2：注册任务前，其他线程可能已完成加载
+        if (recheckCache) {
+            CacheObject<K, V> cacheObject = getObjectOrRemoveExpired(key, true, false);
+            if (isPresent(cacheObject)) {
+                loadingMap.remove(cacheKey, promise);
+                promise.complete(cacheObject.getValue());
+                return promise;
+            }
+        }
+
+        // do load
+        long start = System.nanoTime();
+        CompletableFuture<V> future;
+        try {
+            if (cacheLoader instanceof AsyncCacheLoader) {
+                future = ((AsyncCacheLoader<K, V>) cacheLoader).asyncLoad(key, executor);
+            } else {
+                future = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return cacheLoader.load(key);
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor);
+            }
+        } catch (Exception e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        if (future == null) {
+            future = CompletableFuture.completedFuture(null);
+        }
+
+        // complete：先写入缓存，再移除加载中任务，保证后续访问可直接命中
+        future.whenComplete((value, e) -> {
+            Throwable error = e;
+            if (error == null) {
+                statsCounter.recordLoadSuccess(System.nanoTime() - start);
+            } else {
+                statsCounter.recordLoadFailure(System.nanoTime() - start);
+            }
+            try {
+                if (error == null) {
+                    putLoaded(key, value);
+                }
+            } catch (Exception putError) {
+                error = putError;
+            } finally {
+                loadingMap.remove(cacheKey, promise);
+            }
+
+            if (error != null) {
+                promise.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error);
+            } else {
+                promise.complete(value);
+            }
+        });
+        return promise;
     }
 
     // ---------------------- query ----------------------
 
     @Override
     public boolean containsKey(K key) {
-        return null != getOrRemoveExpired(key, false, false);
+        return null != getOrRemoveExpired(key, false, false)
+                || (null != diskStore && diskStore.containsKey(key));
     }
 
     @Override
     public Map<K, V> asMap() {
+        long now = ticker.read();
         return this.cacheMap
                 .values()
                 .stream()
-                .filter(cacheObject -> !cacheObject.isExpired())
+                .filter(cacheObject -> !cacheObject.isExpired(now) && !cacheObject.isNegative())
                 .collect(Collectors.toMap(CacheObject::getKey, CacheObject::getValue));
     }
 
@@ -232,11 +912,29 @@ public abstract class ReentrantCache<K, V> implements Cache<K, V> {
         return cacheMap.size();
     }
 
+    @Override
+    public long weight() {
+        return totalWeight.get();
+    }
+
     @Override
     public boolean isFull() {
+        if (maximumWeight > 0) {
+            return totalWeight.get() >= maximumWeight;
+        }
         return (capacity > 0) && (cacheMap.size() >= capacity);
     }
 
+    /**
+     * 缓存是否已超出容量（按权重限制时，为是否超出最大总权重）
+     */
+    protected boolean isOverflow() {
+        if (maximumWeight > 0) {
+            return totalWeight.get() > maximumWeight;
+        }
+        return (capacity > 0) && (cacheMap.size() > capacity);
+    }
+
     @Override
     public boolean isEmpty() {
         return cacheMap.isEmpty();
@@ -253,12 +951,16 @@ public abstract class ReentrantCache<K, V> implements Cache<K, V> {
         writeLock.lock();
         try {
             cacheObject = removeWithoutLock(key);
+            if (diskStore != null) {
+                diskStore.delete(key);
+            }
         } finally {
             writeLock.unlock();
         }
 
         // remove - listener
         onRemove(cacheObject);
+        onWrite(key, null);
     }
 
     /**
@@ -277,7 +979,15 @@ public abstract class ReentrantCache<K, V> implements Cache<K, V> {
      * @param cacheObject 被缓存的对象
      */
     protected void onRemove(CacheObject<K, V> cacheObject) {
-        if (this.listener != null && cacheObject != null) {
+        // cancel expire
+        cancelExpire(cacheObject);
+
+        // weight
+        if (cacheObject != null) {
+            totalWeight.addAndGet(-cacheObject.getWeight());
+        }
+
+        if (this.listener != null && cacheObject != null && !cacheObject.isNegative()) {
             try {
                 this.listener.onRemove(cacheObject.getKey(), cacheObject.getValue());
             } catch (Exception e) {
@@ -286,15 +996,271 @@ public abstract class ReentrantCache<K, V> implements Cache<K, V> {
         }
     }
 
+    /**
+     * 显式写入/删除回调（锁外执行），不包括 加载、淘汰、过期
+     *
+     * @param key    键
+     * @param object 写入的值，删除时为 {@code null}
+     */
+    protected void onWrite(K key, V object) {
+        if (this.listener != null) {
+            try {
+                this.listener.onWrite(key, object);
+            } catch (Exception e) {
+                logger.error("cache listener onWrite error, key:{}", key, e);
+            }
+        }
+    }
+
+    /**
+     * 对象淘汰回调（因容量/权重限制被淘汰）：启用磁盘溢出层时写入磁盘层，并执行移除回调
+     *
+     * @param cacheObject 被淘汰的对象
+     */
+    protected void onEvict(CacheObject<K, V> cacheObject) {
+        // stats
+        if (cacheObject != null) {
+            statsCounter.recordEviction(cacheObject.getWeight());
+        }
+
+        // overflow
+        if (this.diskStore != null && cacheObject != null) {
+            overflowToDisk(cacheObject);
+        }
+
+        // remove callback
+        onRemove(cacheObject);
+    }
+
+    /**
+     * 淘汰对象写入磁盘层
+     * <p>
+     * 1、淘汰（移出堆内）与写入磁盘层之间，同一 key 可能被并发写入新值；持有 key 锁并确认堆内没有更新的对象后再写入，避免磁盘层保留旧值；
+     * 2、key 锁被占用时（避免与其他 key 锁交叉加锁）放弃写入磁盘层，仅影响磁盘层命中；
+     */
+    private void overflowToDisk(CacheObject<K, V> cacheObject) {
+        Lock writeLock = getKeyLock(cacheObject.getKey());
+        if (!writeLock.tryLock()) {
+            return;
+        }
+        try {
+            // 堆内已存在更新的对象（淘汰后被重新写入）
+            CacheObject<K, V> current = cacheMap.get(CacheKey.of(cacheObject.getKey()));
+            if (current != null && current != cacheObject) {
+                return;
+            }
+            this.diskStore.put(cacheObject);
+        } catch (Exception e) {
+            logger.error("cache overflow to disk error, cacheObject:{}", cacheObject, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 清空回调：重置 过期时间轮、总权重、磁盘溢出层；子类覆盖 clear 时需调用
+     */
+    protected void onClear() {
+        expireWheel.clear();
+        totalWeight.set(0);
+        if (diskStore != null) {
+            diskStore.clear();
+        }
+    }
+
+    // ---------------------- expire ----------------------
+
+    /**
+     * 调度对象过期（仅设置有效期时）
+     */
+    protected void scheduleExpire(CacheObject<K, V> cacheObject) {
+        if (cacheObject != null && cacheObject.getTtl() > 0) {
+            ExpireWheel.Node<CacheObject<K, V>> expireNode = new ExpireWheel.Node<>(cacheObject);
+            cacheObject.setExpireNode(expireNode);
+            expireWheel.schedule(expireNode, cacheObject.getDeadline() + staleRetention(cacheObject));
+        }
+    }
+
+    /**
+     * 取消对象过期调度（对象被删除或替换时）
+     */
+    protected void cancelExpire(CacheObject<K, V> cacheObject) {
+        if (cacheObject != null && cacheObject.getExpireNode() != null) {
+            expireWheel.deschedule(cacheObject.getExpireNode());
+        }
+    }
+
+    /**
+     * 清理已到期对象
+     * <p>
+     * 1、推进过期时间轮，仅处理已到期的对象，无需遍历全部缓存对象；
+     * 2、expireAfterAccess 模式下，到期前被访问过的对象按新的过期时间重新调度；
+     * 3、key 锁被占用时（避免与其他 key 锁交叉加锁）跳过，留待下次清理；
+     *
+     * @return 清理数据量
+     */
+    protected int pruneExpired() {
+        if (timeout <= 0 && negativeTtl <= 0) {
+            return 0;
+        }
+
+        int count = 0;
+        long now = ticker.read();
+        List<ExpireWheel.Node<CacheObject<K, V>>> dueNodes = expireWheel.advance(now);
+        for (ExpireWheel.Node<CacheObject<K, V>> dueNode : dueNodes) {
+            CacheObject<K, V> cacheObject = dueNode.getValue();
+
+            // 到期前被访问（或仍在 stale 保留期内），重新调度
+            long deadline = cacheObject.getDeadline() + staleRetention(cacheObject);
+            if (!isDead(cacheObject, now)) {
+                expireWheel.schedule(dueNode, deadline);
+                continue;
+            }
+
+            // do remove
+            CacheObject<K, V> removed = null;
+            Lock writeLock = getKeyLock(cacheObject.getKey());
+            if (!writeLock.tryLock()) {
+                expireWheel.schedule(dueNode, deadline);
+                continue;
+            }
+            try {
+                // 对象已被删除或替换
+                if (dueNode.isCancelled()) {
+                    continue;
+                }
+                removed = removeWithoutLock(cacheObject.getKey());
+            } finally {
+                writeLock.unlock();
+            }
+
+            // remove-listener
+            if (removed != null) {
+                statsCounter.recordExpiration();
+                onRemove(removed);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // ---------------------- snapshot ----------------------
+
+    @Override
+    public int snapshotTo(Path path) {
+        try {
+            return CacheSnapshot.write(path, snapshotEntries(), serializer, ticker.read());
+        } catch (IOException e) {
+            throw new RuntimeException("cache snapshot error, path:" + path, e);
+        }
+    }
+
+    @Override
+    public int warmFrom(Path path) {
+        // read（并行反序列化）
+        List<CacheObject<K, V>> cacheObjects;
+        try {
+            cacheObjects = CacheSnapshot.read(path, serializer);
+        } catch (IOException e) {
+            throw new RuntimeException("cache warm error, path:" + path, e);
+        }
+        return restore(cacheObjects);
+    }
+
+    /**
+     * 恢复缓存对象：按快照顺序写入，恢复淘汰顺序（跳过已过期对象、已存在对象）
+     *
+     * @param cacheObjects 缓存对象，按淘汰顺序排列
+     * @return 恢复数量
+     */
+    protected int restore(List<CacheObject<K, V>> cacheObjects) {
+        int count = 0;
+        long now = ticker.read();
+        for (CacheObject<K, V> cacheObject : cacheObjects) {
+            if (cacheObject.getKey() == null || cacheObject.isExpired(now)) {
+                continue;
+            }
+            Lock writeLock = getKeyLock(cacheObject.getKey());
+            writeLock.lock();
+            try {
+                // 已存在（更新的）对象，不覆盖
+                CacheKey<K> cacheKey = CacheKey.of(cacheObject.getKey());
+                if (cacheMap.containsKey(cacheKey)) {
+                    continue;
+                }
+                putObjectWithoutLock(cacheObject);
+                onRestore(cacheKey, cacheObject);
+                count++;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 快照对象，按淘汰顺序排列（最先淘汰在前）；子类可覆盖此方法输出淘汰策略顺序
+     *
+     * @return 缓存对象
+     */
+    protected List<CacheObject<K, V>> snapshotEntries() {
+        Lock writeLock = getKeyLock(null);
+        writeLock.lock();
+        try {
+            return new ArrayList<>(cacheMap.values());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 对象恢复回调（快照预热），在 key 锁内、onPut 之后执行；子类可覆盖此方法恢复访问频率
+     *
+     * @param cacheKey    键
+     * @param cacheObject 恢复的对象（含访问次数）
+     */
+    protected void onRestore(CacheKey<K> cacheKey, CacheObject<K, V> cacheObject) {
+        // default do nothing
+    }
+
+    // ---------------------- callback ----------------------
+
+    /**
+     * 对象写入回调，在 key 锁内执行；子类可覆盖此方法维护淘汰顺序
+     *
+     * @param cacheKey    键
+     * @param cacheObject 写入的对象
+     */
+    protected void onPut(CacheKey<K> cacheKey, CacheObject<K, V> cacheObject) {
+        // default do nothing
+    }
+
+    /**
+     * 对象访问回调；子类可覆盖此方法维护访问频率、淘汰顺序
+     *
+     * @param key         键
+     * @param cacheObject 命中的对象，未命中时为 {@code null}
+     */
+    protected void onAccess(K key, CacheObject<K, V> cacheObject) {
+        // default do nothing
+    }
+
     @Override
     public final int prune() {
+        int count;
         Lock writeLock = getKeyLock(null);
         writeLock.lock();
         try {
-            return doPrune();
+            count = doPrune();
         } finally {
             writeLock.unlock();
         }
+
+        // 磁盘溢出层压缩（锁外，随定时清理在后台执行）
+        if (diskStore != null) {
+            diskStore.compact();
+        }
+        return count;
     }
 
     /**
@@ -311,6 +1277,7 @@ public abstract class ReentrantCache<K, V> implements Cache<K, V> {
         writeLock.lock();
         try {
             cacheMap.clear();
+            onClear();
         } finally {
             writeLock.unlock();
         }
@@ -332,6 +1299,11 @@ public abstract class ReentrantCache<K, V> implements Cache<K, V> {
         return missCount.sum();
     }
 
+    @Override
+    public CacheStats stats() {
+        return statsCounter.snapshot(hitCount.sum(), missCount.sum());
+    }
+
     // ---------------------- info ----------------------
 
     @Override
@@ -361,6 +1333,85 @@ public abstract class ReentrantCache<K, V> implements Cache<K, V> {
         return this;
     }
 
+    @Override
+    public ReentrantCache<K, V> setMaximumWeight(long maximumWeight) {
+        this.maximumWeight = maximumWeight;
+        return this;
+    }
+
+    @Override
+    public ReentrantCache<K, V> setWeigher(Weigher<K, V> weigher) {
+        this.weigher = weigher;
+        return this;
+    }
+
+    @Override
+    public ReentrantCache<K, V> setRecordStats(boolean recordStats) {
+        this.statsCounter = recordStats ? new StatsCounter() : StatsCounter.DISABLED;
+        return this;
+    }
+
+    @Override
+    public ReentrantCache<K, V> setSerializer(Serializer serializer) {
+        this.serializer = serializer;
+        return this;
+    }
+
+    @Override
+    public ReentrantCache<K, V> setDiskStore(DiskStore<K, V> diskStore) {
+        this.diskStore = diskStore;
+        if (diskStore != null) {
+            diskStore.setTicker(ticker);
+        }
+        return this;
+    }
+
+    /**
+     * 设置缓存时钟，需在写入数据前设置（过期时间轮按新时钟重置）
+     */
+    @Override
+    public ReentrantCache<K, V> setTicker(Ticker ticker) {
+        if (ticker == null) {
+            throw new IllegalArgumentException("ticker can not be null");
+        }
+        this.ticker = ticker;
+        this.expireWheel.reset(ticker.read());
+        if (diskStore != null) {
+            diskStore.setTicker(ticker);
+        }
+        return this;
+    }
+
+    @Override
+    public ReentrantCache<K, V> setNegativeTtl(long negativeTtl) {
+        this.negativeTtl = negativeTtl;
+        return this;
+    }
+
+    @Override
+    public ReentrantCache<K, V> setStaleWhileRevalidate(long staleWhileRevalidate) {
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        return this;
+    }
+
+    @Override
+    public ReentrantCache<K, V> setStaleIfError(long staleIfError) {
+        this.staleIfError = staleIfError;
+        return this;
+    }
+
+    @Override
+    public ReentrantCache<K, V> setRefreshAfterWrite(long refreshAfterWrite) {
+        this.refreshAfterWrite = refreshAfterWrite;
+        return this;
+    }
+
+    @Override
+    public ReentrantCache<K, V> setExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
     // ------------------------ other ------------------------
 
     /**
@@ -0,0 +1,459 @@
+package com.xxl.tool.cache.impl;
+
+import com.xxl.tool.cache.iface.Cache;
+import com.xxl.tool.cache.iface.CacheListener;
+import com.xxl.tool.cache.iface.CacheLoader;
+import com.xxl.tool.cache.iface.Ticker;
+import com.xxl.tool.cache.iface.Weigher;
+import com.xxl.tool.cache.model.CacheObject;
+import com.xxl.tool.cache.model.CacheStats;
+import com.xxl.tool.cache.support.CacheSnapshot;
+import com.xxl.tool.cache.support.DiskStore;
+import com.xxl.tool.serializer.Serializer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Segmented Cache 分段缓存
+ *
+ * 1、key 按哈希分配到 N 个相互独立的分段（子缓存），每个分段拥有独立的 数据存储、key 锁、淘汰顺序、过期时间轮；
+ * 2、分段定位：key 哈希乘以黄金分割常数后取高位，与分段内 key 锁（哈希取模）的分布不相关，分段内 key 锁仍可充分利用；
+ * 3、清理（prune）、清空（clear）、淘汰 均在分段内完成，仅占用单个分段的锁；定时清理可按分段错开执行，单次清理仅扫描一个分段；
+ * 4、优劣势：
+ *      - 优势：清理、淘汰的锁范围与耗时缩小为 1/N，并可分散到多个 CPU 核；
+ *      - 劣势：容量按分段均分，淘汰顺序仅在分段内有效（全局为近似），key 分布不均时部分分段可能提前淘汰；
+ */
+public class SegmentedCache<K, V> implements Cache<K, V> {
+    private static final long serialVersionUID = 42L;
+
+    /**
+     * 分段
+     */
+    private final ReentrantCache<K, V>[] segments;
+
+    /**
+     * 分段定位位移：32 - log2(分段数量)
+     */
+    private final int segmentShift;
+
+    /**
+     * @param segments 分段，数量需为 2 的幂
+     */
+    public SegmentedCache(ReentrantCache<K, V>[] segments) {
+        // valid
+        if (segments == null || segments.length == 0 || Integer.bitCount(segments.length) != 1) {
+            throw new IllegalArgumentException("segment count must be power of 2");
+        }
+        for (ReentrantCache<K, V> segment : segments) {
+            if (segment == null) {
+                throw new IllegalArgumentException("segment can not be null");
+            }
+        }
+
+        this.segments = segments.clone();
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segments.length);
+    }
+
+    /**
+     * 定位分段
+     */
+    private ReentrantCache<K, V> segmentFor(K key) {
+        if (segments.length == 1 || key == null) {
+            return segments[0];
+        }
+        int hash = key.hashCode() * 0x9E3779B9;
+        return segments[hash >>> segmentShift];
+    }
+
+    /**
+     * 分段数量
+     */
+    public int segmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * 获取分段（如 按分段错开执行定时清理）
+     *
+     * @param index 分段序号
+     * @return 分段
+     */
+    public Cache<K, V> segment(int index) {
+        return segments[index];
+    }
+
+    // ---------------------- put ----------------------
+
+    @Override
+    public void put(K key, V object) {
+        segmentFor(key).put(key, object);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        // 按分段分组，每个分段批量写入一次
+        Map<ReentrantCache<K, V>, Map<K, V>> grouped = new HashMap<>();
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            grouped.computeIfAbsent(segmentFor(entry.getKey()), k -> new LinkedHashMap<>())
+                    .put(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<ReentrantCache<K, V>, Map<K, V>> entry : grouped.entrySet()) {
+            entry.getKey().putAll(entry.getValue());
+        }
+    }
+
+    // ---------------------- get ----------------------
+
+    @Override
+    public V get(K key) {
+        return segmentFor(key).get(key);
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        return segmentFor(key).getIfPresent(key);
+    }
+
+    @Override
+    public V get(K key, CacheLoader<K, V> cacheLoader) {
+        return segmentFor(key).get(key, cacheLoader);
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) {
+        // 按分段分组，每个分段批量获取（及批量加载）一次
+        Map<ReentrantCache<K, V>, List<K>> grouped = new HashMap<>();
+        for (K key : keys) {
+            grouped.computeIfAbsent(segmentFor(key), k -> new ArrayList<>()).add(key);
+        }
+        Map<K, V> loaded = new HashMap<>();
+        for (Map.Entry<ReentrantCache<K, V>, List<K>> entry : grouped.entrySet()) {
+            loaded.putAll(entry.getKey().getAll(entry.getValue()));
+        }
+
+        // 按入参顺序排列
+        Map<K, V> result = new LinkedHashMap<>();
+        for (K key : keys) {
+            V value = loaded.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<V> getAsync(K key) {
+        return segmentFor(key).getAsync(key);
+    }
+
+    // ---------------------- query ----------------------
+
+    @Override
+    public boolean containsKey(K key) {
+        return segmentFor(key).containsKey(key);
+    }
+
+    @Override
+    public Map<K, V> asMap() {
+        Map<K, V> map = new HashMap<>();
+        for (ReentrantCache<K, V> segment : segments) {
+            map.putAll(segment.asMap());
+        }
+        return map;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (ReentrantCache<K, V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    @Override
+    public long weight() {
+        long weight = 0;
+        for (ReentrantCache<K, V> segment : segments) {
+            weight += segment.weight();
+        }
+        return weight;
+    }
+
+    /**
+     * 全部分段已满
+     */
+    @Override
+    public boolean isFull() {
+        for (ReentrantCache<K, V> segment : segments) {
+            if (!segment.isFull()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (ReentrantCache<K, V> segment : segments) {
+            if (!segment.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ---------------------- delete ----------------------
+
+    @Override
+    public void remove(K key) {
+        segmentFor(key).remove(key);
+    }
+
+    /**
+     * 逐个分段清理，每次仅占用单个分段的锁
+     */
+    @Override
+    public int prune() {
+        int count = 0;
+        for (ReentrantCache<K, V> segment : segments) {
+            count += segment.prune();
+        }
+        return count;
+    }
+
+    /**
+     * 逐个分段清空，每次仅占用单个分段的锁
+     */
+    @Override
+    public void clear() {
+        for (ReentrantCache<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    // ---------------------- monitor ----------------------
+
+    @Override
+    public long hitCount() {
+        long hitCount = 0;
+        for (ReentrantCache<K, V> segment : segments) {
+            hitCount += segment.hitCount();
+        }
+        return hitCount;
+    }
+
+    @Override
+    public long missCount() {
+        long missCount = 0;
+        for (ReentrantCache<K, V> segment : segments) {
+            missCount += segment.missCount();
+        }
+        return missCount;
+    }
+
+    @Override
+    public CacheStats stats() {
+        CacheStats stats = segments[0].stats();
+        for (int i = 1; i < segments.length; i++) {
+            stats = stats.plus(segments[i].stats());
+        }
+        return stats;
+    }
+
+    @Override
+    public SegmentedCache<K, V> setRecordStats(boolean recordStats) {
+        for (ReentrantCache<K, V> segment : segments) {
+            segment.setRecordStats(recordStats);
+        }
+        return this;
+    }
+
+    // ---------------------- info ----------------------
+
+    /**
+     * 各分段容量之和，{@code 0} 表示无限制
+     */
+    @Override
+    public int capacity() {
+        long capacity = 0;
+        for (ReentrantCache<K, V> segment : segments) {
+            capacity += segment.capacity();
+        }
+        return (int) Math.min(capacity, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public long timeout() {
+        return segments[0].timeout();
+    }
+
+    // ---------------------- snapshot ----------------------
+
+    /**
+     * 按分段顺序写入各分段快照对象（分段内保持淘汰顺序）
+     */
+    @Override
+    public int snapshotTo(Path path) {
+        List<CacheObject<K, V>> entries = new ArrayList<>();
+        for (ReentrantCache<K, V> segment : segments) {
+            entries.addAll(segment.snapshotEntries());
+        }
+        try {
+            return CacheSnapshot.write(path, entries, segments[0].serializer, segments[0].ticker.read());
+        } catch (IOException e) {
+            throw new RuntimeException("cache snapshot error, path:" + path, e);
+        }
+    }
+
+    /**
+     * 读取快照后按 key 重新分配分段，快照与当前缓存的分段数量可以不同
+     */
+    @Override
+    public int warmFrom(Path path) {
+        List<CacheObject<K, V>> cacheObjects;
+        try {
+            cacheObjects = CacheSnapshot.read(path, segments[0].serializer);
+        } catch (IOException e) {
+            throw new RuntimeException("cache warm error, path:" + path, e);
+        }
+
+        Map<ReentrantCache<K, V>, List<CacheObject<K, V>>> grouped = new HashMap<>();
+        for (CacheObject<K, V> cacheObject : cacheObjects) {
+            if (cacheObject.getKey() == null) {
+                continue;
+            }
+            grouped.computeIfAbsent(segmentFor(cacheObject.getKey()), k -> new ArrayList<>()).add(cacheObject);
+        }
+        int count = 0;
+        for (Map.Entry<ReentrantCache<K, V>, List<CacheObject<K, V>>> entry : grouped.entrySet()) {
+            count += entry.getKey().restore(entry.getValue());
+        }
+        return count;
+    }
+
+    // ---------------------- setting ----------------------
+
+    @Override
+    public SegmentedCache<K, V> setListener(CacheListener<K, V> listener) {
+        for (ReentrantCache<K, V> segment : segments) {
+            segment.setListener(listener);
+        }
+        return this;
+    }
+
+    @Override
+    public SegmentedCache<K, V> setLoader(CacheLoader<K, V> loader) {
+        for (ReentrantCache<K, V> segment : segments) {
+            segment.setLoader(loader);
+        }
+        return this;
+    }
+
+    /**
+     * 最大总权重按分段均分
+     */
+    @Override
+    public SegmentedCache<K, V> setMaximumWeight(long maximumWeight) {
+        long segmentWeight = maximumWeight > 0 ? (maximumWeight + segments.length - 1) / segments.length : 0;
+        for (ReentrantCache<K, V> segment : segments) {
+            segment.setMaximumWeight(segmentWeight);
+        }
+        return this;
+    }
+
+    @Override
+    public SegmentedCache<K, V> setWeigher(Weigher<K, V> weigher) {
+        for (ReentrantCache<K, V> segment : segments) {
+            segment.setWeigher(weigher);
+        }
+        return this;
+    }
+
+    @Override
+    public SegmentedCache<K, V> setSerializer(Serializer serializer) {
+        for (ReentrantCache<K, V> segment : segments) {
+            segment.setSerializer(serializer);
+        }
+        return this;
+    }
+
+    /**
+     * 各分段共享同一磁盘溢出层（线程安全）；如需各分段独立磁盘目录，可通过 {@link #segment(int)} 分别设置
+     */
+    @Override
+    public SegmentedCache<K, V> setDiskStore(DiskStore<K, V> diskStore) {
+        for (ReentrantCache<K, V> segment : segments) {
+            segment.setDiskStore(diskStore);
+        }
+        return this;
+    }
+
+    @Override
+    public SegmentedCache<K, V> setNegativeTtl(long negativeTtl) {
+        for (ReentrantCache<K, V> segment : segments) {
+            segment.setNegativeTtl(negativeTtl);
+        }
+        return this;
+    }
+
+    @Override
+    public SegmentedCache<K, V> setRefreshAfterWrite(long refreshAfterWrite) {
+        for (ReentrantCache<K, V> segment : segments) {
+            segment.setRefreshAfterWrite(refreshAfterWrite);
+        }
+        return this;
+    }
+
+    @Override
+    public SegmentedCache<K, V> setStaleWhileRevalidate(long staleWhileRevalidate) {
+        for (ReentrantCache<K, V> segment : segments) {
+            segment.setStaleWhileRevalidate(staleWhileRevalidate);
+        }
+        return this;
+    }
+
+    @Override
+    public SegmentedCache<K, V> setStaleIfError(long staleIfError) {
+        for (ReentrantCache<K, V> segment : segments) {
+            segment.setStaleIfError(staleIfError);
+        }
+        return this;
+    }
+
+    @Override
+    public SegmentedCache<K, V> setExecutor(Executor executor) {
+        for (ReentrantCache<K, V> segment : segments) {
+            segment.setExecutor(executor);
+        }
+        return this;
+    }
+
+    @Override
+    public SegmentedCache<K, V> setTicker(Ticker ticker) {
+        for (ReentrantCache<K, V> segment : segments) {
+            segment.setTicker(ticker);
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "SegmentedCache{" +
+                "segmentCount=" + segments.length +
+                ", capacity=" + capacity() +
+                ", size=" + size() +
+                '}';
+    }
+
+}
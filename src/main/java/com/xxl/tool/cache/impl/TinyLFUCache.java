@@ -0,0 +1,348 @@
+package com.xxl.tool.cache.impl;
+
+import com.xxl.tool.cache.model.CacheKey;
+import com.xxl.tool.cache.model.CacheObject;
+import com.xxl.tool.cache.support.FrequencySketch;
+import com.xxl.tool.cache.support.ReadBuffer;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * W-TinyLFU(Window TinyLFU) 窗口频率准入缓存
+ *
+ * 1、缓存分为 “准入窗口（Window LRU，约 1% 容量）” 与 “主区（Segmented LRU，约 99% 容量）”；主区再分为 “考察区（probation，20%）” 与 “保护区（protected，80%）”；
+ * 2、新对象先进入准入窗口；窗口满后，窗口最久未访问对象作为候选者，与考察区最久未访问对象比较访问频率（Count-Min Sketch 估算），频率高者保留，低者淘汰；
+ * 3、考察区对象再次被访问后晋升至保护区，保护区溢出时最久未访问对象降级回考察区；
+ * 4、读操作不竞争策略锁：访问记录写入 “读缓冲区”（按线程分段的无锁环形缓冲，满时丢弃），由获取到策略锁（tryLock）的线程批量回放频率统计与区域调整；
+ * 5、优劣势：
+ *      - 优势：兼顾访问频率与访问时间，可抵御扫描类访问，偏斜分布下命中率显著高于 LRU/LFU；
+ *      - 劣势：实现复杂度较高，需额外维护频率统计；
+ */
+public class TinyLFUCache<K, V> extends ReentrantCache<K, V> {
+    private static final long serialVersionUID = 42L;
+
+    /**
+     * 准入窗口 容量
+     */
+    private final int windowCapacity;
+
+    /**
+     * 保护区 容量
+     */
+    private final int protectedCapacity;
+
+    /**
+     * 准入窗口（LRU，链表尾部为最近访问）
+     */
+    private final LinkedHashSet<CacheKey<K>> window = new LinkedHashSet<>();
+
+    /**
+     * 考察区（LRU）
+     */
+    private final LinkedHashSet<CacheKey<K>> probation = new LinkedHashSet<>();
+
+    /**
+     * 保护区（LRU）
+     */
+    private final LinkedHashSet<CacheKey<K>> protect = new LinkedHashSet<>();
+
+    /**
+     * 访问频率统计
+     */
+    private final FrequencySketch sketch;
+
+    /**
+     * 淘汰策略锁，保护 窗口/考察区/保护区/频率统计 的一致性
+     */
+    private final ReentrantLock policyLock = new ReentrantLock();
+
+    /**
+     * 读缓冲区（按线程分段）：待回放的访问记录
+     */
+    private final ReadBuffer<K> readBuffer = new ReadBuffer<>();
+
+    public TinyLFUCache(int capacity, long timeout, boolean expireType) {
+        // valid
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must large than 0");
+        }
+        if (Integer.MAX_VALUE == capacity) {
+            capacity -= 1;
+        }
+
+        // init
+        this.capacity = capacity;
+        this.timeout = timeout;
+        this.expireType = expireType;
+
+        // policy
+        this.windowCapacity = Math.max(1, capacity / 100);
+        this.protectedCapacity = (int) ((capacity - windowCapacity) * 0.8d);
+        this.sketch = new FrequencySketch(capacity);
+
+        /**
+         * 1、capacity + 1 (初始容量)：预先分配足够的空间，减少后续扩容操作；
+         * 2、1.0f (负载因子)：设置负载因子，1.0f 表示当哈希表完全填满时才会扩容；（存在主动清理，理论上永远不会填满，避免扩容）
+         */
+        this.cacheMap = new ConcurrentHashMap<>(capacity + 1, 1.0f);
+    }
+
+    // ---------------------------------------------------------------- policy
+
+    /**
+     * 写入：新对象进入准入窗口，已存在对象视为一次访问
+     */
+    @Override
+    protected void onPut(CacheKey<K> cacheKey, CacheObject<K, V> cacheObject) {
+        policyLock.lock();
+        try {
+            drainReadBuffer();
+            sketch.increment(cacheKey);
+
+            // 对象已被并发淘汰，忽略
+            if (!cacheMap.containsKey(cacheKey)) {
+                return;
+            }
+            if (window.contains(cacheKey) || probation.contains(cacheKey) || protect.contains(cacheKey)) {
+                onHit(cacheKey);
+                return;
+            }
+
+            // 进入准入窗口；窗口溢出时，最久未访问对象转入考察区（容量未满，无需淘汰）
+            window.add(cacheKey);
+            while (window.size() > windowCapacity) {
+                CacheKey<K> candidate = eldest(window);
+                window.remove(candidate);
+                probation.add(candidate);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * 访问：记录到读缓冲区（命中、未命中均统计访问频率），缓冲区满时尝试回放
+     */
+    @Override
+    protected void onAccess(K key, CacheObject<K, V> cacheObject) {
+        if (key == null) {
+            return;
+        }
+        if (readBuffer.offer(key)) {
+            tryDrain();
+        }
+    }
+
+    /**
+     * 尝试回放读缓冲区；策略锁被占用时直接返回，由持有锁的线程完成回放
+     */
+    private void tryDrain() {
+        if (!policyLock.tryLock()) {
+            return;
+        }
+        try {
+            drainReadBuffer();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * 回放读缓冲区：统计访问频率，并调整命中对象所在区域，需持有 policyLock
+     */
+    private void drainReadBuffer() {
+        List<K> accessed = new ArrayList<>();
+        readBuffer.drainTo(accessed);
+        for (K key : accessed) {
+            CacheKey<K> cacheKey = CacheKey.of(key);
+            sketch.increment(cacheKey);
+            onHit(cacheKey);
+        }
+    }
+
+    /**
+     * 命中：窗口/保护区内移至尾部；考察区对象晋升至保护区，保护区溢出则降级最久未访问对象（不在任何区域时忽略）
+     */
+    private void onHit(CacheKey<K> cacheKey) {
+        if (window.remove(cacheKey)) {
+            window.add(cacheKey);
+        } else if (protect.remove(cacheKey)) {
+            protect.add(cacheKey);
+        } else if (probation.remove(cacheKey)) {
+            protect.add(cacheKey);
+            while (protect.size() > protectedCapacity) {
+                CacheKey<K> demoted = eldest(protect);
+                protect.remove(demoted);
+                probation.add(demoted);
+            }
+        }
+    }
+
+    @Override
+    protected CacheObject<K, V> removeWithoutLock(K key) {
+        CacheKey<K> cacheKey = CacheKey.of(key);
+        policyLock.lock();
+        try {
+            unlink(cacheKey);
+            return cacheMap.remove(cacheKey);
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * 快照顺序：考察区、保护区、准入窗口，区域内按访问顺序
+     */
+    @Override
+    protected List<CacheObject<K, V>> snapshotEntries() {
+        List<CacheObject<K, V>> entries = new ArrayList<>();
+        policyLock.lock();
+        try {
+            drainReadBuffer();
+            for (LinkedHashSet<CacheKey<K>> region : List.of(probation, protect, window)) {
+                for (CacheKey<K> cacheKey : region) {
+                    CacheObject<K, V> cacheObject = cacheMap.get(cacheKey);
+                    if (cacheObject != null) {
+                        entries.add(cacheObject);
+                    }
+                }
+            }
+        } finally {
+            policyLock.unlock();
+        }
+        return entries;
+    }
+
+    /**
+     * 恢复：按快照中的访问次数恢复频率统计（计数器上限 15）
+     */
+    @Override
+    protected void onRestore(CacheKey<K> cacheKey, CacheObject<K, V> cacheObject) {
+        long accessCount = Math.min(15, cacheObject.getAccessCount().get());
+        policyLock.lock();
+        try {
+            for (int i = 0; i < accessCount; i++) {
+                sketch.increment(cacheKey);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        // cacheMap 为 ConcurrentHashMap，仅需 policyLock 保证策略一致（避免与 prune 的 key 锁交叉加锁）
+        policyLock.lock();
+        try {
+            cacheMap.clear();
+            window.clear();
+            probation.clear();
+            protect.clear();
+            readBuffer.drainTo(new ArrayList<>());
+            onClear();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------- prune
+
+    /**
+     * 1、清理已到期对象
+     * 2、清理后缓存仍存满时，由准入窗口候选者与考察区最久未访问对象比较访问频率，淘汰频率较低者
+     */
+    @Override
+    protected int doPrune() {
+
+        // doPrune
+        int count = 0;
+
+        // 清理已到期对象（过期时间轮，仅触达已到期对象）
+        count += pruneExpired();
+
+        // 清理结束后依旧是满的，则按准入策略淘汰
+        if (isFull()) {
+            CacheObject<K, V> evicted;
+            policyLock.lock();
+            try {
+                drainReadBuffer();
+                evicted = evict();
+            } finally {
+                policyLock.unlock();
+            }
+            if (evicted != null) {
+                // listener (evict)
+                onEvict(evicted);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 淘汰单个对象，需持有 policyLock
+     *
+     * @return 被淘汰的对象，无可淘汰对象时返回 {@code null}
+     */
+    private CacheObject<K, V> evict() {
+        while (true) {
+            CacheKey<K> victim = selectVictim();
+            if (victim == null) {
+                return null;
+            }
+
+            // do remove；策略中残留的对象（已被并发删除）直接跳过
+            unlink(victim);
+            CacheObject<K, V> removed = cacheMap.remove(victim);
+            if (removed != null) {
+                return removed;
+            }
+        }
+    }
+
+    /**
+     * 选择淘汰对象：窗口已满时，候选者与主区淘汰者比较频率（频率相同时淘汰候选者，保护主区既有热点）
+     */
+    private CacheKey<K> selectVictim() {
+        CacheKey<K> candidate = window.size() >= windowCapacity ? eldest(window) : null;
+        CacheKey<K> mainVictim = !probation.isEmpty() ? eldest(probation) : eldest(protect);
+
+        if (candidate == null) {
+            return mainVictim != null ? mainVictim : eldest(window);
+        }
+        if (mainVictim == null) {
+            return candidate;
+        }
+
+        // admission
+        if (sketch.frequency(candidate) > sketch.frequency(mainVictim)) {
+            window.remove(candidate);
+            probation.add(candidate);
+            return mainVictim;
+        }
+        return candidate;
+    }
+
+    /**
+     * 从全部区域中移除
+     */
+    private void unlink(CacheKey<K> cacheKey) {
+        if (!window.remove(cacheKey) && !probation.remove(cacheKey)) {
+            protect.remove(cacheKey);
+        }
+    }
+
+    /**
+     * 最久未访问对象（链表头部）
+     */
+    private static <T> T eldest(LinkedHashSet<T> region) {
+        Iterator<T> iterator = region.iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+}
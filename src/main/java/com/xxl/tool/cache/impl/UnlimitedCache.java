@@ -30,9 +30,12 @@ public class UnlimitedCache<K, V> extends ReentrantCache<K, V>{
         this.cacheMap = new HashMap<>();
     }
 
+    /**
+     * 只 清理已到期对象（过期时间轮，仅触达已到期对象）
+     */
     @Override
     protected int doPrune() {
-        return 0;
+        return pruneExpired();
     }
 
 }
@@ -0,0 +1,480 @@
+package com.xxl.tool.cache.invalidation;
+
+import com.xxl.tool.cache.iface.Cache;
+import com.xxl.tool.cache.iface.CacheListener;
+import com.xxl.tool.cache.impl.LongKeyCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Invalidation Bus（跨节点缓存失效总线）
+ *
+ * 1、通过 CacheListener 挂载到缓存：本节点显式写入/删除（put、putAll、remove）时，发布 “缓存名 + key” 失效消息；加载、淘汰、过期 不发布；
+ * 2、批量发送：失效消息进入发送队列，由发送线程按 linger 时长聚合、同一批次内去重，编码为不超过 maxDatagramSize 的数据报批量发送，写入路径仅为一次入队；
+ * 3、接收：收到其他节点的失效消息后，删除本节点对应缓存中的 key（忽略本节点发出的消息），由此触发的删除不会再次发布；
+ * 4、投递语义为 “尽力而为”（如 UDP 丢包），缓存有效期作为兜底；
+ * 5、数据报格式：魔数（4 字节） + 节点ID（8 字节） + 条目数（4 字节） + 条目 * N（缓存名 UTF + 4 字节长度 + 编码后的 key）；
+ * 6、安全：数据报来自网络，key 经 {@link InvalidationKeyCodec} 受限编解码（默认仅支持 String、Long、Integer），不使用对象反序列化；
+ * 7、不支持 LongKeyCache（无 onWrite 回调）；
+ *
+ * <pre>
+ *     InvalidationBus bus = new InvalidationBus(UdpInvalidationTransport.multicast("239.255.10.1", 4446));
+ *     bus.start();
+ *     Cache&lt;String, String&gt; cache = CacheTool.&lt;String, String&gt;newLRUCache(1000)
+ *             .invalidationBus(bus, "userCache")
+ *             .build();
+ * </pre>
+ */
+public class InvalidationBus {
+    private static final Logger logger = LoggerFactory.getLogger(InvalidationBus.class);
+
+    /**
+     * 魔数
+     */
+    private static final int MAGIC = 0x58494E56;
+
+    /**
+     * 数据报头部长度：魔数 + 节点ID + 条目数
+     */
+    private static final int HEADER_SIZE = 4 + 8 + 4;
+
+    /**
+     * UDP 数据报上限
+     */
+    private static final int MAX_UDP_SIZE = 65507;
+
+    /**
+     * 节点ID，用于忽略本节点发出的消息
+     */
+    private final long nodeId = ThreadLocalRandom.current().nextLong();
+
+    /**
+     * 传输层
+     */
+    private final InvalidationTransport transport;
+
+    /**
+     * key 编解码
+     */
+    private final InvalidationKeyCodec keyCodec;
+
+    /**
+     * 聚合时长，单位毫秒：首条消息入队后等待该时长再发送，期间的消息合并发送
+     */
+    private final long lingerMillis;
+
+    /**
+     * 单个数据报最大字节数（默认 1400，不超过以太网 MTU，避免 IP 分片）
+     */
+    private final int maxDatagramSize;
+
+    /**
+     * 已挂载缓存：缓存名 - 缓存
+     */
+    private final Map<String, Cache<Object, Object>> caches = new ConcurrentHashMap<>();
+
+    /**
+     * 发送队列
+     */
+    private final LinkedBlockingQueue<Invalidation> queue = new LinkedBlockingQueue<>();
+
+    /**
+     * 正在应用其他节点的失效消息（当前线程），期间的删除不再发布
+     */
+    private final ThreadLocal<Boolean> applying = new ThreadLocal<>();
+
+    private final LongAdder publishCount = new LongAdder();
+    private final LongAdder datagramCount = new LongAdder();
+    private final LongAdder receiveCount = new LongAdder();
+
+    private volatile boolean running;
+    private Thread sendThread;
+
+    public InvalidationBus(InvalidationTransport transport) {
+        this(transport, new SimpleInvalidationKeyCodec(), 10, 1400);
+    }
+
+    /**
+     * @param transport       传输层
+     * @param keyCodec        key 编解码（解码网络数据，禁止使用通用对象反序列化）
+     * @param lingerMillis    聚合时长，单位毫秒，{@code 0} 表示不等待（仅合并已入队消息）
+     * @param maxDatagramSize 单个数据报最大字节数
+     */
+    public InvalidationBus(InvalidationTransport transport, InvalidationKeyCodec keyCodec, long lingerMillis, int maxDatagramSize) {
+        // valid
+        if (transport == null) {
+            throw new IllegalArgumentException("transport can not be null");
+        }
+        if (keyCodec == null) {
+            throw new IllegalArgumentException("keyCodec can not be null");
+        }
+        if (lingerMillis < 0) {
+            throw new IllegalArgumentException("lingerMillis must not less than 0");
+        }
+        if (maxDatagramSize <= HEADER_SIZE || maxDatagramSize > MAX_UDP_SIZE) {
+            throw new IllegalArgumentException("maxDatagramSize invalid: " + maxDatagramSize);
+        }
+
+        this.transport = transport;
+        this.keyCodec = keyCodec;
+        this.lingerMillis = lingerMillis;
+        this.maxDatagramSize = maxDatagramSize;
+    }
+
+    // ---------------------- lifecycle ----------------------
+
+    /**
+     * 启动：启动传输层及发送线程
+     */
+    public synchronized InvalidationBus start() {
+        if (running) {
+            return this;
+        }
+        try {
+            transport.start(this::receive);
+        } catch (Exception e) {
+            throw new IllegalStateException("InvalidationBus transport start error.", e);
+        }
+        running = true;
+
+        sendThread = new Thread(this::sendLoop, "xxl-tool, InvalidationBus");
+        sendThread.setDaemon(true);
+        sendThread.start();
+        return this;
+    }
+
+    /**
+     * 停止：发送剩余消息后，停止发送线程及传输层
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        sendThread.interrupt();
+        try {
+            sendThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // flush remaining
+        List<Invalidation> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        send(new LinkedHashSet<>(remaining));
+
+        transport.stop();
+    }
+
+    // ---------------------- attach ----------------------
+
+    /**
+     * 挂载缓存
+     *
+     * @param cacheName 缓存名，各节点同一缓存需使用相同名称
+     * @param cache     缓存
+     */
+    public <K, V> void attach(String cacheName, Cache<K, V> cache) {
+        attach(cacheName, cache, null);
+    }
+
+    /**
+     * 挂载缓存：设置缓存监听器，原有监听器作为下游继续执行
+     *
+     * @param cacheName 缓存名，各节点同一缓存需使用相同名称
+     * @param cache     缓存
+     * @param delegate  下游监听器，可为 {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> void attach(String cacheName, Cache<K, V> cache, CacheListener<K, V> delegate) {
+        if (cacheName == null || cacheName.isEmpty()) {
+            throw new IllegalArgumentException("cacheName can not be empty");
+        }
+        if (cache == null) {
+            throw new IllegalArgumentException("cache can not be null");
+        }
+        if (cache instanceof LongKeyCache) {
+            throw new IllegalArgumentException("LongKeyCache not supported by InvalidationBus");
+        }
+        if (caches.putIfAbsent(cacheName, (Cache<Object, Object>) cache) != null) {
+            throw new IllegalArgumentException("cacheName already attached: " + cacheName);
+        }
+        cache.setListener(new InvalidationListener<>(cacheName, delegate));
+    }
+
+    /**
+     * 卸载缓存：不再接收该缓存的失效消息
+     */
+    public void detach(String cacheName) {
+        caches.remove(cacheName);
+    }
+
+    /**
+     * 发布失效消息
+     *
+     * @param cacheName 缓存名
+     * @param key       键
+     */
+    public void publish(String cacheName, Object key) {
+        if (cacheName == null || key == null) {
+            return;
+        }
+        queue.offer(new Invalidation(cacheName, key));
+        publishCount.increment();
+    }
+
+    /**
+     * 失效监听器：显式写入/删除时发布失效消息，其余回调交由下游监听器
+     */
+    private class InvalidationListener<K, V> extends CacheListener<K, V> {
+        private final String cacheName;
+        private final CacheListener<K, V> delegate;
+
+        private InvalidationListener(String cacheName, CacheListener<K, V> delegate) {
+            this.cacheName = cacheName;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onRemove(K key, V value) throws Exception {
+            if (delegate != null) {
+                delegate.onRemove(key, value);
+            }
+        }
+
+        @Override
+        public void onWrite(K key, V value) throws Exception {
+            if (applying.get() == null) {
+                publish(cacheName, key);
+            }
+            if (delegate != null) {
+                delegate.onWrite(key, value);
+            }
+        }
+    }
+
+    // ---------------------- send ----------------------
+
+    /**
+     * 发送循环：取出首条消息后等待 linger 时长，聚合期间入队的消息，去重后批量发送
+     */
+    private void sendLoop() {
+        long lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        while (running) {
+            try {
+                Invalidation first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                Set<Invalidation> batch = new LinkedHashSet<>();
+                batch.add(first);
+
+                // linger
+                long deadline = System.nanoTime() + lingerNanos;
+                long remaining;
+                while ((remaining = deadline - System.nanoTime()) > 0) {
+                    Invalidation next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                queue.drainTo(batch);
+
+                send(batch);
+            } catch (InterruptedException e) {
+                if (running) {
+                    logger.error("InvalidationBus send interrupted.", e);
+                }
+            } catch (Throwable e) {
+                logger.error("InvalidationBus send error.", e);
+            }
+        }
+    }
+
+    /**
+     * 编码并发送：条目依次写入数据报，超出 maxDatagramSize 时拆分为多个数据报
+     */
+    private void send(Set<Invalidation> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        ByteArrayOutputStream entries = new ByteArrayOutputStream(maxDatagramSize);
+        int count = 0;
+        for (Invalidation invalidation : batch) {
+            byte[] entry;
+            try {
+                entry = encode(invalidation);
+            } catch (Exception e) {
+                logger.error("InvalidationBus encode error, cacheName:{}, key:{}", invalidation.cacheName, invalidation.key, e);
+                continue;
+            }
+            if (HEADER_SIZE + entry.length > maxDatagramSize) {
+                logger.warn("InvalidationBus entry too large, skip. cacheName:{}, length:{}", invalidation.cacheName, entry.length);
+                continue;
+            }
+            if (HEADER_SIZE + entries.size() + entry.length > maxDatagramSize) {
+                sendDatagram(entries.toByteArray(), count);
+                entries.reset();
+                count = 0;
+            }
+            entries.write(entry, 0, entry.length);
+            count++;
+        }
+        if (count > 0) {
+            sendDatagram(entries.toByteArray(), count);
+        }
+    }
+
+    private byte[] encode(Invalidation invalidation) throws IOException {
+        byte[] key = keyCodec.encode(invalidation.key);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(key.length + 32);
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeUTF(invalidation.cacheName);
+        data.writeInt(key.length);
+        data.write(key);
+        data.flush();
+        return out.toByteArray();
+    }
+
+    private void sendDatagram(byte[] entries, int count) {
+        ByteBuffer datagram = ByteBuffer.allocate(HEADER_SIZE + entries.length);
+        datagram.putInt(MAGIC);
+        datagram.putLong(nodeId);
+        datagram.putInt(count);
+        datagram.put(entries);
+        try {
+            transport.send(datagram.array());
+            datagramCount.increment();
+        } catch (Exception e) {
+            logger.error("InvalidationBus send datagram error, count:{}", count, e);
+        }
+    }
+
+    // ---------------------- receive ----------------------
+
+    /**
+     * 接收数据报：忽略本节点消息，删除对应缓存中的 key
+     */
+    private void receive(byte[] datagram) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(datagram))) {
+            if (datagram.length < HEADER_SIZE || input.readInt() != MAGIC) {
+                logger.warn("InvalidationBus receive invalid datagram, length:{}", datagram.length);
+                return;
+            }
+            if (input.readLong() == nodeId) {
+                return;
+            }
+            int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                String cacheName = input.readUTF();
+                int keyLength = input.readInt();
+                if (keyLength < 0 || keyLength > input.available()) {
+                    logger.warn("InvalidationBus receive invalid datagram, key length:{}", keyLength);
+                    return;
+                }
+                byte[] key = new byte[keyLength];
+                input.readFully(key);
+
+                Cache<Object, Object> cache = caches.get(cacheName);
+                if (cache == null) {
+                    continue;
+                }
+                Object decodedKey;
+                try {
+                    decodedKey = keyCodec.decode(key);
+                } catch (Exception e) {
+                    logger.warn("InvalidationBus receive invalid key, cacheName:{}, error:{}", cacheName, e.getMessage());
+                    continue;
+                }
+                apply(cache, decodedKey);
+            }
+        } catch (Exception e) {
+            logger.error("InvalidationBus receive datagram error.", e);
+        }
+    }
+
+    private void apply(Cache<Object, Object> cache, Object key) {
+        applying.set(Boolean.TRUE);
+        try {
+            cache.remove(key);
+            receiveCount.increment();
+        } finally {
+            applying.remove();
+        }
+    }
+
+    // ---------------------- monitor ----------------------
+
+    /**
+     * @return 已发布失效消息数（去重前）
+     */
+    public long publishCount() {
+        return publishCount.sum();
+    }
+
+    /**
+     * @return 已发送数据报数
+     */
+    public long datagramCount() {
+        return datagramCount.sum();
+    }
+
+    /**
+     * @return 已应用的其他节点失效消息数
+     */
+    public long receiveCount() {
+        return receiveCount.sum();
+    }
+
+    // ---------------------- invalidation ----------------------
+
+    /**
+     * 失效消息
+     */
+    private static class Invalidation {
+        private final String cacheName;
+        private final Object key;
+
+        private Invalidation(String cacheName, Object key) {
+            this.cacheName = cacheName;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Invalidation)) {
+                return false;
+            }
+            Invalidation that = (Invalidation) o;
+            return cacheName.equals(that.cacheName) && key.equals(that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(cacheName, key);
+        }
+    }
+
+}
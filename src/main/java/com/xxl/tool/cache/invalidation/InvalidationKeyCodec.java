@@ -0,0 +1,30 @@
+package com.xxl.tool.cache.invalidation;
+
+/**
+ * Invalidation Key Codec（失效消息 key 编解码）
+ *
+ * 1、数据报来自网络，解码不得使用通用对象反序列化（如 Java 原生序列化），避免任意类反序列化风险；
+ * 2、默认实现 {@link SimpleInvalidationKeyCodec} 仅支持 String、Long、Integer 类型的 key；其他类型需自定义实现，解码仅构造受限类型；
+ * 3、实现需线程安全；
+ */
+public interface InvalidationKeyCodec {
+
+    /**
+     * 编码 key
+     *
+     * @param key 键
+     * @return 编码数据
+     * @throws IllegalArgumentException 不支持的 key 类型
+     */
+    byte[] encode(Object key);
+
+    /**
+     * 解码 key
+     *
+     * @param data 编码数据
+     * @return 键
+     * @throws IllegalArgumentException 数据非法
+     */
+    Object decode(byte[] data);
+
+}
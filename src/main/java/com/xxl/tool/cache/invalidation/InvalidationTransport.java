@@ -0,0 +1,33 @@
+package com.xxl.tool.cache.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Invalidation Transport（失效消息传输层）
+ *
+ * 1、负责在节点间传输失效数据报（已批量编码的字节数组），不关心数据报内容；
+ * 2、投递语义为 “尽力而为”：允许丢失，不保证顺序，缓存有效期作为兜底；
+ * 3、实现需线程安全：send 由 InvalidationBus 发送线程调用，receiver 在传输层接收线程中回调；
+ */
+public interface InvalidationTransport {
+
+    /**
+     * 启动传输层
+     *
+     * @param receiver 数据报接收回调
+     */
+    void start(Consumer<byte[]> receiver) throws Exception;
+
+    /**
+     * 发送数据报（广播至其他节点）
+     *
+     * @param datagram 数据报
+     */
+    void send(byte[] datagram) throws Exception;
+
+    /**
+     * 停止传输层
+     */
+    void stop();
+
+}
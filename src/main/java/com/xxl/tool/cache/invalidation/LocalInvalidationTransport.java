@@ -0,0 +1,71 @@
+package com.xxl.tool.cache.invalidation;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+/**
+ * Local Invalidation Transport（进程内传输层）
+ *
+ * 1、同一分组内的传输层实例相互广播，数据报在发送线程中同步投递给其他成员；
+ * 2、用于单元测试、单进程内多缓存实例模拟多节点；
+ *
+ * <pre>
+ *     LocalInvalidationTransport node1 = new LocalInvalidationTransport();
+ *     LocalInvalidationTransport node2 = node1.peer();
+ * </pre>
+ */
+public class LocalInvalidationTransport implements InvalidationTransport {
+
+    /**
+     * 分组成员（共享）
+     */
+    private final Set<LocalInvalidationTransport> group;
+
+    /**
+     * 数据报接收回调
+     */
+    private volatile Consumer<byte[]> receiver;
+
+    public LocalInvalidationTransport() {
+        this(new CopyOnWriteArraySet<>());
+    }
+
+    private LocalInvalidationTransport(Set<LocalInvalidationTransport> group) {
+        this.group = group;
+    }
+
+    /**
+     * 创建同一分组的传输层实例
+     */
+    public LocalInvalidationTransport peer() {
+        return new LocalInvalidationTransport(group);
+    }
+
+    @Override
+    public void start(Consumer<byte[]> receiver) {
+        if (receiver == null) {
+            throw new IllegalArgumentException("receiver can not be null");
+        }
+        this.receiver = receiver;
+        group.add(this);
+    }
+
+    @Override
+    public void send(byte[] datagram) {
+        for (LocalInvalidationTransport member : group) {
+            Consumer<byte[]> memberReceiver = member.receiver;
+            if (member == this || memberReceiver == null) {
+                continue;
+            }
+            memberReceiver.accept(datagram.clone());
+        }
+    }
+
+    @Override
+    public void stop() {
+        group.remove(this);
+        receiver = null;
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.xxl.tool.cache.invalidation;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Simple Invalidation Key Codec（默认 key 编解码）
+ *
+ * 1、格式：类型标识（1 字节） + 数据；String 为 UTF-8 字节，Long 为 8 字节，Integer 为 4 字节；
+ * 2、仅支持 String、Long、Integer 类型的 key，解码不涉及任何类加载或对象反序列化；
+ */
+public class SimpleInvalidationKeyCodec implements InvalidationKeyCodec {
+
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_LONG = 2;
+    private static final byte TYPE_INTEGER = 3;
+
+    @Override
+    public byte[] encode(Object key) {
+        if (key instanceof String) {
+            byte[] value = ((String) key).getBytes(StandardCharsets.UTF_8);
+            return ByteBuffer.allocate(1 + value.length).put(TYPE_STRING).put(value).array();
+        }
+        if (key instanceof Long) {
+            return ByteBuffer.allocate(1 + 8).put(TYPE_LONG).putLong((Long) key).array();
+        }
+        if (key instanceof Integer) {
+            return ByteBuffer.allocate(1 + 4).put(TYPE_INTEGER).putInt((Integer) key).array();
+        }
+        throw new IllegalArgumentException("unsupported invalidation key type: " + (key == null ? null : key.getClass().getName())
+                + ", use String/Long/Integer key or custom InvalidationKeyCodec");
+    }
+
+    @Override
+    public Object decode(byte[] data) {
+        if (data == null || data.length < 1) {
+            throw new IllegalArgumentException("invalid invalidation key data");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        byte type = buffer.get();
+        switch (type) {
+            case TYPE_STRING:
+                return new String(data, 1, data.length - 1, StandardCharsets.UTF_8);
+            case TYPE_LONG:
+                if (data.length != 1 + 8) {
+                    throw new IllegalArgumentException("invalid invalidation long key length: " + data.length);
+                }
+                return buffer.getLong();
+            case TYPE_INTEGER:
+                if (data.length != 1 + 4) {
+                    throw new IllegalArgumentException("invalid invalidation integer key length: " + data.length);
+                }
+                return buffer.getInt();
+            default:
+                throw new IllegalArgumentException("unsupported invalidation key type: " + type);
+        }
+    }
+
+}
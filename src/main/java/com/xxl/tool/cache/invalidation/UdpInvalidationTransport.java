@@ -0,0 +1,208 @@
+package com.xxl.tool.cache.invalidation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.SocketException;
+import java.net.StandardSocketOptions;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * UDP Invalidation Transport（UDP 传输层）
+ *
+ * 1、组播模式：各节点加入同一组播地址，单个数据报即可送达全部节点，适用于同一网段的多节点部署；
+ * 2、单播模式：绑定本地地址，逐个发送至已知节点列表，适用于不支持组播的网络，或本机回环（127.0.0.1）多端口测试；
+ * 3、接收线程为守护线程；数据报大小受 UDP 限制（建议不超过 MTU，由 InvalidationBus 控制）；
+ */
+public class UdpInvalidationTransport implements InvalidationTransport {
+    private static final Logger logger = LoggerFactory.getLogger(UdpInvalidationTransport.class);
+
+    /**
+     * 接收缓冲区大小（UDP 数据报上限）
+     */
+    private static final int RECEIVE_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 组播模式
+     *
+     * @param group 组播地址，如 239.255.10.1
+     * @param port  端口
+     */
+    public static UdpInvalidationTransport multicast(String group, int port) {
+        InetSocketAddress groupAddress = new InetSocketAddress(group, port);
+        if (!groupAddress.getAddress().isMulticastAddress()) {
+            throw new IllegalArgumentException("invalid multicast group: " + group);
+        }
+        return new UdpInvalidationTransport(groupAddress, null, List.of(groupAddress));
+    }
+
+    /**
+     * 单播模式
+     *
+     * @param bind  本地绑定地址，端口为 0 时随机分配（启动后通过 {@link #localAddress()} 获取）
+     * @param peers 其他节点地址，启动后可通过 {@link #addPeer(InetSocketAddress)} 追加
+     */
+    public static UdpInvalidationTransport unicast(InetSocketAddress bind, List<InetSocketAddress> peers) {
+        if (bind == null) {
+            throw new IllegalArgumentException("bind address can not be null");
+        }
+        return new UdpInvalidationTransport(null, bind, peers != null ? peers : List.of());
+    }
+
+    // ---------------------- transport ----------------------
+
+    /**
+     * 组播地址，单播模式为 {@code null}
+     */
+    private final InetSocketAddress group;
+
+    /**
+     * 本地绑定地址，组播模式为 {@code null}
+     */
+    private final InetSocketAddress bind;
+
+    /**
+     * 发送目标
+     */
+    private final CopyOnWriteArrayList<InetSocketAddress> peers;
+
+    /**
+     * 组播 TTL（跳数）
+     */
+    private int timeToLive = 1;
+
+    private volatile DatagramSocket socket;
+    private volatile boolean running;
+    private Thread receiveThread;
+
+    private UdpInvalidationTransport(InetSocketAddress group, InetSocketAddress bind, List<InetSocketAddress> peers) {
+        this.group = group;
+        this.bind = bind;
+        this.peers = new CopyOnWriteArrayList<>(peers);
+    }
+
+    /**
+     * 设置 组播 TTL（跳数），默认 1 即不跨路由器，需在启动前设置
+     */
+    public UdpInvalidationTransport setTimeToLive(int timeToLive) {
+        this.timeToLive = timeToLive;
+        return this;
+    }
+
+    /**
+     * 追加节点（单播模式）
+     */
+    public void addPeer(InetSocketAddress peer) {
+        if (group != null) {
+            throw new IllegalStateException("multicast transport not support peers.");
+        }
+        peers.addIfAbsent(peer);
+    }
+
+    /**
+     * 本地地址，启动后有效
+     */
+    public InetSocketAddress localAddress() {
+        DatagramSocket current = socket;
+        return current != null ? (InetSocketAddress) current.getLocalSocketAddress() : null;
+    }
+
+    @Override
+    public synchronized void start(Consumer<byte[]> receiver) throws Exception {
+        if (running) {
+            return;
+        }
+        if (receiver == null) {
+            throw new IllegalArgumentException("receiver can not be null");
+        }
+
+        // socket
+        if (group != null) {
+            MulticastSocket multicastSocket = new MulticastSocket(group.getPort());
+            multicastSocket.setTimeToLive(timeToLive);
+            multicastSocket.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+            multicastSocket.joinGroup(group, null);
+            socket = multicastSocket;
+        } else {
+            socket = new DatagramSocket(bind);
+        }
+        running = true;
+
+        // receive
+        final DatagramSocket receiveSocket = socket;
+        receiveThread = new Thread(() -> {
+            byte[] buffer = new byte[RECEIVE_BUFFER_SIZE];
+            while (running) {
+                try {
+                    DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                    receiveSocket.receive(packet);
+                    receiver.accept(Arrays.copyOfRange(packet.getData(), packet.getOffset(), packet.getOffset() + packet.getLength()));
+                } catch (SocketException e) {
+                    if (running) {
+                        logger.error("UdpInvalidationTransport receive error.", e);
+                    }
+                } catch (Throwable e) {
+                    logger.error("UdpInvalidationTransport receive error.", e);
+                }
+            }
+        }, "xxl-tool, UdpInvalidationTransport");
+        receiveThread.setDaemon(true);
+        receiveThread.start();
+    }
+
+    @Override
+    public void send(byte[] datagram) throws Exception {
+        DatagramSocket current = socket;
+        if (current == null) {
+            throw new IllegalStateException("UdpInvalidationTransport not started.");
+        }
+        InetSocketAddress local = (InetSocketAddress) current.getLocalSocketAddress();
+        for (InetSocketAddress peer : peers) {
+            // 单播模式跳过自身
+            if (group == null && peer.getPort() == local.getPort() && isLocal(peer.getAddress(), local.getAddress())) {
+                continue;
+            }
+            current.send(new DatagramPacket(datagram, datagram.length, peer));
+        }
+    }
+
+    private static boolean isLocal(InetAddress peer, InetAddress local) {
+        return peer.equals(local) || (local.isAnyLocalAddress() && peer.isLoopbackAddress());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        DatagramSocket current = socket;
+        if (current != null) {
+            if (group != null) {
+                try {
+                    ((MulticastSocket) current).leaveGroup(group, null);
+                } catch (Exception e) {
+                    logger.debug("UdpInvalidationTransport leave group error.", e);
+                }
+            }
+            current.close();
+        }
+        socket = null;
+        if (receiveThread != null) {
+            try {
+                receiveThread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.xxl.tool.cache.model;
 
+import com.xxl.tool.cache.support.ExpireWheel;
 import com.xxl.tool.core.DateTool;
 
 import java.io.Serializable;
@@ -47,6 +48,21 @@ public class CacheObject<K, V> implements Serializable {
      */
     private final long ttl;
 
+    /**
+     * 权重
+     */
+    private final int weight;
+
+    /**
+     * 是否为负缓存对象（加载结果为 {@code null} 时写入的占位对象）
+     */
+    private final boolean negative;
+
+    /**
+     * 过期时间轮节点，由缓存内部维护
+     */
+    private transient volatile ExpireWheel.Node<CacheObject<K, V>> expireNode;
+
     /**
      * 构造
      *
@@ -56,12 +72,64 @@ public class CacheObject<K, V> implements Serializable {
      * @param expireType   过期策略，true 表示 expireAfterAccess，false 表示 expireAfterWrite
      */
     public CacheObject(K key, V value, long ttl, boolean expireType) {
+        this(key, value, ttl, expireType, 1);
+    }
+
+    /**
+     * 构造
+     *
+     * @param key   键
+     * @param value 值
+     * @param ttl   超时时长
+     * @param expireType   过期策略，true 表示 expireAfterAccess，false 表示 expireAfterWrite
+     * @param weight 权重
+     */
+    public CacheObject(K key, V value, long ttl, boolean expireType, int weight) {
+        this(key, value, ttl, expireType, weight, System.currentTimeMillis(), System.currentTimeMillis());
+    }
+
+    /**
+     * 构造，保留原有的 创建时间 与 上次访问时间（如从磁盘层、快照中恢复）
+     *
+     * @param key   键
+     * @param value 值
+     * @param ttl   超时时长
+     * @param expireType   过期策略，true 表示 expireAfterAccess，false 表示 expireAfterWrite
+     * @param weight 权重
+     * @param createTime 创建时间
+     * @param lastAccess 上次访问时间
+     */
+    public CacheObject(K key, V value, long ttl, boolean expireType, int weight, long createTime, long lastAccess) {
+        this(key, value, ttl, expireType, weight, createTime, lastAccess, false);
+    }
+
+    private CacheObject(K key, V value, long ttl, boolean expireType, int weight, long createTime, long lastAccess, boolean negative) {
         this.key = key;
         this.value = value;
         this.ttl = ttl;
-        this.createTime = System.currentTimeMillis();
-        this.lastAccess = System.currentTimeMillis();
+        this.createTime = createTime;
+        this.lastAccess = lastAccess;
         this.expireType = expireType;
+        this.weight = weight;
+        this.negative = negative;
+    }
+
+    /**
+     * 构造 负缓存对象：值为 {@code null}，写入后按 ttl 过期
+     *
+     * @param key 键
+     * @param ttl 负缓存有效期
+     * @param now 当前时间，单位毫秒
+     */
+    public static <K, V> CacheObject<K, V> negative(K key, long ttl, long now) {
+        return new CacheObject<>(key, null, ttl, true, 1, now, now, true);
+    }
+
+    /**
+     * 过期策略
+     */
+    public boolean getExpireType() {
+        return this.expireType;
     }
 
     public K getKey() {
@@ -76,16 +144,52 @@ public class CacheObject<K, V> implements Serializable {
         return this.ttl;
     }
 
+    public int getWeight() {
+        return this.weight;
+    }
+
+    /**
+     * 是否为负缓存对象
+     */
+    public boolean isNegative() {
+        return this.negative;
+    }
+
     /**
      * 获取过期时间，返回 {@code null} 表示永不过期
      */
     public Date getExpiredTime() {
         if (this.ttl > 0) {
-            return new Date(this.lastAccess + this.ttl);
+            return new Date(getDeadline());
         }
         return null;
     }
 
+    /**
+     * 获取过期时间戳（毫秒），{@code 0} 表示永不过期
+     */
+    public long getDeadline() {
+        if (this.ttl > 0) {
+            return (expireType ? this.createTime : this.lastAccess) + this.ttl;
+        }
+        return 0;
+    }
+
+    public ExpireWheel.Node<CacheObject<K, V>> getExpireNode() {
+        return expireNode;
+    }
+
+    public void setExpireNode(ExpireWheel.Node<CacheObject<K, V>> expireNode) {
+        this.expireNode = expireNode;
+    }
+
+    /**
+     * 获取创建时间
+     */
+    public long getCreateTime() {
+        return this.createTime;
+    }
+
     /**
      * 获取上次访问时间
      */
@@ -110,13 +214,22 @@ public class CacheObject<K, V> implements Serializable {
      * 判断是否过期
      */
     public boolean isExpired() {
+        return isExpired(System.currentTimeMillis());
+    }
+
+    /**
+     * 判断是否过期
+     *
+     * @param now 当前时间，单位毫秒（由缓存时钟提供）
+     */
+    public boolean isExpired(long now) {
         if (this.ttl > 0) {
             if (expireType) {
-                // expireAfterAccess
-                return (System.currentTimeMillis() - this.createTime) > this.ttl;
-            } else {
                 // expireAfterWrite
-                return (System.currentTimeMillis() - this.lastAccess) > this.ttl;
+                return (now - this.createTime) > this.ttl;
+            } else {
+                // expireAfterAccess
+                return (now - this.lastAccess) > this.ttl;
             }
         }
         return false;
@@ -129,8 +242,19 @@ public class CacheObject<K, V> implements Serializable {
      * @return 获得对象
      */
     public V get(boolean isUpdateLastAccess) {
+        return get(isUpdateLastAccess, System.currentTimeMillis());
+    }
+
+    /**
+     * 获取值
+     *
+     * @param isUpdateLastAccess 是否更新最后访问时间
+     * @param now                当前时间，单位毫秒（由缓存时钟提供）
+     * @return 获得对象
+     */
+    public V get(boolean isUpdateLastAccess, long now) {
         if (isUpdateLastAccess) {
-            lastAccess = System.currentTimeMillis();
+            lastAccess = now;
         }
         accessCount.getAndIncrement();
         return this.value;
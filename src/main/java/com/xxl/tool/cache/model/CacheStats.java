@@ -0,0 +1,199 @@
+package com.xxl.tool.cache.model;
+
+import com.xxl.tool.cache.support.LatencyHistogram;
+
+import java.io.Serializable;
+
+/**
+ * Cache Stats（缓存统计快照，不可变）
+ *
+ * 1、命中/未命中 始终统计；
+ * 2、加载、淘汰、过期 相关统计，需开启 recordStats 后才会记录，否则为 0；
+ */
+public final class CacheStats implements Serializable {
+    private static final long serialVersionUID = 42L;
+
+    private final long hitCount;
+    private final long missCount;
+    private final long loadSuccessCount;
+    private final long loadFailureCount;
+    private final long totalLoadTime;
+    private final long[] loadTimeBuckets;
+    private final long evictionCount;
+    private final long evictionWeight;
+    private final long expirationCount;
+
+    public CacheStats(long hitCount, long missCount) {
+        this(hitCount, missCount, 0, 0, 0, null, 0, 0, 0);
+    }
+
+    public CacheStats(long hitCount,
+                      long missCount,
+                      long loadSuccessCount,
+                      long loadFailureCount,
+                      long totalLoadTime,
+                      long[] loadTimeBuckets,
+                      long evictionCount,
+                      long evictionWeight,
+                      long expirationCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTime = totalLoadTime;
+        this.loadTimeBuckets = loadTimeBuckets != null ? loadTimeBuckets.clone() : new long[0];
+        this.evictionCount = evictionCount;
+        this.evictionWeight = evictionWeight;
+        this.expirationCount = expirationCount;
+    }
+
+    // ---------------------- request ----------------------
+
+    /**
+     * @return 命中数
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return 未命中数
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * @return 请求数（命中数 + 未命中数）
+     */
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * @return 命中率，无请求时为 1.0
+     */
+    public double hitRate() {
+        long requestCount = requestCount();
+        return (requestCount == 0) ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * @return 未命中率，无请求时为 0.0
+     */
+    public double missRate() {
+        long requestCount = requestCount();
+        return (requestCount == 0) ? 0.0 : (double) missCount / requestCount;
+    }
+
+    // ---------------------- load ----------------------
+
+    /**
+     * @return 加载成功数
+     */
+    public long loadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    /**
+     * @return 加载失败数
+     */
+    public long loadFailureCount() {
+        return loadFailureCount;
+    }
+
+    /**
+     * @return 加载总数
+     */
+    public long loadCount() {
+        return loadSuccessCount + loadFailureCount;
+    }
+
+    /**
+     * @return 加载总耗时，单位纳秒
+     */
+    public long totalLoadTime() {
+        return totalLoadTime;
+    }
+
+    /**
+     * @return 平均加载耗时，单位纳秒
+     */
+    public double averageLoadTime() {
+        long loadCount = loadCount();
+        return (loadCount == 0) ? 0.0 : (double) totalLoadTime / loadCount;
+    }
+
+    /**
+     * 加载耗时分位数（基于直方图估算，相对误差不超过 12.5%）
+     *
+     * @param percentile 分位（0~100），如 50、99、99.9
+     * @return 分位耗时，单位纳秒
+     */
+    public long loadTimePercentile(double percentile) {
+        return LatencyHistogram.percentile(loadTimeBuckets, percentile);
+    }
+
+    // ---------------------- evict ----------------------
+
+    /**
+     * @return 淘汰数（容量/权重限制）
+     */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return 淘汰总权重
+     */
+    public long evictionWeight() {
+        return evictionWeight;
+    }
+
+    /**
+     * @return 过期清理数
+     */
+    public long expirationCount() {
+        return expirationCount;
+    }
+
+    /**
+     * 合并统计快照（如 分段缓存 汇总各分段统计）
+     *
+     * @param other 其他统计快照
+     * @return 合并后的统计快照
+     */
+    public CacheStats plus(CacheStats other) {
+        long[] buckets = new long[Math.max(loadTimeBuckets.length, other.loadTimeBuckets.length)];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = (i < loadTimeBuckets.length ? loadTimeBuckets[i] : 0)
+                    + (i < other.loadTimeBuckets.length ? other.loadTimeBuckets[i] : 0);
+        }
+        return new CacheStats(hitCount + other.hitCount,
+                missCount + other.missCount,
+                loadSuccessCount + other.loadSuccessCount,
+                loadFailureCount + other.loadFailureCount,
+                totalLoadTime + other.totalLoadTime,
+                buckets,
+                evictionCount + other.evictionCount,
+                evictionWeight + other.evictionWeight,
+                expirationCount + other.expirationCount);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", hitRate=" + hitRate() +
+                ", loadSuccessCount=" + loadSuccessCount +
+                ", loadFailureCount=" + loadFailureCount +
+                ", averageLoadTime=" + averageLoadTime() +
+                ", loadTimeP99=" + loadTimePercentile(99) +
+                ", evictionCount=" + evictionCount +
+                ", evictionWeight=" + evictionWeight +
+                ", expirationCount=" + expirationCount +
+                '}';
+    }
+
+}
@@ -0,0 +1,179 @@
+package com.xxl.tool.cache.simulator;
+
+import com.xxl.tool.cache.CacheTool;
+import com.xxl.tool.cache.CacheType;
+import com.xxl.tool.cache.iface.Cache;
+import com.xxl.tool.cache.model.CacheStats;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cache Simulator（轨迹回放模拟器）
+ *
+ * 1、将同一份访问轨迹分别回放到 多种缓存策略 * 多种容量 的缓存中，输出 命中率、淘汰数量、吞吐量，用于按实际负载选择缓存策略与容量；
+ * 2、回放方式：按轨迹顺序 get，未命中时 put（demand-fill），单线程回放，不设置有效期；
+ * 3、策略说明：
+ *      - UNLIMITED 与容量无关，仅回放一次（容量记为 0），作为命中率上限参考；
+ *      - NONE、OFFHEAP 不参与回放（前者无缓存，后者按内存字节数限制，与条目容量不可比）；
+ * 4、吞吐量包含缓存策略自身开销（如访问顺序维护、淘汰），不含加载耗时，仅用于同一机器上的相对对比；
+ *
+ * <pre>
+ *     List&lt;SimulationResult&gt; results = new CacheSimulator(Trace.zipf(100_000, 10_000, 0.9, 1L))
+ *             .cacheTypes(CacheType.LRU, CacheType.TINYLFU)
+ *             .capacities(100, 1000)
+ *             .run();
+ *     System.out.println(CacheSimulator.report(results));
+ * </pre>
+ */
+public class CacheSimulator {
+
+    /**
+     * 默认回放的缓存策略
+     */
+    private static final CacheType[] DEFAULT_CACHE_TYPES = {
+            CacheType.FIFO,
+            CacheType.LRU,
+            CacheType.LFU,
+            CacheType.CONCURRENT_LRU,
+            CacheType.TINYLFU,
+            CacheType.UNLIMITED
+    };
+
+    /**
+     * 访问轨迹
+     */
+    private final Trace trace;
+
+    /**
+     * 缓存策略
+     */
+    private List<CacheType> cacheTypes = Arrays.asList(DEFAULT_CACHE_TYPES);
+
+    /**
+     * 缓存容量
+     */
+    private int[] capacities = {100, 1000, 10000};
+
+    public CacheSimulator(Trace trace) {
+        if (trace == null) {
+            throw new IllegalArgumentException("trace can not be null");
+        }
+        this.trace = trace;
+    }
+
+    /**
+     * 设置缓存策略
+     */
+    public CacheSimulator cacheTypes(CacheType... cacheTypes) {
+        if (cacheTypes == null || cacheTypes.length == 0) {
+            throw new IllegalArgumentException("cacheTypes can not be empty");
+        }
+        for (CacheType cacheType : cacheTypes) {
+            if (cacheType == null || cacheType == CacheType.NONE || cacheType == CacheType.OFFHEAP) {
+                throw new IllegalArgumentException("simulator not support cacheType:" + cacheType);
+            }
+        }
+        this.cacheTypes = Arrays.asList(cacheTypes);
+        return this;
+    }
+
+    /**
+     * 设置缓存容量
+     */
+    public CacheSimulator capacities(int... capacities) {
+        if (capacities == null || capacities.length == 0) {
+            throw new IllegalArgumentException("capacities can not be empty");
+        }
+        for (int capacity : capacities) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("capacity must large than 0");
+            }
+        }
+        this.capacities = capacities.clone();
+        return this;
+    }
+
+    /**
+     * 回放轨迹
+     *
+     * @return 回放结果，按 缓存策略、容量 顺序排列
+     */
+    public List<SimulationResult> run() {
+        List<SimulationResult> results = new ArrayList<>();
+        for (CacheType cacheType : cacheTypes) {
+            if (cacheType == CacheType.UNLIMITED) {
+                results.add(simulate(cacheType, 0));
+                continue;
+            }
+            for (int capacity : capacities) {
+                results.add(simulate(cacheType, capacity));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 回放轨迹：单一缓存策略 + 容量
+     *
+     * @param cacheType 缓存策略
+     * @param capacity  缓存容量，UNLIMITED 时忽略
+     * @return 回放结果
+     */
+    public SimulationResult simulate(CacheType cacheType, int capacity) {
+        CacheTool<String, String> cacheTool = new CacheTool<String, String>()
+                .cache(cacheType)
+                .recordStats();
+        if (cacheType != CacheType.UNLIMITED) {
+            cacheTool.capacity(capacity);
+        }
+        Cache<String, String> cache = cacheTool.build();
+
+        try {
+            // replay
+            String[] keys = trace.keys();
+            long start = System.nanoTime();
+            for (String key : keys) {
+                if (cache.get(key) == null) {
+                    cache.put(key, key);
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+
+            // result
+            CacheStats stats = cache.stats();
+            return new SimulationResult(cacheType,
+                    cacheType == CacheType.UNLIMITED ? 0 : capacity,
+                    keys.length,
+                    stats.hitCount(),
+                    stats.evictionCount(),
+                    elapsed);
+        } finally {
+            cacheTool.stop();
+        }
+    }
+
+    /**
+     * 格式化回放结果
+     *
+     * @param results 回放结果
+     * @return 表格文本
+     */
+    public static String report(List<SimulationResult> results) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-16s %10s %10s %10s %12s %14s%n",
+                "cacheType", "capacity", "requests", "hitRate", "evictions", "throughput/s"));
+        for (SimulationResult result : results) {
+            report.append(String.format("%-16s %10s %10d %9.2f%% %12d %14.0f%n",
+                    result.getCacheType(),
+                    result.getCapacity() == 0 ? "-" : String.valueOf(result.getCapacity()),
+                    result.getRequestCount(),
+                    result.getHitRate() * 100,
+                    result.getEvictionCount(),
+                    result.getThroughput()));
+        }
+        return report.toString();
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.xxl.tool.cache.simulator;
+
+import com.xxl.tool.cache.CacheType;
+
+/**
+ * Simulation Result（单次回放结果：缓存策略 + 容量）
+ */
+public class SimulationResult {
+
+    private final CacheType cacheType;
+    private final int capacity;
+    private final long requestCount;
+    private final long hitCount;
+    private final long evictionCount;
+    private final long elapsedNanos;
+
+    public SimulationResult(CacheType cacheType, int capacity, long requestCount, long hitCount, long evictionCount, long elapsedNanos) {
+        this.cacheType = cacheType;
+        this.capacity = capacity;
+        this.requestCount = requestCount;
+        this.hitCount = hitCount;
+        this.evictionCount = evictionCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public CacheType getCacheType() {
+        return cacheType;
+    }
+
+    /**
+     * 缓存容量，{@code 0} 表示无限制
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return requestCount - hitCount;
+    }
+
+    /**
+     * 命中率
+     */
+    public double getHitRate() {
+        return requestCount == 0 ? 1.0d : (double) hitCount / requestCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * 吞吐量，单位：次/秒
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : requestCount * 1_000_000_000.0d / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "SimulationResult{" +
+                "cacheType=" + cacheType +
+                ", capacity=" + capacity +
+                ", requestCount=" + requestCount +
+                ", hitRate=" + String.format("%.4f", getHitRate()) +
+                ", evictionCount=" + evictionCount +
+                ", throughput=" + String.format("%.0f", getThroughput()) +
+                '}';
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.xxl.tool.cache.simulator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Cache Trace（缓存访问轨迹）
+ *
+ * 1、轨迹为按时间顺序排列的 key 访问序列，用于回放对比不同缓存策略、容量下的命中率；
+ * 2、文件格式：每行一次访问，取行首字段（空白或逗号分隔）作为 key；空行、“#” 开头的注释行忽略；
+ * 3、支持生成 Zipf 分布（热点偏斜）的合成轨迹，用于无真实轨迹时的对比；
+ */
+public class Trace {
+
+    /**
+     * 访问 key 序列
+     */
+    private final String[] keys;
+
+    public Trace(String[] keys) {
+        if (keys == null) {
+            throw new IllegalArgumentException("keys can not be null");
+        }
+        this.keys = keys;
+    }
+
+    public static Trace of(String... keys) {
+        return new Trace(keys);
+    }
+
+    /**
+     * 读取轨迹文件
+     *
+     * @param path 轨迹文件
+     * @return 轨迹
+     */
+    public static Trace read(Path path) throws IOException {
+        List<String> keys = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int end = 0;
+                while (end < line.length() && line.charAt(end) != ',' && !Character.isWhitespace(line.charAt(end))) {
+                    end++;
+                }
+                keys.add(line.substring(0, end));
+            }
+        }
+        return new Trace(keys.toArray(new String[0]));
+    }
+
+    /**
+     * 写入轨迹文件（可将合成轨迹、线上采样轨迹保存，便于重复回放）
+     *
+     * @param path 轨迹文件
+     */
+    public void write(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.write(path, Arrays.asList(keys), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 生成 Zipf 分布轨迹：第 i 个 key 的访问概率正比于 1 / i^exponent
+     *
+     * @param size     访问次数
+     * @param keySpace key 数量
+     * @param exponent 偏斜指数，通常为 0.6 ~ 1.2，越大热点越集中
+     * @param seed     随机种子，相同参数生成相同轨迹
+     * @return 轨迹
+     */
+    public static Trace zipf(int size, int keySpace, double exponent, long seed) {
+        if (size < 0 || keySpace <= 0) {
+            throw new IllegalArgumentException("size must not less than 0, and keySpace must large than 0");
+        }
+
+        // cdf
+        double[] cdf = new double[keySpace];
+        double sum = 0;
+        for (int i = 0; i < keySpace; i++) {
+            sum += 1.0d / Math.pow(i + 1, exponent);
+            cdf[i] = sum;
+        }
+
+        // sample
+        Random random = new Random(seed);
+        String[] keys = new String[size];
+        for (int i = 0; i < size; i++) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            keys[i] = String.valueOf(Math.min(index, keySpace - 1));
+        }
+        return new Trace(keys);
+    }
+
+    /**
+     * 拼接轨迹（如 热点访问 + 全量扫描，模拟扫描型负载）
+     */
+    public Trace concat(Trace other) {
+        String[] merged = Arrays.copyOf(keys, keys.length + other.keys.length);
+        System.arraycopy(other.keys, 0, merged, keys.length, other.keys.length);
+        return new Trace(merged);
+    }
+
+    /**
+     * 访问 key 序列
+     */
+    public String[] keys() {
+        return keys;
+    }
+
+    /**
+     * 访问次数
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * 不同 key 数量
+     */
+    public int distinctKeys() {
+        return (int) Arrays.stream(keys).distinct().count();
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.xxl.tool.cache.support;
+
+import com.xxl.tool.cache.model.CacheObject;
+import com.xxl.tool.serializer.Serializer;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Cache Snapshot（缓存快照文件）
+ *
+ * 1、文件格式：魔数（4 字节） + 记录（4 字节长度 + 序列化后的 CacheObject）* N；
+ * 2、CacheObject 包含 创建时间、最后访问时间、有效期、访问次数 等元数据，恢复后剩余有效期不变；
+ * 3、写入：按淘汰顺序（最先淘汰在前）写入，经缓冲区批量写入 FileChannel，先写临时文件再原子替换；
+ * 4、读取：顺序读取记录，并行反序列化，保持记录顺序；记录长度超出文件剩余字节时视为文件损坏，直接报错；
+ */
+public class CacheSnapshot {
+
+    /**
+     * 魔数
+     */
+    private static final int MAGIC = 0x58434B31;
+
+    /**
+     * 写缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 写入快照
+     *
+     * @param path         快照文件
+     * @param cacheObjects 缓存对象，按淘汰顺序排列（已过期对象、负缓存对象忽略）
+     * @param serializer   序列化组件
+     * @param now          当前时间，单位毫秒（由缓存时钟提供，用于过滤已过期对象）
+     * @return 写入数量
+     */
+    public static <K, V> int write(Path path, List<CacheObject<K, V>> cacheObjects, Serializer serializer, long now) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        // write tmp file
+        int count = 0;
+        Path tmpPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmpPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.putInt(MAGIC);
+            for (CacheObject<K, V> cacheObject : cacheObjects) {
+                if (cacheObject.isExpired(now) || cacheObject.isNegative()) {
+                    continue;
+                }
+                byte[] data = serializer.serialize(cacheObject);
+
+                // length
+                if (buffer.remaining() < 4) {
+                    flush(channel, buffer);
+                }
+                buffer.putInt(data.length);
+
+                // data：超出缓冲区的大对象直接写入
+                if (buffer.remaining() < data.length) {
+                    flush(channel, buffer);
+                }
+                if (data.length <= buffer.remaining()) {
+                    buffer.put(data);
+                } else {
+                    ByteBuffer wrap = ByteBuffer.wrap(data);
+                    while (wrap.hasRemaining()) {
+                        channel.write(wrap);
+                    }
+                }
+                count++;
+            }
+            flush(channel, buffer);
+            channel.force(false);
+        }
+
+        // replace
+        Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    /**
+     * 读取快照
+     *
+     * @param path       快照文件
+     * @param serializer 序列化组件
+     * @return 缓存对象，保持写入顺序
+     */
+    public static <K, V> List<CacheObject<K, V>> read(Path path, Serializer serializer) throws IOException {
+        // read records
+        List<byte[]> records = new ArrayList<>();
+        long remaining = Files.size(path);
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE))) {
+            if (input.readInt() != MAGIC) {
+                throw new IOException("invalid cache snapshot file: " + path);
+            }
+            remaining -= 4;
+            while (true) {
+                int length;
+                try {
+                    length = input.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                remaining -= 4;
+
+                // valid length：避免按损坏的长度分配内存
+                if (length < 0 || length > remaining) {
+                    throw new IOException("invalid cache snapshot record, path:" + path + ", length:" + length + ", remaining:" + remaining);
+                }
+                byte[] data = new byte[length];
+                input.readFully(data);
+                remaining -= length;
+                records.add(data);
+            }
+        }
+
+        // deserialize (parallel, ordered)
+        return records.parallelStream()
+                .map(data -> serializer.<CacheObject<K, V>>deserialize(data))
+                .collect(Collectors.toList());
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+}
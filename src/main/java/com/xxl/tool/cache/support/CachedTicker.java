@@ -0,0 +1,93 @@
+package com.xxl.tool.cache.support;
+
+import com.xxl.tool.cache.iface.Ticker;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Cached Ticker（粗粒度时钟）
+ *
+ * 1、后台守护线程按固定间隔读取系统时间，写入 volatile 变量；读取时间仅为一次 volatile 读，不触发系统调用；
+ * 2、精度为刷新间隔（默认 1ms），适用于缓存过期判断等 “毫秒级误差可接受” 的高频路径；
+ * 3、时间单调不回退：系统时间回拨时保持上次时间，避免对象提前过期；
+ */
+public class CachedTicker extends Ticker {
+
+    /**
+     * 默认刷新间隔，单位毫秒
+     */
+    private static final long DEFAULT_INTERVAL = 1;
+
+    private static volatile CachedTicker instance;
+
+    /**
+     * 全局共享实例（懒加载，首次使用时启动后台线程）
+     */
+    public static CachedTicker getInstance() {
+        if (instance == null) {
+            synchronized (CachedTicker.class) {
+                if (instance == null) {
+                    instance = new CachedTicker(DEFAULT_INTERVAL);
+                }
+            }
+        }
+        return instance;
+    }
+
+    // ---------------------- ticker ----------------------
+
+    /**
+     * 当前时间
+     */
+    private volatile long now;
+
+    /**
+     * 刷新线程
+     */
+    private final Thread tickThread;
+
+    /**
+     * 是否停止
+     */
+    private volatile boolean stopped;
+
+    /**
+     * 构造
+     *
+     * @param interval 刷新间隔，单位毫秒
+     */
+    public CachedTicker(final long interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval must large than 0");
+        }
+        this.now = System.currentTimeMillis();
+
+        final long intervalNanos = TimeUnit.MILLISECONDS.toNanos(interval);
+        this.tickThread = new Thread(() -> {
+            while (!stopped) {
+                long current = System.currentTimeMillis();
+                if (current > now) {
+                    now = current;
+                }
+                LockSupport.parkNanos(intervalNanos);
+            }
+        }, "xxl-tool, CachedTicker");
+        this.tickThread.setDaemon(true);
+        this.tickThread.start();
+    }
+
+    @Override
+    public long read() {
+        return now;
+    }
+
+    /**
+     * 停止刷新线程
+     */
+    public void stop() {
+        stopped = true;
+        LockSupport.unpark(tickThread);
+    }
+
+}
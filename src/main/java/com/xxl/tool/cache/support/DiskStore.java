@@ -0,0 +1,483 @@
+package com.xxl.tool.cache.support;
+
+import com.xxl.tool.cache.iface.Ticker;
+import com.xxl.tool.cache.model.CacheKey;
+import com.xxl.tool.cache.model.CacheObject;
+import com.xxl.tool.io.FileTool;
+import com.xxl.tool.serializer.Serializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Disk Store（磁盘溢出层，内存映射 + 追加写 Segment 文件）
+ *
+ * 1、堆内缓存淘汰的对象序列化后追加写入当前 Segment 文件（MappedByteBuffer 内存映射），堆内仅保留 key 与位置索引；
+ * 2、读取命中后对象从磁盘层移除（由调用方提升回堆内），删除、覆盖仅标记旧数据失效；
+ * 3、压缩：存活数据占比低于阈值的 Segment，存活数据重新追加至当前 Segment 后删除原文件；
+ * 4、磁盘占用超出上限时，淘汰最早的 Segment（及其中全部数据）；
+ * 5、线程安全：写操作由单个锁保护；位置索引为并发 Map，删除、读取前无锁判断 key 是否存在，未溢出的 key 不竞争锁；
+ *
+ * @param <K>
+ * @param <V>
+ */
+public class DiskStore<K, V> {
+    private static final Logger logger = LoggerFactory.getLogger(DiskStore.class);
+
+    /**
+     * Segment 文件前缀/后缀
+     */
+    private static final String SEGMENT_PREFIX = "cache-segment-";
+    private static final String SEGMENT_SUFFIX = ".data";
+
+    /**
+     * 压缩阈值：存活数据占比低于此值时压缩
+     */
+    private static final double COMPACT_THRESHOLD = 0.5d;
+
+    /**
+     * 数据目录
+     */
+    private final Path dir;
+
+    /**
+     * Segment 文件大小
+     */
+    private final int segmentSize;
+
+    /**
+     * 最大 Segment 数量
+     */
+    private final int maxSegments;
+
+    /**
+     * 序列化组件
+     */
+    private final Serializer serializer;
+
+    /**
+     * 位置索引（修改需持有锁；无锁读取仅用于快速判断 key 是否存在）
+     */
+    private final Map<CacheKey<K>, Location<K>> index = new ConcurrentHashMap<>();
+
+    /**
+     * Segment，按创建顺序排列
+     */
+    private final LinkedHashMap<Integer, Segment> segments = new LinkedHashMap<>();
+
+    /**
+     * 当前写入 Segment
+     */
+    private Segment active;
+
+    /**
+     * 下一个 Segment 编号
+     */
+    private int nextSegmentId;
+
+    /**
+     * 锁
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * 缓存时钟（与堆内缓存一致）
+     */
+    private volatile Ticker ticker = Ticker.system();
+
+    /**
+     * @param dir         数据目录
+     * @param segmentSize Segment 文件大小，单位字节
+     * @param maxDiskSize 最大磁盘占用，单位字节
+     * @param serializer  序列化组件
+     */
+    public DiskStore(Path dir, int segmentSize, long maxDiskSize, Serializer serializer) {
+        // valid
+        if (dir == null) {
+            throw new IllegalArgumentException("dir can not be null");
+        }
+        if (segmentSize <= 0 || maxDiskSize < segmentSize) {
+            throw new IllegalArgumentException("segmentSize must large than 0, and maxDiskSize must not less than segmentSize");
+        }
+        if (serializer == null) {
+            throw new IllegalArgumentException("serializer can not be null");
+        }
+
+        // init
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.maxSegments = (int) Math.max(2, Math.min(Integer.MAX_VALUE, maxDiskSize / segmentSize));
+        this.serializer = serializer;
+
+        // 清理遗留 Segment 文件（磁盘层仅作为缓存，不做恢复）
+        try {
+            Files.createDirectories(dir);
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+                for (Path path : stream) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("disk store init error, dir:" + dir, e);
+        }
+    }
+
+    /**
+     * Segment 文件
+     */
+    private static class Segment {
+        private final int id;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writeOffset;
+        private long liveBytes;
+
+        private Segment(int id, Path path, int size) throws IOException {
+            this.id = id;
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    /**
+     * 数据位置及元数据
+     */
+    private static class Location<K> {
+        private final K key;
+        private final Segment segment;
+        private final int offset;
+        private final int length;
+        private final long ttl;
+        private final boolean expireType;
+        private final int weight;
+        private final long createTime;
+        private final long lastAccess;
+
+        private Location(K key, Segment segment, int offset, int length, CacheObject<K, ?> cacheObject) {
+            this(key, segment, offset, length, cacheObject.getTtl(), cacheObject.getExpireType(), cacheObject.getWeight(),
+                    cacheObject.getCreateTime(), cacheObject.getLastAccess());
+        }
+
+        private Location(K key, Segment segment, int offset, int length, long ttl, boolean expireType, int weight, long createTime, long lastAccess) {
+            this.key = key;
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.ttl = ttl;
+            this.expireType = expireType;
+            this.weight = weight;
+            this.createTime = createTime;
+            this.lastAccess = lastAccess;
+        }
+
+        private Location<K> moveTo(Segment segment, int offset) {
+            return new Location<>(key, segment, offset, length, ttl, expireType, weight, createTime, lastAccess);
+        }
+
+        private boolean isExpired(long now) {
+            return ttl > 0 && now > (expireType ? createTime : lastAccess) + ttl;
+        }
+    }
+
+    /**
+     * 设置缓存时钟，由堆内缓存同步设置
+     */
+    public void setTicker(Ticker ticker) {
+        this.ticker = ticker;
+    }
+
+    // ---------------------- operate ----------------------
+
+    /**
+     * 写入对象（值为 {@code null}、已过期 或 超出 Segment 大小时忽略）
+     *
+     * @param cacheObject 堆内缓存淘汰的对象
+     */
+    public void put(CacheObject<K, V> cacheObject) {
+        if (cacheObject == null || cacheObject.getValue() == null || cacheObject.isExpired(ticker.read())) {
+            return;
+        }
+
+        // serialize（锁外）
+        byte[] data = serializer.serialize(cacheObject.getValue());
+        if (data.length > segmentSize) {
+            return;
+        }
+
+        CacheKey<K> cacheKey = CacheKey.of(cacheObject.getKey());
+        lock.lock();
+        try {
+            Segment segment = writableSegment(data.length);
+            int offset = append(segment, data);
+            invalidate(index.put(cacheKey, new Location<>(cacheObject.getKey(), segment, offset, data.length, cacheObject)));
+        } catch (IOException e) {
+            logger.error("disk store put error, key:{}", cacheObject.getKey(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 读取并移除对象
+     *
+     * @param key 键
+     * @return 缓存对象（保留原有的创建时间、访问时间），不存在或已过期时返回 {@code null}
+     */
+    public CacheObject<K, V> remove(K key) {
+        CacheKey<K> cacheKey = CacheKey.of(key);
+        if (!index.containsKey(cacheKey)) {
+            return null;
+        }
+
+        Location<K> location;
+        byte[] data;
+        lock.lock();
+        try {
+            location = index.remove(cacheKey);
+            if (location == null) {
+                return null;
+            }
+            invalidate(location);
+            if (location.isExpired(ticker.read())) {
+                return null;
+            }
+            data = new byte[location.length];
+            location.segment.buffer.get(location.offset, data);
+        } finally {
+            lock.unlock();
+        }
+
+        // deserialize（锁外）
+        V value = serializer.deserialize(data);
+        return new CacheObject<>(location.key, value, location.ttl, location.expireType, location.weight,
+                location.createTime, location.lastAccess);
+    }
+
+    /**
+     * 删除对象
+     *
+     * @param key 键
+     */
+    public void delete(K key) {
+        CacheKey<K> cacheKey = CacheKey.of(key);
+        if (!index.containsKey(cacheKey)) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            invalidate(index.remove(cacheKey));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 是否包含对象（未过期）
+     */
+    public boolean containsKey(K key) {
+        Location<K> location = index.get(CacheKey.of(key));
+        return location != null && !location.isExpired(ticker.read());
+    }
+
+    /**
+     * 压缩：清理已过期数据；存活数据占比低于阈值的 Segment，存活数据重新追加至当前 Segment 后删除原文件
+     *
+     * @return 删除的 Segment 数量
+     */
+    public int compact() {
+        lock.lock();
+        try {
+            // 清理已过期数据
+            long now = ticker.read();
+            Iterator<Location<K>> iterator = index.values().iterator();
+            while (iterator.hasNext()) {
+                Location<K> location = iterator.next();
+                if (location.isExpired(now)) {
+                    iterator.remove();
+                    invalidate(location);
+                }
+            }
+
+            // 选择待压缩 Segment
+            Set<Segment> candidates = new HashSet<>();
+            for (Segment segment : segments.values()) {
+                if (segment != active && segment.liveBytes < segment.writeOffset * COMPACT_THRESHOLD) {
+                    candidates.add(segment);
+                }
+            }
+            if (candidates.isEmpty()) {
+                return 0;
+            }
+
+            // 存活数据迁移
+            List<Location<K>> moving = new ArrayList<>();
+            for (Location<K> location : index.values()) {
+                if (candidates.contains(location.segment)) {
+                    moving.add(location);
+                }
+            }
+            for (Location<K> location : moving) {
+                // 待压缩 Segment 已被淘汰（文件已删除、内存映射已释放），其数据已随之移除，不再迁移
+                if (!segments.containsKey(location.segment.id)) {
+                    continue;
+                }
+                byte[] data = new byte[location.length];
+                location.segment.buffer.get(location.offset, data);
+
+                // 新建 Segment 时可能淘汰最早的 Segment（可能为待压缩 Segment），其数据已随之移除，不再迁移
+                Segment segment = writableSegment(data.length);
+                if (!segments.containsKey(location.segment.id)) {
+                    continue;
+                }
+                int offset = append(segment, data);
+                location.segment.liveBytes -= location.length;
+                index.put(CacheKey.of(location.key), location.moveTo(segment, offset));
+            }
+
+            // 删除原文件
+            int count = 0;
+            for (Segment segment : candidates) {
+                if (segments.containsKey(segment.id) && segment.liveBytes <= 0) {
+                    dropSegment(segment);
+                    count++;
+                }
+            }
+            return count;
+        } catch (IOException e) {
+            logger.error("disk store compact error, dir:{}", dir, e);
+            return 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 清空
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            index.clear();
+            for (Segment segment : new ArrayList<>(segments.values())) {
+                dropSegment(segment);
+            }
+            active = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ---------------------- info ----------------------
+
+    /**
+     * @return 磁盘层对象数量
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return index.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return 磁盘占用（Segment 文件大小之和），单位字节
+     */
+    public long diskSize() {
+        lock.lock();
+        try {
+            return (long) segments.size() * segmentSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Segment 数量
+     */
+    public int segmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ---------------------- segment ----------------------
+
+    /**
+     * 获取可写入指定长度数据的 Segment，当前 Segment 空间不足时新建；超出最大数量时淘汰最早的 Segment
+     */
+    private Segment writableSegment(int length) throws IOException {
+        if (active != null && active.writeOffset + length <= segmentSize) {
+            return active;
+        }
+
+        // 淘汰最早的 Segment
+        while (segments.size() >= maxSegments) {
+            Segment eldest = segments.values().iterator().next();
+            dropSegment(eldest);
+        }
+
+        // 新建 Segment
+        int id = nextSegmentId++;
+        active = new Segment(id, dir.resolve(SEGMENT_PREFIX + id + SEGMENT_SUFFIX), segmentSize);
+        segments.put(id, active);
+        return active;
+    }
+
+    private int append(Segment segment, byte[] data) {
+        int offset = segment.writeOffset;
+        segment.buffer.put(offset, data);
+        segment.writeOffset += data.length;
+        segment.liveBytes += data.length;
+        return offset;
+    }
+
+    private void invalidate(Location<K> location) {
+        if (location != null) {
+            location.segment.liveBytes -= location.length;
+        }
+    }
+
+    /**
+     * 删除 Segment：移除其索引数据，关闭文件并释放内存映射（立即归还磁盘空间与地址空间，不等待 GC），需持有锁
+     */
+    private void dropSegment(Segment segment) {
+        segments.remove(segment.id);
+        if (segment == active) {
+            active = null;
+        }
+        // 释放内存映射后不可再访问 buffer：先移除指向该 Segment 的索引
+        index.values().removeIf(location -> location.segment == segment);
+        try {
+            segment.channel.close();
+            FileTool.unmap(segment.buffer);
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            logger.warn("disk store drop segment error, path:{}", segment.path, e);
+        }
+    }
+
+}
@@ -0,0 +1,293 @@
+package com.xxl.tool.cache.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Expire Wheel（分层时间轮，用于缓存过期清理）
+ *
+ * 1、按 “到期时间距当前时间的长度” 将节点放入不同层级的时间轮：约 1s * 64、65s * 64、70min * 32、37h * 4，超出范围的放入溢出桶；
+ * 2、时间推进时，仅处理已经走过的时间桶：到期节点返回给调用方，未到期节点下沉至更精细的层级；
+ * 3、调度、取消、到期处理均摊 O(1)，清理时只触达已到期的节点，无需遍历全部缓存对象；
+ * 4、线程安全：调度、取消不直接修改时间轮，而是记录到 “调度缓冲区”（无锁队列，不丢弃），写入路径不竞争同一把锁；
+ *    缓冲区在推进时间（清理）时回放，写入方每约 64 次调度以 tryLock 尝试回放一次，避免缓冲区堆积；
+ *
+ * @param <T> 节点数据类型
+ */
+public class ExpireWheel<T> {
+
+    /**
+     * 各层级 时间桶数量
+     */
+    private static final int[] BUCKETS = {64, 64, 32, 4, 1};
+
+    /**
+     * 各层级 单个时间桶跨度（2 的幂，单位毫秒）：1.02s、65.5s、69.9min、37.3h、6.2d
+     */
+    private static final int[] SHIFT = {10, 16, 22, 27, 29};
+
+    /**
+     * 写入方尝试回放调度缓冲区的间隔（2 的幂，按随机采样）
+     */
+    private static final int DRAIN_INTERVAL = 64;
+
+    /**
+     * 时间桶，每个桶为带哨兵的双向循环链表
+     */
+    private final Node<T>[][] wheel;
+
+    /**
+     * 最近一次推进时间
+     */
+    private long time;
+
+    /**
+     * 调度缓冲区：待回放的 调度/取消 节点（以节点当前状态为准回放，重复记录无副作用）
+     */
+    private final ConcurrentLinkedQueue<Node<T>> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 锁：保护时间桶，回放缓冲区、推进时间时持有
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ExpireWheel(long time) {
+        this.time = time;
+        this.wheel = new Node[BUCKETS.length][];
+        for (int i = 0; i < BUCKETS.length; i++) {
+            wheel[i] = new Node[BUCKETS[i]];
+            for (int j = 0; j < BUCKETS[i]; j++) {
+                wheel[i][j] = new Node<>(null);
+            }
+        }
+    }
+
+    /**
+     * 时间轮节点
+     */
+    public static class Node<T> {
+        private final T value;
+        private long deadline;
+        private volatile long scheduledDeadline;
+        private Node<T> prev;
+        private Node<T> next;
+        private volatile boolean cancelled;
+
+        public Node(T value) {
+            this.value = value;
+            this.prev = this;
+            this.next = this;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public long getDeadline() {
+            return scheduledDeadline;
+        }
+
+        /**
+         * 是否已取消调度（对应数据已被删除或替换）
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * 调度节点，节点已在时间轮中时重新调度（记录到调度缓冲区，延迟回放）
+     *
+     * @param node     节点
+     * @param deadline 到期时间，单位毫秒
+     */
+    public void schedule(Node<T> node, long deadline) {
+        if (node.cancelled) {
+            return;
+        }
+        node.scheduledDeadline = deadline;
+        pending.add(node);
+        tryDrain();
+    }
+
+    /**
+     * 取消调度（记录到调度缓冲区，延迟回放）
+     *
+     * @param node 节点
+     */
+    public void deschedule(Node<T> node) {
+        node.cancelled = true;
+        pending.add(node);
+        tryDrain();
+    }
+
+    /**
+     * 推进时间，返回已到期节点（已移出时间轮）；推进前回放调度缓冲区
+     *
+     * @param now 当前时间，单位毫秒
+     * @return 已到期节点
+     */
+    public List<Node<T>> advance(long now) {
+        lock.lock();
+        try {
+            drain();
+
+            List<Node<T>> expired = new ArrayList<>();
+            long previous = time;
+            time = now;
+            for (int i = 0; i < SHIFT.length; i++) {
+                long previousTicks = previous >>> SHIFT[i];
+                long currentTicks = now >>> SHIFT[i];
+                if (currentTicks - previousTicks <= 0) {
+                    break;
+                }
+                expire(i, previousTicks, currentTicks - previousTicks, now, expired);
+            }
+            return expired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 清空时间轮：全部节点（含调度缓冲区中的节点）移出时间轮并标记为取消，
+     * 清空后对旧节点的 调度/取消 不再生效，不会经残留的链表指针破坏时间桶
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            for (Node<T>[] buckets : wheel) {
+                for (Node<T> sentinel : buckets) {
+                    Node<T> node = sentinel.next;
+                    while (node != sentinel) {
+                        Node<T> next = node.next;
+                        node.cancelled = true;
+                        node.prev = node;
+                        node.next = node;
+                        node = next;
+                    }
+                    sentinel.prev = sentinel;
+                    sentinel.next = sentinel;
+                }
+            }
+            Node<T> node;
+            while ((node = pending.poll()) != null) {
+                node.cancelled = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 重置时间轮：清空全部节点，并以指定时间作为起始时间（如切换时钟）
+     *
+     * @param time 起始时间，单位毫秒
+     */
+    public void reset(long time) {
+        lock.lock();
+        try {
+            clear();
+            this.time = time;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ---------------------- buffer ----------------------
+
+    /**
+     * 按采样间隔尝试回放调度缓冲区；锁被占用时直接返回，由持有锁的线程（或下次推进）完成回放
+     */
+    private void tryDrain() {
+        if ((ThreadLocalRandom.current().nextInt() & (DRAIN_INTERVAL - 1)) != 0 || !lock.tryLock()) {
+            return;
+        }
+        try {
+            drain();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 回放调度缓冲区：以节点当前状态为准，已取消节点移出时间轮，其他节点按最新到期时间重新放入，需持有锁
+     */
+    private void drain() {
+        Node<T> node;
+        while ((node = pending.poll()) != null) {
+            unlink(node);
+            if (!node.cancelled) {
+                node.deadline = node.scheduledDeadline;
+                link(node);
+            }
+        }
+    }
+
+    /**
+     * 处理已走过的时间桶：到期节点输出，未到期节点重新调度至更精细的层级
+     */
+    private void expire(int level, long previousTicks, long delta, long now, List<Node<T>> expired) {
+        Node<T>[] buckets = wheel[level];
+        int mask = buckets.length - 1;
+        int steps = (int) Math.min(1 + delta, buckets.length);
+        int start = (int) (previousTicks & mask);
+        for (int i = start; i < start + steps; i++) {
+            Node<T> sentinel = buckets[i & mask];
+
+            // 整桶摘除，避免重新调度回同一个桶时重复处理
+            Node<T> node = sentinel.next;
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+
+            while (node != sentinel) {
+                Node<T> next = node.next;
+                node.prev = node;
+                node.next = node;
+                if (node.deadline <= now) {
+                    expired.add(node);
+                } else {
+                    link(node);
+                }
+                node = next;
+            }
+        }
+    }
+
+    /**
+     * 按到期时间放入对应层级的时间桶；已到期节点放入当前时间桶，在下次推进时输出
+     */
+    private void link(Node<T> node) {
+        long deadline = Math.max(node.deadline, time);
+        long duration = deadline - time;
+        Node<T> sentinel = wheel[BUCKETS.length - 1][0];
+        for (int i = 0; i < BUCKETS.length - 1; i++) {
+            if (duration < (1L << SHIFT[i + 1])) {
+                long ticks = deadline >>> SHIFT[i];
+                sentinel = wheel[i][(int) (ticks & (BUCKETS[i] - 1))];
+                break;
+            }
+        }
+
+        // 插入尾部
+        node.prev = sentinel.prev;
+        node.next = sentinel;
+        sentinel.prev.next = node;
+        sentinel.prev = node;
+    }
+
+    /**
+     * 移出时间桶
+     */
+    private void unlink(Node<T> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = node;
+        node.next = node;
+    }
+
+}
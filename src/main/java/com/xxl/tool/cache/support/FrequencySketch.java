@@ -0,0 +1,149 @@
+package com.xxl.tool.cache.support;
+
+/**
+ * Frequency Sketch（Count-Min Sketch，4-bit 计数器）
+ *
+ * 1、以 4 个哈希函数估算元素的访问频率，每个计数器占 4 bit，最大计数为 15；
+ * 2、计数累计到采样上限（容量的 10 倍）后，全部计数器减半，使历史热点数据随时间老化；
+ * 3、仅用于估算频率，允许误差，非线程安全，需调用方保证并发安全；
+ */
+public class FrequencySketch {
+
+    /**
+     * 哈希种子
+     */
+    private static final long[] SEED = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    /**
+     * 计数器减半时，用于清除每个计数器最高位
+     */
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    /**
+     * 每个计数器最低位掩码，用于统计奇数计数器
+     */
+    private static final long ONE_MASK = 0x1111111111111111L;
+
+    /**
+     * 计数器表，每个 long 包含 16 个 4-bit 计数器
+     */
+    private final long[] table;
+
+    /**
+     * 表索引掩码
+     */
+    private final int tableMask;
+
+    /**
+     * 采样上限，达到后计数器减半
+     */
+    private final int sampleSize;
+
+    /**
+     * 当前采样数
+     */
+    private int size;
+
+    /**
+     * 构造
+     *
+     * @param capacity 缓存容量
+     */
+    public FrequencySketch(int capacity) {
+        int maximum = Math.max(16, Math.min(capacity, 1 << 30));
+        this.table = new long[tableSizeFor(maximum)];
+        this.tableMask = table.length - 1;
+        this.sampleSize = (capacity <= 0 || capacity > Integer.MAX_VALUE / 10) ? Integer.MAX_VALUE : capacity * 10;
+    }
+
+    /**
+     * 估算元素访问频率
+     *
+     * @param item 元素
+     * @return 访问频率，范围 0 ~ 15
+     */
+    public int frequency(Object item) {
+        int hash = spread(item);
+        int start = (hash & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * 元素访问频率 +1，达到采样上限后执行老化
+     *
+     * @param item 元素
+     */
+    public void increment(Object item) {
+        int hash = spread(item);
+        int start = (hash & 3) << 2;
+
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+
+        if (added && (++size == sampleSize)) {
+            reset();
+        }
+    }
+
+    /**
+     * 计数器 +1，计数器已满时忽略
+     */
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = (0xfL << offset);
+        if ((table[index] & mask) != mask) {
+            table[index] += (1L << offset);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 老化：全部计数器减半
+     */
+    private void reset() {
+        int count = 0;
+        for (int i = 0; i < table.length; i++) {
+            count += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size - (count >>> 2)) >>> 1;
+    }
+
+    /**
+     * 计算第 i 个哈希函数对应的表索引
+     */
+    private int indexOf(int item, int i) {
+        long hash = (item + SEED[i]) * SEED[i];
+        hash += (hash >>> 32);
+        return ((int) hash) & tableMask;
+    }
+
+    /**
+     * 哈希扰动，避免低质量 hashCode 导致冲突
+     */
+    private static int spread(Object item) {
+        int x = (item == null) ? 0 : item.hashCode();
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+
+    /**
+     * 不小于 cap 的最小 2 的幂
+     */
+    private static int tableSizeFor(int cap) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(cap - 1);
+        return (n < 0) ? 1 : (n >= (1 << 30)) ? (1 << 30) : n + 1;
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.xxl.tool.cache.support;
+
+import com.xxl.tool.cache.iface.Ticker;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Manual Ticker（手动时钟）
+ *
+ * 1、时间仅在调用 advance/set 时变化，用于测试缓存过期、写入后刷新等时间相关逻辑，无需 sleep 等待；
+ * 2、线程安全；
+ */
+public class ManualTicker extends Ticker {
+
+    /**
+     * 当前时间，单位毫秒
+     */
+    private final AtomicLong now;
+
+    public ManualTicker() {
+        this(0);
+    }
+
+    /**
+     * 构造
+     *
+     * @param startTime 初始时间，单位毫秒
+     */
+    public ManualTicker(long startTime) {
+        this.now = new AtomicLong(startTime);
+    }
+
+    @Override
+    public long read() {
+        return now.get();
+    }
+
+    /**
+     * 推进时间
+     *
+     * @param duration 时长
+     * @param timeUnit 时间单位
+     * @return this
+     */
+    public ManualTicker advance(long duration, TimeUnit timeUnit) {
+        now.addAndGet(timeUnit.toMillis(duration));
+        return this;
+    }
+
+    /**
+     * 推进时间
+     *
+     * @param millis 时长，单位毫秒
+     * @return this
+     */
+    public ManualTicker advance(long millis) {
+        return advance(millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 设置时间
+     *
+     * @param time 时间，单位毫秒
+     * @return this
+     */
+    public ManualTicker set(long time) {
+        now.set(time);
+        return this;
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.xxl.tool.cache.support;
+
+import com.xxl.tool.cache.CacheTool;
+import com.xxl.tool.cache.annotation.Cacheable;
+import com.xxl.tool.cache.iface.Cache;
+import com.xxl.tool.cache.iface.CacheLoader;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Method Result Cache（代理方法结果缓存，配合 {@link Cacheable} 使用）
+ *
+ * 1、每个标注 {@link Cacheable} 的方法独立一个 LRU 缓存（CacheTool 构建，按注解设置 有效期、容量），首次调用时创建；
+ * 2、缓存 key 为方法参数（数组参数按内容比较）；未命中时通过缓存加载器调用远程方法，同一 key 并发未命中时仅调用一次；
+ * 3、未标注 {@link Cacheable}、void 方法，直接调用；
+ *
+ * <pre>
+ *     MethodResultCache methodResultCache = new MethodResultCache();
+ *     return methodResultCache.invoke(method, args, () -> doRemoteInvoke(method, args));
+ * </pre>
+ */
+public class MethodResultCache {
+
+    /**
+     * 方法缓存，未标注 {@link Cacheable} 的方法为 empty
+     */
+    private final Map<Method, Optional<Cache<MethodKey, Object>>> caches = new ConcurrentHashMap<>();
+
+    /**
+     * 调用方法
+     *
+     * @param method  方法
+     * @param args    参数
+     * @param invoker 实际调用（如 远程调用）
+     * @return 返回值
+     */
+    public Object invoke(Method method, Object[] args, final Callable<Object> invoker) throws Exception {
+        Optional<Cache<MethodKey, Object>> cache = caches.computeIfAbsent(method, MethodResultCache::buildCache);
+        if (cache.isEmpty()) {
+            return invoker.call();
+        }
+
+        try {
+            return cache.get().get(new MethodKey(args), new CacheLoader<>() {
+                @Override
+                public Object load(MethodKey key) throws Exception {
+                    return invoker.call();
+                }
+            });
+        } catch (RuntimeException e) {
+            // 缓存加载异常会被包装，还原调用异常
+            if (e.getClass() == RuntimeException.class && e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static Optional<Cache<MethodKey, Object>> buildCache(Method method) {
+        Cacheable cacheable = method.getAnnotation(Cacheable.class);
+        if (cacheable == null || method.getReturnType() == void.class) {
+            return Optional.empty();
+        }
+        if (cacheable.capacity() <= 0 || cacheable.ttl() < 0) {
+            throw new IllegalArgumentException("@Cacheable invalid, capacity must large than 0 and ttl must not less than 0, method:" + method);
+        }
+
+        CacheTool<MethodKey, Object> cacheTool = CacheTool.<MethodKey, Object>newLRUCache(cacheable.capacity());
+        if (cacheable.ttl() > 0) {
+            cacheTool.expireAfterWrite(cacheable.ttl());
+        }
+        return Optional.of(cacheTool.build());
+    }
+
+    /**
+     * 清空全部方法缓存
+     */
+    public void clear() {
+        for (Optional<Cache<MethodKey, Object>> cache : caches.values()) {
+            cache.ifPresent(Cache::clear);
+        }
+    }
+
+    /**
+     * 方法缓存，未标注 {@link Cacheable} 时返回 {@code null}（用于监控命中率等）
+     */
+    public Cache<?, ?> getCache(Method method) {
+        return caches.computeIfAbsent(method, MethodResultCache::buildCache).orElse(null);
+    }
+
+    // ---------------------- key ----------------------
+
+    /**
+     * 方法参数 key，数组参数按内容比较
+     */
+    private static final class MethodKey {
+        private final Object[] args;
+        private final int hash;
+
+        private MethodKey(Object[] args) {
+            this.args = args != null ? args.clone() : new Object[0];
+            this.hash = Arrays.deepHashCode(this.args);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MethodKey)) {
+                return false;
+            }
+            return Arrays.deepEquals(args, ((MethodKey) o).args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.deepToString(args);
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.xxl.tool.cache.support;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Read Buffer（按线程分段的读缓冲区）
+ *
+ * 1、读操作不直接调整淘汰策略，而是将访问记录写入缓冲区，由持有策略锁的线程批量回放，避免读操作竞争同一把锁；
+ * 2、按线程哈希分段，每段为多生产者、单消费者的有界环形缓冲；写入竞争或缓冲区满时丢弃记录（策略仅为近似）；
+ * 3、{@link #offer} 无锁；{@link #drainTo} 需调用方持有策略锁（单消费者）；
+ *
+ * @param <E>
+ */
+public class ReadBuffer<E> {
+
+    /**
+     * 分段数（2 的幂）
+     */
+    private static final int STRIPES = tableSizeFor(Runtime.getRuntime().availableProcessors() * 2);
+
+    /**
+     * 单段容量（2 的幂）
+     */
+    private static final int STRIPE_SIZE = 16;
+
+    /**
+     * 分段缓冲
+     */
+    private final Stripe<E>[] stripes;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ReadBuffer() {
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe<>();
+        }
+    }
+
+    /**
+     * 记录访问（写入当前线程对应分段）
+     *
+     * @return true 表示分段已满，需要回放
+     */
+    public boolean offer(E element) {
+        int probe = Thread.currentThread().hashCode();
+        probe ^= (probe >>> 16);
+        return stripes[probe & (STRIPES - 1)].offer(element);
+    }
+
+    /**
+     * 回放全部分段的访问记录，需持有策略锁
+     */
+    public void drainTo(List<E> elements) {
+        for (Stripe<E> stripe : stripes) {
+            stripe.drainTo(elements);
+        }
+    }
+
+    /**
+     * 单段：多生产者、单消费者的有界环形缓冲，满时丢弃
+     */
+    private static class Stripe<E> {
+        private static final int MASK = STRIPE_SIZE - 1;
+
+        private final AtomicReferenceArray<E> buffer = new AtomicReferenceArray<>(STRIPE_SIZE);
+        private final AtomicLong writeCounter = new AtomicLong();
+        private volatile long readCounter;
+
+        private boolean offer(E element) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            long size = tail - head;
+            if (size >= STRIPE_SIZE) {
+                return true;
+            }
+            // CAS 失败说明存在竞争，直接丢弃本次记录
+            if (writeCounter.compareAndSet(tail, tail + 1)) {
+                buffer.lazySet((int) (tail & MASK), element);
+            }
+            return size + 1 >= STRIPE_SIZE;
+        }
+
+        private void drainTo(List<E> elements) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            for (; head < tail; head++) {
+                int index = (int) (head & MASK);
+                E element = buffer.get(index);
+                if (element == null) {
+                    // 已占位但尚未写入，下次回放
+                    break;
+                }
+                buffer.lazySet(index, null);
+                elements.add(element);
+            }
+            readCounter = head;
+        }
+    }
+
+    /**
+     * 不小于 cap 的最小 2 的幂
+     */
+    private static int tableSizeFor(int cap) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(Math.max(cap, 2) - 1);
+        return Math.min(n + 1, 1 << 16);
+    }
+
+}
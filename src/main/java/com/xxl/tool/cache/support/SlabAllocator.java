@@ -0,0 +1,344 @@
+package com.xxl.tool.cache.support;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Slab Allocator（堆外内存 Slab 分配器）
+ *
+ * 1、堆外内存按固定大小的 Slab（DirectByteBuffer）申请，总量不超过 maxMemory；
+ * 2、按 “大小等级（size class）” 切分 Slab：等级间按 1.25 倍递增，数据写入不小于其长度的最小等级 Chunk，内部碎片不超过 25%；
+ * 3、空闲 Chunk 以链表形式记录在堆外内存中（Chunk 头部 4 字节记录下一个空闲 Chunk），堆内无额外开销；
+ * 4、Slab 全部 Chunk 释放后归还公共池，可被其他大小等级复用；
+ * 5、Chunk 以 long 地址（Slab 编号 + 偏移量）表示，调用方可用原生数组记录，无需为每个 Chunk 创建对象；
+ * 6、非线程安全，由调用方加锁；{@link #read} 仅读取堆外内存，可在调用方的乐观读中无锁调用（并发修改时读到的数据需由调用方校验丢弃）；
+ */
+public class SlabAllocator {
+
+    /**
+     * 空地址（分配失败，或不存在 Chunk）
+     */
+    public static final long NIL_ADDRESS = -1L;
+
+    /**
+     * 最小 Chunk 大小
+     */
+    private static final int MIN_CHUNK_SIZE = 64;
+
+    /**
+     * 大小等级 递增因子
+     */
+    private static final double GROWTH_FACTOR = 1.25d;
+
+    /**
+     * Slab 大小
+     */
+    private final int slabSize;
+
+    /**
+     * 最大 Slab 数量
+     */
+    private final int maxSlabs;
+
+    /**
+     * 各大小等级 Chunk 大小
+     */
+    private final int[] chunkSizes;
+
+    /**
+     * 各大小等级 存在空闲 Chunk 的 Slab
+     */
+    private final ArrayDeque<Slab>[] partialSlabs;
+
+    /**
+     * 各大小等级 已分配 Slab 数量
+     */
+    private final int[] classSlabs;
+
+    /**
+     * 空闲 Slab（已申请堆外内存，未分配大小等级）
+     */
+    private final ArrayDeque<Slab> freeSlabs = new ArrayDeque<>();
+
+    /**
+     * 已申请 Slab，按编号索引（地址高 32 位）
+     */
+    private Slab[] slabs = new Slab[16];
+
+    /**
+     * 已申请 Slab 数量
+     */
+    private int allocatedSlabs;
+
+    /**
+     * 已使用 Chunk 总字节数
+     */
+    private long usedMemory;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public SlabAllocator(long maxMemory, int slabSize) {
+        if (slabSize < MIN_CHUNK_SIZE) {
+            throw new IllegalArgumentException("slabSize must not less than " + MIN_CHUNK_SIZE);
+        }
+        if (maxMemory < slabSize) {
+            throw new IllegalArgumentException("maxMemory must not less than slabSize");
+        }
+        this.slabSize = slabSize;
+        this.maxSlabs = (int) Math.min(Integer.MAX_VALUE, maxMemory / slabSize);
+
+        // size class: 64, 80, 104 ... slabSize（8 字节对齐）
+        List<Integer> sizes = new ArrayList<>();
+        int size = MIN_CHUNK_SIZE;
+        while (size < slabSize) {
+            sizes.add(size);
+            size = Math.min(slabSize, (int) (size * GROWTH_FACTOR + 7) & ~7);
+        }
+        sizes.add(slabSize);
+        this.chunkSizes = sizes.stream().mapToInt(Integer::intValue).toArray();
+
+        this.classSlabs = new int[chunkSizes.length];
+        this.partialSlabs = new ArrayDeque[chunkSizes.length];
+        for (int i = 0; i < chunkSizes.length; i++) {
+            partialSlabs[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Slab
+     */
+    private static class Slab {
+        private final int id;
+        private final ByteBuffer buffer;
+        private int sizeClass = -1;
+        private int chunkSize;
+        private int chunkCount;
+        private int usedCount;
+        private int carved;
+        private int freeHead = -1;
+
+        private Slab(int id, int slabSize) {
+            this.id = id;
+            this.buffer = ByteBuffer.allocateDirect(slabSize);
+        }
+    }
+
+    private static long address(Slab slab, int offset) {
+        return ((long) slab.id << 32) | offset;
+    }
+
+    private Slab slab(long address) {
+        return slabs[(int) (address >>> 32)];
+    }
+
+    private static int offset(long address) {
+        return (int) address;
+    }
+
+    /**
+     * 获取数据长度对应的大小等级
+     *
+     * @param length 数据长度
+     * @return 大小等级，超出 Slab 大小时返回 {@code -1}
+     */
+    public int sizeClass(int length) {
+        if (length > slabSize) {
+            return -1;
+        }
+        int low = 0;
+        int high = chunkSizes.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (chunkSizes[mid] < length) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 分配 Chunk
+     *
+     * @param sizeClass 大小等级
+     * @return Chunk 地址，堆外内存不足（需淘汰数据）时返回 {@link #NIL_ADDRESS}
+     */
+    public long allocate(int sizeClass) {
+        ArrayDeque<Slab> partial = partialSlabs[sizeClass];
+        Slab slab = partial.peekFirst();
+        if (slab == null) {
+            slab = acquireSlab(sizeClass);
+            if (slab == null) {
+                return NIL_ADDRESS;
+            }
+            partial.addFirst(slab);
+        }
+
+        // 优先复用空闲 Chunk，否则切分未使用区域
+        int offset;
+        if (slab.freeHead >= 0) {
+            offset = slab.freeHead;
+            slab.freeHead = slab.buffer.getInt(offset);
+        } else {
+            offset = slab.carved * slab.chunkSize;
+            slab.carved++;
+        }
+        slab.usedCount++;
+        usedMemory += slab.chunkSize;
+        if (slab.usedCount == slab.chunkCount) {
+            partial.pollFirst();
+        }
+        return address(slab, offset);
+    }
+
+    /**
+     * 释放 Chunk
+     *
+     * @param address Chunk 地址
+     */
+    public void free(long address) {
+        Slab slab = slab(address);
+        boolean wasFull = slab.usedCount == slab.chunkCount;
+
+        slab.buffer.putInt(offset(address), slab.freeHead);
+        slab.freeHead = offset(address);
+        slab.usedCount--;
+        usedMemory -= slab.chunkSize;
+
+        ArrayDeque<Slab> partial = partialSlabs[slab.sizeClass];
+        if (slab.usedCount == 0) {
+            // 归还公共池
+            if (!wasFull) {
+                partial.remove(slab);
+            }
+            classSlabs[slab.sizeClass]--;
+            release(slab);
+        } else if (wasFull) {
+            partial.addLast(slab);
+        }
+    }
+
+    /**
+     * 写入数据
+     */
+    public void write(long address, byte[] data) {
+        slab(address).buffer.put(offset(address), data);
+    }
+
+    /**
+     * 读取数据（绝对位置读取，不修改 Slab 状态）
+     */
+    public byte[] read(long address, int length) {
+        byte[] data = new byte[length];
+        slab(address).buffer.get(offset(address), data);
+        return data;
+    }
+
+    /**
+     * @return Chunk 所属大小等级
+     */
+    public int sizeClassOf(long address) {
+        return slab(address).sizeClass;
+    }
+
+    /**
+     * @return Chunk 所属 Slab 编号
+     */
+    public int slabIdOf(long address) {
+        return (int) (address >>> 32);
+    }
+
+    /**
+     * @return 大小等级 已分配 Slab 数量
+     */
+    public int slabCount(int sizeClass) {
+        return classSlabs[sizeClass];
+    }
+
+    /**
+     * 是否存在可分配的空闲 Slab（已申请未使用，或尚未达到最大内存）
+     */
+    public boolean hasFreeSlab() {
+        return !freeSlabs.isEmpty() || allocatedSlabs < maxSlabs;
+    }
+
+    /**
+     * 清空：全部 Slab 归还公共池（不释放已申请的堆外内存，后续分配直接复用）
+     */
+    public void clear() {
+        for (ArrayDeque<Slab> partial : partialSlabs) {
+            partial.clear();
+        }
+        Arrays.fill(classSlabs, 0);
+        freeSlabs.clear();
+        for (int i = 0; i < allocatedSlabs; i++) {
+            release(slabs[i]);
+        }
+        usedMemory = 0;
+    }
+
+    /**
+     * Slab 归还公共池
+     */
+    private void release(Slab slab) {
+        slab.sizeClass = -1;
+        slab.usedCount = 0;
+        slab.freeHead = -1;
+        slab.carved = 0;
+        freeSlabs.addLast(slab);
+    }
+
+    /**
+     * @return 已申请堆外内存，单位字节
+     */
+    public long allocatedMemory() {
+        return (long) allocatedSlabs * slabSize;
+    }
+
+    /**
+     * @return 已使用堆外内存（Chunk），单位字节
+     */
+    public long usedMemory() {
+        return usedMemory;
+    }
+
+    /**
+     * @return 最大堆外内存，单位字节
+     */
+    public long maxMemory() {
+        return (long) maxSlabs * slabSize;
+    }
+
+    /**
+     * @return 大小等级数量
+     */
+    public int sizeClassCount() {
+        return chunkSizes.length;
+    }
+
+    private Slab acquireSlab(int sizeClass) {
+        Slab slab = freeSlabs.pollFirst();
+        if (slab == null) {
+            if (allocatedSlabs >= maxSlabs) {
+                return null;
+            }
+            if (allocatedSlabs == slabs.length) {
+                slabs = Arrays.copyOf(slabs, slabs.length << 1);
+            }
+            slab = new Slab(allocatedSlabs, slabSize);
+            slabs[allocatedSlabs++] = slab;
+        }
+        classSlabs[sizeClass]++;
+        slab.sizeClass = sizeClass;
+        slab.chunkSize = chunkSizes[sizeClass];
+        slab.chunkCount = slabSize / slab.chunkSize;
+        slab.usedCount = 0;
+        slab.carved = 0;
+        slab.freeHead = -1;
+        return slab;
+    }
+
+}
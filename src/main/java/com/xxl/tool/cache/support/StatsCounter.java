@@ -0,0 +1,113 @@
+package com.xxl.tool.cache.support;
+
+import com.xxl.tool.cache.model.CacheStats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stats Counter（缓存统计计数器）
+ *
+ * 1、记录 加载成功/失败次数、加载耗时（含分位数直方图）、淘汰次数/权重、过期次数；
+ * 2、未开启统计时使用 {@link #DISABLED}，全部记录方法为空实现，无统计开销；
+ */
+public class StatsCounter {
+
+    /**
+     * 未开启统计
+     */
+    public static final StatsCounter DISABLED = new StatsCounter() {
+        @Override
+        public void recordLoadSuccess(long loadTime) {
+        }
+
+        @Override
+        public void recordLoadFailure(long loadTime) {
+        }
+
+        @Override
+        public void recordEviction(int weight) {
+        }
+
+        @Override
+        public void recordExpiration() {
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LatencyHistogram loadTimeHistogram = new LatencyHistogram();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder evictionWeight = new LongAdder();
+    private final LongAdder expirationCount = new LongAdder();
+
+    /**
+     * 记录 加载成功
+     *
+     * @param loadTime 加载耗时，单位纳秒
+     */
+    public void recordLoadSuccess(long loadTime) {
+        loadSuccessCount.increment();
+        totalLoadTime.add(loadTime);
+        loadTimeHistogram.record(loadTime);
+    }
+
+    /**
+     * 记录 加载失败
+     *
+     * @param loadTime 加载耗时，单位纳秒
+     */
+    public void recordLoadFailure(long loadTime) {
+        loadFailureCount.increment();
+        totalLoadTime.add(loadTime);
+        loadTimeHistogram.record(loadTime);
+    }
+
+    /**
+     * 记录 淘汰（容量/权重限制）
+     *
+     * @param weight 被淘汰对象权重
+     */
+    public void recordEviction(int weight) {
+        evictionCount.increment();
+        evictionWeight.add(weight);
+    }
+
+    /**
+     * 记录 过期清理
+     */
+    public void recordExpiration() {
+        expirationCount.increment();
+    }
+
+    /**
+     * 是否开启统计
+     */
+    public boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * 统计快照
+     *
+     * @param hitCount  命中数
+     * @param missCount 未命中数
+     */
+    public CacheStats snapshot(long hitCount, long missCount) {
+        return new CacheStats(hitCount,
+                missCount,
+                loadSuccessCount.sum(),
+                loadFailureCount.sum(),
+                totalLoadTime.sum(),
+                loadTimeHistogram.snapshot(),
+                evictionCount.sum(),
+                evictionWeight.sum(),
+                expirationCount.sum());
+    }
+
+}
@@ -0,0 +1,765 @@
+package com.xxl.tool.concurrent;
+
+import com.xxl.tool.core.StringTool;
+import com.xxl.tool.io.FileTool;
+import com.xxl.tool.serializer.Serializer;
+import com.xxl.tool.serializer.SerializerEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * journaled message queue（持久化消息队列，内存映射 Segment 文件）
+ *
+ * 1、写入：消息序列化后追加写入 Segment 文件（MappedByteBuffer 内存映射；记录格式：4 字节长度 + 4 字节 CRC32 + 数据），Segment 写满后滚动新文件；
+ * 2、刷盘：group commit，刷盘线程一次 force 覆盖期间全部写入；syncFlush 模式下 produce 等待消息落盘后返回，否则按 flushInterval 周期刷盘；
+ *    刷盘失败时不推进落盘位点（消费者不可见），等待中的 produce 返回 false（未确认落盘），刷盘线程间隔后重试；
+ * 3、消费：单消费线程按写入顺序批量消费已落盘消息，consume 正常返回即确认；consume 异常时等待 1s 后重试该批次；
+ *    读取时校验 CRC32，校验失败或反序列化失败的记录跳过并计数（corruptCount），不阻塞后续消费；
+ * 4、位点：已确认位点按 checkpointInterval 写入 checkpoint 文件（临时文件 + 原子替换），位点之前的 Segment 文件解除映射后删除；
+ * 5、恢复：启动时校验最后一个 Segment 并截断最后一条有效记录之后的不完整记录，从 checkpoint 位点重放未确认消息（至少一次：checkpoint 之后已消费的消息可能重复投递）；
+ * 6、停止：停止写入并刷盘，当前批次消费完成后写入 checkpoint，未消费消息保留在磁盘，重启后继续消费；
+ *
+ * <pre>
+ *     JournaledMessageQueue&lt;String&gt; messageQueue = JournaledMessageQueue.&lt;String&gt;newQueue("demoQueue", Paths.get("/data/demoQueue"), messages -&gt; {...})
+ *             .segmentSize(64 * 1024 * 1024)
+ *             .consumeBatchSize(100)
+ *             .build();
+ * </pre>
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class JournaledMessageQueue<T> {
+    private static Logger logger = LoggerFactory.getLogger(JournaledMessageQueue.class);
+
+    /**
+     * record header：length + crc
+     */
+    private static final int HEADER_SIZE = 8;
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String LOCK_FILE = "lock";
+
+    private final String name;
+    private final Path dir;
+    private final int segmentSize;
+    private final Serializer serializer;
+    private final MessageQueue.MessageConsumer<T> consumer;
+    private final int consumeBatchSize;
+    private final boolean syncFlush;
+    private final long flushInterval;
+    private final long checkpointInterval;
+
+    /**
+     * segments, index -> segment；position = index * segmentSize + offset
+     */
+    private final ConcurrentHashMap<Long, Segment> segments = new ConcurrentHashMap<>();
+
+    /**
+     * write lock; flush request (to flush thread), flushed (to producer and consumer)
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushRequest = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+
+    /**
+     * write segment and position, guarded by lock
+     */
+    private Segment writeSegment;
+    private volatile long writePosition;
+
+    /**
+     * flushed position：消息落盘后可见于消费者
+     */
+    private volatile long flushedPosition;
+
+    /**
+     * flush failed position：刷盘失败时记录，等待落盘且位置不超过该位点的 produce 返回 false
+     */
+    private volatile long flushFailedPosition = -1;
+
+    /**
+     * commit position (consumed)，checkpoint position (persisted)
+     */
+    private volatile long commitPosition;
+    private volatile long checkpointPosition;
+
+    /**
+     * corrupt record count, skipped when read
+     */
+    private final LongAdder corruptCount = new LongAdder();
+
+    private final FileChannel lockChannel;
+    private final FileLock fileLock;
+    private final Thread flushThread;
+    private final Thread consumerThread;
+    private volatile boolean isRunning = true;
+
+
+    private JournaledMessageQueue(Builder<T> builder) {
+        // check
+        if (StringTool.isBlank(builder.name)) {
+            throw new IllegalArgumentException("name is null");
+        }
+        if (builder.dir == null) {
+            throw new IllegalArgumentException("dir is null.");
+        }
+        if (builder.consumer == null) {
+            throw new IllegalArgumentException("consumer is null.");
+        }
+        if (builder.segmentSize < 1024) {
+            throw new IllegalArgumentException("segmentSize is invalid, must not less than 1024.");
+        }
+        if (builder.consumeBatchSize < 1) {
+            throw new IllegalArgumentException("consumeBatchSize is invalid.");
+        }
+        if (builder.serializer == null) {
+            throw new IllegalArgumentException("serializer is null.");
+        }
+        if (builder.flushInterval < 1 || builder.checkpointInterval < 1) {
+            throw new IllegalArgumentException("flushInterval or checkpointInterval is invalid.");
+        }
+
+        this.name = builder.name;
+        this.dir = builder.dir;
+        this.segmentSize = builder.segmentSize;
+        this.serializer = builder.serializer;
+        this.consumer = builder.consumer;
+        this.consumeBatchSize = builder.consumeBatchSize;
+        this.syncFlush = builder.syncFlush;
+        this.flushInterval = builder.flushInterval;
+        this.checkpointInterval = builder.checkpointInterval;
+
+        // lock dir, and recover
+        try {
+            Files.createDirectories(dir);
+            this.lockChannel = FileChannel.open(dir.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            this.fileLock = lockChannel.tryLock();
+            if (fileLock == null) {
+                lockChannel.close();
+                throw new IllegalStateException("journal dir is locked by other process, dir:" + dir);
+            }
+            recover();
+        } catch (IOException e) {
+            throw new RuntimeException("journaled message queue init error, dir:" + dir, e);
+        }
+
+        // start
+        this.flushThread = new Thread(this::flushLoop);
+        this.flushThread.setDaemon(true);
+        this.flushThread.setName("JournaledMessageQueue-" + name + "-flush");
+        this.flushThread.start();
+
+        this.consumerThread = new Thread(this::consumeLoop);
+        this.consumerThread.setName("JournaledMessageQueue-" + name + "-consumer");
+        this.consumerThread.start();
+
+        // add shutdown-hook
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            stop();
+        }));
+        logger.info(">>>>>>>>>>> JournaledMessageQueue[name = "+ name +"] started, with conf：dir = " + dir + ", segmentSize = " + segmentSize
+                + ", consumeBatchSize = " + consumeBatchSize + ", syncFlush = " + syncFlush + ", replay from position = " + commitPosition + " to " + writePosition);
+    }
+
+
+    // ---------------------- produce ----------------------
+
+    /**
+     * produce message
+     *
+     * @param message
+     * @return true if written (syncFlush：and flushed to disk)；false if rejected, or flush failed (syncFlush：durability unconfirmed, message kept and may be delivered after flush retry)
+     */
+    public boolean produce(T message) {
+        // check
+        if (message == null || !isRunning) {
+            return false;
+        }
+
+        // serialize
+        byte[] data;
+        try {
+            data = serializer.serialize(message);
+        } catch (Throwable e) {
+            logger.error(">>>>>>>>>>> JournaledMessageQueue[name = "+ name +"] serialize error:{}", e.getMessage(), e);
+            return false;
+        }
+        if (HEADER_SIZE + data.length > segmentSize) {
+            logger.error(">>>>>>>>>>> JournaledMessageQueue[name = "+ name +"] message too large, size = " + data.length + ", segmentSize = " + segmentSize);
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data);
+
+        // append
+        lock.lock();
+        try {
+            if (!isRunning) {
+                return false;
+            }
+            int offset = offset(writePosition);
+            if (offset + HEADER_SIZE + data.length > segmentSize) {
+                roll();
+                offset = 0;
+            }
+            MappedByteBuffer buffer = writeSegment.buffer;
+            buffer.putInt(offset + 4, (int) crc.getValue());
+            buffer.put(offset + HEADER_SIZE, data);
+            buffer.putInt(offset, data.length);
+            long end = writeSegment.index * segmentSize + offset + HEADER_SIZE + data.length;
+            writePosition = end;
+
+            // group commit：wait flush
+            if (syncFlush) {
+                flushRequest.signal();
+                while (flushedPosition < end) {
+                    if (flushFailedPosition >= end) {
+                        logger.error(">>>>>>>>>>> JournaledMessageQueue[name = "+ name +"] produce fail, flush error, position = " + end);
+                        return false;
+                    }
+                    flushed.await();
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Throwable e) {
+            logger.error(">>>>>>>>>>> JournaledMessageQueue[name = "+ name +"] produce error:{}", e.getMessage(), e);
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * roll to next segment, guarded by lock
+     */
+    private void roll() throws IOException {
+        writeSegment.buffer.force();
+        Segment segment = openSegment(writeSegment.index + 1);
+        writeSegment = segment;
+        writePosition = segment.index * segmentSize;
+    }
+
+    /**
+     * flush loop：一次 force 覆盖期间全部写入（group commit）
+     */
+    private void flushLoop() {
+        while (true) {
+            long target;
+            Segment segment;
+            lock.lock();
+            try {
+                if (flushedPosition == writePosition) {
+                    if (!isRunning) {
+                        break;
+                    }
+                    flushRequest.await(flushInterval, TimeUnit.MILLISECONDS);
+                }
+                target = writePosition;
+                segment = writeSegment;
+            } catch (InterruptedException e) {
+                break;
+            } finally {
+                lock.unlock();
+            }
+            if (target <= flushedPosition) {
+                continue;
+            }
+
+            try {
+                // force current segment, previous segments forced when roll
+                long base = segment.index * segmentSize;
+                long start = Math.max(flushedPosition, base);
+                segment.buffer.force((int) (start - base), (int) (target - start));
+            } catch (Throwable e) {
+                logger.error(">>>>>>>>>>> JournaledMessageQueue[name = "+ name +"] flush error, retry after 100ms:{}", e.getMessage(), e);
+
+                // flush fail：not advance flushed position, fail waiting producer, retry later
+                lock.lock();
+                try {
+                    flushFailedPosition = target;
+                    flushed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    TimeUnit.MILLISECONDS.sleep(100);
+                } catch (InterruptedException ex) {
+                    break;
+                }
+                continue;
+            }
+
+            lock.lock();
+            try {
+                flushedPosition = target;
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+
+    // ---------------------- consume ----------------------
+
+    private void consumeLoop() {
+        // batch list, new for each consume (consumer may keep it, e.g. async sink)
+        List<T> messageList = newBatchList();
+        long readPosition = commitPosition;
+        long lastCheckpointTime = System.currentTimeMillis();
+        while (isRunning) {
+            try {
+                // read flushed message
+                long nextPosition = read(readPosition, flushedPosition, messageList);
+                if (messageList.isEmpty()) {
+                    if (nextPosition == readPosition) {
+                        lock.lock();
+                        try {
+                            if (isRunning && flushedPosition <= readPosition) {
+                                flushed.await(100, TimeUnit.MILLISECONDS);
+                            }
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                    readPosition = nextPosition;
+                    continue;
+                }
+
+                // batch consume, retry until success
+                boolean consumed = false;
+                while (!consumed && isRunning) {
+                    try {
+                        consumer.consume(messageList);
+                        consumed = true;
+                    } catch (Throwable e) {
+                        logger.error(">>>>>>>>>>> JournaledMessageQueue[name = "+ name +"] consume error, retry after 1s, position = " + readPosition + ", error:{}", e.getMessage(), e);
+                        TimeUnit.SECONDS.sleep(1);
+                    }
+                }
+                messageList = newBatchList();
+                if (!consumed) {
+                    break;
+                }
+
+                // commit, and checkpoint
+                readPosition = nextPosition;
+                commitPosition = nextPosition;
+                if (System.currentTimeMillis() - lastCheckpointTime >= checkpointInterval) {
+                    checkpoint();
+                    lastCheckpointTime = System.currentTimeMillis();
+                }
+            } catch (InterruptedException e) {
+                break;
+            } catch (Throwable e) {
+                messageList = newBatchList();
+                logger.error(">>>>>>>>>>> JournaledMessageQueue[name = "+ name +"] consumer run error:{}", e.getMessage(), e);
+                try {
+                    TimeUnit.SECONDS.sleep(1);
+                } catch (InterruptedException ex) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private List<T> newBatchList() {
+        return new ArrayList<T>(Math.min(consumeBatchSize, 1024));
+    }
+
+    /**
+     * read message in [position, limit), at most consumeBatchSize
+     *
+     * @return next position
+     */
+    private long read(long position, long limit, List<T> messageList) {
+        while (messageList.size() < consumeBatchSize && position < limit) {
+            long index = position / segmentSize;
+            int offset = offset(position);
+            Segment segment = segments.get(index);
+
+            // end of segment, skip to next
+            int length = (offset + HEADER_SIZE <= segmentSize) ? segment.buffer.getInt(offset) : 0;
+            if (length <= 0) {
+                position = (index + 1) * segmentSize;
+                continue;
+            }
+
+            // invalid length：record boundary lost, skip rest of segment (not beyond limit, a record boundary)
+            if (offset + HEADER_SIZE + length > segmentSize) {
+                long next = Math.min((index + 1) * segmentSize, limit);
+                skipCorrupt(position, next, "invalid length " + length);
+                position = next;
+                continue;
+            }
+
+            byte[] data = new byte[length];
+            segment.buffer.get(offset + HEADER_SIZE, data);
+            position += HEADER_SIZE + length;
+
+            // crc check, and deserialize; skip corrupt record
+            CRC32 crc = new CRC32();
+            crc.update(data);
+            if ((int) crc.getValue() != segment.buffer.getInt(offset + 4)) {
+                skipCorrupt(position - HEADER_SIZE - length, position, "crc mismatch");
+                continue;
+            }
+            try {
+                messageList.add(serializer.deserialize(data));
+            } catch (Throwable e) {
+                skipCorrupt(position - HEADER_SIZE - length, position, "deserialize error: " + e.getMessage());
+            }
+        }
+        return position;
+    }
+
+    private void skipCorrupt(long from, long to, String reason) {
+        corruptCount.increment();
+        logger.error(">>>>>>>>>>> JournaledMessageQueue[name = "+ name +"] skip corrupt record, position = [" + from + ", " + to + "), reason = " + reason);
+    }
+
+
+    // ---------------------- checkpoint ----------------------
+
+    /**
+     * write checkpoint, and delete consumed segments
+     */
+    private synchronized void checkpoint() throws IOException {
+        long position = commitPosition;
+        if (position == checkpointPosition) {
+            return;
+        }
+
+        // write tmp file, then replace
+        Path path = dir.resolve(CHECKPOINT_FILE);
+        Path tmpPath = dir.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmpPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(8).putLong(position);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpointPosition = position;
+
+        // delete consumed segments
+        long commitIndex = position / segmentSize;
+        for (Long index : new ArrayList<>(segments.keySet())) {
+            if (index < commitIndex) {
+                Segment segment = segments.remove(index);
+                segment.close(true);
+                Files.deleteIfExists(segment.path);
+            }
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path path = dir.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        byte[] data = Files.readAllBytes(path);
+        return data.length == 8 ? ByteBuffer.wrap(data).getLong() : 0;
+    }
+
+
+    // ---------------------- recover ----------------------
+
+    /**
+     * recover：加载 Segment，校验最后一个 Segment 并截断不完整记录，从 checkpoint 位点开始消费
+     */
+    private void recover() throws IOException {
+        // load segments
+        List<Long> indexes = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                String fileName = path.getFileName().toString();
+                try {
+                    indexes.add(Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    logger.warn(">>>>>>>>>>> JournaledMessageQueue[name = "+ name +"] ignore unknown file: " + path);
+                }
+            }
+        }
+        Collections.sort(indexes);
+        long checkpoint = readCheckpoint();
+
+        // empty：new segment
+        if (indexes.isEmpty()) {
+            writeSegment = openSegment(checkpoint / segmentSize);
+            writePosition = writeSegment.index * segmentSize;
+            flushedPosition = writePosition;
+            commitPosition = writePosition;
+            checkpointPosition = checkpoint;
+            return;
+        }
+        for (Long index : indexes) {
+            openSegment(index);
+        }
+
+        // scan last segment：end of last crc-valid record; crc mismatch in the middle skipped (and counted when read)
+        Segment last = segments.get(indexes.get(indexes.size() - 1));
+        int offset = 0;
+        int scanOffset = 0;
+        CRC32 crc = new CRC32();
+        while (scanOffset + HEADER_SIZE <= segmentSize) {
+            int length = last.buffer.getInt(scanOffset);
+            if (length <= 0 || scanOffset + HEADER_SIZE + length > segmentSize) {
+                break;
+            }
+            byte[] data = new byte[length];
+            last.buffer.get(scanOffset + HEADER_SIZE, data);
+            crc.reset();
+            crc.update(data);
+            scanOffset += HEADER_SIZE + length;
+            if ((int) crc.getValue() == last.buffer.getInt(scanOffset - length - 4)) {
+                offset = scanOffset;
+            }
+        }
+
+        // truncate incomplete record, after last valid record
+        byte[] zero = new byte[64 * 1024];
+        for (int position = offset; position < segmentSize; position += zero.length) {
+            last.buffer.put(position, zero, 0, Math.min(zero.length, segmentSize - position));
+        }
+        last.buffer.force();
+
+        writeSegment = last;
+        writePosition = last.index * segmentSize + offset;
+        flushedPosition = writePosition;
+        commitPosition = Math.min(Math.max(checkpoint, indexes.get(0) * segmentSize), writePosition);
+        checkpointPosition = checkpoint;
+    }
+
+
+    // ---------------------- stop ----------------------
+
+    /**
+     * stop：停止写入并刷盘，当前批次消费完成后写入 checkpoint；未消费消息保留，重启后继续消费
+     */
+    public void stop() {
+        if (isRunning) {        // avoid repeat
+            isRunning = false;
+
+            lock.lock();
+            try {
+                flushRequest.signal();
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                flushThread.join(10 * 1000);
+                consumerThread.join(10 * 1000);
+                if (consumerThread.isAlive()) {
+                    // force stop
+                    consumerThread.interrupt();
+                    consumerThread.join(1000);
+                }
+                checkpoint();
+            } catch (Throwable e) {
+                logger.error(">>>>>>>>>>> JournaledMessageQueue[name = "+ name +"] stop error:{}", e.getMessage(), e);
+            }
+
+            // release：unmap only when no thread may access segment
+            boolean unmap = !flushThread.isAlive() && !consumerThread.isAlive();
+            lock.lock();
+            try {
+                for (Segment segment : segments.values()) {
+                    segment.close(unmap);
+                }
+            } finally {
+                lock.unlock();
+            }
+            try {
+                fileLock.release();
+                lockChannel.close();
+            } catch (IOException e) {
+                logger.error(">>>>>>>>>>> JournaledMessageQueue[name = "+ name +"] stop error:{}", e.getMessage(), e);
+            }
+            logger.info(">>>>>>>>>>> JournaledMessageQueue[name = "+ name +"] stopped, checkpoint position = " + checkpointPosition + ", write position = " + writePosition);
+        }
+    }
+
+    /**
+     * write position
+     */
+    public long getWritePosition() {
+        return writePosition;
+    }
+
+    /**
+     * consumed (acknowledged) position
+     */
+    public long getCommitPosition() {
+        return commitPosition;
+    }
+
+    /**
+     * corrupt record count (crc mismatch, invalid length or deserialize error), skipped when read
+     */
+    public long getCorruptCount() {
+        return corruptCount.sum();
+    }
+
+
+    // ---------------------- segment ----------------------
+
+    private int offset(long position) {
+        return (int) (position % segmentSize);
+    }
+
+    private Segment openSegment(long index) throws IOException {
+        Path path = dir.resolve(String.format("%020d", index) + SEGMENT_SUFFIX);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Segment segment = new Segment(index, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        segments.put(index, segment);
+        return segment;
+    }
+
+    /**
+     * segment file
+     */
+    private static class Segment {
+        private final long index;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        private Segment(long index, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.index = index;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        /**
+         * close channel, and unmap buffer (release disk and address space immediately, not wait for gc)；
+         * unmap 后不可再访问 buffer，需确保没有线程访问该 Segment
+         */
+        private void close(boolean unmap) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.error(">>>>>>>>>>> JournaledMessageQueue segment close error, path:" + path, e);
+            }
+            if (unmap && !FileTool.unmap(buffer)) {
+                logger.warn(">>>>>>>>>>> JournaledMessageQueue unmap unsupported, mapped buffer released when gc, path:" + path);
+            }
+        }
+    }
+
+    // ---------------------- builder ----------------------
+
+    /**
+     * new queue builder
+     *
+     * @param name      queue name
+     * @param dir       journal dir, one queue per dir
+     * @param consumer  consumer method
+     */
+    public static <T> Builder<T> newQueue(String name, Path dir, MessageQueue.MessageConsumer<T> consumer) {
+        return new Builder<>(name, dir, consumer);
+    }
+
+    /**
+     * JournaledMessageQueue Builder
+     */
+    public static class Builder<T> {
+        private final String name;
+        private final Path dir;
+        private final MessageQueue.MessageConsumer<T> consumer;
+        private int segmentSize = 64 * 1024 * 1024;
+        private int consumeBatchSize = 1;
+        private Serializer serializer = SerializerEnum.JAVA.getSerializer();
+        private boolean syncFlush = true;
+        private long flushInterval = 10;
+        private long checkpointInterval = 1000;
+
+        private Builder(String name, Path dir, MessageQueue.MessageConsumer<T> consumer) {
+            this.name = name;
+            this.dir = dir;
+            this.consumer = consumer;
+        }
+
+        /**
+         * segment file size, default 64MB；单条消息序列化后不可超过 segmentSize - 8
+         */
+        public Builder<T> segmentSize(int segmentSize) {
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        /**
+         * max message count for one consume
+         */
+        public Builder<T> consumeBatchSize(int consumeBatchSize) {
+            this.consumeBatchSize = consumeBatchSize;
+            return this;
+        }
+
+        /**
+         * 序列化组件，默认 JAVA
+         */
+        public Builder<T> serializer(Serializer serializer) {
+            this.serializer = serializer;
+            return this;
+        }
+
+        /**
+         * true（默认）：produce 等待消息落盘后返回，并发写入合并刷盘（group commit）；false：异步按 flushInterval 周期刷盘，宕机可能丢失最近写入
+         */
+        public Builder<T> syncFlush(boolean syncFlush) {
+            this.syncFlush = syncFlush;
+            return this;
+        }
+
+        /**
+         * async flush interval (ms), default 10ms
+         */
+        public Builder<T> flushInterval(long flushInterval) {
+            this.flushInterval = flushInterval;
+            return this;
+        }
+
+        /**
+         * checkpoint interval (ms), default 1000ms；宕机重启后重复投递的消息不超过该时间内消费的消息
+         */
+        public Builder<T> checkpointInterval(long checkpointInterval) {
+            this.checkpointInterval = checkpointInterval;
+            return this;
+        }
+
+        public JournaledMessageQueue<T> build() {
+            return new JournaledMessageQueue<>(this);
+        }
+    }
+
+}
@@ -1,34 +1,121 @@
 package com.xxl.tool.concurrent;
 
 import com.xxl.tool.core.StringTool;
+import com.xxl.tool.serializer.Serializer;
+import com.xxl.tool.serializer.SerializerEnum;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 
 /**
  * producer-consumer queue
  *
+ * <pre>
+ *     // 1、default: LinkedBlockingQueue
+ *     MessageQueue&lt;String&gt; messageQueue = new MessageQueue&lt;&gt;("demoQueue", messages -&gt; {...}, 3, 100);
+ *
+ *     // 2、ring buffer: preallocated, lock-free
+ *     MessageQueue&lt;String&gt; messageQueue = MessageQueue.&lt;String&gt;newQueue("demoQueue", messages -&gt; {...})
+ *             .queueLength(64 * 1024)
+ *             .consumerCount(3)
+ *             .consumeBatchSize(100)
+ *             .ringBuffer(WaitStrategy.PARK)
+ *             .build();
+ *
+ *     // 3、linger: wait up to 50ms for a batch to fill
+ *     MessageQueue&lt;String&gt; messageQueue = MessageQueue.&lt;String&gt;newQueue("demoQueue", messages -&gt; {...})
+ *             .consumeBatchSize(500)
+ *             .lingerMs(50)
+ *             .build();
+ *
+ *     // 4、partitioned: same key consumed in order, by one consumer at a time
+ *     MessageQueue&lt;Order&gt; messageQueue = MessageQueue.&lt;Order&gt;newQueue("demoQueue", messages -&gt; {...})
+ *             .consumerCount(8)
+ *             .partitionKey(Order::getUserId)
+ *             .build();
+ *
+ *     // 5、overflow policy: spill to disk when queue is full
+ *     MessageQueue&lt;String&gt; messageQueue = MessageQueue.&lt;String&gt;newQueue("demoQueue", messages -&gt; {...})
+ *             .queueLength(10000)
+ *             .overflowPolicy(OverflowPolicy.SPILL_TO_DISK)
+ *             .spillFile(Paths.get("/data/demoQueue.spill"), 256 * 1024 * 1024L)
+ *             .build();
+ * </pre>
+ *
  * @author xuxueli 2025-04-12
  */
 public class MessageQueue<T> {
     private static Logger logger = LoggerFactory.getLogger(MessageQueue.class);
 
+    /**
+     * max presize of batch list
+     */
+    private static final int MAX_PRESIZE_BATCH = 1024;
+
+    /**
+     * drop report interval, for millisecond
+     */
+    private static final long DROP_REPORT_INTERVAL = 10 * 1000;
+
     /**
      * name
      */
     private final String name;
 
     /**
-     * blocking queue
+     * message buffer, one lane per consumer in partitioned mode
+     */
+    private final MessageBuffer<T>[] lanes;
+
+    /**
+     * partition key extractor, null if not partitioned
      */
-    private final LinkedBlockingQueue<T> messageQueue;
+    private final Function<? super T, ?> partitionKey;
+
+    /**
+     * partition key route: key -> lane + pending message count; removed when no pending message
+     */
+    private final ConcurrentHashMap<Object, KeyRoute> keyRoutes;
+
+    /**
+     * consumer
+     */
+    private final MessageConsumer<T> consumer;
+
+    /**
+     * overflow policy, and produce timeout for BLOCK_TIMEOUT
+     */
+    private final OverflowPolicy overflowPolicy;
+    private final long produceTimeout;
+
+    /**
+     * spill buffer and drain thread, for SPILL_TO_DISK
+     */
+    private final SpillBuffer<T> spillBuffer;
+    private final Thread spillThread;
+
+    /**
+     * overflow counter
+     */
+    private final LongAdder dropCount = new LongAdder();
+    private final LongAdder spillCount = new LongAdder();
+    private final LongAdder callerRunsCount = new LongAdder();
+    private final AtomicLong lastDropReportTime = new AtomicLong(0);
+    private volatile long lastReportedDropCount = 0;
 
     /**
      * consumer executor
@@ -61,7 +148,21 @@ public class MessageQueue<T> {
      * @param consumer          consumer method
      */
     public MessageQueue(String name, int queueLength, MessageConsumer<T> consumer, int consumerCount, int consumeBatchSize) {
+        this(new Builder<T>(name, consumer)
+                .queueLength(queueLength)
+                .consumerCount(consumerCount)
+                .consumeBatchSize(consumeBatchSize));
+    }
+
+    private MessageQueue(Builder<T> builder) {
         // check
+        final String name = builder.name;
+        final MessageConsumer<T> consumer = builder.consumer;
+        final int queueLength = builder.queueLength;
+        final int consumerCount = builder.consumerCount;
+        final int consumeBatchSize = builder.consumeBatchSize;
+        final long lingerMs = builder.lingerMs;
+        final boolean reuseBatchList = builder.reuseBatchList;
         if (StringTool.isBlank(name)) {
             throw new IllegalArgumentException("name is null");
         }
@@ -77,51 +178,139 @@ public class MessageQueue<T> {
         if (consumeBatchSize < 1) {
             throw new IllegalArgumentException("consumeBatchSize is invalid.");
         }
+        if (lingerMs < 0) {
+            throw new IllegalArgumentException("lingerMs is invalid.");
+        }
+        if (builder.overflowPolicy == null) {
+            throw new IllegalArgumentException("overflowPolicy is null.");
+        }
+        if (builder.produceTimeout < 0) {
+            throw new IllegalArgumentException("produceTimeout is invalid.");
+        }
+        if (builder.overflowPolicy == OverflowPolicy.SPILL_TO_DISK && builder.spillFile == null) {
+            throw new IllegalArgumentException("spillFile is null, required by SPILL_TO_DISK.");
+        }
 
 
         // start
         this.name = name;
-        this.messageQueue = new LinkedBlockingQueue<>(queueLength);
+        this.partitionKey = builder.partitionKey;
+        this.keyRoutes = partitionKey != null ? new ConcurrentHashMap<>() : null;
+        this.lanes = newLanes(partitionKey != null ? consumerCount : 1, queueLength, builder.waitStrategy);
+        this.consumer = consumer;
+        this.overflowPolicy = builder.overflowPolicy;
+        this.produceTimeout = builder.produceTimeout;
+        this.spillBuffer = overflowPolicy == OverflowPolicy.SPILL_TO_DISK
+                ? new SpillBuffer<>(builder.spillFile, builder.spillMaxBytes, builder.serializer)
+                : null;
         this.consumerExecutor = Executors.newFixedThreadPool(consumerCount);
         this.isRunning = true;
 
         for (int i = 0; i < consumerCount; i++) {
+            final MessageBuffer<T> messageQueue = lanes[i % lanes.length];
             consumerExecutor.submit(() -> {
                 logger.debug(">>>>>>>>>>> ProducerConsumerQueue[name = "+ name +"] consumer thead[" + Thread.currentThread().getName() + "] start.");
-                while (isRunning || !messageQueue.isEmpty()) {      // running || stoped to process remaining-message
+                // batch list, reuse for each consume if enabled
+                List<T> reusableList = reuseBatchList ? new ArrayList<T>(Math.min(consumeBatchSize, MAX_PRESIZE_BATCH)) : null;
+                Map<Object, Integer> releaseCounts = partitionKey != null ? new HashMap<>() : null;
+                while (isRunning || !messageQueue.isEmpty() || hasSpilled()) {      // running || stoped to process remaining-message
                     try {
                         T message = messageQueue.poll(3000, TimeUnit.MILLISECONDS);
                         if (message != null) {
 
                             // batch get message
-                            List<T> messageList = new ArrayList<T>();
+                            List<T> messageList = reuseBatchList ? reusableList : new ArrayList<T>();
                             messageList.add(message);
                             if (consumeBatchSize > 1) {
                                 messageQueue.drainTo(messageList, consumeBatchSize-1);
                             }
 
+                            // linger: wait for batch to fill, until full or linger timeout
+                            if (lingerMs > 0 && messageList.size() < consumeBatchSize) {
+                                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                                while (isRunning && messageList.size() < consumeBatchSize) {
+                                    long remaining = deadline - System.nanoTime();
+                                    if (remaining <= 0) {
+                                        break;
+                                    }
+                                    T next = messageQueue.poll(remaining, TimeUnit.NANOSECONDS);
+                                    if (next == null) {
+                                        break;
+                                    }
+                                    messageList.add(next);
+                                    messageQueue.drainTo(messageList, consumeBatchSize - messageList.size());
+                                }
+                            }
+
                             // batch consume
-                            consumer.consume(messageList);
+                            try {
+                                consumer.consume(messageList);
+                            } finally {
+                                if (partitionKey != null) {
+                                    release(messageList, releaseCounts);
+                                }
+                                if (reuseBatchList) {
+                                    messageList.clear();
+                                }
+                            }
                         }
                     } catch (Throwable e) {
                         // error when running, print warn log
                         if (isRunning) {
                             logger.error(">>>>>>>>>>> ProducerConsumerQueue[name = "+ name +"] consumer thead[" + Thread.currentThread().getName() + "] run error:{}", e.getMessage(), e);
                         }
-                        // stoped and interrupted, judge as "stop", print long
+                        // stoped and interrupted, judge as "stop", print long, and exit (remaining message dropped)
                         if (!isRunning && (e instanceof InterruptedException)) {
                             logger.error(">>>>>>>>>>> ProducerConsumerQueue[name = "+ name +"] consumer thead[" + Thread.currentThread().getName() + "] stoped and interrupted, possible stop timeout.");
+                            break;
+                        }
+                    }
+                }
+            });
+        }
+
+        // spill drain thread: move spilled message back to queue, in order
+        if (spillBuffer != null) {
+            this.spillThread = new Thread(() -> {
+                while ((isRunning || hasSpilled()) && !Thread.currentThread().isInterrupted()) {
+                    try {
+                        T message = spillBuffer.peek();
+                        if (message == null) {
+                            TimeUnit.MILLISECONDS.sleep(10);
+                        } else if (enqueue(message, 100)) {
+                            spillBuffer.remove();
                         }
+                    } catch (InterruptedException e) {
+                        break;
+                    } catch (Throwable e) {
+                        logger.error(">>>>>>>>>>> ProducerConsumerQueue[name = "+ name +"] spill thread run error:{}", e.getMessage(), e);
                     }
                 }
             });
+            this.spillThread.setDaemon(true);
+            this.spillThread.setName("MessageQueue-" + name + "-spill");
+            this.spillThread.start();
+        } else {
+            this.spillThread = null;
         }
 
         // add shutdown-hook
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             stop();
         }));
-        logger.info(">>>>>>>>>>> ProducerConsumerQueue[name = "+ name +"] started, with conf：queueLength = "+ queueLength +", consumerCount = "+ consumerCount +", consumeBatchSize = "+ consumeBatchSize  );
+        logger.info(">>>>>>>>>>> ProducerConsumerQueue[name = "+ name +"] started, with conf：queueLength = "+ queueLength +", consumerCount = "+ consumerCount +", consumeBatchSize = "+ consumeBatchSize +", lingerMs = "+ lingerMs
+                + ", overflowPolicy = " + overflowPolicy + ", buffer = " + lanes[0].getClass().getSimpleName() + ", lanes = " + lanes.length);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> MessageBuffer<T>[] newLanes(int laneCount, int queueLength, WaitStrategy waitStrategy) {
+        MessageBuffer<T>[] lanes = new MessageBuffer[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = waitStrategy != null
+                    ? new RingMessageBuffer<>(queueLength, waitStrategy)
+                    : new LinkedMessageBuffer<>(queueLength);
+        }
+        return lanes;
     }
 
     /**
@@ -134,7 +323,7 @@ public class MessageQueue<T> {
         /**
          * batch accept message
          *
-         * @param messages
+         * @param messages  batch list; cleared and reused after consume returns if Builder.reuseBatchList enabled
          */
         void consume(List<T> messages);
 
@@ -144,8 +333,7 @@ public class MessageQueue<T> {
      * produce message
      *
      * @param message
-     * @return
-     * @throws InterruptedException
+     * @return true if accepted (queued, spilled or consumed by caller); false if dropped
      */
     public boolean produce(T message) {
         // check
@@ -153,17 +341,162 @@ public class MessageQueue<T> {
             return false;
         }
 
-        // produce
+        // produce, by overflow policy
         try {
-            boolean result = messageQueue.offer(message, 20, TimeUnit.MILLISECONDS);
-            if (!result) {
-                logger.warn(">>>>>>>>>>> ProducerConsumerQueue[name = "+ name +"] produce fail for message: "+ String.valueOf(message));
+            switch (overflowPolicy) {
+                case BLOCK:
+                    while (isRunning) {
+                        if (enqueue(message, 100)) {
+                            return true;
+                        }
+                    }
+                    break;
+                case BLOCK_TIMEOUT:
+                    if (enqueue(message, produceTimeout)) {
+                        return true;
+                    }
+                    break;
+                case DROP_NEWEST:
+                    if (enqueue(message, 0)) {
+                        return true;
+                    }
+                    break;
+                case DROP_OLDEST:
+                    if (enqueueDropOldest(message)) {
+                        return true;
+                    }
+                    break;
+                case CALLER_RUNS:
+                    if (enqueue(message, 0)) {
+                        return true;
+                    }
+                    callerRunsCount.increment();
+                    try {
+                        consumer.consume(Collections.singletonList(message));
+                    } catch (Throwable e) {
+                        logger.error(">>>>>>>>>>> ProducerConsumerQueue[name = "+ name +"] caller-runs consume error:{}", e.getMessage(), e);
+                    }
+                    return true;
+                case SPILL_TO_DISK:
+                    // spilled message first, keep order
+                    if (!hasSpilled() && enqueue(message, 0)) {
+                        return true;
+                    }
+                    try {
+                        if (spillBuffer.offer(message)) {
+                            spillCount.increment();
+                            return true;
+                        }
+                    } catch (RuntimeException e) {
+                        logger.error(">>>>>>>>>>> ProducerConsumerQueue[name = "+ name +"] spill error:{}", e.getMessage(), e);
+                    }
+                    break;
             }
-            return result;
         } catch (InterruptedException e) {
-            logger.warn(">>>>>>>>>>> ProducerConsumerQueue[name = "+ name +"] produce error[" + String.valueOf(e) + "] for message: "+ String.valueOf(message));
-            return false;
+            Thread.currentThread().interrupt();
+        }
+
+        // drop
+        reportDrop();
+        return false;
+    }
+
+    /**
+     * enqueue message to routed lane
+     *
+     * @param timeout   wait timeout, for millisecond; 0 not wait
+     */
+    private boolean enqueue(T message, long timeout) throws InterruptedException {
+        // route
+        MessageBuffer<T> messageQueue = lanes[0];
+        Object key = null;
+        if (partitionKey != null) {
+            key = partitionKey.apply(message);
+            messageQueue = lanes[key != null ? acquire(key) : shallowestLane(0)];
+        }
+
+        // offer
+        boolean result = false;
+        try {
+            result = timeout > 0
+                    ? messageQueue.offer(message, timeout, TimeUnit.MILLISECONDS)
+                    : messageQueue.offer(message);
+            return result;
+        } finally {
+            if (!result && key != null) {
+                release(key, 1);
+            }
+        }
+    }
+
+    /**
+     * enqueue message, drop oldest message of routed lane when full
+     */
+    private boolean enqueueDropOldest(T message) throws InterruptedException {
+        for (int i = 0; i < 16 && isRunning; i++) {
+            if (enqueue(message, 0)) {
+                return true;
+            }
+
+            // drop oldest
+            MessageBuffer<T> messageQueue = lanes[0];
+            if (partitionKey != null) {
+                Object key = partitionKey.apply(message);
+                messageQueue = lanes[key != null ? routedLane(key) : shallowestLane(0)];
+            }
+            T oldest = messageQueue.poll();
+            if (oldest != null) {
+                if (partitionKey != null) {
+                    Object oldestKey = partitionKey.apply(oldest);
+                    if (oldestKey != null) {
+                        release(oldestKey, 1);
+                    }
+                }
+                reportDrop();
+            }
         }
+        return false;
+    }
+
+    private boolean hasSpilled() {
+        return spillBuffer != null && !spillBuffer.isEmpty();
+    }
+
+    /**
+     * report drop：计数，日志按时间间隔汇总输出（避免过载时逐条打印日志）
+     */
+    private void reportDrop() {
+        dropCount.increment();
+
+        long now = System.currentTimeMillis();
+        long lastReportTime = lastDropReportTime.get();
+        if (now - lastReportTime >= DROP_REPORT_INTERVAL && lastDropReportTime.compareAndSet(lastReportTime, now)) {
+            long total = dropCount.sum();
+            long dropped = total - lastReportedDropCount;
+            lastReportedDropCount = total;
+            logger.warn(">>>>>>>>>>> ProducerConsumerQueue[name = "+ name +"] queue overflow, dropped " + dropped + " messages since last report, total dropped = " + total + ", overflowPolicy = " + overflowPolicy);
+        }
+    }
+
+    /**
+     * dropped message count
+     */
+    public long getDropCount() {
+        return dropCount.sum();
+    }
+
+    /**
+     * spilled message count (SPILL_TO_DISK)
+     */
+    public long getSpillCount() {
+        return spillCount.sum();
+    }
+
+    /**
+     * message count consumed by producer thread (CALLER_RUNS)
+     */
+    public long getCallerRunsCount() {
+        return callerRunsCount.sum();
     }
 
     /**
@@ -178,14 +511,416 @@ public class MessageQueue<T> {
             try {
                 // wait all task finish
                 if (!consumerExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
-                    // force shutdown
+                    // force shutdown：stop spill first, consumer no longer wait for spilled message
+                    stopSpill();
                     consumerExecutor.shutdownNow();
                 }
             } catch (InterruptedException e) {
+                stopSpill();
                 consumerExecutor.shutdownNow(); // force shutdown
                 logger.error(">>>>>>>>>>> ProducerConsumerQueue[name = "+ name +"] stop error:{}", e.getMessage(), e);
             }
+
+            // stop spill thread (all spilled message consumed when graceful stop)
+            stopSpill();
+        }
+    }
+
+    /**
+     * stop spill thread, drop remaining spilled message (count as drop)
+     */
+    private void stopSpill() {
+        if (spillThread == null) {
+            return;
+        }
+        spillThread.interrupt();
+        try {
+            spillThread.join(1000);
+        } catch (InterruptedException e) {
+            logger.error(">>>>>>>>>>> ProducerConsumerQueue[name = "+ name +"] stop error:{}", e.getMessage(), e);
+        }
+        if (hasSpilled()) {
+            int dropped = spillBuffer.size();
+            dropCount.add(dropped);
+            logger.warn(">>>>>>>>>>> ProducerConsumerQueue[name = "+ name +"] stop with " + dropped + " spilled messages dropped.");
+        }
+        spillBuffer.close();
+    }
+
+    /**
+     * queue size (approximate)
+     */
+    public int size() {
+        int size = 0;
+        for (MessageBuffer<T> lane : lanes) {
+            size += lane.size();
+        }
+        return size;
+    }
+
+
+    // ---------------------- partition ----------------------
+
+    /**
+     * partition key route
+     */
+    private static class KeyRoute {
+        private final int lane;
+        private int pending;            // guarded by ConcurrentHashMap compute
+
+        private KeyRoute(int lane) {
+            this.lane = lane;
+        }
+    }
+
+    /**
+     * current lane of key, without acquire
+     */
+    private int routedLane(Object key) {
+        KeyRoute route = keyRoutes.get(key);
+        if (route != null) {
+            return route.lane;
+        }
+        int hash = key.hashCode();
+        return shallowestLane((hash ^ (hash >>> 16)) & 0x7fffffff);
+    }
+
+    /**
+     * acquire lane for key：
+     * 1、key 存在未消费完成的消息时，沿用原分区，保证同 key 消息按序、串行消费；
+     * 2、否则重新分配到当前积压最少的分区（按队列深度再平衡），从 key 哈希对应分区开始查找；
+     */
+    private int acquire(Object key) {
+        return keyRoutes.compute(key, (k, route) -> {
+            if (route == null) {
+                int hash = k.hashCode();
+                route = new KeyRoute(shallowestLane((hash ^ (hash >>> 16)) & 0x7fffffff));
+            }
+            route.pending++;
+            return route;
+        }).lane;
+    }
+
+    /**
+     * release key after consumed (or produce fail), route removed when no pending message
+     */
+    private void release(Object key, int count) {
+        keyRoutes.computeIfPresent(key, (k, route) -> {
+            route.pending -= count;
+            return route.pending > 0 ? route : null;
+        });
+    }
+
+    private void release(List<T> messageList, Map<Object, Integer> releaseCounts) {
+        for (T message : messageList) {
+            Object key = partitionKey.apply(message);
+            if (key != null) {
+                releaseCounts.merge(key, 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<Object, Integer> entry : releaseCounts.entrySet()) {
+            release(entry.getKey(), entry.getValue());
+        }
+        releaseCounts.clear();
+    }
+
+    /**
+     * lane with min queue depth, search from start lane
+     */
+    private int shallowestLane(int start) {
+        int lane = start % lanes.length;
+        int minSize = lanes[lane].size();
+        for (int i = 1; i < lanes.length && minSize > 0; i++) {
+            int index = (start + i) % lanes.length;
+            int size = lanes[index].size();
+            if (size < minSize) {
+                lane = index;
+                minSize = size;
+            }
+        }
+        return lane;
+    }
+
+
+    // ---------------------- builder ----------------------
+
+    /**
+     * new queue builder
+     *
+     * @param name      queue name
+     * @param consumer  consumer method
+     */
+    public static <T> Builder<T> newQueue(String name, MessageConsumer<T> consumer) {
+        return new Builder<>(name, consumer);
+    }
+
+    /**
+     * MessageQueue Builder
+     */
+    public static class Builder<T> {
+        private final String name;
+        private final MessageConsumer<T> consumer;
+        private int queueLength = Integer.MAX_VALUE;
+        private int consumerCount = 3;
+        private int consumeBatchSize = 1;
+        private long lingerMs = 0;
+        private boolean reuseBatchList = false;
+        private WaitStrategy waitStrategy;
+        private Function<? super T, ?> partitionKey;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK_TIMEOUT;
+        private long produceTimeout = 20;
+        private Path spillFile;
+        private long spillMaxBytes = 64 * 1024 * 1024L;
+        private Serializer serializer = SerializerEnum.JAVA.getSerializer();
+
+        private Builder(String name, MessageConsumer<T> consumer) {
+            this.name = name;
+            this.consumer = consumer;
+        }
+
+        /**
+         * queue max length（分区模式下为单个分区容量）；ring buffer 模式向上取整为 2 的幂，未设置时为 65536
+         */
+        public Builder<T> queueLength(int queueLength) {
+            this.queueLength = queueLength;
+            return this;
+        }
+
+        /**
+         * consumer thread count
+         */
+        public Builder<T> consumerCount(int consumerCount) {
+            this.consumerCount = consumerCount;
+            return this;
+        }
+
+        /**
+         * max message count for one consume
+         */
+        public Builder<T> consumeBatchSize(int consumeBatchSize) {
+            this.consumeBatchSize = consumeBatchSize;
+            return this;
+        }
+
+        /**
+         * linger time (ms)：批量消费时，等待消息凑满 consumeBatchSize 的最长时间，凑满立即消费；默认 0 不等待
+         */
+        public Builder<T> lingerMs(long lingerMs) {
+            this.lingerMs = lingerMs;
+            return this;
+        }
+
+        /**
+         * 复用批量列表：消费线程复用预分配容量的批量列表，consume 返回后清空；默认 false，每批新建列表
+         * （开启后 consume 中不可保留或异步传递 messages，需保留时请复制）
+         */
+        public Builder<T> reuseBatchList(boolean reuseBatchList) {
+            this.reuseBatchList = reuseBatchList;
+            return this;
+        }
+
+        /**
+         * 分区模式：按 key 将消息路由到 consumerCount 个分区，每个消费线程独占一个分区；
+         * 同 key 消息按生产顺序串行消费，key 无积压消息时按分区队列深度重新分配；key 为 null 的消息进入积压最少的分区，不保证顺序
+         *
+         * @param partitionKey  key extractor, key 需正确实现 equals/hashCode，且同一消息多次提取结果一致
+         */
+        public Builder<T> partitionKey(Function<? super T, ?> partitionKey) {
+            if (partitionKey == null) {
+                throw new IllegalArgumentException("partitionKey is null.");
+            }
+            this.partitionKey = partitionKey;
+            return this;
+        }
+
+        /**
+         * 队列已满时的生产策略，默认 BLOCK_TIMEOUT
+         *
+         * @param overflowPolicy    BLOCK / BLOCK_TIMEOUT / DROP_NEWEST / DROP_OLDEST / CALLER_RUNS / SPILL_TO_DISK
+         */
+        public Builder<T> overflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * produce timeout (ms)，BLOCK_TIMEOUT 策略的最长等待时间，默认 20ms
+         */
+        public Builder<T> produceTimeout(long produceTimeout) {
+            this.produceTimeout = produceTimeout;
+            return this;
+        }
+
+        /**
+         * 磁盘缓冲文件，SPILL_TO_DISK 策略必填；停止队列时未回填的消息丢弃，文件删除
+         *
+         * @param spillFile     缓冲文件
+         * @param maxBytes      缓冲文件最大字节数，默认 64MB
+         */
+        public Builder<T> spillFile(Path spillFile, long maxBytes) {
+            this.spillFile = spillFile;
+            this.spillMaxBytes = maxBytes;
+            return this;
+        }
+
+        /**
+         * 磁盘缓冲序列化组件，默认 JAVA
+         */
+        public Builder<T> serializer(Serializer serializer) {
+            this.serializer = serializer;
+            return this;
+        }
+
+        /**
+         * ring buffer 模式：预分配槽位的无锁环形队列（多生产者、多消费者），写入不创建节点、生产者不竞争锁；
+         * 队列满（生产者）/ 空（消费者）时按等待策略等待
+         *
+         * @param waitStrategy  BUSY_SPIN / YIELD / PARK
+         */
+        public Builder<T> ringBuffer(WaitStrategy waitStrategy) {
+            if (waitStrategy == null) {
+                throw new IllegalArgumentException("waitStrategy is null.");
+            }
+            this.waitStrategy = waitStrategy;
+            return this;
+        }
+
+        public MessageQueue<T> build() {
+            return new MessageQueue<>(this);
+        }
+    }
+
+
+    // ---------------------- buffer ----------------------
+
+    /**
+     * message buffer
+     */
+    private interface MessageBuffer<T> {
+
+        boolean offer(T message);
+
+        boolean offer(T message, long timeout, TimeUnit unit) throws InterruptedException;
+
+        T poll();
+
+        T poll(long timeout, TimeUnit unit) throws InterruptedException;
+
+        int drainTo(List<T> messageList, int maxMessages);
+
+        int size();
+
+        boolean isEmpty();
+
+    }
+
+    /**
+     * message buffer, base on LinkedBlockingQueue
+     */
+    private static class LinkedMessageBuffer<T> implements MessageBuffer<T> {
+        private final LinkedBlockingQueue<T> queue;
+
+        private LinkedMessageBuffer(int queueLength) {
+            this.queue = new LinkedBlockingQueue<>(queueLength);
+        }
+
+        @Override
+        public boolean offer(T message) {
+            return queue.offer(message);
+        }
+
+        @Override
+        public boolean offer(T message, long timeout, TimeUnit unit) throws InterruptedException {
+            return queue.offer(message, timeout, unit);
+        }
+
+        @Override
+        public T poll() {
+            return queue.poll();
+        }
+
+        @Override
+        public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+            return queue.poll(timeout, unit);
+        }
+
+        @Override
+        public int drainTo(List<T> messageList, int maxMessages) {
+            return queue.drainTo(messageList, maxMessages);
+        }
+
+        @Override
+        public int size() {
+            return queue.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return queue.isEmpty();
+        }
+    }
+
+    /**
+     * message buffer, base on RingBuffer
+     */
+    private static class RingMessageBuffer<T> implements MessageBuffer<T> {
+        private static final int DEFAULT_LENGTH = 64 * 1024;
+
+        private final RingBuffer<T> ringBuffer;
+        private final WaitStrategy waitStrategy;
+
+        private RingMessageBuffer(int queueLength, WaitStrategy waitStrategy) {
+            this.ringBuffer = new RingBuffer<>(queueLength == Integer.MAX_VALUE ? DEFAULT_LENGTH : queueLength);
+            this.waitStrategy = waitStrategy;
+        }
+
+        @Override
+        public boolean offer(T message) {
+            return ringBuffer.offer(message);
+        }
+
+        @Override
+        public boolean offer(T message, long timeout, TimeUnit unit) throws InterruptedException {
+            if (ringBuffer.offer(message)) {
+                return true;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            return ringBuffer.offer(message, timeout, unit, waitStrategy);
+        }
+
+        @Override
+        public T poll() {
+            return ringBuffer.poll();
+        }
+
+        @Override
+        public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+            T message = ringBuffer.poll();
+            if (message != null) {
+                return message;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            return ringBuffer.poll(timeout, unit, waitStrategy);
+        }
+
+        @Override
+        public int drainTo(List<T> messageList, int maxMessages) {
+            return ringBuffer.drainTo(messageList, maxMessages);
+        }
+
+        @Override
+        public int size() {
+            return ringBuffer.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return ringBuffer.isEmpty();
         }
     }
 
-}
\ No newline at end of file
+}
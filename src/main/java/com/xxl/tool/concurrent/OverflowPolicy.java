@@ -0,0 +1,40 @@
+package com.xxl.tool.concurrent;
+
+/**
+ * overflow policy（队列已满时的生产策略）
+ *
+ * @author xuxueli 2026-10-18
+ */
+public enum OverflowPolicy {
+
+    /**
+     * 阻塞等待，直到写入成功或队列停止；保证完整性
+     */
+    BLOCK,
+
+    /**
+     * 阻塞等待，超过 produceTimeout 仍未写入则丢弃当前消息（默认策略，produceTimeout 默认 20ms）
+     */
+    BLOCK_TIMEOUT,
+
+    /**
+     * 不等待，直接丢弃当前消息；保证生产延迟
+     */
+    DROP_NEWEST,
+
+    /**
+     * 不等待，丢弃队列中最早的消息后写入当前消息；保证时效性
+     */
+    DROP_OLDEST,
+
+    /**
+     * 不等待，由生产线程直接消费当前消息；形成天然背压（分区模式下该消息不保证顺序）
+     */
+    CALLER_RUNS,
+
+    /**
+     * 不等待，写入有界磁盘缓冲区，队列空闲后按顺序回填；磁盘缓冲区写满时丢弃当前消息
+     */
+    SPILL_TO_DISK;
+
+}
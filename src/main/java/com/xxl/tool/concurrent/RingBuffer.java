@@ -0,0 +1,174 @@
+package com.xxl.tool.concurrent;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * ring buffer（有界、无锁、多生产者多消费者 环形队列）
+ *
+ * 1、槽位数组预分配（容量为 2 的幂），写入/读取不创建节点对象；
+ * 2、每个槽位维护序号：生产者 CAS 抢占写入位置，写入后发布序号；消费者 CAS 抢占读取位置，读取后将序号推进一圈，槽位即可复用；
+ * 3、生产者之间、消费者之间仅竞争各自的位置计数器，生产者与消费者互不加锁；
+ * 4、阻塞写入/读取按 {@link WaitStrategy} 等待（自旋、让出、挂起），不使用锁与条件变量；
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class RingBuffer<T> {
+
+    /**
+     * 最大容量
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+
+    /**
+     * 写入位置、读取位置
+     */
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    /**
+     * @param capacity 容量，向上取整为 2 的幂
+     */
+    public RingBuffer(int capacity) {
+        if (capacity < 1 || capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("capacity is invalid.");
+        }
+        int size = capacity == 1 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+
+        this.buffer = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 写入，队列已满时立即返回 false
+     */
+    public boolean offer(T element) {
+        if (element == null) {
+            throw new NullPointerException();
+        }
+        long position = producerIndex.get();
+        int index;
+        while (true) {
+            index = (int) (position & mask);
+            long diff = sequences.getAcquire(index) - position;
+            if (diff == 0) {
+                if (producerIndex.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = producerIndex.get();
+            } else if (diff < 0) {
+                // 槽位尚未被消费：已满
+                return false;
+            } else {
+                position = producerIndex.get();
+            }
+        }
+        buffer[index] = element;
+        sequences.setRelease(index, position + 1);
+        return true;
+    }
+
+    /**
+     * 写入，队列已满时按等待策略等待，超时返回 false
+     */
+    public boolean offer(T element, long timeout, TimeUnit unit, WaitStrategy waitStrategy) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (int attempt = 0; !offer(element); attempt++) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            waitStrategy.idle(attempt);
+        }
+        return true;
+    }
+
+    /**
+     * 读取，队列为空时立即返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long position = consumerIndex.get();
+        int index;
+        while (true) {
+            index = (int) (position & mask);
+            long diff = sequences.getAcquire(index) - (position + 1);
+            if (diff == 0) {
+                if (consumerIndex.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = consumerIndex.get();
+            } else if (diff < 0) {
+                // 槽位尚未写入：为空
+                return null;
+            } else {
+                position = consumerIndex.get();
+            }
+        }
+        T element = (T) buffer[index];
+        buffer[index] = null;
+        sequences.setRelease(index, position + mask + 1);
+        return element;
+    }
+
+    /**
+     * 读取，队列为空时按等待策略等待，超时返回 null
+     */
+    public T poll(long timeout, TimeUnit unit, WaitStrategy waitStrategy) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        T element;
+        for (int attempt = 0; (element = poll()) == null; attempt++) {
+            if (System.nanoTime() - deadline >= 0) {
+                return null;
+            }
+            waitStrategy.idle(attempt);
+        }
+        return element;
+    }
+
+    /**
+     * 批量读取
+     *
+     * @param list        读取结果
+     * @param maxElements 最大读取数量
+     * @return 读取数量
+     */
+    public int drainTo(List<? super T> list, int maxElements) {
+        int count = 0;
+        T element;
+        while (count < maxElements && (element = poll()) != null) {
+            list.add(element);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 当前数量（并发写入/读取时为近似值）
+     */
+    public int size() {
+        long size = producerIndex.get() - consumerIndex.get();
+        return (int) Math.max(0, Math.min(size, buffer.length));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 容量
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+
+}
@@ -0,0 +1,196 @@
+package com.xxl.tool.concurrent;
+
+import com.xxl.tool.serializer.Serializer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * spill buffer（有界磁盘缓冲区，先进先出）
+ *
+ * 1、消息序列化后追加写入文件（4 字节长度 + 数据），读取按写入顺序进行；
+ * 2、环形文件：文件大小不超过 maxBytes，记录到达文件末尾时回绕至文件头部继续写入；已读出记录占用的空间立即可复用，未读数据写满时拒绝写入；
+ * 3、读取分为 peek + remove 两步：回填目标队列写入成功后才移除，保证消息不丢失、不乱序；
+ * 4、线程安全（磁盘缓冲区仅在队列溢出时使用，采用同步方法）；
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class SpillBuffer<T> {
+
+    private final Path file;
+    private final long maxBytes;
+    private final Serializer serializer;
+    private final FileChannel channel;
+    private final ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+
+    /**
+     * 读取位置、写入位置（逻辑位置，单调递增，文件位置 = 逻辑位置 % maxBytes）、消息数量
+     */
+    private long readPosition;
+    private long writePosition;
+    private volatile int count;
+
+    /**
+     * 已读出、未移除的消息
+     */
+    private T peeked;
+    private int peekedLength;
+
+    /**
+     * 是否已关闭
+     */
+    private boolean closed;
+
+    /**
+     * @param file       缓冲文件（已存在时清空）
+     * @param maxBytes   文件最大字节数
+     * @param serializer 序列化组件
+     */
+    public SpillBuffer(Path file, long maxBytes, Serializer serializer) {
+        if (file == null) {
+            throw new IllegalArgumentException("file can not be null");
+        }
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("maxBytes must large than 0");
+        }
+        if (serializer == null) {
+            throw new IllegalArgumentException("serializer can not be null");
+        }
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.serializer = serializer;
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException("spill buffer init error, file:" + file, e);
+        }
+    }
+
+    /**
+     * 写入，缓冲区已满时返回 false
+     */
+    public synchronized boolean offer(T element) {
+        if (closed) {
+            return false;
+        }
+        byte[] data = serializer.serialize(element);
+        if (writePosition - readPosition + 4 + data.length > maxBytes) {
+            return false;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(4 + data.length);
+            buffer.putInt(data.length).put(data).flip();
+            writeFully(buffer, writePosition);
+            writePosition += 4 + data.length;
+            count++;
+            return true;
+        } catch (IOException e) {
+            throw new RuntimeException("spill buffer write error, file:" + file, e);
+        }
+    }
+
+    /**
+     * 读取最早的消息（不移除），缓冲区为空时返回 null
+     */
+    public synchronized T peek() {
+        if (closed || count == 0) {
+            return null;
+        }
+        if (peeked != null) {
+            return peeked;
+        }
+        try {
+            lengthBuffer.clear();
+            readFully(lengthBuffer, readPosition);
+            int length = lengthBuffer.getInt(0);
+            ByteBuffer data = ByteBuffer.allocate(length);
+            readFully(data, readPosition + 4);
+            peeked = serializer.deserialize(data.array());
+            peekedLength = length;
+            return peeked;
+        } catch (IOException e) {
+            throw new RuntimeException("spill buffer read error, file:" + file, e);
+        }
+    }
+
+    /**
+     * 移除最早的消息（需先 peek）
+     */
+    public synchronized void remove() {
+        if (peeked == null) {
+            throw new IllegalStateException("peek before remove");
+        }
+        readPosition += 4 + peekedLength;
+        peeked = null;
+        peekedLength = 0;
+        count--;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * 关闭并删除缓冲文件（未回填的消息丢弃，关闭后缓冲区为空，写入被拒绝）
+     */
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        readPosition = writePosition;
+        peeked = null;
+        peekedLength = 0;
+        count = 0;
+        try {
+            channel.close();
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new RuntimeException("spill buffer close error, file:" + file, e);
+        }
+    }
+
+    /**
+     * write at logical position, wrap around at file end
+     */
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            long filePosition = position % maxBytes;
+            int limit = buffer.limit();
+            buffer.limit(buffer.position() + (int) Math.min(buffer.remaining(), maxBytes - filePosition));
+            int written = channel.write(buffer, filePosition);
+            buffer.limit(limit);
+            position += written;
+        }
+    }
+
+    /**
+     * read at logical position, wrap around at file end
+     */
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            long filePosition = position % maxBytes;
+            int limit = buffer.limit();
+            buffer.limit(buffer.position() + (int) Math.min(buffer.remaining(), maxBytes - filePosition));
+            int read = channel.read(buffer, filePosition);
+            buffer.limit(limit);
+            if (read < 0) {
+                throw new IOException("unexpected end of spill file");
+            }
+            position += read;
+        }
+    }
+
+}
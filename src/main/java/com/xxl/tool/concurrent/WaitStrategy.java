@@ -0,0 +1,59 @@
+package com.xxl.tool.concurrent;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * wait strategy（无锁结构 等待数据/空间 时的等待方式）
+ *
+ * 1、BUSY_SPIN：自旋，延迟最低，持续占用 CPU 核，适用于独占核的低延迟场景；
+ * 2、YIELD：短暂自旋后让出 CPU，延迟较低，空闲时 CPU 占用较高；
+ * 3、PARK：短暂自旋、让出后，按递增间隔挂起线程（上限 1ms），空闲时 CPU 占用低，唤醒延迟不超过挂起间隔；
+ *
+ * @author xuxueli 2026-10-18
+ */
+public enum WaitStrategy {
+
+    BUSY_SPIN {
+        @Override
+        public void idle(int attempt) {
+            Thread.onSpinWait();
+        }
+    },
+
+    YIELD {
+        @Override
+        public void idle(int attempt) {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    },
+
+    PARK {
+        @Override
+        public void idle(int attempt) {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (attempt < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                // 挂起间隔：1us 起按 2 倍递增，上限 1ms
+                int shift = Math.min(attempt - SPIN_TRIES - YIELD_TRIES, 10);
+                LockSupport.parkNanos(1000L << shift);
+            }
+        }
+    };
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+
+    /**
+     * 等待一次
+     *
+     * @param attempt 本轮已等待次数（从 0 开始，获取到数据/空间后重新计数）
+     */
+    public abstract void idle(int attempt);
+
+}
@@ -1,5 +1,6 @@
 package com.xxl.tool.http.client;
 
+import com.xxl.tool.cache.support.MethodResultCache;
 import com.xxl.tool.core.CollectionTool;
 import com.xxl.tool.core.MapTool;
 import com.xxl.tool.core.StringTool;
@@ -276,6 +277,8 @@ public class HttpClient {
      */
     @SuppressWarnings("unchecked")
     public <T> T proxy(Class<T> serviceInterface) {
+        // method result cache（@Cacheable 方法），随代理实例创建
+        final MethodResultCache methodResultCache = new MethodResultCache();
         return (T) Proxy.newProxyInstance(
                 serviceInterface.getClassLoader(),
                 new Class[]{serviceInterface},
@@ -294,8 +297,8 @@ public class HttpClient {
                         return this.equals(args[0]);
                     }
 
-                    // invoke biz method
-                    return invoke(serviceInterface, method, args);
+                    // invoke biz method（@Cacheable 方法优先读取缓存）
+                    return methodResultCache.invoke(method, args, () -> invoke(serviceInterface, method, args));
                 });
     }
 
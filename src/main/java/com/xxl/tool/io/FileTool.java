@@ -4,6 +4,10 @@ import com.xxl.tool.core.ArrayTool;
 import com.xxl.tool.core.AssertTool;
 
 import java.io.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
@@ -1156,6 +1160,48 @@ public class FileTool {
         }
     }
 
+    // ---------------------- mapped buffer ----------------------
+
+    /**
+     * Unsafe.invokeCleaner (jdk9+)，不支持时为 null
+     */
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (Throwable e) {
+            // unsupported, mapped buffer released when gc
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    /**
+     * unmap MappedByteBuffer, release disk and address space immediately (not wait for gc)；
+     * unmap 后不可再访问 buffer，需确保没有线程访问该 buffer
+     *
+     * @param buffer mapped buffer
+     * @return true if unmapped; false if unsupported or failed (released when gc)
+     */
+    public static boolean unmap(MappedByteBuffer buffer) {
+        if (buffer == null || INVOKE_CLEANER == null) {
+            return false;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+            return true;
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
     // ---------------------- other ----------------------
 
 }
@@ -1,6 +1,7 @@
 package com.xxl.tool.jsonrpc;
 
 import com.google.gson.JsonElement;
+import com.xxl.tool.cache.support.MethodResultCache;
 import com.xxl.tool.core.StringTool;
 import com.xxl.tool.json.GsonTool;
 import com.xxl.tool.http.HttpTool;
@@ -86,6 +87,8 @@ public class JsonRpcClient {
      */
     @SuppressWarnings("unchecked")
     public <T> T proxy(final String service, Class<T> serviceInterface) {
+        // method result cache（@Cacheable 方法），随代理实例创建
+        final MethodResultCache methodResultCache = new MethodResultCache();
         return (T) Proxy.newProxyInstance(
                 serviceInterface.getClassLoader(),
                 new Class[]{serviceInterface},
@@ -109,8 +112,10 @@ public class JsonRpcClient {
                         typeOfResponse = (Class<T>) responseType;
                     }
 
-                    // do invoke
-                    return invoke(serviceName, methodName, args, typeOfResponse, typeArguments);
+                    // do invoke（@Cacheable 方法优先读取缓存）
+                    final Class<T> responseClass = typeOfResponse;
+                    final Type[] responseTypeArguments = typeArguments;
+                    return methodResultCache.invoke(method, args, () -> invoke(serviceName, methodName, args, responseClass, responseTypeArguments));
                 });
 
     }
@@ -1,20 +1,68 @@
 package com.xxl.tool.test.cache;
 
+import com.xxl.tool.cache.annotation.Cacheable;
 import com.xxl.tool.cache.iface.Cache;
 import com.xxl.tool.cache.CacheTool;
 import com.xxl.tool.cache.CacheType;
+import com.xxl.tool.cache.iface.AsyncCacheLoader;
 import com.xxl.tool.cache.iface.CacheListener;
 import com.xxl.tool.cache.iface.CacheLoader;
+import com.xxl.tool.cache.iface.Ticker;
+import com.xxl.tool.cache.iface.Weigher;
+import com.xxl.tool.cache.impl.LongKeyCache;
+import com.xxl.tool.cache.impl.OffHeapCache;
+import com.xxl.tool.cache.impl.SegmentedCache;
+import com.xxl.tool.cache.invalidation.InvalidationBus;
+import com.xxl.tool.cache.invalidation.LocalInvalidationTransport;
+import com.xxl.tool.cache.invalidation.SimpleInvalidationKeyCodec;
+import com.xxl.tool.cache.invalidation.UdpInvalidationTransport;
+import com.xxl.tool.cache.model.CacheObject;
+import com.xxl.tool.cache.model.CacheStats;
+import com.xxl.tool.cache.simulator.CacheSimulator;
+import com.xxl.tool.cache.simulator.SimulationResult;
+import com.xxl.tool.cache.simulator.Trace;
+import com.xxl.tool.cache.support.CacheSnapshot;
+import com.xxl.tool.cache.support.DiskStore;
+import com.xxl.tool.cache.support.ExpireWheel;
+import com.xxl.tool.cache.support.ManualTicker;
 import com.xxl.tool.core.StringTool;
+import com.xxl.tool.http.client.HttpClient;
+import com.xxl.tool.serializer.SerializerEnum;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.sun.net.httpserver.HttpServer;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.DateFormat;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
 
 
 public class CacheToolTest {
@@ -294,4 +342,1541 @@ public class CacheToolTest {
         System.out.println("cost3 " + (System.currentTimeMillis() - start));
     }
 
+    // TinyLFU: skewed access + scan
+    @Test
+    public void test15() {
+        Cache<Integer, Integer> lruCache = CacheTool.<Integer, Integer>newLRUCache(100).build();
+        Cache<Integer, Integer> tinyLFUCache = CacheTool.<Integer, Integer>newTinyLFUCache(100).build();
+
+        Random random = new Random(42);
+        int scanKey = 100_000;
+        for (int i = 0; i < 100_000; i++) {
+            // hot keys: skewed distribution, 80% access hit 200 keys
+            int key = (random.nextInt(10) < 8) ? (int) Math.abs(random.nextGaussian() * 60) : random.nextInt(5000);
+            // scan keys: one-time access
+            if (i % 3 == 0) {
+                key = scanKey++;
+            }
+
+            for (Cache<Integer, Integer> cache : List.of(lruCache, tinyLFUCache)) {
+                if (cache.getIfPresent(key) == null) {
+                    cache.put(key, key);
+                }
+            }
+        }
+
+        double lruHitRate = lruCache.hitCount() * 1.0 / (lruCache.hitCount() + lruCache.missCount());
+        double tinyLFUHitRate = tinyLFUCache.hitCount() * 1.0 / (tinyLFUCache.hitCount() + tinyLFUCache.missCount());
+        logger.info("hitRate, lru = {}, tinyLFU = {}", lruHitRate, tinyLFUHitRate);
+
+        Assertions.assertEquals(100, tinyLFUCache.size(), "limit size fail");
+        Assertions.assertTrue(tinyLFUHitRate > lruHitRate, "tinyLFU hitRate fail");
+    }
+
+    // LFU: evict least frequently used, O(1) on large capacity
+    @Test
+    public void test16() {
+        Cache<String, String> cache = CacheTool.<String, String>newLFUCache(3).build();
+        cache.put("key1", "value1");
+        cache.put("key2", "value2");
+        cache.put("key3", "value3");
+
+        // key1 * 2, key3 * 1
+        cache.get("key1");
+        cache.get("key1");
+        cache.get("key3");
+
+        // evict key2
+        cache.put("key4", "value4");
+        Assertions.assertNull(cache.getIfPresent("key2"), "evict fail");
+        Assertions.assertEquals(3, cache.size(), "limit size fail");
+
+        // aging: key4 starts as evicted-frequency, key5 evicts key4 (key4 frequency not grow)
+        cache.put("key5", "value5");
+        Assertions.assertNull(cache.getIfPresent("key4"), "aging fail");
+        Assertions.assertNotNull(cache.getIfPresent("key1"), "hot key fail");
+
+        // large capacity
+        Cache<Integer, Integer> largeCache = CacheTool.<Integer, Integer>newLFUCache(100_000).build();
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 300_000; i++) {
+            largeCache.put(i, i);
+        }
+        logger.info("lfu put 300000 to 100000 capacity, cost = {}", (System.currentTimeMillis() - start));
+        Assertions.assertEquals(100_000, largeCache.size(), "limit size fail");
+    }
+
+    // Concurrent LRU: lru order + stress (32 threads)
+    @Test
+    public void test17() throws InterruptedException {
+        // lru order
+        Cache<String, String> cache = CacheTool.<String, String>newConcurrentLRUCache(3).build();
+        cache.put("key1", "value1");
+        cache.put("key2", "value2");
+        cache.put("key3", "value3");
+        cache.get("key1");
+        cache.prune();
+        cache.put("key4", "value4");
+        Assertions.assertNull(cache.getIfPresent("key2"), "lru evict fail");
+        Assertions.assertEquals("value1", cache.getIfPresent("key1"), "lru keep fail");
+        Assertions.assertEquals(3, cache.size(), "limit size fail");
+
+        // stress
+        int capacity = 500;
+        int threadCount = 32;
+        int opCount = 100_000;
+        LongAdder removeCount = new LongAdder();
+        Cache<Integer, String> stressCache = CacheTool.<Integer, String>newConcurrentLRUCache(capacity)
+                .listener(new CacheListener<>() {
+                    @Override
+                    public void onRemove(Integer key, String value) throws Exception {
+                        removeCount.increment();
+                    }
+                })
+                .build();
+
+        AtomicInteger errorCount = new AtomicInteger();
+        LongAdder getCount = new LongAdder();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            Thread thread = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    startLatch.await();
+                    for (int i = 0; i < opCount; i++) {
+                        int key = random.nextInt(2000);
+                        int op = random.nextInt(100);
+                        if (op < 70) {
+                            String value = stressCache.getIfPresent(key);
+                            getCount.increment();
+                            if (value != null && !value.equals("value-" + key)) {
+                                errorCount.incrementAndGet();
+                            }
+                        } else if (op < 95) {
+                            stressCache.put(key, "value-" + key);
+                        } else {
+                            stressCache.remove(key);
+                        }
+                    }
+                } catch (Throwable e) {
+                    logger.error(e.getMessage(), e);
+                    errorCount.incrementAndGet();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        long start = System.currentTimeMillis();
+        startLatch.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        logger.info("concurrent lru stress, threads = {}, ops = {}, cost = {}, size = {}, hit = {}, miss = {}",
+                threadCount, threadCount * opCount, (System.currentTimeMillis() - start), stressCache.size(), stressCache.hitCount(), stressCache.missCount());
+
+        stressCache.prune();
+        Assertions.assertEquals(0, errorCount.get(), "value consistency fail");
+        Assertions.assertTrue(stressCache.size() <= capacity, "limit size fail");
+        Assertions.assertEquals(stressCache.size(), stressCache.asMap().size(), "size fail");
+        Assertions.assertEquals(getCount.sum(), stressCache.hitCount() + stressCache.missCount(), "monitor fail");
+        Assertions.assertTrue(removeCount.sum() > 0, "listener fail");
+    }
+
+    // expire wheel: prune only due entries
+    @Test
+    public void test18() throws InterruptedException {
+        AtomicInteger removeCount = new AtomicInteger();
+        Cache<String, String> cache = CacheTool.<String, String>newUnlimitedCache()
+                .expireAfterWrite(1000)
+                .listener(new CacheListener<>() {
+                    @Override
+                    public void onRemove(String key, String value) throws Exception {
+                        removeCount.incrementAndGet();
+                    }
+                })
+                .build();
+
+        for (int i = 0; i < 1000; i++) {
+            cache.put("key-" + i, "value-" + i);
+        }
+        Assertions.assertEquals(0, cache.prune(), "prune not due fail");
+
+        // expired
+        TimeUnit.MILLISECONDS.sleep(2500);
+        for (int i = 0; i < 10; i++) {
+            cache.put("key2-" + i, "value2-" + i);
+        }
+        Assertions.assertEquals(1000, cache.prune(), "prune due fail");
+        Assertions.assertEquals(10, cache.size(), "prune size fail");
+        Assertions.assertEquals(1000, removeCount.get(), "listener fail");
+
+        // expireAfterAccess: accessed entry is rescheduled
+        Cache<String, String> accessCache = CacheTool.<String, String>newLRUCache(100)
+                .expireAfterAccess(1500)
+                .build();
+        accessCache.put("key01", "value01");
+        accessCache.put("key02", "value02");
+        for (int i = 0; i < 5; i++) {
+            TimeUnit.MILLISECONDS.sleep(500);
+            accessCache.get("key01");
+            accessCache.prune();
+        }
+        Assertions.assertEquals("value01", accessCache.getIfPresent("key01"), "expireAfterAccess fail");
+        Assertions.assertEquals(1, accessCache.size(), "expireAfterAccess prune fail");
+    }
+
+    // async load + refreshAfterWrite
+    @Test
+    public void test19() throws Exception {
+        AtomicInteger loadCount = new AtomicInteger();
+        Cache<String, String> cache = CacheTool.<String, String>newLRUCache(100)
+                .loader(new AsyncCacheLoader<>() {
+                    @Override
+                    public CompletableFuture<String> asyncLoad(String key, Executor executor) {
+                        return CompletableFuture.supplyAsync(() -> {
+                            try {
+                                TimeUnit.MILLISECONDS.sleep(200);
+                            } catch (InterruptedException e) {
+                                throw new RuntimeException(e);
+                            }
+                            return "value-" + loadCount.incrementAndGet();
+                        }, executor);
+                    }
+                })
+                .refreshAfterWrite(500)
+                .build();
+
+        // concurrent async load: shared
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(cache.getAsync("key01"));
+        }
+        for (CompletableFuture<String> future : futures) {
+            Assertions.assertEquals("value-1", future.get(), "async load fail");
+        }
+        Assertions.assertEquals(1, loadCount.get(), "async load shared fail");
+        Assertions.assertEquals("value-1", cache.getIfPresent("key01"), "async load put fail");
+
+        // slow load does not block other keys
+        long start = System.currentTimeMillis();
+        CompletableFuture<String> slowFuture = cache.getAsync("key02");
+        Assertions.assertTrue(System.currentTimeMillis() - start < 100, "async load blocking fail");
+        Assertions.assertEquals("value-2", slowFuture.get());
+
+        // refresh: stale value served, reloaded in background
+        TimeUnit.MILLISECONDS.sleep(600);
+        Assertions.assertEquals("value-1", cache.get("key01"), "refresh stale fail");
+        TimeUnit.MILLISECONDS.sleep(400);
+        Assertions.assertEquals("value-3", cache.get("key01"), "refresh reload fail");
+        Assertions.assertEquals(3, loadCount.get(), "refresh once fail");
+    }
+
+    // getAll/putAll + loadAll
+    @Test
+    public void test20() {
+        AtomicInteger loadAllCount = new AtomicInteger();
+        AtomicInteger loadKeyCount = new AtomicInteger();
+        Cache<String, String> cache = CacheTool.<String, String>newLRUCache(1000)
+                .loader(new CacheLoader<>() {
+                    @Override
+                    public String load(String key) throws Exception {
+                        return "value-" + key;
+                    }
+
+                    @Override
+                    public Map<String, String> loadAll(Set<String> keys) throws Exception {
+                        loadAllCount.incrementAndGet();
+                        loadKeyCount.addAndGet(keys.size());
+                        Map<String, String> result = new HashMap<>();
+                        for (String key : keys) {
+                            if (!key.startsWith("none")) {
+                                result.put(key, "value-" + key);
+                            }
+                        }
+                        return result;
+                    }
+                })
+                .build();
+
+        // putAll
+        Map<String, String> data = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            data.put("key" + i, "value-key" + i);
+        }
+        cache.putAll(data);
+        Assertions.assertEquals(500, cache.size(), "putAll fail");
+
+        // getAll: hit + batch load
+        List<String> keys = new ArrayList<>(Arrays.asList("key1", "key2", "miss1", "miss2", "none1"));
+        Map<String, String> result = cache.getAll(keys);
+        Assertions.assertEquals(Arrays.asList("key1", "key2", "miss1", "miss2"), new ArrayList<>(result.keySet()), "getAll order fail");
+        Assertions.assertEquals("value-miss1", result.get("miss1"), "getAll load fail");
+        Assertions.assertEquals(1, loadAllCount.get(), "loadAll once fail");
+        Assertions.assertEquals(3, loadKeyCount.get(), "loadAll miss keys fail");
+        Assertions.assertEquals("value-miss2", cache.getIfPresent("miss2"), "loadAll put fail");
+        Assertions.assertFalse(cache.containsKey("none1"), "loadAll null fail");
+
+        // all hit: no load
+        cache.getAll(Arrays.asList("key1", "miss1"));
+        Assertions.assertEquals(1, loadAllCount.get(), "getAll hit fail");
+    }
+
+    // maximumWeight + weigher
+    @Test
+    public void test21() {
+        Weigher<String, String> weigher = new Weigher<>() {
+            @Override
+            public int weigh(String key, String value) {
+                return value.length();
+            }
+        };
+
+        for (CacheType cacheType : Arrays.asList(CacheType.FIFO, CacheType.LRU, CacheType.LFU, CacheType.CONCURRENT_LRU, CacheType.TINYLFU)) {
+            Cache<String, String> cache = new CacheTool<String, String>()
+                    .cache(cacheType)
+                    .maximumWeight(1000)
+                    .weigher(weigher)
+                    .build();
+
+            for (int i = 0; i < 200; i++) {
+                cache.put("key" + i, "x".repeat(10 + (i % 5) * 10));
+            }
+            cache.prune();
+            Assertions.assertTrue(cache.weight() <= 1000, cacheType + " weight limit fail, weight = " + cache.weight());
+            Assertions.assertTrue(cache.size() < 200, cacheType + " weight evict fail");
+
+            // weight consistency
+            long weight = cache.asMap().values().stream().mapToLong(String::length).sum();
+            Assertions.assertEquals(weight, cache.weight(), cacheType + " weight consistency fail");
+
+            // large entry evicts multiple
+            cache.put("big", "x".repeat(900));
+            Assertions.assertTrue(cache.weight() <= 1000, cacheType + " big entry weight fail, weight = " + cache.weight());
+
+            // remove/clear
+            cache.remove("big");
+            cache.clear();
+            Assertions.assertEquals(0, cache.weight(), cacheType + " clear weight fail");
+        }
+    }
+
+    // off-heap cache
+    @Test
+    public void test22() throws InterruptedException {
+        AtomicInteger removeCount = new AtomicInteger();
+        Cache<String, String> cache = CacheTool.<String, String>newOffHeapCache(4 * 1024 * 1024)
+                .listener(new CacheListener<>() {
+                    @Override
+                    public void onRemove(String key, String value) throws Exception {
+                        removeCount.incrementAndGet();
+                    }
+                })
+                .build();
+        OffHeapCache<String, String> offHeapCache = (OffHeapCache<String, String>) cache;
+
+        // put/get
+        cache.put("key01", "value01");
+        cache.put("key02", null);
+        Assertions.assertEquals("value01", cache.get("key01"), "get fail");
+        Assertions.assertNull(cache.get("key02"), "get null fail");
+        Assertions.assertTrue(cache.containsKey("key02"), "containsKey null fail");
+        cache.put("key01", "value01-v2");
+        Assertions.assertEquals("value01-v2", cache.get("key01"), "replace fail");
+        cache.remove("key01");
+        Assertions.assertNull(cache.get("key01"), "remove fail");
+        Assertions.assertEquals(1, removeCount.get(), "listener fail");
+
+        // evict: memory limit
+        String value = "x".repeat(1000);
+        for (int i = 0; i < 20000; i++) {
+            cache.put("key-" + i, value + i);
+        }
+        Assertions.assertTrue(offHeapCache.offHeapAllocated() <= offHeapCache.offHeapMax(), "memory limit fail");
+        Assertions.assertTrue(cache.size() < 20000, "evict fail");
+        Assertions.assertEquals(value + 19999, cache.get("key-19999"), "evict recent fail");
+        Assertions.assertNull(cache.getIfPresent("key-0"), "evict eldest fail");
+        Assertions.assertTrue(removeCount.get() > 1, "evict listener fail");
+        logger.info("off-heap cache, size = {}, weight = {}, allocated = {}, used = {}",
+                cache.size(), cache.weight(), offHeapCache.offHeapAllocated(), offHeapCache.offHeapUsed());
+
+        // evict across size class
+        cache.put("big", "y".repeat(500 * 1024));
+        Assertions.assertEquals(500 * 1024, cache.get("big").length(), "size class evict fail");
+
+        // clear
+        cache.clear();
+        Assertions.assertEquals(0, cache.size(), "clear fail");
+        Assertions.assertEquals(0, cache.weight(), "clear weight fail");
+
+        // ttl
+        Cache<String, String> ttlCache = CacheTool.<String, String>newOffHeapCache()
+                .expireAfterWrite(500)
+                .build();
+        ttlCache.put("key01", "value01");
+        Assertions.assertEquals("value01", ttlCache.get("key01"));
+        TimeUnit.MILLISECONDS.sleep(1500);
+        Assertions.assertEquals(1, ttlCache.prune(), "prune fail");
+        Assertions.assertNull(ttlCache.get("key01"), "expire fail");
+    }
+
+    // disk overflow tier
+    @Test
+    public void test23() throws Exception {
+        Path dir = Files.createTempDirectory("xxl-tool-cache-overflow");
+        AtomicInteger loadCount = new AtomicInteger();
+        Cache<String, String> cache = CacheTool.<String, String>newLRUCache(100)
+                .overflowToDisk(dir, 16 * 1024 * 1024)
+                .loader(new CacheLoader<>() {
+                    @Override
+                    public String load(String key) throws Exception {
+                        loadCount.incrementAndGet();
+                        return "value-" + key;
+                    }
+                })
+                .build();
+
+        // evicted entries spill to disk, later misses are served from disk
+        for (int i = 0; i < 1000; i++) {
+            cache.put("key" + i, "value-key" + i);
+        }
+        Assertions.assertEquals(100, cache.size(), "heap size fail");
+        for (int i = 0; i < 1000; i++) {
+            Assertions.assertEquals("value-key" + i, cache.get("key" + i), "disk hit fail");
+        }
+        Assertions.assertEquals(0, loadCount.get(), "disk hit load fail");
+        Assertions.assertTrue(cache.containsKey("key0"), "disk containsKey fail");
+
+        // remove: both tiers
+        cache.remove("key0");
+        Assertions.assertNull(cache.getIfPresent("key0"), "remove fail");
+        cache.clear();
+        Assertions.assertEquals("value-key1", cache.get("key1"), "clear fail");
+        Assertions.assertEquals(1, loadCount.get(), "clear load fail");
+
+        // compact
+        DiskStore<String, String> diskStore = new DiskStore<>(dir.resolve("compact"), 64 * 1024, 1024 * 1024, SerializerEnum.JAVA.getSerializer());
+        for (int i = 0; i < 1000; i++) {
+            diskStore.put(new CacheObject<>("key" + i, "x".repeat(200), 0, true));
+        }
+        int segmentCount = diskStore.segmentCount();
+        for (int i = 0; i < 900; i++) {
+            diskStore.delete("key" + i);
+        }
+        Assertions.assertTrue(diskStore.compact() > 0, "compact fail");
+        Assertions.assertTrue(diskStore.segmentCount() < segmentCount, "compact segment fail");
+        Assertions.assertEquals(100, diskStore.size(), "compact size fail");
+        Assertions.assertEquals("x".repeat(200), diskStore.remove("key999").getValue(), "compact data fail");
+
+        // compact: 迁移时淘汰的待压缩 Segment，其数据不再迁移
+        DiskStore<String, String> fullStore = new DiskStore<>(dir.resolve("compact-full"), 4096, 8192, SerializerEnum.JAVA.getSerializer());
+        for (int i = 0; i < 38; i++) {
+            fullStore.put(new CacheObject<>("key" + i, "x".repeat(200), 0, true));
+        }
+        Assertions.assertEquals(2, fullStore.segmentCount(), "compact full segment fail");
+        for (int i = 0; i < 15; i++) {
+            fullStore.delete("key" + i);
+        }
+        fullStore.compact();
+        Assertions.assertFalse(fullStore.containsKey("key15"), "compact evicted fail");
+        Assertions.assertEquals(19, fullStore.size(), "compact evicted size fail");
+        Assertions.assertEquals("x".repeat(200), fullStore.remove("key37").getValue(), "compact evicted data fail");
+    }
+
+    // snapshot + warm restart
+    @Test
+    public void test24() throws Exception {
+        Path path = Files.createTempDirectory("xxl-tool-cache-snapshot").resolve("cache.snapshot");
+
+        // lru: recency order kept
+        Cache<String, String> cache = CacheTool.<String, String>newLRUCache(5)
+                .expireAfterWrite(60 * 1000)
+                .build();
+        for (int i = 1; i <= 5; i++) {
+            cache.put("key0" + i, "value0" + i);
+        }
+        cache.get("key01");     // key02 is eldest now
+        Assertions.assertEquals(5, cache.snapshotTo(path), "snapshot fail");
+
+        Cache<String, String> warmCache = CacheTool.<String, String>newLRUCache(5)
+                .expireAfterWrite(60 * 1000)
+                .warmFrom(path)
+                .build();
+        Assertions.assertEquals(5, warmCache.size(), "warm fail");
+        Assertions.assertEquals("value03", warmCache.getIfPresent("key03"), "warm value fail");
+        warmCache.put("key06", "value06");
+        Assertions.assertFalse(warmCache.containsKey("key02"), "warm recency fail");
+        Assertions.assertTrue(warmCache.containsKey("key01"), "warm recency fail");
+
+        // remaining ttl kept, expired entries skipped
+        Cache<String, String> ttlCache = CacheTool.<String, String>newLRUCache(10)
+                .expireAfterWrite(1000)
+                .build();
+        ttlCache.put("key01", "value01");
+        ttlCache.snapshotTo(path);
+        TimeUnit.MILLISECONDS.sleep(1200);
+        Cache<String, String> ttlWarmCache = CacheTool.<String, String>newLRUCache(10)
+                .expireAfterWrite(1000)
+                .warmFrom(path)
+                .build();
+        Assertions.assertEquals(0, ttlWarmCache.size(), "warm ttl fail");
+
+        // lfu: frequency order kept
+        Cache<String, String> lfuCache = CacheTool.<String, String>newLFUCache(3).build();
+        lfuCache.put("key01", "value01");
+        lfuCache.put("key02", "value02");
+        lfuCache.put("key03", "value03");
+        for (int i = 0; i < 3; i++) {
+            lfuCache.get("key01");
+            lfuCache.get("key03");
+        }
+        lfuCache.snapshotTo(path);
+        Cache<String, String> lfuWarmCache = CacheTool.<String, String>newLFUCache(3)
+                .warmFrom(path)
+                .build();
+        lfuWarmCache.put("key04", "value04");
+        Assertions.assertFalse(lfuWarmCache.containsKey("key02"), "warm frequency fail");
+        Assertions.assertTrue(lfuWarmCache.containsKey("key01"), "warm frequency fail");
+        Assertions.assertTrue(lfuWarmCache.containsKey("key03"), "warm frequency fail");
+        // 恢复的访问次数高于新对象，新对象先被淘汰
+        lfuWarmCache.put("key05", "value05");
+        Assertions.assertFalse(lfuWarmCache.containsKey("key04"), "warm frequency fail");
+        Assertions.assertTrue(lfuWarmCache.containsKey("key01"), "warm frequency fail");
+        Assertions.assertTrue(lfuWarmCache.containsKey("key03"), "warm frequency fail");
+    }
+
+    // stats
+    @Test
+    public void test25() throws InterruptedException {
+        Cache<String, String> cache = CacheTool.<String, String>newLRUCache(10)
+                .expireAfterWrite(500)
+                .recordStats()
+                .loader(new CacheLoader<>() {
+                    @Override
+                    public String load(String key) throws Exception {
+                        if (key.startsWith("error")) {
+                            throw new IllegalStateException("load error");
+                        }
+                        TimeUnit.MILLISECONDS.sleep(5);
+                        return "value-" + key;
+                    }
+                })
+                .build();
+
+        for (int i = 0; i < 20; i++) {
+            cache.get("key" + i);       // 20 load, 10 eviction
+        }
+        cache.get("key19");             // hit
+        Assertions.assertThrows(RuntimeException.class, () -> cache.get("error01"));
+        TimeUnit.MILLISECONDS.sleep(1500);
+        cache.prune();                  // 10 expiration
+
+        CacheStats stats = cache.stats();
+        logger.info("stats: {}", stats);
+        Assertions.assertEquals(1, stats.hitCount(), "hit fail");
+        Assertions.assertEquals(21, stats.missCount(), "miss fail");
+        Assertions.assertEquals(20, stats.loadSuccessCount(), "load success fail");
+        Assertions.assertEquals(1, stats.loadFailureCount(), "load failure fail");
+        Assertions.assertEquals(10, stats.evictionCount(), "eviction fail");
+        Assertions.assertEquals(10, stats.evictionWeight(), "eviction weight fail");
+        Assertions.assertEquals(10, stats.expirationCount(), "expiration fail");
+        Assertions.assertTrue(stats.loadTimePercentile(50) >= TimeUnit.MILLISECONDS.toNanos(4), "load percentile fail");
+        Assertions.assertTrue(stats.loadTimePercentile(99) >= stats.loadTimePercentile(50), "load percentile order fail");
+
+        // disabled: hit/miss only
+        Cache<String, String> noStatsCache = CacheTool.<String, String>newLRUCache(1).build();
+        noStatsCache.put("key01", "value01");
+        noStatsCache.put("key02", "value02");
+        noStatsCache.get("key02");
+        Assertions.assertEquals(1, noStatsCache.stats().hitCount(), "disabled hit fail");
+        Assertions.assertEquals(0, noStatsCache.stats().evictionCount(), "disabled eviction fail");
+    }
+
+
+    // ticker
+    @Test
+    public void test26() {
+        // expireAfterWrite：手动推进时间，无需 sleep
+        ManualTicker ticker = new ManualTicker();
+        Cache<String, String> cache = CacheTool.<String, String>newLRUCache(10)
+                .expireAfterWrite(1000)
+                .ticker(ticker)
+                .build();
+        cache.put("key01", "value01");
+        ticker.advance(1000);
+        Assertions.assertEquals("value01", cache.get("key01"), "ticker expireAfterWrite fail");
+        ticker.advance(1);
+        Assertions.assertNull(cache.get("key01"), "ticker expireAfterWrite fail");
+
+        // expireAfterAccess：访问后重新计时，定时清理按时钟推进时间轮
+        ManualTicker accessTicker = new ManualTicker(System.currentTimeMillis());
+        Cache<String, String> accessCache = CacheTool.<String, String>newConcurrentLRUCache(10)
+                .expireAfterAccess(1000)
+                .ticker(accessTicker)
+                .build();
+        accessCache.put("key01", "value01");
+        accessCache.put("key02", "value02");
+        accessTicker.advance(800, TimeUnit.MILLISECONDS);
+        accessCache.get("key01");
+        accessTicker.advance(800, TimeUnit.MILLISECONDS);
+        Assertions.assertEquals(1, accessCache.prune(), "ticker prune fail");
+        Assertions.assertTrue(accessCache.containsKey("key01"), "ticker expireAfterAccess fail");
+        Assertions.assertFalse(accessCache.containsKey("key02"), "ticker expireAfterAccess fail");
+        accessTicker.advance(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(1, accessCache.prune(), "ticker prune fail");
+        Assertions.assertEquals(0, accessCache.size(), "ticker prune fail");
+
+        // off-heap
+        ManualTicker offHeapTicker = new ManualTicker();
+        Cache<String, String> offHeapCache = CacheTool.<String, String>newOffHeapCache(1024 * 1024)
+                .expireAfterWrite(1000)
+                .ticker(offHeapTicker)
+                .build();
+        offHeapCache.put("key01", "value01");
+        offHeapTicker.advance(1001);
+        Assertions.assertNull(offHeapCache.get("key01"), "ticker off-heap fail");
+
+        // cached ticker：粗粒度时钟，误差不超出刷新间隔
+        Ticker cachedTicker = Ticker.cached();
+        long diff = Math.abs(System.currentTimeMillis() - cachedTicker.read());
+        logger.info("cached ticker diff: {}ms", diff);
+        Assertions.assertTrue(diff < 1000, "cached ticker fail");
+    }
+
+    // long key
+    @Test
+    public void test27() {
+        // lru
+        LongKeyCache<String> lruCache = CacheTool.<String>newLongKeyCache(3).buildLongKeyCache();
+        lruCache.put(1L, "v1");
+        lruCache.put(2L, "v2");
+        lruCache.put(3L, "v3");
+        lruCache.get(1L);
+        lruCache.put(4L, "v4");
+        Assertions.assertFalse(lruCache.containsKey(2L), "long key lru fail");
+        Assertions.assertEquals("v1", lruCache.get(1L), "long key lru fail");
+        Assertions.assertEquals(3, lruCache.size(), "long key lru fail");
+
+        // lfu
+        LongKeyCache<String> lfuCache = CacheTool.<String>newLongKeyCache(CacheType.LFU, 3).buildLongKeyCache();
+        lfuCache.put(1L, "v1");
+        lfuCache.put(2L, "v2");
+        lfuCache.put(3L, "v3");
+        for (int i = 0; i < 3; i++) {
+            lfuCache.get(1L);
+            lfuCache.get(3L);
+        }
+        lfuCache.put(4L, "v4");
+        Assertions.assertFalse(lfuCache.containsKey(2L), "long key lfu fail");
+        Assertions.assertTrue(lfuCache.containsKey(1L) && lfuCache.containsKey(3L), "long key lfu fail");
+
+        // fifo
+        LongKeyCache<String> fifoCache = CacheTool.<String>newLongKeyCache(CacheType.FIFO, 3).buildLongKeyCache();
+        fifoCache.put(1L, "v1");
+        fifoCache.put(2L, "v2");
+        fifoCache.put(3L, "v3");
+        fifoCache.get(1L);
+        fifoCache.put(4L, "v4");
+        Assertions.assertFalse(fifoCache.containsKey(1L), "long key fifo fail");
+
+        // expire + listener
+        ManualTicker ticker = new ManualTicker();
+        List<Long> removedKeys = new ArrayList<>();
+        LongKeyCache<String> expireCache = CacheTool.<String>newLongKeyCache(100)
+                .expireAfterWrite(1000)
+                .ticker(ticker)
+                .listener(new CacheListener<>() {
+                    @Override
+                    public void onRemove(Long key, String value) {
+                        removedKeys.add(key);
+                    }
+                })
+                .buildLongKeyCache();
+        for (long i = 0; i < 10; i++) {
+            expireCache.put(i, "v" + i);
+        }
+        ticker.advance(1001);
+        expireCache.put(100L, "v100");
+        Assertions.assertNull(expireCache.get(0L), "long key expire fail");
+        Assertions.assertEquals(9, expireCache.prune(), "long key prune fail");
+        Assertions.assertEquals(10, removedKeys.size(), "long key listener fail");
+        Assertions.assertEquals("v100", expireCache.get(100L), "long key expire fail");
+
+        // random：与 HashMap 对比（覆盖哈希表后移删除、槽位复用）
+        LongKeyCache<Long> randomCache = CacheTool.<Long>newLongKeyCache(1 << 20).buildLongKeyCache();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(5000) * 1024L;       // 低位相同，制造哈希冲突
+            if (random.nextInt(3) == 0) {
+                randomCache.remove(key);
+                expected.remove(key);
+            } else {
+                randomCache.put(key, Long.valueOf(i));
+                expected.put(key, (long) i);
+            }
+        }
+        Assertions.assertEquals(expected.size(), randomCache.size(), "long key random fail");
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            Assertions.assertEquals(entry.getValue(), randomCache.getIfPresent(entry.getKey().longValue()), "long key random fail");
+        }
+        Assertions.assertEquals(expected, randomCache.asMap(), "long key random fail");
+
+        // random：容量淘汰（LFU 频率桶、槽位复用）
+        LongKeyCache<Long> evictCache = CacheTool.<Long>newLongKeyCache(CacheType.LFU, 1000).buildLongKeyCache();
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(5000);
+            if (random.nextInt(2) == 0) {
+                evictCache.get(key);
+            } else {
+                evictCache.put(key, Long.valueOf(key));
+            }
+        }
+        Map<Long, Long> evictMap = evictCache.asMap();
+        Assertions.assertEquals(1000, evictCache.size(), "long key evict fail");
+        Assertions.assertEquals(1000, evictMap.size(), "long key evict fail");
+        for (Map.Entry<Long, Long> entry : evictMap.entrySet()) {
+            Assertions.assertEquals(entry.getKey(), entry.getValue(), "long key evict fail");
+        }
+
+        // stripe：默认按容量分段，小容量不分段
+        Assertions.assertEquals(16, randomCache.stripeCount(), "long key stripe fail");
+        Assertions.assertEquals(1, evictCache.stripeCount(), "long key stripe fail");
+
+        // stripe：多线程读写，stripe 内淘汰（LRU、LFU、FIFO）
+        for (CacheType cacheType : new CacheType[]{CacheType.LRU, CacheType.LFU, CacheType.FIFO}) {
+            LongKeyCache<Long> stripedCache = CacheTool.<Long>newLongKeyCache(cacheType, 4000).segments(4).buildLongKeyCache();
+            Assertions.assertEquals(4, stripedCache.stripeCount(), "long key stripe fail");
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                long seed = t;
+                futures.add(CompletableFuture.runAsync(() -> {
+                    Random threadRandom = new Random(seed);
+                    for (int i = 0; i < 100_000; i++) {
+                        long key = threadRandom.nextInt(10_000);
+                        int op = threadRandom.nextInt(10);
+                        if (op == 0) {
+                            stripedCache.remove(key);
+                        } else if (op < 5) {
+                            stripedCache.put(key, Long.valueOf(key));
+                        } else {
+                            Long value = stripedCache.getIfPresent(key);
+                            if (value != null && value != key) {
+                                throw new IllegalStateException("long key stripe value fail, key:" + key);
+                            }
+                        }
+                    }
+                }));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            Map<Long, Long> stripedMap = stripedCache.asMap();
+            Assertions.assertTrue(stripedCache.size() <= 4000, "long key stripe evict fail");
+            Assertions.assertEquals(stripedCache.size(), stripedMap.size(), "long key stripe fail");
+            for (Map.Entry<Long, Long> entry : stripedMap.entrySet()) {
+                Assertions.assertEquals(entry.getKey(), entry.getValue(), "long key stripe fail");
+            }
+            stripedCache.clear();
+            Assertions.assertEquals(0, stripedCache.size(), "long key stripe clear fail");
+            stripedCache.put(1L, Long.valueOf(1));
+            Assertions.assertEquals(Long.valueOf(1), stripedCache.getIfPresent(1L), "long key stripe clear fail");
+        }
+
+        // 不支持的配置：build 报错
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheTool.<Long>newLongKeyCache(100).recordStats().build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheTool.<Long>newLongKeyCache(100).negativeTtl(1000).build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheTool.<Long>newLongKeyCache(100).refreshAfterWrite(1000).build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheTool.<Long>newLongKeyCache(100).staleIfError(1000).build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheTool.<Long>newLongKeyCache(100).maximumWeight(1000).build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheTool.<Long>newLongKeyCache(100).warmFrom(Path.of("cache.snapshot")).build());
+    }
+
+    // negative cache + coalescing
+    @Test
+    public void test28() throws Exception {
+        // negative
+        ManualTicker ticker = new ManualTicker();
+        AtomicInteger loadCount = new AtomicInteger();
+        Cache<String, String> cache = CacheTool.<String, String>newLRUCache(100)
+                .negativeTtl(1000)
+                .ticker(ticker)
+                .loader(new CacheLoader<>() {
+                    @Override
+                    public String load(String key) {
+                        loadCount.incrementAndGet();
+                        return key.startsWith("missing") ? null : "value-" + key;
+                    }
+                })
+                .build();
+        Assertions.assertNull(cache.get("missing01"));
+        Assertions.assertNull(cache.get("missing01"));
+        Assertions.assertEquals(1, loadCount.get(), "negative cache fail");
+        Assertions.assertFalse(cache.containsKey("missing01"), "negative containsKey fail");
+        Assertions.assertFalse(cache.asMap().containsKey("missing01"), "negative asMap fail");
+        Assertions.assertTrue(cache.getAll(List.of("missing01", "key01")).containsKey("key01"), "negative getAll fail");
+        Assertions.assertEquals(2, loadCount.get(), "negative getAll fail");
+        ticker.advance(1001);
+        Assertions.assertNull(cache.get("missing01"));
+        Assertions.assertEquals(3, loadCount.get(), "negative expire fail");
+        cache.put("missing01", "value01");
+        Assertions.assertEquals("value01", cache.get("missing01"), "negative overwrite fail");
+
+        // coalescing：同一 key 并发未命中仅加载一次，且加载不占用 key 锁
+        AtomicInteger slowLoadCount = new AtomicInteger();
+        Cache<Integer, String> slowCache = CacheTool.<Integer, String>newLRUCache(100)
+                .loader(new CacheLoader<>() {
+                    @Override
+                    public String load(Integer key) throws Exception {
+                        slowLoadCount.incrementAndGet();
+                        TimeUnit.MILLISECONDS.sleep(500);
+                        return "value-" + key;
+                    }
+                })
+                .build();
+        int threads = 10;
+        CountDownLatch latch = new CountDownLatch(threads);
+        List<String> results = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                results.add(slowCache.get(1));
+                latch.countDown();
+            }).start();
+        }
+        TimeUnit.MILLISECONDS.sleep(100);
+        long start = System.currentTimeMillis();
+        slowCache.put(101, "value-101");                    // 与 key 1 同一锁分段
+        Assertions.assertEquals("value-101", slowCache.getIfPresent(101));
+        Assertions.assertTrue(System.currentTimeMillis() - start < 300, "coalescing lock fail");
+        latch.await();
+        Assertions.assertEquals(1, slowLoadCount.get(), "coalescing fail");
+        Assertions.assertEquals(threads, results.stream().filter("value-1"::equals).count(), "coalescing fail");
+    }
+
+    // stale-while-revalidate + stale-if-error
+    @Test
+    public void test29() {
+        AtomicInteger version = new AtomicInteger();
+        AtomicInteger failing = new AtomicInteger();
+        CacheLoader<String, String> loader = new CacheLoader<>() {
+            @Override
+            public String load(String key) {
+                if (failing.get() > 0) {
+                    throw new IllegalStateException("upstream down");
+                }
+                return key + "-" + version.incrementAndGet();
+            }
+        };
+
+        // stale-while-revalidate：过期后返回旧值，后台重新加载（同步线程池，便于验证）
+        ManualTicker ticker = new ManualTicker();
+        Cache<String, String> swrCache = CacheTool.<String, String>newLRUCache(100)
+                .expireAfterWrite(1000)
+                .staleWhileRevalidate(1000)
+                .executor(Runnable::run)
+                .ticker(ticker)
+                .loader(loader)
+                .build();
+        Assertions.assertEquals("key01-1", swrCache.get("key01"));
+        ticker.advance(1500);
+        Assertions.assertEquals("key01-1", swrCache.get("key01"), "stale-while-revalidate fail");
+        Assertions.assertEquals("key01-2", swrCache.get("key01"), "stale-while-revalidate reload fail");
+        ticker.advance(2500);
+        Assertions.assertEquals(1, swrCache.prune(), "stale retention prune fail");
+        Assertions.assertFalse(swrCache.containsKey("key01"), "stale retention prune fail");
+
+        // stale-if-error：过期后重新加载，加载失败时返回旧值；超出保留期后抛出异常
+        ManualTicker errorTicker = new ManualTicker();
+        Cache<String, String> sieCache = CacheTool.<String, String>newLRUCache(100)
+                .expireAfterWrite(1000)
+                .staleIfError(5000)
+                .ticker(errorTicker)
+                .loader(loader)
+                .build();
+        String value = sieCache.get("key02");
+        failing.set(1);
+        errorTicker.advance(3000);
+        Assertions.assertFalse(sieCache.containsKey("key02"), "stale containsKey fail");
+        Assertions.assertEquals(value, sieCache.get("key02"), "stale-if-error fail");
+        Assertions.assertEquals(value, sieCache.getAsync("key02").join(), "stale-if-error async fail");
+        Assertions.assertEquals(value, sieCache.getAll(List.of("key02")).get("key02"), "stale-if-error getAll fail");
+        errorTicker.advance(3001);
+        Assertions.assertThrows(RuntimeException.class, () -> sieCache.get("key02"), "stale-if-error expire fail");
+
+        // recover
+        failing.set(0);
+        Assertions.assertNotEquals(value, sieCache.get("key02"), "stale-if-error recover fail");
+    }
+
+    /**
+     * 缓存策略模拟：回放 Zipf 轨迹
+     */
+    @Test
+    public void test30() throws Exception {
+        // trace: 热点访问 + 扫描
+        Trace trace = Trace.zipf(50_000, 5_000, 0.9, 1L);
+        String[] scanKeys = new String[5_000];
+        for (int i = 0; i < scanKeys.length; i++) {
+            scanKeys[i] = "scan-" + i;
+        }
+        trace = trace.concat(Trace.of(scanKeys)).concat(Trace.zipf(50_000, 5_000, 0.9, 2L));
+
+        // file
+        Path file = Files.createTempFile("cache", ".trace");
+        trace.write(file);
+        Trace read = Trace.read(file);
+        Files.deleteIfExists(file);
+        Assertions.assertEquals(trace.size(), read.size(), "trace read fail");
+        Assertions.assertArrayEquals(trace.keys(), read.keys(), "trace read fail");
+
+        // simulate
+        List<SimulationResult> results = new CacheSimulator(read)
+                .capacities(100, 1000)
+                .run();
+        logger.info("simulate result:\n{}", CacheSimulator.report(results));
+
+        Assertions.assertEquals(5 * 2 + 1, results.size(), "simulate result size fail");
+        for (SimulationResult result : results) {
+            Assertions.assertEquals(trace.size(), result.getRequestCount());
+            if (result.getCacheType() == CacheType.UNLIMITED) {
+                Assertions.assertEquals(trace.size() - trace.distinctKeys(), result.getHitCount(), "unlimited hit fail");
+                Assertions.assertEquals(0, result.getEvictionCount());
+            } else {
+                Assertions.assertTrue(result.getEvictionCount() > 0, "eviction fail: " + result);
+            }
+        }
+
+        // 容量越大，命中率越高
+        SimulationResult lru100 = new CacheSimulator(read).simulate(CacheType.LRU, 100);
+        SimulationResult lru1000 = new CacheSimulator(read).simulate(CacheType.LRU, 1000);
+        Assertions.assertTrue(lru1000.getHitRate() > lru100.getHitRate(), "capacity hitRate fail");
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CacheSimulator(read).cacheTypes(CacheType.OFFHEAP));
+    }
+
+    /**
+     * 分段缓存：分段独立 存储、淘汰、清理
+     */
+    @Test
+    public void test31() throws Exception {
+        ManualTicker ticker = new ManualTicker();
+        Cache<String, String> cache = CacheTool.<String, String>newLRUCache(1000)
+                .segments(3)
+                .expireAfterWrite(1000)
+                .recordStats()
+                .ticker(ticker)
+                .build();
+        Assertions.assertInstanceOf(SegmentedCache.class, cache);
+        SegmentedCache<String, String> segmentedCache = (SegmentedCache<String, String>) cache;
+        Assertions.assertEquals(4, segmentedCache.segmentCount(), "segment count fail");
+        Assertions.assertEquals(1000, cache.capacity(), "segment capacity fail");
+
+        // put + evict：各分段独立淘汰，总数量不超出容量
+        for (int i = 0; i < 2000; i++) {
+            cache.put("key" + i, "value" + i);
+        }
+        Assertions.assertTrue(cache.size() <= 1000, "segment evict fail: " + cache.size());
+        for (int i = 0; i < segmentedCache.segmentCount(); i++) {
+            Assertions.assertTrue(segmentedCache.segment(i).size() > 0, "segment distribution fail");
+            Assertions.assertTrue(segmentedCache.segment(i).size() <= 250, "segment capacity fail");
+        }
+        Assertions.assertEquals(2000 - cache.size(), cache.stats().evictionCount(), "segment stats fail");
+
+        // get + getAll：保持入参顺序
+        Assertions.assertEquals("value1999", cache.get("key1999"));
+        Map<String, String> values = cache.getAll(List.of("key1999", "key1", "key1998"));
+        Assertions.assertEquals(List.of("key1999", "key1998"), new ArrayList<>(values.keySet()), "segment getAll fail");
+        Assertions.assertEquals(cache.size(), cache.asMap().size(), "segment asMap fail");
+
+        // snapshot + warm：分段数量不同时按 key 重新分配分段
+        Path path = Files.createTempFile("cache", ".snapshot");
+        int count = cache.snapshotTo(path);
+        Assertions.assertEquals(cache.size(), count, "segment snapshot fail");
+        Cache<String, String> warmCache = CacheTool.<String, String>newLRUCache(1000)
+                .segments(2)
+                .ticker(ticker)
+                .warmFrom(path)
+                .build();
+        Files.deleteIfExists(path);
+        Assertions.assertEquals(count, warmCache.size(), "segment warm fail");
+        Assertions.assertEquals("value1999", warmCache.getIfPresent("key1999"), "segment warm fail");
+
+        // prune：逐个分段清理已过期对象（时间轮精度约 1s）
+        ticker.advance(3000);
+        Assertions.assertEquals(count, cache.prune(), "segment prune fail");
+        Assertions.assertTrue(cache.isEmpty(), "segment prune fail");
+
+        // clear
+        warmCache.clear();
+        Assertions.assertTrue(warmCache.isEmpty(), "segment clear fail");
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheTool.<String, String>newOffHeapCache().segments(2).build());
+    }
+
+    /**
+     * 跨节点失效总线：进程内传输层 + UDP 回环传输层
+     */
+    @Test
+    public void test32() throws Exception {
+        // local transport
+        LocalInvalidationTransport local1 = new LocalInvalidationTransport();
+        LocalInvalidationTransport local2 = local1.peer();
+        verifyInvalidation(new InvalidationBus(local1).start(), new InvalidationBus(local2).start());
+
+        // udp transport（单播，本机回环，随机端口）
+        UdpInvalidationTransport udp1 = UdpInvalidationTransport.unicast(new InetSocketAddress("127.0.0.1", 0), null);
+        UdpInvalidationTransport udp2 = UdpInvalidationTransport.unicast(new InetSocketAddress("127.0.0.1", 0), null);
+        InvalidationBus udpBus1 = new InvalidationBus(udp1).start();
+        InvalidationBus udpBus2 = new InvalidationBus(udp2).start();
+        udp1.addPeer(udp2.localAddress());
+        udp2.addPeer(udp1.localAddress());
+        verifyInvalidation(udpBus1, udpBus2);
+    }
+
+    private void verifyInvalidation(InvalidationBus bus1, InvalidationBus bus2) throws Exception {
+        List<String> removed = new CopyOnWriteArrayList<>();
+        Cache<String, String> cache1 = CacheTool.<String, String>newLRUCache(1000)
+                .invalidationBus(bus1, "userCache")
+                .build();
+        Cache<String, String> cache2 = CacheTool.<String, String>newLRUCache(1000)
+                .loader(new CacheLoader<>() {
+                    @Override
+                    public String load(String key) {
+                        return "loaded-" + key;
+                    }
+                })
+                .listener(new CacheListener<>() {
+                    @Override
+                    public void onRemove(String key, String value) {
+                        removed.add(key);
+                    }
+                })
+                .invalidationBus(bus2, "userCache")
+                .build();
+
+        try {
+            // 加载不发布失效
+            Assertions.assertEquals("loaded-key01", cache2.get("key01"));
+            cache1.put("key01", "value01");
+            Assertions.assertTrue(awaitTrue(() -> !cache2.containsKey("key01")), "invalidation put fail");
+            Assertions.assertTrue(awaitTrue(() -> removed.contains("key01")), "invalidation listener fail");
+            Assertions.assertEquals("value01", cache1.getIfPresent("key01"), "invalidation self fail");
+
+            // 接收方删除不再发布（避免回环）
+            long publishCount = bus2.publishCount();
+            Assertions.assertEquals(0, publishCount, "invalidation loop fail");
+
+            // remove
+            cache2.put("key02", "value02");
+            Assertions.assertTrue(awaitTrue(() -> bus1.receiveCount() >= 1), "invalidation receive fail");
+            cache1.put("key02", "value02");
+            cache2.put("key02", "value02");
+            Assertions.assertTrue(awaitTrue(() -> !cache1.containsKey("key02")), "invalidation remove fail");
+
+            // 批量：写入聚合为少量数据报
+            long datagramCount = bus1.datagramCount();
+            for (int i = 0; i < 200; i++) {
+                cache2.put("batch" + i, "value" + i);
+            }
+            for (int i = 0; i < 200; i++) {
+                cache1.put("batch" + i, "value" + i);
+            }
+            Assertions.assertTrue(awaitTrue(() -> cache2.getIfPresent("batch199") == null), "invalidation batch fail");
+            long sent = bus1.datagramCount() - datagramCount;
+            logger.info("invalidation batch: 200 writes -> {} datagrams", sent);
+            Assertions.assertTrue(sent < 200, "invalidation batch fail: " + sent);
+        } finally {
+            bus1.stop();
+            bus2.stop();
+        }
+    }
+
+    private static boolean awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        return condition.getAsBoolean();
+    }
+
+    /**
+     * 代理方法结果缓存：@Cacheable
+     */
+    public interface DemoService {
+        @Cacheable(ttl = 60 * 1000, capacity = 100)
+        String echo(String name);
+
+        String echoNoCache(String name);
+    }
+
+    @Test
+    public void test33() throws Exception {
+        // server：每次请求返回递增序号，模拟远程调用
+        AtomicInteger requestCount = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.createContext("/", exchange -> {
+            int count = requestCount.incrementAndGet();
+            try {
+                TimeUnit.MILLISECONDS.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = ("\"resp-" + count + "\"").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        try {
+            DemoService demoService = new HttpClient()
+                    .url("http://127.0.0.1:" + server.getAddress().getPort())
+                    .proxy(DemoService.class);
+
+            // 相同参数：命中缓存
+            String result = demoService.echo("jack");
+            Assertions.assertEquals(result, demoService.echo("jack"), "cacheable hit fail");
+            Assertions.assertEquals(1, requestCount.get(), "cacheable hit fail");
+
+            // 不同参数：重新调用
+            Assertions.assertNotEquals(result, demoService.echo("tom"), "cacheable key fail");
+            Assertions.assertEquals(2, requestCount.get(), "cacheable key fail");
+
+            // 并发未命中：仅调用一次
+            int threads = 8;
+            CountDownLatch latch = new CountDownLatch(threads);
+            List<String> results = new CopyOnWriteArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                new Thread(() -> {
+                    try {
+                        results.add(demoService.echo("lucy"));
+                    } finally {
+                        latch.countDown();
+                    }
+                }).start();
+            }
+            Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(threads, results.size());
+            Assertions.assertEquals(1, results.stream().distinct().count(), "cacheable in-flight fail");
+            Assertions.assertEquals(3, requestCount.get(), "cacheable in-flight fail");
+
+            // 未标注 @Cacheable：每次调用
+            demoService.echoNoCache("jack");
+            demoService.echoNoCache("jack");
+            Assertions.assertEquals(5, requestCount.get(), "cacheable skip fail");
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    /**
+     * 跨节点失效总线：受限 key 编解码，拒绝非法数据报
+     */
+    @Test
+    public void test34() throws Exception {
+        // codec：仅支持 String / Long / Integer
+        SimpleInvalidationKeyCodec codec = new SimpleInvalidationKeyCodec();
+        Assertions.assertEquals("key01", codec.decode(codec.encode("key01")));
+        Assertions.assertEquals(123L, codec.decode(codec.encode(123L)));
+        Assertions.assertEquals(456, codec.decode(codec.encode(456)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> codec.encode(new Date()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> codec.decode(new byte[]{(byte) 0xAC, (byte) 0xED, 0, 5}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> codec.decode(new byte[]{2, 1, 2}));
+
+        // LongKeyCache 不触发写入回调，不支持挂载
+        LocalInvalidationTransport local1 = new LocalInvalidationTransport();
+        LocalInvalidationTransport local2 = local1.peer();
+        InvalidationBus bus = new InvalidationBus(local2).start();
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> bus.attach("longCache", CacheTool.<String>newLongKeyCache(100).build()));
+
+        // 非法数据报：Java 序列化 key、越界长度均被忽略，合法 key 正常失效
+        Cache<String, String> cache = CacheTool.<String, String>newLRUCache(100)
+                .invalidationBus(bus, "userCache")
+                .build();
+        try {
+            cache.put("key01", "value01");
+            ByteArrayOutputStream javaKey = new ByteArrayOutputStream();
+            try (ObjectOutputStream output = new ObjectOutputStream(javaKey)) {
+                output.writeObject("key01");
+            }
+            local1.send(invalidationDatagram("userCache", javaKey.toByteArray(), -1));
+            local1.send(invalidationDatagram("userCache", codec.encode("key01"), Integer.MAX_VALUE));
+            Assertions.assertEquals("value01", cache.getIfPresent("key01"), "invalid datagram fail");
+            Assertions.assertEquals(0, bus.receiveCount());
+
+            local1.send(invalidationDatagram("userCache", codec.encode("key01"), -1));
+            Assertions.assertTrue(awaitTrue(() -> !cache.containsKey("key01")), "valid datagram fail");
+            Assertions.assertEquals(1, bus.receiveCount());
+        } finally {
+            bus.stop();
+        }
+    }
+
+    /**
+     * 按 InvalidationBus 数据报格式构造单条失效：magic + nodeId + count + (cacheName, keyLength, key)
+     */
+    private static byte[] invalidationDatagram(String cacheName, byte[] key, int keyLength) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(0x58494E56);
+        data.writeLong(-1);
+        data.writeInt(1);
+        data.writeUTF(cacheName);
+        data.writeInt(keyLength >= 0 ? keyLength : key.length);
+        data.write(key);
+        data.flush();
+        return out.toByteArray();
+    }
+
+    /**
+     * 过期时间轮：多线程并发调度、取消（缓冲回放），推进后仅输出未取消的已到期节点
+     */
+    @Test
+    public void test35() {
+        ExpireWheel<Integer> expireWheel = new ExpireWheel<>(0);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int base = t * 10_000;
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ExpireWheel.Node<Integer> node = new ExpireWheel.Node<>(base + i);
+                    expireWheel.schedule(node, 1000 + (i % 5000));
+                    if (i % 2 == 0) {
+                        expireWheel.deschedule(node);
+                    } else if (i % 3 == 0) {
+                        expireWheel.schedule(node, 100_000);        // 重新调度至更晚
+                    }
+                }
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        Set<Integer> expired = new HashSet<>();
+        for (ExpireWheel.Node<Integer> node : expireWheel.advance(10_000)) {
+            Assertions.assertFalse(node.isCancelled(), "expire wheel cancel fail");
+            expired.add(node.getValue());
+        }
+        // 奇数且非 3 的倍数：未取消、未延后
+        int expected = 0;
+        int rescheduled = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 2 != 0) {
+                if (i % 3 != 0) {
+                    expected++;
+                } else {
+                    rescheduled++;
+                }
+            }
+        }
+        Assertions.assertEquals(expected * 8, expired.size(), "expire wheel advance fail");
+        Assertions.assertEquals(rescheduled * 8, expireWheel.advance(200_000).size(), "expire wheel reschedule fail");
+    }
+
+    /**
+     * 堆外缓存：超出 Slab 大小的值不通知写入；并发加载合并；乐观读与并发写入（扩容、淘汰）一致
+     */
+    @Test
+    public void test36() {
+        List<String> writes = new ArrayList<>();
+        Cache<String, String> cache = CacheTool.<String, String>newOffHeapCache(4 * 1024 * 1024)
+                .listener(new CacheListener<>() {
+                    @Override
+                    public void onRemove(String key, String value) throws Exception {
+                        // ignore
+                    }
+
+                    @Override
+                    public void onWrite(String key, String value) throws Exception {
+                        writes.add(key + "=" + value);
+                    }
+                })
+                .build();
+
+        // too large：旧值移除（按删除通知），不通知写入
+        cache.put("key01", "value01");
+        cache.put("key01", "z".repeat(2 * 1024 * 1024));
+        Assertions.assertNull(cache.getIfPresent("key01"), "too large remove fail");
+        Assertions.assertEquals(List.of("key01=value01", "key01=null"), writes, "too large notify fail");
+
+        // coalesced load
+        AtomicInteger loadCount = new AtomicInteger();
+        CacheLoader<String, String> loader = new CacheLoader<>() {
+            @Override
+            public String load(String key) throws Exception {
+                loadCount.incrementAndGet();
+                TimeUnit.MILLISECONDS.sleep(200);
+                return key + "-loaded";
+            }
+        };
+        List<CompletableFuture<String>> loads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            loads.add(CompletableFuture.supplyAsync(() -> cache.get("key02", loader)));
+        }
+        for (CompletableFuture<String> load : loads) {
+            Assertions.assertEquals("key02-loaded", load.join(), "coalesced load value fail");
+        }
+        Assertions.assertEquals(1, loadCount.get(), "coalesced load fail");
+
+        // concurrent read/write：读取结果只能为 null 或 该 key 对应的值
+        Cache<String, String> concurrentCache = CacheTool.<String, String>newOffHeapCache(4 * 1024 * 1024).build();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int writer = t;
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    int k = (writer * 7919 + i) % 5000;
+                    if (i % 10 == 0) {
+                        concurrentCache.remove("k" + k);
+                    } else {
+                        concurrentCache.put("k" + k, "v" + k + "-" + "x".repeat(k % 300));
+                    }
+                }
+            }));
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    int k = (writer * 104729 + i) % 5000;
+                    String value = concurrentCache.getIfPresent("k" + k);
+                    if (value != null) {
+                        Assertions.assertTrue(value.startsWith("v" + k + "-"), "concurrent read fail: " + value);
+                    }
+                }
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        Assertions.assertEquals(concurrentCache.asMap().size(), concurrentCache.size(), "concurrent size fail");
+        for (Map.Entry<String, String> item : concurrentCache.asMap().entrySet()) {
+            Assertions.assertTrue(item.getValue().startsWith("v" + item.getKey().substring(1) + "-"), "concurrent index fail");
+            Assertions.assertEquals(item.getValue(), concurrentCache.getIfPresent(item.getKey()), "concurrent get fail");
+        }
+    }
+
+    /**
+     * TinyLFU：多线程并发命中（读缓冲区回放频率统计），热点对象抵御扫描、缓存数量不超出容量
+     */
+    @Test
+    public void test37() {
+        Cache<Integer, Integer> cache = CacheTool.<Integer, Integer>newTinyLFUCache(100).build();
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, i);
+        }
+
+        // hot keys：并发访问
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    Assertions.assertNotNull(cache.getIfPresent(i % 10), "tinyLFU concurrent hit fail");
+                }
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        Assertions.assertEquals(80_000, cache.hitCount(), "tinyLFU hit count fail");
+
+        // scan：单次访问对象不可挤出热点对象
+        for (int i = 1000; i < 3000; i++) {
+            if (cache.getIfPresent(i) == null) {
+                cache.put(i, i);
+            }
+        }
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals(i, cache.getIfPresent(i), "tinyLFU hot key evict fail");
+        }
+        Assertions.assertEquals(100, cache.size(), "tinyLFU limit size fail");
+    }
+
+    /**
+     * 堆外缓存：跨大小等级淘汰仅释放一个 Slab（不按访问顺序清空整个等级）；clear 后复用已申请堆外内存
+     */
+    @Test
+    public void test38() {
+        AtomicInteger removeCount = new AtomicInteger();
+        Cache<String, String> cache = CacheTool.<String, String>newOffHeapCache(4 * 1024 * 1024)
+                .listener(new CacheListener<>() {
+                    @Override
+                    public void onRemove(String key, String value) throws Exception {
+                        removeCount.incrementAndGet();
+                    }
+                })
+                .build();
+        OffHeapCache<String, String> offHeapCache = (OffHeapCache<String, String>) cache;
+
+        // fill, then remove half and refill：各 Slab 中新旧对象交错
+        String value = "x".repeat(1000);
+        int count = 0;
+        while (offHeapCache.offHeapAllocated() < offHeapCache.offHeapMax() || removeCount.get() == 0) {
+            cache.put("old-" + count, value);
+            count++;
+        }
+        for (int i = 0; i < count; i += 2) {
+            cache.remove("old-" + i);
+        }
+        for (int i = 0; i < count / 2; i++) {
+            cache.put("new-" + i, value);
+        }
+
+        // cross size class：仅淘汰一个 Slab 中的对象
+        int sizeBefore = cache.size();
+        removeCount.set(0);
+        cache.put("big", "y".repeat(500 * 1024));
+        Assertions.assertEquals(500 * 1024, cache.get("big").length(), "size class evict fail");
+        Assertions.assertTrue(removeCount.get() > 0, "size class evict listener fail");
+        Assertions.assertTrue(removeCount.get() <= 1024 * 1024 / 1000, "size class evict unbounded: " + removeCount.get());
+        Assertions.assertEquals(sizeBefore + 1 - removeCount.get(), cache.size(), "size class evict size fail");
+
+        // clear：已申请堆外内存保留复用，不重复申请
+        long allocated = offHeapCache.offHeapAllocated();
+        cache.clear();
+        Assertions.assertEquals(allocated, offHeapCache.offHeapAllocated(), "clear keep slab fail");
+        Assertions.assertEquals(0, offHeapCache.offHeapUsed(), "clear used fail");
+        for (int i = 0; i < count; i++) {
+            cache.put("again-" + i, value);
+        }
+        Assertions.assertEquals(allocated, offHeapCache.offHeapAllocated(), "clear reuse slab fail");
+        Assertions.assertEquals(value, cache.get("again-" + (count - 1)), "clear reuse get fail");
+    }
+
+    /**
+     * 过期时间轮：清空后旧节点被取消并移出时间桶，对旧节点的延迟取消不影响新节点
+     */
+    @Test
+    public void test39() {
+        ExpireWheel<Integer> expireWheel = new ExpireWheel<>(0);
+        List<ExpireWheel.Node<Integer>> oldNodes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ExpireWheel.Node<Integer> node = new ExpireWheel.Node<>(i);
+            expireWheel.schedule(node, 1000);
+            oldNodes.add(node);
+        }
+        expireWheel.advance(10);      // 回放，节点进入时间桶
+
+        expireWheel.clear();
+        for (ExpireWheel.Node<Integer> node : oldNodes) {
+            Assertions.assertTrue(node.isCancelled(), "expire wheel clear cancel fail");
+        }
+
+        // 清空后：新节点调度，旧节点延迟取消（并发写入）
+        List<ExpireWheel.Node<Integer>> newNodes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ExpireWheel.Node<Integer> node = new ExpireWheel.Node<>(1000 + i);
+            expireWheel.schedule(node, 1000);
+            newNodes.add(node);
+            expireWheel.deschedule(oldNodes.get(i));
+        }
+
+        Set<Integer> expired = new HashSet<>();
+        for (ExpireWheel.Node<Integer> node : expireWheel.advance(5000)) {
+            expired.add(node.getValue());
+        }
+        Assertions.assertEquals(100, expired.size(), "expire wheel clear advance fail");
+        for (ExpireWheel.Node<Integer> node : newNodes) {
+            Assertions.assertTrue(expired.contains(node.getValue()), "expire wheel clear orphan fail");
+        }
+    }
+
+    /**
+     * 快照：堆外、空缓存不支持预热；损坏的记录长度直接报错，预热失败不影响缓存构建
+     */
+    @Test
+    public void test40() throws Exception {
+        Path path = Files.createTempFile("cache", ".snapshot");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheTool.<String, String>newOffHeapCache().warmFrom(path).build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheTool.<String, String>newCache().cache(CacheType.NONE).warmFrom(path).build());
+
+        // corrupt：记录长度超出文件剩余字节
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(0x58434B31);
+        output.writeInt(Integer.MAX_VALUE);
+        output.writeInt(1);
+        Files.write(path, bytes.toByteArray());
+        Assertions.assertThrows(IOException.class, () -> CacheSnapshot.read(path, SerializerEnum.JAVA.getSerializer()));
+
+        // negative length
+        bytes.reset();
+        output.writeInt(0x58434B31);
+        output.writeInt(-1);
+        Files.write(path, bytes.toByteArray());
+        Assertions.assertThrows(IOException.class, () -> CacheSnapshot.read(path, SerializerEnum.JAVA.getSerializer()));
+
+        Cache<String, String> cache = CacheTool.<String, String>newLRUCache(10)
+                .warmFrom(path)
+                .build();
+        Assertions.assertEquals(0, cache.size(), "warm corrupt fail");
+        cache.put("key01", "value01");
+        Assertions.assertEquals("value01", cache.get("key01"), "warm corrupt put fail");
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * 堆外、空缓存：不支持的配置构建时报错，不创建磁盘溢出目录
+     */
+    @Test
+    public void test41() throws Exception {
+        Path dir = Files.createTempDirectory("xxl-tool-cache-overflow").resolve("offheap");
+        Weigher<String, String> weigher = new Weigher<>() {
+            @Override
+            public int weigh(String key, String value) {
+                return value.length();
+            }
+        };
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheTool.<String, String>newOffHeapCache().overflowToDisk(dir, 1024 * 1024).build());
+        Assertions.assertFalse(Files.exists(dir), "overflow dir created");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheTool.<String, String>newOffHeapCache().weigher(weigher).build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheTool.<String, String>newOffHeapCache().negativeTtl(1000).build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheTool.<String, String>newOffHeapCache().staleWhileRevalidate(1000).build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheTool.<String, String>newOffHeapCache().staleIfError(1000).build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheTool.<String, String>newOffHeapCache().refreshAfterWrite(1000).build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheTool.<String, String>newOffHeapCache().recordStats().build());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheTool.<String, String>newCache().cache(CacheType.NONE).maximumWeight(1000).build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheTool.<String, String>newCache().cache(CacheType.NONE).overflowToDisk(dir, 1024 * 1024).build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheTool.<String, String>newCache().cache(CacheType.NONE).recordStats().build());
+        Assertions.assertFalse(Files.exists(dir), "overflow dir created");
+
+        // supported：maximumWeight 作为最大堆外内存
+        Cache<String, String> cache = CacheTool.<String, String>newOffHeapCache(1024 * 1024).expireAfterWrite(1000).build();
+        cache.put("key01", "value01");
+        Assertions.assertEquals("value01", cache.get("key01"), "off-heap build fail");
+    }
+
+    /**
+     * LFU：并发命中经读缓冲区批量回放计数，热点对象不被新对象挤出
+     */
+    @Test
+    public void test42() {
+        Cache<Integer, Integer> cache = CacheTool.<Integer, Integer>newLFUCache(100).build();
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, i);
+        }
+
+        // hot keys：并发访问
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    Assertions.assertNotNull(cache.getIfPresent(i % 10), "lfu concurrent hit fail");
+                }
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        Assertions.assertEquals(80_000, cache.hitCount(), "lfu hit count fail");
+
+        // new keys：低频对象先被淘汰
+        for (int i = 1000; i < 3000; i++) {
+            cache.put(i, i);
+        }
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals(i, cache.getIfPresent(i), "lfu hot key evict fail");
+        }
+        Assertions.assertEquals(100, cache.size(), "lfu limit size fail");
+
+        cache.clear();
+        Assertions.assertEquals(0, cache.size(), "lfu clear fail");
+        cache.put(1, 1);
+        Assertions.assertEquals(1, cache.get(1), "lfu clear put fail");
+    }
+
 }
@@ -0,0 +1,278 @@
+package com.xxl.tool.test.concurrent;
+
+import com.xxl.tool.concurrent.JournaledMessageQueue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+public class JournaledMessageQueueTest {
+
+    @Test
+    public void test1() throws Exception {
+        Path dir = Files.createTempDirectory("xxl-tool-journal");
+
+        // make queue：consume fail from message 5000, remain unacknowledged
+        List<Integer> consumed = Collections.synchronizedList(new ArrayList<>());
+        JournaledMessageQueue<Integer> messageQueue = JournaledMessageQueue.<Integer>newQueue(
+                        "journalQueue",
+                        dir,
+                        messages -> {
+                            if (messages.get(messages.size() - 1) >= 5000) {
+                                throw new IllegalStateException("sink unavailable");
+                            }
+                            consumed.addAll(messages);
+                        })
+                .segmentSize(64 * 1024)
+                .consumeBatchSize(1)
+                .build();
+
+        // produce
+        int count = 10000;
+        for (int i = 0; i < count; i++) {
+            Assertions.assertTrue(messageQueue.produce(i));
+        }
+        long deadline = System.currentTimeMillis() + 10000;
+        while (consumed.size() < 5000 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        messageQueue.stop();
+        Assertions.assertEquals(5000, consumed.size());
+
+        // restart：replay unacknowledged message, in order
+        List<Integer> replayed = Collections.synchronizedList(new ArrayList<>());
+        JournaledMessageQueue<Integer> restartQueue = JournaledMessageQueue.<Integer>newQueue(
+                        "journalQueue",
+                        dir,
+                        replayed::addAll)
+                .segmentSize(64 * 1024)
+                .consumeBatchSize(100)
+                .checkpointInterval(10)
+                .build();
+        for (int i = count; i < count + 100; i++) {
+            Assertions.assertTrue(restartQueue.produce(i));
+        }
+        deadline = System.currentTimeMillis() + 10000;
+        while (replayed.size() < 5100 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        restartQueue.stop();
+
+        Assertions.assertEquals(5100, replayed.size());
+        for (int i = 0; i < replayed.size(); i++) {
+            Assertions.assertEquals(5000 + i, replayed.get(i));
+        }
+        Assertions.assertEquals(restartQueue.getWritePosition(), restartQueue.getCommitPosition());
+
+        // consumed segments deleted
+        try (Stream<Path> files = Files.list(dir)) {
+            Assertions.assertEquals(1, files.filter(path -> path.toString().endsWith(".log")).count());
+        }
+    }
+
+    @Test
+    public void test2() throws Exception {
+        Path dir = Files.createTempDirectory("xxl-tool-journal");
+
+        AtomicLong consumeCount = new AtomicLong(0);
+        JournaledMessageQueue<String> messageQueue = JournaledMessageQueue.<String>newQueue(
+                        "journalQueue",
+                        dir,
+                        messages -> consumeCount.addAndGet(messages.size()))
+                .consumeBatchSize(100)
+                .build();
+
+        // concurrent produce, group commit
+        int producerCount = 8;
+        int countPerProducer = 10000;
+        long startTime = System.currentTimeMillis();
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < producerCount; p++) {
+            final int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < countPerProducer; i++) {
+                    Assertions.assertTrue(messageQueue.produce("test-" + producer + "-" + i));
+                }
+            });
+            thread.start();
+            producers.add(thread);
+        }
+        for (Thread thread : producers) {
+            thread.join();
+        }
+        long cost = Math.max(System.currentTimeMillis() - startTime, 1);
+
+        long deadline = System.currentTimeMillis() + 10000;
+        while (consumeCount.get() < (long) producerCount * countPerProducer && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        messageQueue.stop();
+
+        Assertions.assertEquals((long) producerCount * countPerProducer, consumeCount.get());
+        System.out.println("Final count = " + consumeCount.get() + ", produce cost = " + cost + ", tps = " + (consumeCount.get() * 1000 / cost));
+    }
+
+    @Test
+    public void test3() throws Exception {
+        Path dir = Files.createTempDirectory("xxl-tool-journal");
+
+        // write 100 message, not acknowledged
+        JournaledMessageQueue<Integer> messageQueue = JournaledMessageQueue.<Integer>newQueue(
+                        "journalQueue",
+                        dir,
+                        messages -> {
+                            throw new IllegalStateException("sink unavailable");
+                        })
+                .build();
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertTrue(messageQueue.produce(i));
+        }
+        messageQueue.stop();
+
+        // corrupt data of record 50
+        Path segmentFile = segmentFiles(dir).get(0);
+        try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long offset = recordOffset(channel, 50);
+            ByteBuffer data = ByteBuffer.allocate(1);
+            channel.read(data, offset + 8 + 10);
+            data.put(0, (byte) ~data.get(0)).rewind();
+            channel.write(data, offset + 8 + 10);
+        }
+
+        // restart：corrupt record skipped, others consumed in order
+        List<Integer> consumed = Collections.synchronizedList(new ArrayList<>());
+        JournaledMessageQueue<Integer> restartQueue = JournaledMessageQueue.<Integer>newQueue(
+                        "journalQueue",
+                        dir,
+                        consumed::addAll)
+                .build();
+        long deadline = System.currentTimeMillis() + 10000;
+        while (consumed.size() < 99 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        restartQueue.stop();
+
+        Assertions.assertEquals(99, consumed.size());
+        Assertions.assertFalse(consumed.contains(50));
+        Assertions.assertEquals(1, restartQueue.getCorruptCount());
+    }
+
+    @Test
+    public void test4() throws Exception {
+        Path dir = Files.createTempDirectory("xxl-tool-journal");
+
+        // write 100 message, not acknowledged
+        JournaledMessageQueue<Integer> messageQueue = JournaledMessageQueue.<Integer>newQueue(
+                        "journalQueue",
+                        dir,
+                        messages -> {
+                            throw new IllegalStateException("sink unavailable");
+                        })
+                .build();
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertTrue(messageQueue.produce(i));
+        }
+        messageQueue.stop();
+
+        // simulate crash (kill -9) during write：torn record after last record, checkpoint lost
+        Path segmentFile = segmentFiles(dir).get(0);
+        try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long offset = recordOffset(channel, 100);
+            ByteBuffer torn = ByteBuffer.allocate(8 + 40);
+            torn.putInt(200).putInt(0x12345678);
+            while (torn.hasRemaining()) {
+                torn.put((byte) 0x5A);
+            }
+            torn.flip();
+            channel.write(torn, offset);
+        }
+        Files.deleteIfExists(dir.resolve("checkpoint"));
+
+        // restart：torn record truncated, written message replayed, new message appended after
+        List<Integer> consumed = Collections.synchronizedList(new ArrayList<>());
+        JournaledMessageQueue<Integer> restartQueue = JournaledMessageQueue.<Integer>newQueue(
+                        "journalQueue",
+                        dir,
+                        consumed::addAll)
+                .build();
+        for (int i = 100; i < 110; i++) {
+            Assertions.assertTrue(restartQueue.produce(i));
+        }
+        long deadline = System.currentTimeMillis() + 10000;
+        while (consumed.size() < 110 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        restartQueue.stop();
+
+        Assertions.assertEquals(110, consumed.size());
+        for (int i = 0; i < 110; i++) {
+            Assertions.assertEquals(i, consumed.get(i));
+        }
+        Assertions.assertEquals(0, restartQueue.getCorruptCount());
+    }
+
+    @Test
+    public void test5() throws Exception {
+        Path dir = Files.createTempDirectory("xxl-tool-journal");
+
+        // batch list kept by consumer (async sink), not cleared after ack
+        List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+        JournaledMessageQueue<Integer> messageQueue = JournaledMessageQueue.<Integer>newQueue(
+                        "keepQueue",
+                        dir,
+                        batches::add)
+                .consumeBatchSize(10)
+                .build();
+        int count = 1000;
+        for (int i = 0; i < count; i++) {
+            Assertions.assertTrue(messageQueue.produce(i));
+        }
+        long deadline = System.currentTimeMillis() + 10000;
+        while (messageQueue.getCommitPosition() < messageQueue.getWritePosition() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        messageQueue.stop();
+
+        List<Integer> consumed = new ArrayList<>();
+        for (List<Integer> batch : batches) {
+            Assertions.assertFalse(batch.isEmpty());
+            consumed.addAll(batch);
+        }
+        Assertions.assertEquals(count, consumed.size());
+        for (int i = 0; i < count; i++) {
+            Assertions.assertEquals(i, consumed.get(i));
+        }
+    }
+
+    private static List<Path> segmentFiles(Path dir) throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> segmentFiles = new ArrayList<>(files.filter(path -> path.toString().endsWith(".log")).toList());
+            Collections.sort(segmentFiles);
+            return segmentFiles;
+        }
+    }
+
+    /**
+     * offset of record n in segment file, record：4 byte length + 4 byte crc + data
+     */
+    private static long recordOffset(FileChannel channel, int n) throws Exception {
+        long offset = 0;
+        ByteBuffer length = ByteBuffer.allocate(4);
+        for (int i = 0; i < n; i++) {
+            length.clear();
+            channel.read(length, offset);
+            offset += 8 + length.getInt(0);
+        }
+        return offset;
+    }
+
+}
@@ -1,8 +1,20 @@
 package com.xxl.tool.test.concurrent;
 
 import com.xxl.tool.concurrent.MessageQueue;
+import com.xxl.tool.concurrent.OverflowPolicy;
+import com.xxl.tool.concurrent.SpillBuffer;
+import com.xxl.tool.serializer.SerializerEnum;
+import com.xxl.tool.concurrent.WaitStrategy;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class MessageQueueTest {
@@ -60,4 +72,345 @@ public class MessageQueueTest {
     }
 
 
+    @Test
+    public void test3() throws InterruptedException {
+
+        AtomicLong consumeCount = new AtomicLong(0);
+        MessageQueue<String> messageQueue = MessageQueue.<String>newQueue(
+                        "ringQueue",
+                        messages -> consumeCount.addAndGet(messages.size())
+                )
+                .queueLength(16 * 1024)
+                .consumerCount(4)
+                .consumeBatchSize(100)
+                .ringBuffer(WaitStrategy.PARK)
+                .build();
+
+        long startTime = System.currentTimeMillis();
+        int producerCount = 4;
+        int countPerProducer = 250000;
+        AtomicLong produceCount = new AtomicLong(0);
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < producerCount; p++) {
+            final int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < countPerProducer; i++) {
+                    while (!messageQueue.produce("test-" + producer + "-" + i)) {
+                        Thread.yield();
+                    }
+                    produceCount.incrementAndGet();
+                }
+            });
+            thread.start();
+            producers.add(thread);
+        }
+        for (Thread thread : producers) {
+            thread.join();
+        }
+
+        messageQueue.stop();
+        long cost = Math.max(System.currentTimeMillis() - startTime, 1);
+
+        Assertions.assertEquals((long) producerCount * countPerProducer, produceCount.get());
+        Assertions.assertEquals(produceCount.get(), consumeCount.get());
+        System.out.println("Final count = " + consumeCount.get() + ", cost = " + cost + ", tps = " + (consumeCount.get() * 1000 / cost));
+    }
+
+    @Test
+    public void test4() throws InterruptedException {
+
+        AtomicLong consumeCount = new AtomicLong(0);
+        AtomicLong batchCount = new AtomicLong(0);
+        AtomicLong maxBatchSize = new AtomicLong(0);
+        MessageQueue<String> messageQueue = MessageQueue.<String>newQueue(
+                        "lingerQueue",
+                        messages -> {
+                            consumeCount.addAndGet(messages.size());
+                            batchCount.incrementAndGet();
+                            maxBatchSize.accumulateAndGet(messages.size(), Math::max);
+                        }
+                )
+                .consumerCount(1)
+                .consumeBatchSize(50)
+                .lingerMs(200)
+                .reuseBatchList(true)
+                .build();
+
+        // trickle produce: 1 message per ms
+        int count = 500;
+        for (int i = 0; i < count; i++) {
+            messageQueue.produce("test-" + i);
+            Thread.sleep(1);
+        }
+        messageQueue.stop();
+
+        Assertions.assertEquals(count, consumeCount.get());
+        Assertions.assertTrue(maxBatchSize.get() <= 50);
+        Assertions.assertTrue(batchCount.get() <= count / 25, "batchCount = " + batchCount.get());
+        System.out.println("Final count = " + consumeCount.get() + ", batchCount = " + batchCount.get());
+    }
+
+    @Test
+    public void test5() throws InterruptedException {
+
+        // message: {key, seq}
+        ConcurrentHashMap<Long, Long> lastSeq = new ConcurrentHashMap<>();
+        Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+        Set<String> consumerThreads = ConcurrentHashMap.newKeySet();
+        AtomicLong consumeCount = new AtomicLong(0);
+        AtomicLong violationCount = new AtomicLong(0);
+        MessageQueue<long[]> messageQueue = MessageQueue.<long[]>newQueue(
+                        "partitionQueue",
+                        messages -> {
+                            consumerThreads.add(Thread.currentThread().getName());
+                            for (long[] message : messages) {
+                                long key = message[0];
+                                // same key: never consumed in parallel, and in order
+                                if (!inFlight.add(key)) {
+                                    violationCount.incrementAndGet();
+                                }
+                                Long last = lastSeq.put(key, message[1]);
+                                if ((last == null ? -1 : last) + 1 != message[1]) {
+                                    violationCount.incrementAndGet();
+                                }
+                                inFlight.remove(key);
+                                consumeCount.incrementAndGet();
+                            }
+                        }
+                )
+                .consumerCount(4)
+                .consumeBatchSize(10)
+                .partitionKey(message -> message[0])
+                .build();
+
+        // 4 producers, each own 25 keys
+        int producerCount = 4;
+        int keysPerProducer = 25;
+        int seqPerKey = 2000;
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < producerCount; p++) {
+            final int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int seq = 0; seq < seqPerKey; seq++) {
+                    for (int k = 0; k < keysPerProducer; k++) {
+                        long[] message = new long[]{producer * keysPerProducer + k, seq};
+                        while (!messageQueue.produce(message)) {
+                            Thread.yield();
+                        }
+                    }
+                }
+            });
+            thread.start();
+            producers.add(thread);
+        }
+        for (Thread thread : producers) {
+            thread.join();
+        }
+        messageQueue.stop();
+
+        Assertions.assertEquals((long) producerCount * keysPerProducer * seqPerKey, consumeCount.get());
+        Assertions.assertEquals(0, violationCount.get());
+        Assertions.assertEquals(0, messageQueue.size());
+        Assertions.assertTrue(consumerThreads.size() > 1);
+        System.out.println("Final count = " + consumeCount.get() + ", consumerThreads = " + consumerThreads.size());
+    }
+
+    @Test
+    public void test6() throws Exception {
+
+        // DROP_NEWEST：consumer blocked, queue full, drop and count
+        CountDownLatch block = new CountDownLatch(1);
+        MessageQueue<String> dropQueue = MessageQueue.<String>newQueue("dropQueue", messages -> {
+                    try {
+                        block.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                })
+                .queueLength(10)
+                .consumerCount(1)
+                .overflowPolicy(OverflowPolicy.DROP_NEWEST)
+                .build();
+        int accepted = 0;
+        for (int i = 0; i < 100; i++) {
+            if (dropQueue.produce("test-" + i)) {
+                accepted++;
+            }
+        }
+        Assertions.assertTrue(accepted <= 11);
+        Assertions.assertEquals(100 - accepted, dropQueue.getDropCount());
+        block.countDown();
+        dropQueue.stop();
+
+        // DROP_OLDEST：keep newest
+        CountDownLatch block2 = new CountDownLatch(1);
+        List<String> consumed = Collections.synchronizedList(new ArrayList<>());
+        MessageQueue<String> dropOldestQueue = MessageQueue.<String>newQueue("dropOldestQueue", messages -> {
+                    try {
+                        block2.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    consumed.addAll(messages);
+                })
+                .queueLength(10)
+                .consumerCount(1)
+                .overflowPolicy(OverflowPolicy.DROP_OLDEST)
+                .build();
+        Thread.sleep(100);
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertTrue(dropOldestQueue.produce("test-" + i));
+        }
+        block2.countDown();
+        dropOldestQueue.stop();
+        Assertions.assertTrue(consumed.contains("test-99"));
+        Assertions.assertEquals(100, consumed.size() + dropOldestQueue.getDropCount());
+
+        // CALLER_RUNS：no message lost
+        AtomicLong consumeCount = new AtomicLong(0);
+        MessageQueue<String> callerRunsQueue = MessageQueue.<String>newQueue("callerRunsQueue", messages -> {
+                    consumeCount.addAndGet(messages.size());
+                })
+                .queueLength(10)
+                .consumerCount(1)
+                .overflowPolicy(OverflowPolicy.CALLER_RUNS)
+                .build();
+        for (int i = 0; i < 100000; i++) {
+            Assertions.assertTrue(callerRunsQueue.produce("test-" + i));
+        }
+        callerRunsQueue.stop();
+        Assertions.assertEquals(100000, consumeCount.get());
+        Assertions.assertEquals(0, callerRunsQueue.getDropCount());
+        System.out.println("callerRunsCount = " + callerRunsQueue.getCallerRunsCount());
+
+        // SPILL_TO_DISK：no message lost, in order
+        Path spillFile = Files.createTempDirectory("xxl-tool-spill").resolve("spillQueue.spill");
+        List<Integer> spillConsumed = Collections.synchronizedList(new ArrayList<>());
+        MessageQueue<Integer> spillQueue = MessageQueue.<Integer>newQueue("spillQueue", messages -> {
+                    spillConsumed.addAll(messages);
+                })
+                .queueLength(10)
+                .consumerCount(1)
+                .consumeBatchSize(10)
+                .overflowPolicy(OverflowPolicy.SPILL_TO_DISK)
+                .spillFile(spillFile, 16 * 1024 * 1024L)
+                .build();
+        int count = 20000;
+        for (int i = 0; i < count; i++) {
+            Assertions.assertTrue(spillQueue.produce(i));
+        }
+        spillQueue.stop();
+        Assertions.assertTrue(spillQueue.getSpillCount() > 0);
+        Assertions.assertEquals(0, spillQueue.getDropCount());
+        Assertions.assertEquals(count, spillConsumed.size());
+        for (int i = 0; i < count; i++) {
+            Assertions.assertEquals(i, spillConsumed.get(i));
+        }
+        Assertions.assertFalse(Files.exists(spillFile));
+        System.out.println("spillCount = " + spillQueue.getSpillCount());
+    }
+
+    @Test
+    public void test7() throws InterruptedException {
+
+        // default: new batch list for each consume, messages can be kept
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        MessageQueue<String> messageQueue = new MessageQueue<>("keepQueue", batches::add, 1, 10);
+        for (int i = 0; i < 100; i++) {
+            messageQueue.produce("test-" + i);
+        }
+        messageQueue.stop();
+
+        int count = 0;
+        for (List<String> batch : batches) {
+            Assertions.assertFalse(batch.isEmpty());
+            count += batch.size();
+        }
+        Assertions.assertEquals(100, count);
+    }
+
+    @Test
+    public void test8() throws Exception {
+
+        // spill buffer: circular file, space reused once read, without full drain
+        Path spillFile = Files.createTempDirectory("xxl-tool-spill").resolve("spill.data");
+        SpillBuffer<String> spillBuffer = new SpillBuffer<>(spillFile, 4096, SerializerEnum.JAVA.getSerializer());
+
+        long writeIndex = 0;
+        long readIndex = 0;
+        while (spillBuffer.offer("message-" + writeIndex)) {
+            writeIndex++;
+        }
+        Assertions.assertTrue(writeIndex > 10);
+
+        // keep half unread, write and read for several rounds (wrap around file end)
+        for (int round = 0; round < 20; round++) {
+            long half = spillBuffer.size() / 2;
+            for (int i = 0; i < half; i++) {
+                Assertions.assertEquals("message-" + readIndex, spillBuffer.peek());
+                spillBuffer.remove();
+                readIndex++;
+            }
+            int written = 0;
+            while (spillBuffer.offer("message-" + writeIndex)) {
+                writeIndex++;
+                written++;
+            }
+            Assertions.assertTrue(written > 0, "spill space not reused, round = " + round);
+        }
+
+        // remaining in order
+        while (!spillBuffer.isEmpty()) {
+            Assertions.assertEquals("message-" + readIndex, spillBuffer.peek());
+            spillBuffer.remove();
+            readIndex++;
+        }
+        Assertions.assertEquals(writeIndex, readIndex);
+        spillBuffer.close();
+        Assertions.assertFalse(Files.exists(spillFile));
+    }
+
+    @Test
+    public void test9() throws Exception {
+
+        // SPILL_TO_DISK：stop with spilled message pending, consumer forced down, spilled message counted as drop
+        Path spillFile = Files.createTempDirectory("xxl-tool-spill").resolve("slowQueue.spill");
+        Set<Thread> consumerThreads = ConcurrentHashMap.newKeySet();
+        AtomicLong consumed = new AtomicLong();
+        MessageQueue<Integer> slowQueue = MessageQueue.<Integer>newQueue("slowQueue", messages -> {
+                    consumerThreads.add(Thread.currentThread());
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    consumed.addAndGet(messages.size());
+                })
+                .queueLength(10)
+                .consumerCount(1)
+                .consumeBatchSize(1)
+                .overflowPolicy(OverflowPolicy.SPILL_TO_DISK)
+                .spillFile(spillFile, 16 * 1024 * 1024L)
+                .build();
+        int count = 1000;
+        for (int i = 0; i < count; i++) {
+            Assertions.assertTrue(slowQueue.produce(i));
+        }
+        slowQueue.stop();
+
+        // consumer thread exit
+        long deadline = System.currentTimeMillis() + 5000;
+        while (consumerThreads.stream().anyMatch(Thread::isAlive) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Assertions.assertFalse(consumerThreads.isEmpty());
+        Assertions.assertTrue(consumerThreads.stream().noneMatch(Thread::isAlive), "consumer thread still alive after stop");
+
+        // spilled message dropped, not silently
+        Assertions.assertTrue(slowQueue.getDropCount() > 0);
+        Assertions.assertTrue(consumed.get() + slowQueue.getDropCount() <= count);
+        Assertions.assertFalse(Files.exists(spillFile));
+        System.out.println("consumed = " + consumed.get() + ", dropCount = " + slowQueue.getDropCount());
+    }
+
 }